@@ -2,6 +2,7 @@ package com.tuniv.backend.auth.controller;
 
 import com.tuniv.backend.auth.dto.*; // Assuming a new DTO is created here
 import com.tuniv.backend.auth.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -22,9 +23,10 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
         try {
-            JwtResponse jwtResponse = authService.login(loginRequest);
+            // Behind a proxy, server.forward-headers-strategy makes this the original client address
+            JwtResponse jwtResponse = authService.login(loginRequest, request.getRemoteAddr());
             return ResponseEntity.ok(jwtResponse);
         } catch (BadCredentialsException e) { // <-- BE SPECIFIC
             // This now only catches authentication failures
@@ -27,6 +27,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant; // ✅ CHANGED
 import java.time.temporal.ChronoUnit; // ✅ ADDED
 import java.util.Optional;
@@ -58,13 +59,17 @@ public class AuthService {
     private final LoginAttemptService loginAttemptService;
     private final PasswordValidator passwordValidator;
 
+    /**
+     * @param clientIp the caller's address; failures are also counted per IP, null skips that
+     */
     @Transactional(readOnly = true)
-    public JwtResponse login(LoginRequest loginRequest) {
+    public JwtResponse login(LoginRequest loginRequest, String clientIp) {
         final String username = loginRequest.username();
         
-        // Check rate limiting
-        if (loginAttemptService.isBlocked(username)) {
-            int remainingTime = 15; // minutes
+        // Locked usernames and IPs are refused here, before the password hash is ever computed
+        Duration lockRemaining = loginAttemptService.lockRemaining(username, clientIp);
+        if (!lockRemaining.isZero()) {
+            long remainingTime = Math.max(1, (lockRemaining.toSeconds() + 59) / 60); // minutes, rounded up
             throw new AccountLockedException(
                 "Account temporarily locked due to too many failed attempts. " +
                 "Please try again in " + remainingTime + " minutes."
@@ -112,8 +117,7 @@ public class AuthService {
             return authMapper.toJwtResponse(jwt, user, primaryMembership, false);
 
         } catch (BadCredentialsException e) {
-            loginAttemptService.loginFailed(username);
-            int remainingAttempts = loginAttemptService.getRemainingAttempts(username);
+            int remainingAttempts = loginAttemptService.loginFailed(username, clientIp);
             log.warn("Failed login attempt for user: {}. Remaining attempts: {}", username, remainingAttempts);
             throw new BadCredentialsException("Invalid username or password. Remaining attempts: " + remainingAttempts);
         }
@@ -1,94 +1,172 @@
 package com.tuniv.backend.auth.service;
 
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Failed-login tracking shared by all nodes through Redis, per username and per client IP.
+ *
+ * Failures are counted in sliding windows (the current fixed window plus the weighted remainder of the
+ * previous one), so state per key is two short-lived counters that expire on their own. Reaching a
+ * threshold sets a lock key with its own TTL. Locks seen by this node are also kept in a bounded local
+ * cache, so repeated attempts against a locked account or from a locked IP are refused before Redis or
+ * BCrypt are touched. If Redis is unavailable, only locks already known locally are enforced.
+ */
 @Service
 @Slf4j
 public class LoginAttemptService {
-    
-    private static final int MAX_ATTEMPTS = 5;
-    private static final long LOCK_TIME_DURATION = 15 * 60 * 1000; // 15 minutes
-    
-    private final Map<String, LoginAttempt> attemptsCache = new ConcurrentHashMap<>();
-    
-    public void loginFailed(String username) {
-        LoginAttempt attempt = attemptsCache.getOrDefault(username, new LoginAttempt());
-        attempt.incrementAttempts();
-        attempt.setLastAttempt(Instant.now());
-        attemptsCache.put(username, attempt);
-        
-        log.warn("Login failed for user: {}. Attempt: {}", username, attempt.getAttempts());
-        
-        if (attempt.getAttempts() >= MAX_ATTEMPTS) {
-            log.warn("Account locked for user: {} due to too many failed attempts", username);
+
+    private static final String COUNTER_PREFIX = "login:fail:";
+    private static final String LOCK_PREFIX = "login:lock:";
+
+    /**
+     * KEYS[1] counter prefix, KEYS[2] lock key; ARGV window millis, threshold, lock millis.
+     * Returns {estimated failures in the window, lock millis if this failure set the lock, else 0}.
+     */
+    private static final RedisScript<List> RECORD_FAILURE = new DefaultRedisScript<>("""
+        local window = tonumber(ARGV[1])
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+        local index = math.floor(now / window)
+        local current = KEYS[1] .. ':' .. index
+        local count = redis.call('INCR', current)
+        redis.call('PEXPIRE', current, window * 2)
+        local previous = tonumber(redis.call('GET', KEYS[1] .. ':' .. (index - 1))) or 0
+        local estimate = math.floor(count + previous * (1 - (now % window) / window))
+        if estimate >= tonumber(ARGV[2]) then
+            redis.call('SET', KEYS[2], '1', 'PX', ARGV[3])
+            return {estimate, tonumber(ARGV[3])}
+        end
+        return {estimate, 0}
+        """, List.class);
+
+    private enum Subject { USER, IP }
+
+    private final StringRedisTemplate redisTemplate;
+    private final int maxUserAttempts;
+    private final int maxIpAttempts;
+    private final Duration window;
+    private final Duration lockDuration;
+    // Lock key -> lock expiry (epoch millis)
+    private final Cache<String, Long> knownLocks;
+
+    public LoginAttemptService(StringRedisTemplate redisTemplate,
+                               @Value("${app.auth.login-attempts.max-per-user:5}") int maxUserAttempts,
+                               @Value("${app.auth.login-attempts.max-per-ip:50}") int maxIpAttempts,
+                               @Value("${app.auth.login-attempts.window:PT15M}") Duration window,
+                               @Value("${app.auth.login-attempts.lock-duration:PT15M}") Duration lockDuration,
+                               @Value("${app.auth.login-attempts.local-max-locks:50000}") long localMaxLocks) {
+        this.redisTemplate = redisTemplate;
+        this.maxUserAttempts = maxUserAttempts;
+        this.maxIpAttempts = maxIpAttempts;
+        this.window = window;
+        this.lockDuration = lockDuration;
+        this.knownLocks = CacheBuilder.newBuilder()
+                .maximumSize(localMaxLocks)
+                .expireAfterWrite(lockDuration)
+                .build();
+    }
+
+    /**
+     * How long the username or the client IP stays locked; {@link Duration#ZERO} if neither is.
+     * Cheap enough to call before any password check.
+     */
+    public Duration lockRemaining(String username, String clientIp) {
+        Duration byUser = lockRemaining(lockKey(Subject.USER, username));
+        Duration byIp = clientIp != null ? lockRemaining(lockKey(Subject.IP, clientIp)) : Duration.ZERO;
+        return byUser.compareTo(byIp) >= 0 ? byUser : byIp;
+    }
+
+    /**
+     * Records a failed attempt against the username and the client IP.
+     *
+     * @return attempts left for the username before it is locked
+     */
+    public int loginFailed(String username, String clientIp) {
+        long userFailures = recordFailure(Subject.USER, username, maxUserAttempts);
+        if (clientIp != null) {
+            recordFailure(Subject.IP, clientIp, maxIpAttempts);
         }
+        log.warn("Login failed for user: {}. Failures in window: {}", username, userFailures);
+        return (int) Math.max(0, maxUserAttempts - userFailures);
     }
-    
+
+    /**
+     * Clears the username's failures. Failures counted against the IP stay, since they may be for other accounts.
+     */
     public void loginSuccess(String username) {
-        attemptsCache.remove(username);
-        log.debug("Login success for user: {}, attempts cache cleared", username);
-    }
-    
-    public boolean isBlocked(String username) {
-        LoginAttempt attempt = attemptsCache.get(username);
-        if (attempt == null) {
-            return false;
+        String prefix = counterPrefix(Subject.USER, username);
+        long index = System.currentTimeMillis() / window.toMillis();
+        try {
+            // Neighbouring windows too, in case this node's clock and Redis's disagree on the current one
+            redisTemplate.delete(List.of(prefix + ":" + (index - 1), prefix + ":" + index, prefix + ":" + (index + 1)));
+        } catch (RuntimeException e) {
+            log.warn("Could not clear login failures for user {}: {}", username, e.getMessage());
         }
-        
-        if (attempt.getAttempts() < MAX_ATTEMPTS) {
-            return false;
+    }
+
+    private Duration lockRemaining(String lockKey) {
+        long now = System.currentTimeMillis();
+        Long lockedUntil = knownLocks.getIfPresent(lockKey);
+        if (lockedUntil != null && lockedUntil > now) {
+            return Duration.ofMillis(lockedUntil - now);
         }
-        
-        // Check if lock time has expired
-        if (Instant.now().isAfter(attempt.getLastAttempt().plusMillis(LOCK_TIME_DURATION))) {
-            attemptsCache.remove(username);
-            log.info("Lock period expired for user: {}", username);
-            return false;
+        try {
+            Long ttl = redisTemplate.getExpire(lockKey, TimeUnit.MILLISECONDS);
+            if (ttl == null || ttl <= 0) {
+                return Duration.ZERO;
+            }
+            knownLocks.put(lockKey, now + ttl);
+            return Duration.ofMillis(ttl);
+        } catch (RuntimeException e) {
+            log.warn("Login attempt store unavailable, checking local locks only: {}", e.getMessage());
+            return Duration.ZERO;
         }
-        
-        return true;
     }
-    
-    public int getRemainingAttempts(String username) {
-        LoginAttempt attempt = attemptsCache.get(username);
-        if (attempt == null) {
-            return MAX_ATTEMPTS;
+
+    private long recordFailure(Subject subject, String value, int threshold) {
+        String lockKey = lockKey(subject, value);
+        try {
+            List<?> result = redisTemplate.execute(RECORD_FAILURE,
+                    List.of(counterPrefix(subject, value), lockKey),
+                    String.valueOf(window.toMillis()), String.valueOf(threshold), String.valueOf(lockDuration.toMillis()));
+            long failures = ((Number) result.get(0)).longValue();
+            long lockedFor = ((Number) result.get(1)).longValue();
+            if (lockedFor > 0) {
+                knownLocks.put(lockKey, System.currentTimeMillis() + lockedFor);
+                log.warn("Locked {} {} for {} after {} failed logins", subject.name().toLowerCase(), value,
+                        Duration.ofMillis(lockedFor), failures);
+            }
+            return failures;
+        } catch (RuntimeException e) {
+            log.warn("Could not record failed login for {} {}: {}", subject.name().toLowerCase(), value, e.getMessage());
+            return 0;
         }
-        return Math.max(0, MAX_ATTEMPTS - attempt.getAttempts());
     }
-    
-    @Scheduled(fixedRate = 3600000) // Cleanup every hour
-    public void cleanupExpiredLocks() {
-        Instant cutoff = Instant.now().minusMillis(LOCK_TIME_DURATION);
-        attemptsCache.entrySet().removeIf(entry -> 
-            entry.getValue().getLastAttempt().isBefore(cutoff)
-        );
-        log.debug("Cleaned up expired login attempt locks");
+
+    // The braces are a Redis Cluster hash tag: a subject's counters and lock live in one slot
+    private static String counterPrefix(Subject subject, String value) {
+        return COUNTER_PREFIX + "{" + subject.name().toLowerCase() + ":" + normalize(subject, value) + "}";
+    }
+
+    private static String lockKey(Subject subject, String value) {
+        return LOCK_PREFIX + "{" + subject.name().toLowerCase() + ":" + normalize(subject, value) + "}";
     }
-    
-    private static class LoginAttempt {
-        private int attempts;
-        private Instant lastAttempt;
-        
-        public LoginAttempt() {
-            this.attempts = 0;
-            this.lastAttempt = Instant.now();
-        }
-        
-        public void incrementAttempts() {
-            this.attempts++;
-            this.lastAttempt = Instant.now();
-        }
-        
-        public int getAttempts() { return attempts; }
-        public Instant getLastAttempt() { return lastAttempt; }
-        public void setLastAttempt(Instant lastAttempt) { this.lastAttempt = lastAttempt; }
+
+    private static String normalize(Subject subject, String value) {
+        return subject == Subject.USER ? value.trim().toLowerCase(Locale.ROOT) : value;
     }
-}
\ No newline at end of file
+}
@@ -7,15 +7,12 @@ import org.springframework.stereotype.Service;
 import com.tuniv.backend.authorization.service.PermissionService;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
 import com.tuniv.backend.qa.model.Post;
-import com.tuniv.backend.user.model.User;
-import com.tuniv.backend.user.repository.UserRepository;
 
 @Service
 @RequiredArgsConstructor
 public class PostAuthorizationService {
 
     private final PermissionService permissionService;
-    private final UserRepository userRepository;
 
     /**
      * Checks if the current user is the author of the post.
@@ -38,9 +35,9 @@ public class PostAuthorizationService {
      * @param currentUser The currently authenticated user
      */
     public void checkEditPermission(Post post, UserDetailsImpl currentUser) {
-        User user = getUserFromDetails(currentUser);
+        Integer userId = currentUser.getId();
         
-        if (!permissionService.canEditPost(user, post)) {
+        if (!permissionService.canEditPost(userId, post)) {
             throw new AccessDeniedException("Access Denied: You do not have permission to edit this post.");
         }
     }
@@ -53,9 +50,9 @@ public class PostAuthorizationService {
      * @param currentUser The currently authenticated user
      */
     public void checkDeletePermission(Post post, UserDetailsImpl currentUser) {
-        User user = getUserFromDetails(currentUser);
+        Integer userId = currentUser.getId();
         
-        if (!permissionService.canDeletePost(user, post)) {
+        if (!permissionService.canDeletePost(userId, post)) {
             throw new AccessDeniedException("Access Denied: You do not have permission to delete this post.");
         }
     }
@@ -68,9 +65,9 @@ public class PostAuthorizationService {
      */
     public void checkCreatePostPermission(com.tuniv.backend.university.model.University universityContext, 
                                          UserDetailsImpl currentUser) {
-        User user = getUserFromDetails(currentUser);
+        Integer userId = currentUser.getId();
         
-        if (!permissionService.hasPermission(user, "post.topic.create", universityContext)) {
+        if (!permissionService.hasPermission(userId, "post.topic.create", universityContext)) {
             throw new AccessDeniedException("Access Denied: You do not have permission to create posts in this context.");
         }
     }
@@ -84,7 +81,7 @@ public class PostAuthorizationService {
      * @param requireOwnership If true, only owners can access; if false, moderators can too
      */
     public void checkOwnershipOrModerator(Post post, UserDetailsImpl currentUser, boolean requireOwnership) {
-        User user = getUserFromDetails(currentUser);
+        Integer userId = currentUser.getId();
         
         // Always allow if user is the owner
         if (post.getAuthor().getUserId().equals(currentUser.getId())) {
@@ -97,7 +94,7 @@ public class PostAuthorizationService {
         }
         
         // For non-owners, check if they have moderator permissions
-        if (!permissionService.hasPermission(user, "post.edit.any", post)) {
+        if (!permissionService.hasPermission(userId, "post.edit.any", post)) {
             throw new AccessDeniedException("Access Denied: You do not have moderator privileges for this resource.");
         }
     }
@@ -109,9 +106,9 @@ public class PostAuthorizationService {
      * @param currentUser The currently authenticated user
      */
     public void checkPinPermission(Post post, UserDetailsImpl currentUser) {
-        User user = getUserFromDetails(currentUser);
+        Integer userId = currentUser.getId();
         
-        if (!permissionService.hasPermission(user, "community.topic.pin", post)) {
+        if (!permissionService.hasPermission(userId, "community.topic.pin", post)) {
             throw new AccessDeniedException("Access Denied: You do not have permission to pin/unpin this post.");
         }
     }
@@ -123,9 +120,9 @@ public class PostAuthorizationService {
      * @param currentUser The currently authenticated user
      */
     public void checkLockPermission(Post post, UserDetailsImpl currentUser) {
-        User user = getUserFromDetails(currentUser);
+        Integer userId = currentUser.getId();
         
-        if (!permissionService.hasPermission(user, "community.topic.lock", post)) {
+        if (!permissionService.hasPermission(userId, "community.topic.lock", post)) {
             throw new AccessDeniedException("Access Denied: You do not have permission to lock/unlock this post.");
         }
     }
@@ -137,11 +134,11 @@ public class PostAuthorizationService {
      * @param currentUser The currently authenticated user
      */
     public void checkReportManagementPermission(Post post, UserDetailsImpl currentUser) {
-        User user = getUserFromDetails(currentUser);
+        Integer userId = currentUser.getId();
         
         // Try community report management first
-        boolean hasPermission = permissionService.hasPermission(user, "community.report.manage", post) ||
-                               permissionService.hasPermission(user, "university.report.manage", post);
+        boolean hasPermission = permissionService.hasPermission(userId, "community.report.manage", post) ||
+                               permissionService.hasPermission(userId, "university.report.manage", post);
         
         if (!hasPermission) {
             throw new AccessDeniedException("Access Denied: You do not have permission to manage reports for this post.");
@@ -156,36 +153,36 @@ public class PostAuthorizationService {
      * @param action The action to perform ("edit", "delete", "pin", "lock", "manage_reports")
      */
     public void checkPostAction(Post post, UserDetailsImpl currentUser, String action) {
-        User user = getUserFromDetails(currentUser);
+        Integer userId = currentUser.getId();
         
         switch (action.toLowerCase()) {
             case "edit":
-                if (!permissionService.canEditPost(user, post)) {
+                if (!permissionService.canEditPost(userId, post)) {
                     throw new AccessDeniedException("Access Denied: You do not have permission to edit this post.");
                 }
                 break;
                 
             case "delete":
-                if (!permissionService.canDeletePost(user, post)) {
+                if (!permissionService.canDeletePost(userId, post)) {
                     throw new AccessDeniedException("Access Denied: You do not have permission to delete this post.");
                 }
                 break;
                 
             case "pin":
-                if (!permissionService.hasPermission(user, "community.topic.pin", post)) {
+                if (!permissionService.hasPermission(userId, "community.topic.pin", post)) {
                     throw new AccessDeniedException("Access Denied: You do not have permission to pin this post.");
                 }
                 break;
                 
             case "lock":
-                if (!permissionService.hasPermission(user, "community.topic.lock", post)) {
+                if (!permissionService.hasPermission(userId, "community.topic.lock", post)) {
                     throw new AccessDeniedException("Access Denied: You do not have permission to lock this post.");
                 }
                 break;
                 
             case "manage_reports":
-                boolean canManageReports = permissionService.hasPermission(user, "community.report.manage", post) ||
-                                         permissionService.hasPermission(user, "university.report.manage", post);
+                boolean canManageReports = permissionService.hasPermission(userId, "community.report.manage", post) ||
+                                         permissionService.hasPermission(userId, "university.report.manage", post);
                 if (!canManageReports) {
                     throw new AccessDeniedException("Access Denied: You do not have permission to manage reports for this post.");
                 }
@@ -195,12 +192,4 @@ public class PostAuthorizationService {
                 throw new IllegalArgumentException("Unknown post action: " + action);
         }
     }
-
-    /**
-     * Utility method to convert UserDetailsImpl to User entity
-     */
-    private User getUserFromDetails(UserDetailsImpl userDetails) {
-        return userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new AccessDeniedException("User not found"));
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.tuniv.backend.authorization.projection;
+
+/**
+ * The fields of a community membership that authorization needs, without loading the entity.
+ */
+public interface CommunityMembershipRowProjection {
+    Integer getUserId();
+    Integer getCommunityId();
+    Integer getRoleId();
+    Boolean getActive();
+}
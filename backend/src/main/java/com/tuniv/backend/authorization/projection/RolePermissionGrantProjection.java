@@ -0,0 +1,10 @@
+package com.tuniv.backend.authorization.projection;
+
+/**
+ * One row of a role-permission join table. {@code permissionId} is null for roles without permissions,
+ * so every role shows up at least once.
+ */
+public interface RolePermissionGrantProjection {
+    Integer getRoleId();
+    Integer getPermissionId();
+}
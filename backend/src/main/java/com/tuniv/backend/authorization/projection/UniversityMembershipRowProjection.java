@@ -0,0 +1,15 @@
+package com.tuniv.backend.authorization.projection;
+
+import com.tuniv.backend.university.model.VerificationStatus;
+
+/**
+ * The fields of a university membership that authorization needs, without loading the entity.
+ */
+public interface UniversityMembershipRowProjection {
+    Integer getUserId();
+    Integer getUniversityId();
+    Integer getRoleId();
+    Boolean getActive();
+    Boolean getPrimaryMembership();
+    VerificationStatus getStatus();
+}
@@ -1,11 +1,13 @@
 package com.tuniv.backend.authorization.repository;
 
 import com.tuniv.backend.authorization.model.Permission;
+import com.tuniv.backend.authorization.projection.RolePermissionGrantProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -23,4 +25,28 @@ public interface PermissionRepository extends JpaRepository<Permission, Long> {
     
     @Query("SELECT p FROM Permission p JOIN p.roles r WHERE r.id = :roleId")
     Set<Permission> findByRoleId(@Param("roleId") Long roleId);
-}
\ No newline at end of file
+
+    // ========== ROLE-PERMISSION MATRIX ==========
+    // Read once by RolePermissionRegistry instead of initializing each role's lazy permission set.
+
+    @Query(value = """
+        SELECT r.id AS roleId, rp.permission_id AS permissionId
+        FROM university_roles r
+        LEFT JOIN university_role_permissions rp ON rp.role_id = r.id
+        """, nativeQuery = true)
+    List<RolePermissionGrantProjection> findUniversityRoleGrants();
+
+    @Query(value = """
+        SELECT r.id AS roleId, rp.permission_id AS permissionId
+        FROM community_roles r
+        LEFT JOIN community_role_permissions rp ON rp.role_id = r.id
+        """, nativeQuery = true)
+    List<RolePermissionGrantProjection> findCommunityRoleGrants();
+
+    @Query(value = """
+        SELECT r.id AS roleId, rp.permission_id AS permissionId
+        FROM conversation_roles r
+        LEFT JOIN conversation_role_permissions rp ON rp.role_id = r.id
+        """, nativeQuery = true)
+    List<RolePermissionGrantProjection> findConversationRoleGrants();
+}
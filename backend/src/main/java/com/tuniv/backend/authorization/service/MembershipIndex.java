@@ -0,0 +1,305 @@
+package com.tuniv.backend.authorization.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tuniv.backend.authorization.projection.CommunityMembershipRowProjection;
+import com.tuniv.backend.authorization.projection.UniversityMembershipRowProjection;
+import com.tuniv.backend.shared.cache.InFlightLoads;
+import com.tuniv.backend.university.model.VerificationStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Node-local, bounded cache of each user's university and community memberships.
+ *
+ * A user's memberships are loaded by {@link MembershipLoader} with two projection queries into an immutable {@link MembershipSnapshot}
+ * of sorted id arrays, so membership and role checks are binary searches instead of repository calls.
+ * Services call {@link #invalidate(Integer)} whenever they join, leave, verify or change a member's role;
+ * the entry is dropped after commit on this node and, through a RabbitMQ fanout exchange, on every other node.
+ * A load that overlaps an invalidation of one of its users is served but not cached, since it may have read
+ * the state from before the change.
+ */
+@Component
+@Slf4j
+public class MembershipIndex {
+
+    public static final String INVALIDATION_EXCHANGE = "membership.index.invalidation";
+
+    public record InvalidationMessage(Integer userId) {}
+
+    private final MembershipLoader membershipLoader;
+    private final RabbitTemplate rabbitTemplate;
+    private final Cache<Integer, MembershipSnapshot> cache;
+    private final InFlightLoads<Integer> loads = new InFlightLoads<>();
+
+    public MembershipIndex(
+            MembershipLoader membershipLoader,
+            RabbitTemplate rabbitTemplate,
+            @Value("${app.cache.membership-index.max-size:100000}") long maxSize,
+            @Value("${app.cache.membership-index.ttl:PT30M}") Duration ttl) {
+        this.membershipLoader = membershipLoader;
+        this.rabbitTemplate = rabbitTemplate;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // ========== QUERIES ==========
+
+    /**
+     * The user's memberships; {@link MembershipSnapshot#EMPTY} for anonymous users.
+     */
+    public MembershipSnapshot membershipsOf(Integer userId) {
+        if (userId == null) {
+            return MembershipSnapshot.EMPTY;
+        }
+        MembershipSnapshot cached = cache.getIfPresent(userId);
+        return cached != null ? cached : membershipsOf(List.of(userId)).get(userId);
+    }
+
+    /**
+     * Memberships of all given users, loading the ones missing from the cache with two IN queries.
+     * Every non-null id is present in the result.
+     */
+    public Map<Integer, MembershipSnapshot> membershipsOf(Collection<Integer> userIds) {
+        Set<Integer> ids = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Integer, MembershipSnapshot> result = new HashMap<>(cache.getAllPresent(ids));
+        if (result.size() < ids.size()) {
+            List<Integer> missing = ids.stream()
+                    .filter(id -> !result.containsKey(id))
+                    .toList();
+            try (InFlightLoads<Integer>.Load load = loads.start(missing)) {
+                Map<Integer, MembershipSnapshot> loaded = membershipLoader.load(missing);
+                // A snapshot invalidated during the load may predate the change; serve it but do not cache it
+                loaded.forEach((userId, snapshot) -> {
+                    if (!load.isSuperseded(userId)) {
+                        cache.put(userId, snapshot);
+                    }
+                });
+                load.superseded().forEach(cache::invalidate);
+                result.putAll(loaded);
+            }
+        }
+        return result;
+    }
+
+    public boolean isUniversityMember(Integer userId, Integer universityId) {
+        return membershipsOf(userId).isUniversityMember(universityId);
+    }
+
+    public boolean isVerifiedUniversityMember(Integer userId, Integer universityId) {
+        return membershipsOf(userId).isVerifiedUniversityMember(universityId);
+    }
+
+    public boolean isCommunityMember(Integer userId, Integer communityId) {
+        return membershipsOf(userId).isCommunityMember(communityId);
+    }
+
+    // ========== INVALIDATION ==========
+
+    /**
+     * Drops the user's snapshot now and again once the current transaction commits (so a concurrent read
+     * cannot re-cache the pre-commit state), then tells the other nodes to drop theirs.
+     */
+    public void invalidate(Integer userId) {
+        if (userId == null) {
+            return;
+        }
+        loads.supersede(userId);
+        cache.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    loads.supersede(userId);
+                    cache.invalidate(userId);
+                    broadcastInvalidation(userId);
+                }
+            });
+        } else {
+            broadcastInvalidation(userId);
+        }
+    }
+
+    @RabbitListener(queues = "#{membershipIndexInvalidationQueue.name}")
+    public void handleInvalidation(InvalidationMessage message) {
+        loads.supersede(message.userId());
+        cache.invalidate(message.userId());
+    }
+
+    private void broadcastInvalidation(Integer userId) {
+        try {
+            rabbitTemplate.convertAndSend(INVALIDATION_EXCHANGE, "", new InvalidationMessage(userId));
+        } catch (Exception e) {
+            // Other nodes fall back to TTL expiry; the local entry is already gone.
+            log.warn("Failed to broadcast membership invalidation for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Immutable view of one user's memberships. Ids are kept in sorted arrays with parallel role id and
+     * flag arrays; a missing role is stored as {@link #NO_ROLE}.
+     */
+    public static final class MembershipSnapshot {
+
+        public static final MembershipSnapshot EMPTY = new MembershipSnapshot(
+                new int[0], new int[0], new byte[0], new int[0], new int[0], new byte[0]);
+
+        private static final int NO_ROLE = -1;
+        private static final byte ACTIVE = 1;
+        private static final byte PRIMARY = 2;
+        private static final byte VERIFIED = 4;
+
+        private final int[] universityIds;
+        private final int[] universityRoleIds;
+        private final byte[] universityFlags;
+        private final int[] communityIds;
+        private final int[] communityRoleIds;
+        private final byte[] communityFlags;
+
+        private MembershipSnapshot(int[] universityIds, int[] universityRoleIds, byte[] universityFlags,
+                                   int[] communityIds, int[] communityRoleIds, byte[] communityFlags) {
+            this.universityIds = universityIds;
+            this.universityRoleIds = universityRoleIds;
+            this.universityFlags = universityFlags;
+            this.communityIds = communityIds;
+            this.communityRoleIds = communityRoleIds;
+            this.communityFlags = communityFlags;
+        }
+
+        static MembershipSnapshot of(List<UniversityMembershipRowProjection> universities,
+                                     List<CommunityMembershipRowProjection> communities) {
+            if (universities.isEmpty() && communities.isEmpty()) {
+                return EMPTY;
+            }
+            List<UniversityMembershipRowProjection> sortedUniversities = new ArrayList<>(universities);
+            sortedUniversities.sort((a, b) -> Integer.compare(a.getUniversityId(), b.getUniversityId()));
+            int[] uIds = new int[sortedUniversities.size()];
+            int[] uRoles = new int[uIds.length];
+            byte[] uFlags = new byte[uIds.length];
+            for (int i = 0; i < uIds.length; i++) {
+                UniversityMembershipRowProjection row = sortedUniversities.get(i);
+                uIds[i] = row.getUniversityId();
+                uRoles[i] = row.getRoleId() != null ? row.getRoleId() : NO_ROLE;
+                uFlags[i] = (byte) ((Boolean.TRUE.equals(row.getActive()) ? ACTIVE : 0)
+                        | (Boolean.TRUE.equals(row.getPrimaryMembership()) ? PRIMARY : 0)
+                        | (row.getStatus() == VerificationStatus.VERIFIED ? VERIFIED : 0));
+            }
+
+            List<CommunityMembershipRowProjection> sortedCommunities = new ArrayList<>(communities);
+            sortedCommunities.sort((a, b) -> Integer.compare(a.getCommunityId(), b.getCommunityId()));
+            int[] cIds = new int[sortedCommunities.size()];
+            int[] cRoles = new int[cIds.length];
+            byte[] cFlags = new byte[cIds.length];
+            for (int i = 0; i < cIds.length; i++) {
+                CommunityMembershipRowProjection row = sortedCommunities.get(i);
+                cIds[i] = row.getCommunityId();
+                cRoles[i] = row.getRoleId() != null ? row.getRoleId() : NO_ROLE;
+                cFlags[i] = Boolean.TRUE.equals(row.getActive()) ? ACTIVE : 0;
+            }
+            return new MembershipSnapshot(uIds, uRoles, uFlags, cIds, cRoles, cFlags);
+        }
+
+        // --- Universities ---
+
+        /** True for any membership row, whatever its verification status (matches the old exists checks). */
+        public boolean isUniversityMember(Integer universityId) {
+            return universityId != null && Arrays.binarySearch(universityIds, universityId) >= 0;
+        }
+
+        public boolean isVerifiedUniversityMember(Integer universityId) {
+            return hasUniversityFlag(universityId, VERIFIED);
+        }
+
+        /** Role of the user's active membership in the university, or null. */
+        public Integer activeUniversityRoleId(Integer universityId) {
+            int i = universityId != null ? Arrays.binarySearch(universityIds, universityId) : -1;
+            return i >= 0 ? activeRole(universityRoleIds[i], universityFlags[i]) : null;
+        }
+
+        public List<Integer> activeUniversityRoleIds() {
+            List<Integer> roleIds = new ArrayList<>(universityIds.length);
+            for (int i = 0; i < universityIds.length; i++) {
+                Integer roleId = activeRole(universityRoleIds[i], universityFlags[i]);
+                if (roleId != null) {
+                    roleIds.add(roleId);
+                }
+            }
+            return roleIds;
+        }
+
+        public Set<Integer> universityIds() {
+            return toSet(universityIds);
+        }
+
+        public Integer primaryUniversityId() {
+            for (int i = 0; i < universityIds.length; i++) {
+                if ((universityFlags[i] & PRIMARY) != 0) {
+                    return universityIds[i];
+                }
+            }
+            return null;
+        }
+
+        // --- Communities ---
+
+        public boolean isCommunityMember(Integer communityId) {
+            return communityId != null && Arrays.binarySearch(communityIds, communityId) >= 0;
+        }
+
+        /** Role of the user's active membership in the community, or null. */
+        public Integer activeCommunityRoleId(Integer communityId) {
+            int i = communityId != null ? Arrays.binarySearch(communityIds, communityId) : -1;
+            return i >= 0 ? activeRole(communityRoleIds[i], communityFlags[i]) : null;
+        }
+
+        public Set<Integer> communityIds() {
+            return toSet(communityIds);
+        }
+
+        private boolean hasUniversityFlag(Integer universityId, byte flag) {
+            int i = universityId != null ? Arrays.binarySearch(universityIds, universityId) : -1;
+            return i >= 0 && (universityFlags[i] & flag) != 0;
+        }
+
+        private static Integer activeRole(int roleId, byte flags) {
+            return (flags & ACTIVE) != 0 && roleId != NO_ROLE ? roleId : null;
+        }
+
+        private static Set<Integer> toSet(int[] ids) {
+            Set<Integer> set = new LinkedHashSet<>(ids.length * 2);
+            for (int id : ids) {
+                set.add(id);
+            }
+            return Collections.unmodifiableSet(set);
+        }
+    }
+}
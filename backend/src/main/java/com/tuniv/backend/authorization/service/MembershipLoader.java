@@ -0,0 +1,57 @@
+package com.tuniv.backend.authorization.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tuniv.backend.authorization.projection.CommunityMembershipRowProjection;
+import com.tuniv.backend.authorization.projection.UniversityMembershipRowProjection;
+import com.tuniv.backend.authorization.service.MembershipIndex.MembershipSnapshot;
+import com.tuniv.backend.community.repository.CommunityMembershipRepository;
+import com.tuniv.backend.shared.datasource.DataSourceRoute;
+import com.tuniv.backend.shared.datasource.RouteTo;
+import com.tuniv.backend.university.repository.UniversityMembershipRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads the membership snapshots cached by {@link MembershipIndex}. Loads run in their own transaction on the
+ * primary: a snapshot outlives the request, and the caller's transaction may be on a replica that has not
+ * caught up with the change that invalidated the entry.
+ */
+@Component
+@RequiredArgsConstructor
+public class MembershipLoader {
+
+    private final UniversityMembershipRepository universityMembershipRepository;
+    private final CommunityMembershipRepository communityMembershipRepository;
+
+    /**
+     * Snapshots of the given users, loaded with two IN queries. Every id is present in the result.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    @RouteTo(DataSourceRoute.PRIMARY)
+    public Map<Integer, MembershipSnapshot> load(List<Integer> userIds) {
+        Map<Integer, List<UniversityMembershipRowProjection>> universityRows = new HashMap<>();
+        for (UniversityMembershipRowProjection row : universityMembershipRepository.findRowsByUserIds(userIds)) {
+            universityRows.computeIfAbsent(row.getUserId(), id -> new ArrayList<>()).add(row);
+        }
+        Map<Integer, List<CommunityMembershipRowProjection>> communityRows = new HashMap<>();
+        for (CommunityMembershipRowProjection row : communityMembershipRepository.findRowsByUserIds(userIds)) {
+            communityRows.computeIfAbsent(row.getUserId(), id -> new ArrayList<>()).add(row);
+        }
+
+        Map<Integer, MembershipSnapshot> snapshots = new HashMap<>(userIds.size() * 2);
+        for (Integer userId : userIds) {
+            snapshots.put(userId, MembershipSnapshot.of(
+                    universityRows.getOrDefault(userId, List.of()),
+                    communityRows.getOrDefault(userId, List.of())));
+        }
+        return snapshots;
+    }
+}
@@ -1,21 +1,16 @@
 package com.tuniv.backend.authorization.service;
 
-import com.tuniv.backend.authorization.model.Permission;
 import com.tuniv.backend.chat.model.Conversation;
-import com.tuniv.backend.chat.model.ConversationParticipant;
-import com.tuniv.backend.chat.model.ConversationRole;
 import com.tuniv.backend.community.model.Community;
-import com.tuniv.backend.community.model.CommunityMembership;
-import com.tuniv.backend.community.model.CommunityRole;
 import com.tuniv.backend.qa.model.Post;
 import com.tuniv.backend.qa.model.Reply;
 import com.tuniv.backend.qa.model.Topic;
 import com.tuniv.backend.university.model.University;
-import com.tuniv.backend.university.model.UniversityMembership;
-import com.tuniv.backend.university.model.UniversityRole;
 import com.tuniv.backend.user.model.User;
 import com.tuniv.backend.user.repository.UserRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -23,33 +18,36 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.BooleanSupplier;
 
 import com.tuniv.backend.authorization.model.ContentPermissions;
-import com.tuniv.backend.authorization.repository.PermissionRepository;
+import com.tuniv.backend.authorization.service.RolePermissionRegistry.RoleScope;
 import com.tuniv.backend.chat.repository.ConversationParticipantRepository;
-import com.tuniv.backend.community.repository.CommunityMembershipRepository;
 import com.tuniv.backend.shared.exception.ResourceNotFoundException;
-import com.tuniv.backend.university.repository.UniversityMembershipRepository;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PermissionServiceImpl implements PermissionService {
 
-    private final UniversityMembershipRepository universityMembershipRepository;
-    private final CommunityMembershipRepository communityMembershipRepository;
+    private final MembershipIndex membershipIndex;
     private final ConversationParticipantRepository conversationParticipantRepository;
-    private final PermissionRepository permissionRepository;
     private final UserRepository userRepository;
+    private final RolePermissionRegistry rolePermissionRegistry;
+    private final MeterRegistry meterRegistry;
+
+    private static final String CHECK_TIMER = "tuniv.permission.check";
 
     // ============ PRIMARY METHODS (using userId) ============
 
     @Override
     @Transactional(readOnly = true)
     public boolean hasPermission(Integer userId, String permissionName, Object targetResource) {
+        return timed(scopeOf(targetResource), () -> checkPermission(userId, permissionName, targetResource));
+    }
+
+    private boolean checkPermission(Integer userId, String permissionName, Object targetResource) {
         if (userId == null) {
             return false;
         }
@@ -80,6 +78,10 @@ public class PermissionServiceImpl implements PermissionService {
     @Override
     @Transactional(readOnly = true)
     public boolean hasPermission(Integer userId, String permissionName) {
+        return timed("platform", () -> checkPlatformPermission(userId, permissionName));
+    }
+
+    private boolean checkPlatformPermission(Integer userId, String permissionName) {
         if (userId == null) {
             return false;
         }
@@ -92,84 +94,56 @@ public class PermissionServiceImpl implements PermissionService {
             return true;
         }
 
-        // For platform-level permissions, check all university memberships
-        return universityMembershipRepository.findByUser_UserId(userId)
+        // For platform-level permissions, check the roles of all active university memberships
+        return membershipIndex.membershipsOf(userId).activeUniversityRoleIds()
                 .stream()
-                .anyMatch(membership -> hasPermissionInRole(permissionName, membership.getRole()));
+                .anyMatch(roleId -> rolePermissionRegistry.hasPermission(RoleScope.UNIVERSITY, roleId, permissionName));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Set<String> getCommunityPermissions(Integer userId, Community community) {
-        Set<String> permissions = new HashSet<>();
-        
         if (userId == null || community == null) {
-            return permissions;
+            return Set.of();
         }
 
-        // Check community membership using userId
-        Optional<CommunityMembership> membership = communityMembershipRepository
-                .findByUser_UserIdAndCommunity(userId, community);
-        
-        if (membership.isPresent() && membership.get().isActive()) {
-            CommunityRole role = membership.get().getRole();
-            permissions.addAll(role.getPermissions().stream()
-                    .map(Permission::getName)
-                    .collect(Collectors.toSet()));
-        }
+        Set<String> communityPermissions = rolePermissionRegistry.permissionNames(RoleScope.COMMUNITY,
+                membershipIndex.membershipsOf(userId).activeCommunityRoleId(community.getCommunityId()));
 
         // Add university-level permissions that apply to communities
-        if (community.getUniversity() != null) {
-            permissions.addAll(getUniversityPermissions(userId, community.getUniversity()));
+        if (community.getUniversity() == null) {
+            return communityPermissions;
         }
-
+        Set<String> universityPermissions = getUniversityPermissions(userId, community.getUniversity());
+        if (universityPermissions.isEmpty()) {
+            return communityPermissions;
+        }
+        Set<String> permissions = new HashSet<>(communityPermissions);
+        permissions.addAll(universityPermissions);
         return permissions;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Set<String> getUniversityPermissions(Integer userId, University university) {
-        Set<String> permissions = new HashSet<>();
-        
         if (userId == null || university == null) {
-            return permissions;
-        }
-
-        // Check university membership using userId
-        Optional<UniversityMembership> membership = universityMembershipRepository
-                .findByUser_UserIdAndUniversity(userId, university);
-        
-        if (membership.isPresent() && membership.get().isActive()) {
-            UniversityRole role = membership.get().getRole();
-            permissions.addAll(role.getPermissions().stream()
-                    .map(Permission::getName)
-                    .collect(Collectors.toSet()));
+            return Set.of();
         }
 
-        return permissions;
+        return rolePermissionRegistry.permissionNames(RoleScope.UNIVERSITY,
+                membershipIndex.membershipsOf(userId).activeUniversityRoleId(university.getUniversityId()));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Set<String> getConversationPermissions(Integer userId, Conversation conversation) {
-        Set<String> permissions = new HashSet<>();
-        
         if (userId == null || conversation == null) {
-            return permissions;
-        }
-
-        // Check conversation participation using userId
-        Optional<ConversationParticipant> participant = conversationParticipantRepository
-                .findByUser_UserIdAndConversation(userId, conversation);
-        
-        if (participant.isPresent() && participant.get().isActive()) {
-            ConversationRole role = participant.get().getRole();
-            permissions.addAll(role.getPermissions().stream()
-                    .map(Permission::getName)
-                    .collect(Collectors.toSet()));
+            return Set.of();
         }
 
-        return permissions;
+        return conversationParticipantRepository.findActiveRoleId(userId, conversation.getConversationId())
+                .map(roleId -> rolePermissionRegistry.permissionNames(RoleScope.CONVERSATION, roleId))
+                .orElse(Set.of());
     }
 
     @Override
@@ -285,35 +259,13 @@ public class PermissionServiceImpl implements PermissionService {
     }
 
     private boolean hasUniversityPermission(Integer userId, String permissionName, University university) {
-        // Use optimized repository method if available
-        if (universityMembershipRepository instanceof EnhancedUniversityMembershipRepository) {
-            return ((EnhancedUniversityMembershipRepository) universityMembershipRepository)
-                    .hasPermission(userId, university, permissionName);
-        }
-        
-        // Fallback to original implementation with userId
-        Optional<UniversityMembership> membership = universityMembershipRepository
-                .findByUser_UserIdAndUniversity(userId, university);
-        
-        return membership.isPresent() && 
-               membership.get().isActive() && 
-               hasPermissionInRole(permissionName, membership.get().getRole());
+        Integer roleId = membershipIndex.membershipsOf(userId).activeUniversityRoleId(university.getUniversityId());
+        return rolePermissionRegistry.hasPermission(RoleScope.UNIVERSITY, roleId, permissionName);
     }
 
     private boolean hasCommunityPermission(Integer userId, String permissionName, Community community) {
-        // Use optimized repository method if available
-        if (communityMembershipRepository instanceof EnhancedCommunityMembershipRepository) {
-            return ((EnhancedCommunityMembershipRepository) communityMembershipRepository)
-                    .hasPermission(userId, community, permissionName);
-        }
-        
-        // Fallback to original implementation with userId
-        Optional<CommunityMembership> membership = communityMembershipRepository
-                .findByUser_UserIdAndCommunity(userId, community);
-        
-        boolean hasCommunityPermission = membership.isPresent() && 
-                membership.get().isActive() && 
-                hasPermissionInRole(permissionName, membership.get().getRole());
+        Integer roleId = membershipIndex.membershipsOf(userId).activeCommunityRoleId(community.getCommunityId());
+        boolean hasCommunityPermission = rolePermissionRegistry.hasPermission(RoleScope.COMMUNITY, roleId, permissionName);
 
         // Fall back to university permissions if community permission not found
         if (!hasCommunityPermission && community.getUniversity() != null) {
@@ -324,19 +276,32 @@ public class PermissionServiceImpl implements PermissionService {
     }
 
     private boolean hasConversationPermission(Integer userId, String permissionName, Conversation conversation) {
-        // Use optimized repository method if available
-        if (conversationParticipantRepository instanceof EnhancedConversationParticipantRepository) {
-            return ((EnhancedConversationParticipantRepository) conversationParticipantRepository)
-                    .hasPermission(userId, conversation, permissionName);
+        return conversationParticipantRepository.findActiveRoleId(userId, conversation.getConversationId())
+                .map(roleId -> rolePermissionRegistry.hasPermission(RoleScope.CONVERSATION, roleId, permissionName))
+                .orElse(false);
+    }
+
+    // ============ METRICS ============
+
+    /** Records {@code tuniv.permission.check} by resource scope and outcome (granted, denied or error). */
+    private boolean timed(String scope, BooleanSupplier check) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            boolean granted = check.getAsBoolean();
+            outcome = granted ? "granted" : "denied";
+            return granted;
+        } finally {
+            sample.stop(meterRegistry.timer(CHECK_TIMER, "scope", scope, "outcome", outcome));
         }
-        
-        // Fallback to original implementation with userId
-        Optional<ConversationParticipant> participant = conversationParticipantRepository
-                .findByUser_UserIdAndConversation(userId, conversation);
-        
-        return participant.isPresent() && 
-               participant.get().isActive() && 
-               hasPermissionInRole(permissionName, participant.get().getRole());
+    }
+
+    private static String scopeOf(Object targetResource) {
+        if (targetResource instanceof University) return "university";
+        if (targetResource instanceof Community) return "community";
+        if (targetResource instanceof Conversation) return "conversation";
+        if (targetResource instanceof Post) return "post";
+        return "other";
     }
 
     // ============ UTILITY METHODS ============
@@ -368,18 +333,4 @@ public class PermissionServiceImpl implements PermissionService {
         
         return null;
     }
-
-    private boolean hasPermissionInRole(String permissionName, Object role) {
-        if (role instanceof UniversityRole) {
-            return ((UniversityRole) role).getPermissions().stream()
-                    .anyMatch(permission -> permission.getName().equals(permissionName));
-        } else if (role instanceof CommunityRole) {
-            return ((CommunityRole) role).getPermissions().stream()
-                    .anyMatch(permission -> permission.getName().equals(permissionName));
-        } else if (role instanceof ConversationRole) {
-            return ((ConversationRole) role).getPermissions().stream()
-                    .anyMatch(permission -> permission.getName().equals(permissionName));
-        }
-        return false;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,214 @@
+package com.tuniv.backend.authorization.service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tuniv.backend.authorization.model.Permission;
+import com.tuniv.backend.authorization.projection.RolePermissionGrantProjection;
+import com.tuniv.backend.authorization.repository.PermissionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Node-local copy of the role-permission matrix for university, community and conversation roles.
+ *
+ * Permission names are interned to dense bit indexes and every role is stored as a {@code long[]} bitset,
+ * so a permission check is a map lookup plus a single bit test and never touches a lazy collection.
+ * The matrix is immutable and replaced wholesale on reload; role changes trigger a reload after commit
+ * and are broadcast over a RabbitMQ fanout exchange so every node reloads too.
+ */
+@Component
+@Slf4j
+public class RolePermissionRegistry {
+
+    public static final String RELOAD_EXCHANGE = "authorization.roles.changed";
+
+    /** Minimum time between reloads triggered by a role id the matrix does not know yet. */
+    private static final long UNKNOWN_ROLE_RELOAD_INTERVAL_MILLIS = 1000;
+
+    public enum RoleScope { UNIVERSITY, COMMUNITY, CONVERSATION }
+
+    public record ReloadMessage(String reason) {}
+
+    private record Matrix(Map<String, Integer> bitByName, String[] nameByBit,
+                          Map<RoleScope, Map<Integer, long[]>> rolesByScope,
+                          Map<RoleScope, Map<Integer, Set<String>>> namesByScope) {
+
+        long[] bits(RoleScope scope, Integer roleId) {
+            return rolesByScope.get(scope).get(roleId);
+        }
+    }
+
+    private final PermissionRepository permissionRepository;
+    private final RabbitTemplate rabbitTemplate;
+
+    private volatile Matrix matrix;
+    private volatile long lastReloadAt;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public RolePermissionRegistry(PermissionRepository permissionRepository, RabbitTemplate rabbitTemplate) {
+        this.permissionRepository = permissionRepository;
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    // ========== QUERIES ==========
+
+    public boolean hasPermission(RoleScope scope, Integer roleId, String permissionName) {
+        if (roleId == null || permissionName == null) {
+            return false;
+        }
+        Matrix m = matrixFor(scope, roleId);
+        Integer bit = m.bitByName().get(permissionName);
+        long[] bits = m.bits(scope, roleId);
+        return bit != null && bits != null && (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * All permission names granted to the role, as a shared immutable set (empty for unknown roles).
+     */
+    public Set<String> permissionNames(RoleScope scope, Integer roleId) {
+        if (roleId == null) {
+            return Set.of();
+        }
+        Matrix m = matrixFor(scope, roleId);
+        long[] bits = m.bits(scope, roleId);
+        if (bits == null) {
+            return Set.of();
+        }
+        return m.namesByScope().get(scope).computeIfAbsent(roleId, id -> toNames(bits, m.nameByBit()));
+    }
+
+    // ========== RELOADING ==========
+
+    /**
+     * Reloads the matrix on this node once the current transaction commits, then asks the other nodes to do the same.
+     * Call after creating, updating or deleting a role or changing its permissions.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reloadAndBroadcast();
+                }
+            });
+        } else {
+            reloadAndBroadcast();
+        }
+    }
+
+    @RabbitListener(queues = "#{rolePermissionReloadQueue.name}")
+    public void handleReload(ReloadMessage message) {
+        reload();
+    }
+
+    // Runs after the DataSeeder, so system roles seeded at startup are included.
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        reloadLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            List<Permission> permissions = permissionRepository.findAll();
+
+            Map<String, Integer> bitByName = new HashMap<>(permissions.size() * 2);
+            Map<Integer, Integer> bitByPermissionId = new HashMap<>(permissions.size() * 2);
+            String[] nameByBit = new String[permissions.size()];
+            int bit = 0;
+            for (Permission permission : permissions) {
+                String name = permission.getName().intern();
+                bitByName.put(name, bit);
+                bitByPermissionId.put(permission.getId(), bit);
+                nameByBit[bit] = name;
+                bit++;
+            }
+            int words = Math.max(1, (nameByBit.length + 63) >>> 6);
+
+            Map<RoleScope, Map<Integer, long[]>> rolesByScope = new EnumMap<>(RoleScope.class);
+            rolesByScope.put(RoleScope.UNIVERSITY, toBitsets(permissionRepository.findUniversityRoleGrants(), bitByPermissionId, words));
+            rolesByScope.put(RoleScope.COMMUNITY, toBitsets(permissionRepository.findCommunityRoleGrants(), bitByPermissionId, words));
+            rolesByScope.put(RoleScope.CONVERSATION, toBitsets(permissionRepository.findConversationRoleGrants(), bitByPermissionId, words));
+
+            Map<RoleScope, Map<Integer, Set<String>>> namesByScope = new EnumMap<>(RoleScope.class);
+            for (RoleScope scope : RoleScope.values()) {
+                namesByScope.put(scope, new ConcurrentHashMap<>());
+            }
+
+            matrix = new Matrix(Map.copyOf(bitByName), nameByBit, rolesByScope, namesByScope);
+            lastReloadAt = System.currentTimeMillis();
+            log.debug("Role-permission matrix loaded: {} permissions, {} university / {} community / {} conversation roles in {} ms",
+                    nameByBit.length, rolesByScope.get(RoleScope.UNIVERSITY).size(), rolesByScope.get(RoleScope.COMMUNITY).size(),
+                    rolesByScope.get(RoleScope.CONVERSATION).size(), lastReloadAt - start);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void reloadAndBroadcast() {
+        reload();
+        try {
+            rabbitTemplate.convertAndSend(RELOAD_EXCHANGE, "", new ReloadMessage("role changed"));
+        } catch (Exception e) {
+            // Other nodes pick the change up on their next reload (e.g. when they meet the unknown role).
+            log.warn("Failed to broadcast role-permission reload: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the current matrix, loading it on first use. A role created on another node may reach us
+     * before its reload broadcast does; in that case reload once, rate-limited.
+     */
+    private Matrix matrixFor(RoleScope scope, Integer roleId) {
+        Matrix m = matrix;
+        if (m == null) {
+            reload();
+            return matrix;
+        }
+        if (m.bits(scope, roleId) == null
+                && System.currentTimeMillis() - lastReloadAt > UNKNOWN_ROLE_RELOAD_INTERVAL_MILLIS) {
+            reload();
+            return matrix;
+        }
+        return m;
+    }
+
+    private static Map<Integer, long[]> toBitsets(List<RolePermissionGrantProjection> grants,
+                                                  Map<Integer, Integer> bitByPermissionId, int words) {
+        Map<Integer, long[]> roles = new HashMap<>();
+        for (RolePermissionGrantProjection grant : grants) {
+            long[] bits = roles.computeIfAbsent(grant.getRoleId(), id -> new long[words]);
+            Integer bit = grant.getPermissionId() != null ? bitByPermissionId.get(grant.getPermissionId()) : null;
+            if (bit != null) {
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return Map.copyOf(roles);
+    }
+
+    private static Set<String> toNames(long[] bits, String[] nameByBit) {
+        Set<String> names = new LinkedHashSet<>();
+        for (int word = 0; word < bits.length; word++) {
+            long w = bits[word];
+            while (w != 0) {
+                int bit = (word << 6) + Long.numberOfTrailingZeros(w);
+                names.add(nameByBit[bit]);
+                w &= w - 1;
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+}
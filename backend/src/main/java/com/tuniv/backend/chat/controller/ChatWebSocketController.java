@@ -31,7 +31,10 @@ import com.tuniv.backend.chat.service.ConversationPermissionService;
 import com.tuniv.backend.chat.service.MessageService;
 import com.tuniv.backend.chat.service.ReactionService;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
+import com.tuniv.backend.shared.exception.RateLimitExceededException;
 import com.tuniv.backend.shared.exception.ResourceNotFoundException;
+import com.tuniv.backend.shared.ratelimit.RateLimitPolicy;
+import com.tuniv.backend.shared.ratelimit.RateLimited;
 import com.tuniv.backend.user.model.User;
 import com.tuniv.backend.user.repository.UserRepository;
 
@@ -56,6 +59,7 @@ public class ChatWebSocketController {
 
     @MessageMapping("/chat/{conversationId}/send")
     @SendToUser("/queue/messages/ack")
+    @RateLimited(RateLimitPolicy.SEND_MESSAGE)
     @RequiresMembership(conversationIdParam = "conversationId")
     public ChatMessageDto sendMessage(
             @DestinationVariable Integer conversationId,
@@ -132,6 +136,7 @@ public class ChatWebSocketController {
     // ========== Typing Indicators ==========
 
     @MessageMapping("/chat/{conversationId}/typing")
+    @RateLimited(RateLimitPolicy.TYPING)
     @RequiresMembership(conversationIdParam = "conversationId")
     public void handleTyping(
             @DestinationVariable Integer conversationId,
@@ -277,6 +282,8 @@ public class ChatWebSocketController {
             errorMessage.setCode("ACCESS_DENIED");
         } else if (exception instanceof ResourceNotFoundException) {
             errorMessage.setCode("NOT_FOUND");
+        } else if (exception instanceof RateLimitExceededException) {
+            errorMessage.setCode("RATE_LIMITED");
         } else if (exception instanceof jakarta.validation.ValidationException) {
             errorMessage.setCode("VALIDATION_ERROR");
         } else {
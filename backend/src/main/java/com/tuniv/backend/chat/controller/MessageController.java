@@ -9,6 +9,9 @@ import com.tuniv.backend.chat.service.MessageService;
 import com.tuniv.backend.chat.annotation.RequiresMembership;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
 import com.tuniv.backend.shared.dto.ApiResponse;
+import com.tuniv.backend.shared.dto.CursorPage;
+import com.tuniv.backend.shared.ratelimit.RateLimitPolicy;
+import com.tuniv.backend.shared.ratelimit.RateLimited;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +34,7 @@ public class MessageController {
     private final MessageService messageService;
 
     @PostMapping("/conversation/{conversationId}")
+    @RateLimited(RateLimitPolicy.SEND_MESSAGE)
     @PreAuthorize("@conversationPermissionService.hasPermission(#conversationId, #currentUser, 'send_messages')")
     @RequiresMembership(conversationIdParam = "conversationId")
     public ResponseEntity<ChatMessageDto> sendMessage(
@@ -117,6 +121,20 @@ public class MessageController {
         return ResponseEntity.ok(messages);
     }
 
+    /**
+     * Cursor-paged history. Pass the returned {@code nextCursor} as {@code before} to load older messages.
+     */
+    @GetMapping("/conversation/{conversationId}/history")
+    @RequiresMembership(conversationIdParam = "conversationId")
+    public ResponseEntity<CursorPage<ChatMessageDto>> getMessageHistory(
+            @PathVariable Integer conversationId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "50") int size,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        log.debug("Fetching message history before {} in conversation {} by user {}", before, conversationId, currentUser.getId());
+        return ResponseEntity.ok(messageService.getMessageHistory(conversationId, before, size, currentUser));
+    }
+
     @GetMapping("/{messageId}/can-interact")
     @PreAuthorize("@messagePermissionService.canView(#messageId, #currentUser)")
     public ResponseEntity<Boolean> canInteractWithMessage(
@@ -10,6 +10,7 @@ import org.springframework.transaction.event.TransactionalEventListener;
 
 import com.tuniv.backend.chat.event.SystemMessageRequestedEvent;
 import com.tuniv.backend.chat.service.MessageService;
+import com.tuniv.backend.config.AsyncConfig;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,7 +32,7 @@ public class SystemMessageEventListener {
      *
      * @param event the system message requested event
      */
-    @Async
+    @Async(AsyncConfig.REALTIME_EXECUTOR)
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     @Retryable(value = Exception.class, maxAttempts = 3, backoff = @Backoff(delay = 1000))
     public void handleSystemMessageRequested(SystemMessageRequestedEvent event) {
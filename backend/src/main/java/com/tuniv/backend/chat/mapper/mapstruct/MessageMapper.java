@@ -1,10 +1,14 @@
 package com.tuniv.backend.chat.mapper.mapstruct;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import com.tuniv.backend.chat.dto.response.ChatMessageDto;
 import com.tuniv.backend.chat.dto.response.ChatMessageLightDto;
@@ -14,79 +18,96 @@ import com.tuniv.backend.chat.dto.response.PinnedMessageDto;
 import com.tuniv.backend.chat.model.Message;
 import com.tuniv.backend.chat.projection.message.MessageListProjection;
 import com.tuniv.backend.chat.projection.message.PinnedMessageProjection;
+import com.tuniv.backend.user.dto.UserSummaryDto;
+import com.tuniv.backend.user.model.User;
+import com.tuniv.backend.user.service.UserSummaryCache;
 
 @Mapper(componentModel = "spring", 
         uses = {ReactionMapper.class},
         unmappedTargetPolicy = ReportingPolicy.IGNORE)
-public interface MessageMapper {
+public abstract class MessageMapper {
+
+    // User details are resolved by id through the shared cache instead of walking lazy User proxies
+    @Autowired
+    protected UserSummaryCache userSummaryCache;
     
     // Basic message mapping
     @Mapping(target = "authorId", source = "author.userId")
-    @Mapping(target = "authorUsername", source = "author.username")
-    @Mapping(target = "authorProfilePhotoUrl", source = "author.profilePhotoUrl")
+    @Mapping(target = "authorUsername", expression = "java(username(message.getAuthor()))")
+    @Mapping(target = "authorProfilePhotoUrl", expression = "java(profilePhotoUrl(message.getAuthor()))")
     @Mapping(target = "conversationId", source = "conversation.conversationId")
     @Mapping(target = "messageType", source = "messageType")
     @Mapping(target = "replyToMessageId", source = "replyToMessage.id")
     @Mapping(target = "replyToMessageBody", expression = "java(truncateMessageBody(message.getReplyToMessage() != null ? message.getReplyToMessage().getBody() : null, 100))")
     @Mapping(target = "replyToAuthorId", source = "replyToMessage.author.userId")
-    @Mapping(target = "replyToAuthorUsername", source = "replyToMessage.author.username")
+    @Mapping(target = "replyToAuthorUsername", expression = "java(message.getReplyToMessage() != null ? username(message.getReplyToMessage().getAuthor()) : null)")
     @Mapping(target = "reactionsSummary", ignore = true)
     @Mapping(target = "readByCount", ignore = true)
     @Mapping(target = "isReadByCurrentUser", ignore = true)
-    ChatMessageDto toChatMessageDto(Message message);
+    public abstract ChatMessageDto toChatMessageDto(Message message);
     
     // Mapping with reactions summary
+    @Mapping(target = "authorId", source = "message.author.userId")
+    @Mapping(target = "authorUsername", expression = "java(username(message.getAuthor()))")
+    @Mapping(target = "authorProfilePhotoUrl", expression = "java(profilePhotoUrl(message.getAuthor()))")
+    @Mapping(target = "conversationId", source = "message.conversation.conversationId")
+    @Mapping(target = "replyToMessageId", source = "message.replyToMessage.id")
+    @Mapping(target = "replyToMessageBody", expression = "java(truncateMessageBody(message.getReplyToMessage() != null ? message.getReplyToMessage().getBody() : null, 100))")
+    @Mapping(target = "replyToAuthorId", source = "message.replyToMessage.author.userId")
+    @Mapping(target = "replyToAuthorUsername", expression = "java(message.getReplyToMessage() != null ? username(message.getReplyToMessage().getAuthor()) : null)")
     @Mapping(target = "reactionsSummary", source = "reactionsSummary")
-    ChatMessageDto toChatMessageDto(Message message, MessageReactionsSummaryDto reactionsSummary);
+    @Mapping(target = "readByCount", ignore = true)
+    @Mapping(target = "isReadByCurrentUser", ignore = true)
+    public abstract ChatMessageDto toChatMessageDto(Message message, MessageReactionsSummaryDto reactionsSummary);
     
     // Pinned message mapping
     @Mapping(target = "authorId", source = "author.userId")
-    @Mapping(target = "authorUsername", source = "author.username")
-    @Mapping(target = "authorProfilePhotoUrl", source = "author.profilePhotoUrl")
+    @Mapping(target = "authorUsername", expression = "java(username(message.getAuthor()))")
+    @Mapping(target = "authorProfilePhotoUrl", expression = "java(profilePhotoUrl(message.getAuthor()))")
     @Mapping(target = "conversationId", source = "conversation.conversationId")
     @Mapping(target = "pinnedByUserId", source = "pinnedBy.userId")
-    @Mapping(target = "pinnedByUsername", source = "pinnedBy.username")
+    @Mapping(target = "pinnedByUsername", expression = "java(username(message.getPinnedBy()))")
     @Mapping(target = "messageType", source = "messageType")
     @Mapping(target = "replyToMessageId", source = "replyToMessage.id")
     @Mapping(target = "replyToMessageBody", expression = "java(truncateMessageBody(message.getReplyToMessage() != null ? message.getReplyToMessage().getBody() : null, 100))")
     @Mapping(target = "replyToAuthorId", source = "replyToMessage.author.userId")
-    @Mapping(target = "replyToAuthorUsername", source = "replyToMessage.author.username")
+    @Mapping(target = "replyToAuthorUsername", expression = "java(message.getReplyToMessage() != null ? username(message.getReplyToMessage().getAuthor()) : null)")
     @Mapping(target = "reactionsSummary", ignore = true)
-    PinnedMessageDto toPinnedMessageDto(Message message);
+    public abstract PinnedMessageDto toPinnedMessageDto(Message message);
     
     // Pinned message with reactions summary
-    @Mapping(target = "authorId", source = "author.userId")
-    @Mapping(target = "authorUsername", source = "author.username")
-    @Mapping(target = "authorProfilePhotoUrl", source = "author.profilePhotoUrl")
-    @Mapping(target = "conversationId", source = "conversation.conversationId")
-    @Mapping(target = "pinnedByUserId", source = "pinnedBy.userId")
-    @Mapping(target = "pinnedByUsername", source = "pinnedBy.username")
+    @Mapping(target = "authorId", source = "message.author.userId")
+    @Mapping(target = "authorUsername", expression = "java(username(message.getAuthor()))")
+    @Mapping(target = "authorProfilePhotoUrl", expression = "java(profilePhotoUrl(message.getAuthor()))")
+    @Mapping(target = "conversationId", source = "message.conversation.conversationId")
+    @Mapping(target = "pinnedByUserId", source = "message.pinnedBy.userId")
+    @Mapping(target = "pinnedByUsername", expression = "java(username(message.getPinnedBy()))")
     @Mapping(target = "messageType", source = "messageType")
-    @Mapping(target = "replyToMessageId", source = "replyToMessage.id")
+    @Mapping(target = "replyToMessageId", source = "message.replyToMessage.id")
     @Mapping(target = "replyToMessageBody", expression = "java(truncateMessageBody(message.getReplyToMessage() != null ? message.getReplyToMessage().getBody() : null, 100))")
-    @Mapping(target = "replyToAuthorId", source = "replyToMessage.author.userId")
-    @Mapping(target = "replyToAuthorUsername", source = "replyToMessage.author.username")
+    @Mapping(target = "replyToAuthorId", source = "message.replyToMessage.author.userId")
+    @Mapping(target = "replyToAuthorUsername", expression = "java(message.getReplyToMessage() != null ? username(message.getReplyToMessage().getAuthor()) : null)")
     @Mapping(target = "reactionsSummary", source = "reactionsSummary")
-    PinnedMessageDto toPinnedMessageDto(Message message, MessageReactionsSummaryDto reactionsSummary);
+    public abstract PinnedMessageDto toPinnedMessageDto(Message message, MessageReactionsSummaryDto reactionsSummary);
     
     // Lightweight mappings
     @Mapping(target = "authorId", source = "author.userId")
-    @Mapping(target = "authorUsername", source = "author.username")
+    @Mapping(target = "authorUsername", expression = "java(username(message.getAuthor()))")
     @Mapping(target = "conversationId", source = "conversation.conversationId")
-    ChatMessageSummaryDto toChatMessageSummaryDto(Message message);
+    public abstract ChatMessageSummaryDto toChatMessageSummaryDto(Message message);
     
     @Mapping(target = "authorId", source = "author.userId")
-    @Mapping(target = "authorUsername", source = "author.username")
+    @Mapping(target = "authorUsername", expression = "java(username(message.getAuthor()))")
     @Mapping(target = "conversationId", source = "conversation.conversationId")
     @Mapping(target = "reactionCounts", ignore = true)
     @Mapping(target = "totalReactions", ignore = true)
-    ChatMessageLightDto toChatMessageLightDto(Message message);
+    public abstract ChatMessageLightDto toChatMessageLightDto(Message message);
     
     // Projection mappings
     @Mapping(target = "authorId", source = "author.userId")
-    @Mapping(target = "authorUsername", source = "author.username")
+    @Mapping(target = "authorUsername", expression = "java(username(message.getAuthor()))")
     @Mapping(target = "conversationId", source = "conversation.conversationId")
-    ChatMessageDto toDto(Message message);
+    public abstract ChatMessageDto toDto(Message message);
 
     @Mapping(target = "id", source = "messageId")
     @Mapping(target = "body", source = "messageBody")
@@ -108,28 +129,59 @@ public interface MessageMapper {
     @Mapping(target = "reactionsSummary", ignore = true)
     @Mapping(target = "readByCount", ignore = true)
     @Mapping(target = "isReadByCurrentUser", ignore = true)
-    ChatMessageDto projectionToDto(MessageListProjection projection);
+    public abstract ChatMessageDto projectionToDto(MessageListProjection projection);
     
     // Pinned Message Projection mappings
-    @Mapping(target = "authorProfilePhotoUrl", ignore = true) // Not in projection, ignore it
+    @Mapping(target = "authorProfilePhotoUrl", expression = "java(profilePhotoUrl(projection.getAuthorId()))") // Not in projection, served from cache
     @Mapping(target = "reactionsSummary", ignore = true) // Fetched separately
     @Mapping(target = "isPinned", constant = "true") // We know it's pinned
-    PinnedMessageDto projectionToPinnedMessageDto(PinnedMessageProjection projection);
+    public abstract PinnedMessageDto projectionToPinnedMessageDto(PinnedMessageProjection projection);
 
-    List<PinnedMessageDto> projectionToPinnedMessageDtoList(List<PinnedMessageProjection> projections);
+    public abstract List<PinnedMessageDto> projectionToPinnedMessageDtoList(List<PinnedMessageProjection> projections);
     
     // Bulk mappings
-    List<ChatMessageDto> toChatMessageDtoList(List<Message> messages);
-    List<PinnedMessageDto> toPinnedMessageDtoList(List<Message> messages);
-    List<ChatMessageSummaryDto> toChatMessageSummaryDtoList(List<Message> messages);
-    List<ChatMessageDto> projectionToDtoList(List<MessageListProjection> projections);
+    public abstract List<ChatMessageDto> toChatMessageDtoList(List<Message> messages);
+    public abstract List<PinnedMessageDto> toPinnedMessageDtoList(List<Message> messages);
+    public abstract List<ChatMessageSummaryDto> toChatMessageSummaryDtoList(List<Message> messages);
+    public abstract List<ChatMessageDto> projectionToDtoList(List<MessageListProjection> projections);
     
-    default String mapMessageType(com.tuniv.backend.chat.model.MessageType messageType) {
+    public String mapMessageType(com.tuniv.backend.chat.model.MessageType messageType) {
         return messageType != null ? messageType.name() : null;
     }
     
-    default String truncateMessageBody(String body, int maxLength) {
+    public String truncateMessageBody(String body, int maxLength) {
         if (body == null) return null;
         return body.length() > maxLength ? body.substring(0, maxLength) + "..." : body;
     }
+
+    // ========== USER SUMMARY LOOKUPS ==========
+
+    /**
+     * Warms the user summary cache for every author, reply-to author and pinner referenced by the
+     * given messages, so mapping them afterwards costs no further queries.
+     */
+    public void preloadUsers(Collection<Message> messages) {
+        userSummaryCache.getAll(messages.stream()
+                .flatMap(m -> Stream.of(
+                        m.getAuthor(),
+                        m.getPinnedBy(),
+                        m.getReplyToMessage() != null ? m.getReplyToMessage().getAuthor() : null))
+                .filter(Objects::nonNull)
+                .map(User::getUserId)
+                .toList());
+    }
+
+    protected String username(User user) {
+        UserSummaryDto summary = user != null ? userSummaryCache.get(user.getUserId()) : null;
+        return summary != null ? summary.username() : null;
+    }
+
+    protected String profilePhotoUrl(User user) {
+        return user != null ? profilePhotoUrl(user.getUserId()) : null;
+    }
+
+    protected String profilePhotoUrl(Integer userId) {
+        UserSummaryDto summary = userSummaryCache.get(userId);
+        return summary != null ? summary.profilePhotoUrl() : null;
+    }
 }
\ No newline at end of file
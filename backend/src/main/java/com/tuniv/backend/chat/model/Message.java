@@ -2,6 +2,8 @@ package com.tuniv.backend.chat.model;
 
 import java.time.Instant;
 
+import org.hibernate.annotations.PartitionKey;
+
 import com.tuniv.backend.qa.model.Post;
 import com.tuniv.backend.user.model.User;
 
@@ -40,8 +42,11 @@ public class Message extends Post {
     private Long version;
 
     // ========== MESSAGE-SPECIFIC FIELDS ==========
+    // Partition key: messages is partitioned by month of sent_at, so it must not change after insert.
+    // @PartitionKey adds it to the WHERE clause of entity updates and deletes, which then touch one partition.
     @NotNull
-    @Column(name = "sent_at", nullable = false)
+    @PartitionKey
+    @Column(name = "sent_at", nullable = false, updatable = false)
     private Instant sentAt = Instant.now();
 
     @NotNull
@@ -0,0 +1,60 @@
+package com.tuniv.backend.chat.model;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A monthly {@code messages} partition that was exported to file storage and dropped.
+ * {@code rehydratedAt} is set while the partition is back in the database.
+ */
+@Entity
+@Table(name = "message_archives")
+@Getter
+@Setter
+@NoArgsConstructor
+public class MessageArchive {
+
+    @Id
+    @Column(name = "partition_name", length = 64)
+    private String partitionName;
+
+    @Column(name = "range_start", nullable = false)
+    private Instant rangeStart;
+
+    @Column(name = "range_end", nullable = false)
+    private Instant rangeEnd;
+
+    @Column(name = "object_url", nullable = false, length = 1024)
+    private String objectUrl;
+
+    @Column(name = "row_count", nullable = false)
+    private long rowCount;
+
+    // Lets a conversation's history find its archives without opening them
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "conversation_ids", nullable = false)
+    private Integer[] conversationIds;
+
+    // Lets a message id find its archive once its posts row is archived too; null in older archives
+    @Column(name = "min_message_id")
+    private Integer minMessageId;
+
+    @Column(name = "max_message_id")
+    private Integer maxMessageId;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    @Column(name = "rehydrated_at")
+    private Instant rehydratedAt;
+}
@@ -15,6 +15,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
@@ -39,7 +40,8 @@ import lombok.Setter;
 public class Reaction extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reaction_id_seq")
+    @SequenceGenerator(name = "reaction_id_seq", sequenceName = "reactions_id_seq", allocationSize = 50)
     private Integer id;
 
     // ========== OPTIMISTIC LOCKING ==========
@@ -215,7 +215,8 @@ public interface ConversationParticipantRepository extends JpaRepository<Convers
      */
     @Query("""
             SELECT 
-                u.userId as userId, u.username as username, u.profilePhotoUrl as profilePhotoUrl,
+                u.userId as userId, u.username as username,
+                COALESCE(u.profilePhotoThumbnailUrl, u.profilePhotoUrl) as profilePhotoUrl,
                 cp.nickname as nickname, r.id as roleId, r.name as roleName, r.displayName as displayName,
                 cp.joinedAt as joinedAt, cp.lastActiveAt as lastActiveAt, cp.messageCount as messageCount,
                 cp.isActive as isActive, cp.notificationsEnabled as notificationsEnabled,
@@ -234,7 +235,8 @@ public interface ConversationParticipantRepository extends JpaRepository<Convers
      */
     @Query("""
             SELECT 
-                u.userId as userId, u.username as username, u.profilePhotoUrl as profilePhotoUrl,
+                u.userId as userId, u.username as username,
+                COALESCE(u.profilePhotoThumbnailUrl, u.profilePhotoUrl) as profilePhotoUrl,
                 cp.nickname as nickname, r.id as roleId, r.name as roleName, r.displayName as displayName,
                 cp.joinedAt as joinedAt, cp.lastActiveAt as lastActiveAt, cp.messageCount as messageCount,
                 cp.isActive as isActive, cp.notificationsEnabled as notificationsEnabled,
@@ -261,7 +263,8 @@ public interface ConversationParticipantRepository extends JpaRepository<Convers
      * Recently active participants summary (optimized projection).
      */
     @Query("SELECT cp.user.userId as userId, cp.user.username as username, " +
-           "cp.user.profilePhotoUrl as profilePhotoUrl, cp.nickname as nickname, " +
+           "COALESCE(cp.user.profilePhotoThumbnailUrl, cp.user.profilePhotoUrl) as profilePhotoUrl, " +
+           "cp.nickname as nickname, " +
            "cp.role.id as roleId, cp.role.name as roleName, cp.joinedAt as joinedAt " +
            "FROM ConversationParticipant cp " +
            "WHERE cp.conversation.conversationId = :conversationId AND cp.isActive = true " +
@@ -302,6 +305,12 @@ public interface ConversationParticipantRepository extends JpaRepository<Convers
     @Query("SELECT COUNT(cp) > 0 FROM ConversationParticipant cp WHERE cp.conversation.conversationId = :conversationId AND cp.user.userId = :userId AND cp.isActive = true")
     boolean isUserActiveParticipant(@Param("conversationId") Integer conversationId, @Param("userId") Integer userId);
 
+    /**
+     * Role of the user's active participation in a conversation, without loading the participant or its role.
+     */
+    @Query("SELECT cp.role.id FROM ConversationParticipant cp WHERE cp.id.userId = :userId AND cp.id.conversationId = :conversationId AND cp.isActive = true")
+    Optional<Integer> findActiveRoleId(@Param("userId") Integer userId, @Param("conversationId") Integer conversationId);
+
     /**
      * Counts all active participants in a conversation.
      */
@@ -0,0 +1,60 @@
+package com.tuniv.backend.chat.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.tuniv.backend.chat.model.MessageArchive;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface MessageArchiveRepository extends JpaRepository<MessageArchive, String> {
+
+    // Serializes concurrent rehydrations of the same partition
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM MessageArchive a WHERE a.partitionName = :partitionName")
+    Optional<MessageArchive> findForUpdate(@Param("partitionName") String partitionName);
+
+    // Newest archived month before the cursor that holds messages of the conversation
+    @Query(value = """
+        SELECT * FROM message_archives
+        WHERE rehydrated_at IS NULL
+        AND range_start < :before
+        AND :conversationId = ANY(conversation_ids)
+        ORDER BY range_start DESC
+        LIMIT 1
+        """, nativeQuery = true)
+    Optional<MessageArchive> findLatestArchivedBefore(@Param("conversationId") Integer conversationId,
+                                                      @Param("before") Instant before);
+
+    // Archived months of the conversation whose id range covers the message
+    @Query(value = """
+        SELECT * FROM message_archives
+        WHERE rehydrated_at IS NULL
+        AND min_message_id <= :messageId AND max_message_id >= :messageId
+        AND :conversationId = ANY(conversation_ids)
+        """, nativeQuery = true)
+    List<MessageArchive> findArchivedContaining(@Param("conversationId") Integer conversationId,
+                                                @Param("messageId") Integer messageId);
+
+    // Archives written before id ranges were recorded, found by date instead
+    @Query(value = """
+        SELECT * FROM message_archives
+        WHERE rehydrated_at IS NULL
+        AND min_message_id IS NULL
+        AND range_start < :to AND range_end > :from
+        AND :conversationId = ANY(conversation_ids)
+        """, nativeQuery = true)
+    List<MessageArchive> findLegacyArchivedOverlapping(@Param("conversationId") Integer conversationId,
+                                                       @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("SELECT a.partitionName FROM MessageArchive a WHERE a.rehydratedAt > :since")
+    List<String> findPartitionNamesRehydratedSince(@Param("since") Instant since);
+}
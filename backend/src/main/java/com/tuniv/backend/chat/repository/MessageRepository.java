@@ -232,22 +232,26 @@ public interface MessageRepository extends JpaRepository<Message, Integer>, JpaS
     // ========== Update Operations ==========
     
     // ✅ GOOD: Update operations don't need deleted filters
+    // sentAt is the partition key: without it an update by id probes every monthly partition
     @Modifying
-    @Query("UPDATE Message m SET m.deleted = true, m.deletedAt = :deletedAt, m.deletionReason = :reason WHERE m.id = :messageId")
+    @Query("UPDATE Message m SET m.deleted = true, m.deletedAt = :deletedAt, m.deletionReason = :reason WHERE m.id = :messageId AND m.sentAt = :sentAt")
     void softDeleteMessage(@Param("messageId") Integer messageId, 
+                         @Param("sentAt") Instant sentAt,
                          @Param("deletedAt") Instant deletedAt, 
                          @Param("reason") String reason);
     
     // ✅ GOOD: Update operations don't need deleted filters
     @Modifying
-    @Query("UPDATE Message m SET m.pinned = :pinned WHERE m.id = :messageId")
+    @Query("UPDATE Message m SET m.pinned = :pinned WHERE m.id = :messageId AND m.sentAt = :sentAt")
     void updatePinnedStatus(@Param("messageId") Integer messageId, 
+                          @Param("sentAt") Instant sentAt,
                           @Param("pinned") boolean pinned);
     
     // ✅ GOOD: Update operations don't need deleted filters
     @Modifying
-    @Query("UPDATE Message m SET m.body = :body, m.edited = true, m.editedAt = :editedAt, m.editCount = m.editCount + 1 WHERE m.id = :messageId")
+    @Query("UPDATE Message m SET m.body = :body, m.edited = true, m.editedAt = :editedAt, m.editCount = m.editCount + 1 WHERE m.id = :messageId AND m.sentAt = :sentAt")
     void updateMessageContent(@Param("messageId") Integer messageId, 
+                            @Param("sentAt") Instant sentAt,
                             @Param("body") String body, 
                             @Param("editedAt") Instant editedAt);
 
@@ -328,6 +332,25 @@ public interface MessageRepository extends JpaRepository<Message, Integer>, JpaS
         Pageable pageable
     );
 
+    // ✅ Keyset page for cursor history. The sent_at bound lets Postgres skip monthly partitions newer than the
+    // cursor, and the (conversation_id, sent_at DESC) index stops the scan after one page.
+    @Query("SELECT m.id as id, m.body as body, m.author.userId as authorId, " +
+           "m.author.username as authorUsername, m.conversation.conversationId as conversationId, " +
+           "m.sentAt as sentAt, m.edited as isEdited, m.messageType as messageType, " +
+           "m.pinned as isPinned, m.replyToMessage.id as replyToMessageId, " +
+           "CASE WHEN m.replyToMessage IS NOT NULL THEN m.replyToMessage.body ELSE NULL END as replyToMessageBody, " +
+           "CASE WHEN m.replyToMessage IS NOT NULL THEN m.replyToMessage.author.userId ELSE NULL END as replyToAuthorId, " +
+           "CASE WHEN m.replyToMessage IS NOT NULL THEN m.replyToMessage.author.username ELSE NULL END as replyToAuthorUsername " +
+           "FROM Message m WHERE m.conversation.conversationId = :conversationId " +
+           "AND (m.sentAt < :before OR (m.sentAt = :before AND m.id < :beforeId)) " +
+           "AND m.deleted = false ORDER BY m.sentAt DESC, m.id DESC")
+    List<MessageListProjection> findMessageProjectionsBefore(
+        @Param("conversationId") Integer conversationId,
+        @Param("before") Instant before,
+        @Param("beforeId") Integer beforeId,
+        Pageable pageable
+    );
+
     // ✅ For search results
     @Query("SELECT m.id as id, m.body as body, m.author.userId as authorId, " +
            "m.author.username as authorUsername, m.conversation.conversationId as conversationId, " +
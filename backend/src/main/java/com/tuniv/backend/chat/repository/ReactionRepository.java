@@ -47,7 +47,8 @@ public interface ReactionRepository extends JpaRepository<Reaction, Integer>, Jp
     // ========== DTO PROJECTIONS FOR HIGH-TRAFFIC ENDPOINTS ==========
     
     @Query("SELECT r.id as id, r.message.id as messageId, r.user.id as userId, " +
-           "r.user.username as username, r.user.profilePhotoUrl as profilePhotoUrl, " +
+           "r.user.username as username, " +
+           "COALESCE(r.user.profilePhotoThumbnailUrl, r.user.profilePhotoUrl) as profilePhotoUrl, " +
            "r.emoji as emoji, r.skinTone as skinTone, r.customText as customText, " +
            "r.createdAt as createdAt, r.isRemoved as isRemoved, r.removedAt as removedAt " +
            "FROM Reaction r WHERE r.message.id = :messageId AND r.isRemoved = false")
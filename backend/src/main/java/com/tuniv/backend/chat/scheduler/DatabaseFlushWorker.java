@@ -1,5 +1,7 @@
 package com.tuniv.backend.chat.scheduler;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -18,6 +20,9 @@ import com.tuniv.backend.chat.repository.ConversationRepository;
 import com.tuniv.backend.user.model.User;
 import com.tuniv.backend.user.repository.UserRepository;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -30,6 +35,7 @@ public class DatabaseFlushWorker {
     private final ConversationRepository conversationRepository;
     private final UserRepository userRepository;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
     
     private static final String PENDING_UPDATES_KEY = "convo:last_message:pending";
 
@@ -44,6 +50,10 @@ public class DatabaseFlushWorker {
         }
         redisTemplate.delete(PENDING_UPDATES_KEY);
         log.debug("Flushing {} pending conversation updates to DB", pendingUpdatesRaw.size());
+        DistributionSummary.builder("tuniv.chat.flush.batch.size")
+                .baseUnit("updates")
+                .register(meterRegistry)
+                .record(pendingUpdatesRaw.size());
 
         List<NewMessageEventDto> events = new ArrayList<>();
         List<Integer> conversationIds = new ArrayList<>();
@@ -66,6 +76,11 @@ public class DatabaseFlushWorker {
         
         if (events.isEmpty()) return;
 
+        // How stale each conversation's last-message preview was in the DB by the time it is written
+        Timer lag = meterRegistry.timer("tuniv.chat.flush.lag");
+        Instant now = Instant.now();
+        events.forEach(event -> lag.record(Duration.between(event.getSentAt(), now)));
+
         // 2. Bulk fetch necessary entities
         Map<Integer, Conversation> conversationsMap = conversationRepository.findAllById(conversationIds).stream()
                 .collect(Collectors.toMap(Conversation::getConversationId, Function.identity()));
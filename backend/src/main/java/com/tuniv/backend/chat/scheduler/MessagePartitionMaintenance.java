@@ -0,0 +1,53 @@
+package com.tuniv.backend.chat.scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tuniv.backend.chat.service.MessageArchiveService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps monthly message partitions created ahead of time and archives the ones past retention.
+ * Safe to run on every node: partition creation is idempotent and archiving takes a per-partition advisory lock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MessagePartitionMaintenance {
+
+    private final MessageArchiveService archiveService;
+
+    @Value("${app.chat.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensurePartitions();
+    }
+
+    @Scheduled(cron = "${app.chat.partitions.maintenance-cron:0 30 3 * * *}")
+    public void maintain() {
+        ensurePartitions();
+        for (String partition : archiveService.findArchivablePartitions()) {
+            try {
+                archiveService.archivePartition(partition);
+            } catch (RuntimeException e) {
+                // The partition is left in place and retried on the next run
+                log.error("Failed to archive message partition {}", partition, e);
+            }
+        }
+    }
+
+    private void ensurePartitions() {
+        try {
+            archiveService.ensureUpcomingPartitions(monthsAhead);
+        } catch (RuntimeException e) {
+            log.error("Failed to create upcoming message partitions", e);
+        }
+    }
+}
@@ -16,6 +16,8 @@ import com.tuniv.backend.chat.mapper.mapstruct.ReadReceiptMapper;
 import com.tuniv.backend.chat.model.ConversationParticipant;
 import com.tuniv.backend.chat.model.Message;
 import com.tuniv.backend.chat.model.Reaction;
+import com.tuniv.backend.user.dto.UserSummaryDto;
+import com.tuniv.backend.user.service.UserSummaryCache;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +31,7 @@ public class ChatMappingService {
     private final ReadReceiptMapper readReceiptMapper;
     private final ReactionService reactionService;
     private final BulkDataFetcherService bulkDataFetcherService;
+    private final UserSummaryCache userSummaryCache;
 
     // ========== MESSAGE MAPPING METHODS ==========
 
@@ -72,6 +75,7 @@ public class ChatMappingService {
 
         // Bulk fetch reactions for all messages
         Map<Integer, List<Reaction>> reactionsByMessage = bulkDataFetcherService.getReactionsByMessages(messages);
+        messageMapper.preloadUsers(messages);
 
         return messages.stream()
             .map(message -> {
@@ -93,6 +97,7 @@ public class ChatMappingService {
 
         // Bulk fetch reactions for all messages
         Map<Integer, List<Reaction>> reactionsByMessage = bulkDataFetcherService.getReactionsByMessages(messages);
+        messageMapper.preloadUsers(messages);
 
         return messages.stream()
             .map(message -> {
@@ -175,10 +180,13 @@ public class ChatMappingService {
             return null;
         }
         
+        Integer userId = participant.getUser().getUserId();
+        UserSummaryDto user = userSummaryCache.get(userId);
+
         ReadReceiptDto receipt = new ReadReceiptDto();
-        receipt.setUserId(participant.getUser().getUserId());
-        receipt.setUsername(participant.getUser().getUsername());
-        receipt.setProfilePhotoUrl(participant.getUser().getProfilePhotoUrl());
+        receipt.setUserId(userId);
+        receipt.setUsername(user != null ? user.username() : null);
+        receipt.setProfilePhotoUrl(user != null ? user.profilePhotoUrl() : null);
         receipt.setConversationId(participant.getConversation().getConversationId());
         receipt.setLastReadTimestamp(participant.getLastReadTimestamp());
         receipt.setLastReadMessageId(lastReadMessage.getId());
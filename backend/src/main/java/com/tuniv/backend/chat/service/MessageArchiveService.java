@@ -0,0 +1,347 @@
+package com.tuniv.backend.chat.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tuniv.backend.chat.model.MessageArchive;
+import com.tuniv.backend.chat.repository.MessageArchiveRepository;
+import com.tuniv.backend.filestorage.model.FileStorage;
+import com.tuniv.backend.filestorage.model.StoredFile;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Manages the monthly partitions of {@code messages} (see {@code V1__partition_messages_by_month.sql}).
+ *
+ * Partitions older than the retention period are exported to file storage as gzipped JSON lines and dropped.
+ * A line holds the whole message: its {@code posts} row (JOINED inheritance), its {@code messages} row and the
+ * reactions, attachments and edit history hanging off the post. All of them are deleted in the transaction that
+ * drops the partition, so no parent row outlives its message. When history reads reach an archived month it is
+ * loaded back into a fresh partition, which is archived again once {@code app.chat.archive.rehydrated-ttl} has
+ * passed. Archives written before posts were included hold bare {@code messages} rows and are still readable.
+ */
+@Service
+@Slf4j
+public class MessageArchiveService {
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("messages_(\\d{4})_(\\d{2})");
+    private static final String ARCHIVE_DIRECTORY = "archives/messages/";
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final int REHYDRATE_BATCH_SIZE = 500;
+
+    /** Rows that reference a message's post, with the referencing column; archived and restored with it. */
+    private static final Map<String, String> POST_CHILD_TABLES = new LinkedHashMap<>();
+    static {
+        POST_CHILD_TABLES.put("reactions", "message_id");
+        POST_CHILD_TABLES.put("attachments", "post_id");
+        POST_CHILD_TABLES.put("post_edit_history", "post_id");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MessageArchiveRepository archiveRepository;
+    private final FileStorage fileStorage;
+    private final int retainMonths;
+    private final Duration rehydratedTtl;
+
+    public MessageArchiveService(JdbcTemplate jdbcTemplate,
+                                 MessageArchiveRepository archiveRepository,
+                                 FileStorage fileStorage,
+                                 @Value("${app.chat.archive.retain-months:12}") int retainMonths,
+                                 @Value("${app.chat.archive.rehydrated-ttl:P7D}") Duration rehydratedTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveRepository = archiveRepository;
+        this.fileStorage = fileStorage;
+        this.retainMonths = retainMonths;
+        this.rehydratedTtl = rehydratedTtl;
+    }
+
+    // ========== PARTITION MAINTENANCE ==========
+
+    /**
+     * Creates the partitions for the next {@code monthsAhead} months. The current month always exists already,
+     * created by an earlier run or, right after the migration, covered by {@code messages_legacy}.
+     */
+    public void ensureUpcomingPartitions(int monthsAhead) {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 1; i <= monthsAhead; i++) {
+            jdbcTemplate.queryForObject("SELECT ensure_messages_partition(?)", String.class,
+                current.plusMonths(i).atDay(1));
+        }
+    }
+
+    /**
+     * Monthly partitions past the retention period, skipping those rehydrated within the TTL.
+     * {@code messages_legacy} is never archived.
+     */
+    @Transactional(readOnly = true)
+    public List<String> findArchivablePartitions() {
+        YearMonth cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(retainMonths);
+        Set<String> recentlyRehydrated = Set.copyOf(
+            archiveRepository.findPartitionNamesRehydratedSince(Instant.now().minus(rehydratedTtl)));
+
+        List<String> partitions = jdbcTemplate.queryForList("""
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'messages'::regclass
+            ORDER BY c.relname
+            """, String.class);
+        return partitions.stream()
+            .filter(name -> month(name).filter(month -> month.isBefore(cutoff)).isPresent())
+            .filter(name -> !recentlyRehydrated.contains(name))
+            .toList();
+    }
+
+    // ========== ARCHIVING ==========
+
+    /**
+     * Exports one monthly partition to file storage, records it and drops it.
+     * The partition and its posts rows are locked against writes while they are exported, and nothing is
+     * dropped or deleted unless the upload succeeded. Returns false when another node is already archiving it
+     * or it no longer exists.
+     */
+    @Transactional
+    public boolean archivePartition(String partitionName) {
+        YearMonth month = month(partitionName)
+            .orElseThrow(() -> new IllegalArgumentException("Not a monthly message partition: " + partitionName));
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(hashtext(?))",
+            Boolean.class, partitionName);
+        if (!Boolean.TRUE.equals(locked)
+                || jdbcTemplate.queryForObject("SELECT to_regclass(?)", String.class, partitionName) == null) {
+            return false;
+        }
+        jdbcTemplate.execute("LOCK TABLE " + partitionName + " IN SHARE MODE");
+        // Deleting or editing a message may only touch its posts row, which the table lock does not cover
+        jdbcTemplate.execute("SELECT p.id FROM posts p JOIN " + partitionName + " m ON m.id = p.id FOR SHARE OF p");
+
+        Set<Integer> conversationIds = new TreeSet<>();
+        int[] idRange = {Integer.MAX_VALUE, Integer.MIN_VALUE};
+        long rowCount;
+        StoredFile stored;
+        Path file = createTempFile();
+        try {
+            rowCount = export(partitionName, file, conversationIds, idRange);
+            try (InputStream content = Files.newInputStream(file)) {
+                stored = fileStorage.storeObject(content, Files.size(file), "application/gzip",
+                    ARCHIVE_DIRECTORY + partitionName + ".jsonl.gz");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive partition " + partitionName, e);
+        } finally {
+            deleteQuietly(file);
+        }
+
+        MessageArchive archive = archiveRepository.findById(partitionName).orElseGet(MessageArchive::new);
+        archive.setPartitionName(partitionName);
+        archive.setRangeStart(startOf(month));
+        archive.setRangeEnd(startOf(month.plusMonths(1)));
+        archive.setObjectUrl(stored.url());
+        archive.setRowCount(rowCount);
+        archive.setConversationIds(conversationIds.toArray(Integer[]::new));
+        archive.setMinMessageId(rowCount > 0 ? idRange[0] : null);
+        archive.setMaxMessageId(rowCount > 0 ? idRange[1] : null);
+        archive.setArchivedAt(Instant.now());
+        archive.setRehydratedAt(null);
+        archiveRepository.saveAndFlush(archive);
+
+        // The ids outlive the partition so that the posts side can be deleted after it, in the same transaction
+        jdbcTemplate.execute("CREATE TEMPORARY TABLE archived_message_ids ON COMMIT DROP AS SELECT id FROM " + partitionName);
+        jdbcTemplate.execute("ALTER TABLE messages DETACH PARTITION " + partitionName);
+        jdbcTemplate.execute("DROP TABLE " + partitionName);
+        POST_CHILD_TABLES.forEach((table, column) -> jdbcTemplate.update(
+            "DELETE FROM " + table + " WHERE " + column + " IN (SELECT id FROM archived_message_ids)"));
+        int posts = jdbcTemplate.update("DELETE FROM posts WHERE id IN (SELECT id FROM archived_message_ids)");
+        jdbcTemplate.execute("DROP TABLE archived_message_ids");
+        log.info("Archived message partition {} ({} rows, {} posts) to {}", partitionName, rowCount, posts, stored.url());
+        return true;
+    }
+
+    private long export(String partitionName, Path file, Set<Integer> conversationIds, int[] idRange) throws IOException {
+        StringBuilder query = new StringBuilder("SELECT m.conversation_id, m.id, json_build_object("
+            + "'post', row_to_json(p), 'message', row_to_json(m)");
+        POST_CHILD_TABLES.forEach((table, column) -> query.append(", '").append(table).append("', (SELECT json_agg(c) FROM ")
+            .append(table).append(" c WHERE c.").append(column).append(" = m.id)"));
+        query.append(")::text FROM ").append(partitionName).append(" m JOIN posts p ON p.id = m.id");
+
+        long[] rowCount = {0};
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8))) {
+            // A fetch size makes the driver stream through a cursor instead of loading the whole month
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(query.toString());
+                statement.setFetchSize(EXPORT_FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                conversationIds.add(rs.getInt(1));
+                idRange[0] = Math.min(idRange[0], rs.getInt(2));
+                idRange[1] = Math.max(idRange[1], rs.getInt(2));
+                try {
+                    writer.write(rs.getString(3));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rowCount[0]++;
+            });
+        }
+        return rowCount[0];
+    }
+
+    // ========== REHYDRATION ==========
+
+    /**
+     * Brings back the archived month of the conversation that holds {@code messageId}, if any. Archives record
+     * the range of message ids they hold; pooled id allocation lets neighbouring months overlap, so every match
+     * is loaded. Archives from before posts were archived too have no range, and are found from the post's
+     * {@code created_at} instead, which is within moments of the message's {@code sent_at}. Only archives
+     * listing the conversation qualify, so an id from another conversation brings nothing back.
+     * Runs in its own transaction so that callers in read-only transactions can use it.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean rehydrateMessage(Integer conversationId, Integer messageId) {
+        List<MessageArchive> archives = archiveRepository.findArchivedContaining(conversationId, messageId);
+        if (archives.isEmpty()) {
+            List<Timestamp> createdAt = jdbcTemplate.queryForList(
+                "SELECT created_at FROM posts WHERE id = ?", Timestamp.class, messageId);
+            if (createdAt.isEmpty()) {
+                return false;
+            }
+            Instant around = createdAt.get(0).toInstant();
+            Duration margin = Duration.ofDays(1);
+            archives = archiveRepository.findLegacyArchivedOverlapping(conversationId, around.minus(margin), around.plus(margin));
+        }
+        boolean rehydrated = false;
+        for (MessageArchive archive : archives) {
+            rehydrated |= rehydrate(archive.getPartitionName());
+        }
+        return rehydrated;
+    }
+
+    /**
+     * Brings back the newest archived month before {@code before} that has messages of the conversation.
+     * One month per call, so a reader paging back through history rehydrates only as far as it reads.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean rehydrateBefore(Integer conversationId, Instant before) {
+        return archiveRepository.findLatestArchivedBefore(conversationId, before)
+            .map(archive -> rehydrate(archive.getPartitionName()))
+            .orElse(false);
+    }
+
+    private boolean rehydrate(String partitionName) {
+        MessageArchive archive = archiveRepository.findForUpdate(partitionName).orElse(null);
+        if (archive == null || archive.getRehydratedAt() != null) {
+            return false; // Rehydrated by a concurrent request
+        }
+
+        LocalDate month = archive.getRangeStart().atOffset(ZoneOffset.UTC).toLocalDate();
+        jdbcTemplate.queryForObject("SELECT ensure_messages_partition(?)", String.class, month);
+
+        // Lines are staged once per batch and fanned out to their tables parent first, so the message's
+        // foreign key to posts holds. Lines without a "message" key are bare messages rows from older archives.
+        jdbcTemplate.execute("CREATE TEMPORARY TABLE IF NOT EXISTS rehydrated_lines (line json) ON COMMIT DROP");
+        List<String> inserts = new ArrayList<>();
+        inserts.add("INSERT INTO posts SELECT r.* FROM rehydrated_lines l, json_populate_record(NULL::posts, l.line -> 'post') r"
+            + " WHERE l.line -> 'post' IS NOT NULL ON CONFLICT DO NOTHING");
+        inserts.add("INSERT INTO " + partitionName + " SELECT r.* FROM rehydrated_lines l, json_populate_record(NULL::"
+            + partitionName + ", coalesce(l.line -> 'message', l.line)) r ON CONFLICT DO NOTHING");
+        POST_CHILD_TABLES.keySet().forEach(table -> inserts.add("INSERT INTO " + table + " SELECT r.* FROM rehydrated_lines l,"
+            + " json_populate_recordset(NULL::" + table + ", l.line -> '" + table + "') r"
+            + " WHERE json_typeof(l.line -> '" + table + "') = 'array' ON CONFLICT DO NOTHING"));
+        long restored = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(fileStorage.open(archive.getObjectUrl())), StandardCharsets.UTF_8))) {
+            List<String> batch = new ArrayList<>(REHYDRATE_BATCH_SIZE);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                batch.add(line);
+                if (batch.size() == REHYDRATE_BATCH_SIZE) {
+                    restored += insertRows(inserts, batch);
+                }
+            }
+            restored += insertRows(inserts, batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rehydrate partition " + partitionName, e);
+        }
+
+        archive.setRehydratedAt(Instant.now());
+        log.info("Rehydrated message partition {} ({} rows)", partitionName, restored);
+        return true;
+    }
+
+    private int insertRows(List<String> inserts, List<String> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO rehydrated_lines VALUES (?::json)", rows, rows.size(),
+            (ps, row) -> ps.setString(1, row));
+        inserts.forEach(jdbcTemplate::update);
+        jdbcTemplate.execute("TRUNCATE rehydrated_lines");
+        int count = rows.size();
+        rows.clear();
+        return count;
+    }
+
+    // ========== HELPERS ==========
+
+    // Partition names are validated here before they are ever spliced into SQL
+    private static Optional<YearMonth> month(String partitionName) {
+        Matcher matcher = MONTHLY_PARTITION.matcher(partitionName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+
+    private static Instant startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static Path createTempFile() {
+        try {
+            return Files.createTempFile("messages-archive-", ".jsonl.gz");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create archive file", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary archive file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.tuniv.backend.chat.dto.response.ChatMessageDto;
 import com.tuniv.backend.chat.dto.response.MessageStatsDto;
 import com.tuniv.backend.chat.model.MessageStatus;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
+import com.tuniv.backend.shared.dto.CursorPage;
 import com.tuniv.backend.user.model.User;
 
 public interface MessageService {
@@ -73,6 +74,12 @@ public interface MessageService {
      */
     List<ChatMessageDto> getMessagesAround(Integer conversationId, Integer aroundMessageId, UserDetailsImpl currentUser, int limit);
 
+    /**
+     * Keyset-paged history, newest first. Pass the returned cursor as {@code before} to load older messages;
+     * archived months are brought back as the history reaches them.
+     */
+    CursorPage<ChatMessageDto> getMessageHistory(Integer conversationId, String before, int size, UserDetailsImpl currentUser);
+
     // ========== Utility Methods ==========
     
     /**
@@ -9,6 +9,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.context.event.EventListener;
 import org.springframework.data.redis.core.Cursor;
@@ -45,10 +46,16 @@ public class WebSocketSessionService {
     private static final String USER_PRESENCE_KEY = "user:presence:%d";
     private static final String USER_LAST_ACTIVITY_KEY = "user:activity:%d";
 
+    // STOMP sessions connected to this node, for the tuniv.websocket.sessions gauge
+    private final Set<String> localSessionIds = ConcurrentHashMap.newKeySet();
+
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectEvent event) {
         StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = headers.getSessionId();
+        if (sessionId != null) {
+            localSessionIds.add(sessionId);
+        }
         
         Integer userId = extractUserIdFromHeaders(headers);
         
@@ -74,6 +81,9 @@ public class WebSocketSessionService {
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
         StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = headers.getSessionId();
+        if (sessionId != null) {
+            localSessionIds.remove(sessionId);
+        }
         
         Integer userId = getUserIdFromSession(sessionId);
         if (userId != null) {
@@ -429,6 +439,11 @@ public class WebSocketSessionService {
 
     // ========== Public Utility Methods ==========
 
+    /** Sessions connected to this node; the cluster-wide picture is the sum over nodes. */
+    public int getLocalSessionCount() {
+        return localSessionIds.size();
+    }
+
     public boolean isUserOnline(Integer userId) {
         String key = String.format(USER_PRESENCE_KEY, userId);
         return Boolean.TRUE.equals(redisTemplate.hasKey(key));
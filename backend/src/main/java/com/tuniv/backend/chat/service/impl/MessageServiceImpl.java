@@ -11,6 +11,7 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
@@ -39,13 +40,20 @@ import com.tuniv.backend.chat.repository.MessageRepository;
 import com.tuniv.backend.chat.service.BulkDataFetcherService;
 import com.tuniv.backend.chat.service.ChatRealtimeService;
 import com.tuniv.backend.chat.service.EntityFinderService;
+import com.tuniv.backend.chat.service.MessageArchiveService;
 import com.tuniv.backend.chat.service.MessageService;
 import com.tuniv.backend.chat.service.ReactionService;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
+import com.tuniv.backend.shared.datasource.DataSourceRoute;
+import com.tuniv.backend.shared.datasource.RouteTo;
+import com.tuniv.backend.shared.dto.CursorPage;
+import com.tuniv.backend.shared.dto.KeysetCursor;
 import com.tuniv.backend.shared.exception.ResourceNotFoundException;
 import com.tuniv.backend.shared.service.HtmlSanitizerService;
 import com.tuniv.backend.user.model.User;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -65,6 +73,8 @@ public class MessageServiceImpl implements MessageService {
     private final EntityFinderService entityFinderService;
     private final RabbitTemplate rabbitTemplate;
     private final ApplicationEventPublisher eventPublisher;
+    private final MessageArchiveService messageArchiveService;
+    private final ObservationRegistry observationRegistry;
 
     // Constructor with all dependencies including ApplicationEventPublisher
     public MessageServiceImpl(
@@ -79,7 +89,9 @@ public class MessageServiceImpl implements MessageService {
         ReactionService reactionService,
         EntityFinderService entityFinderService,
         RabbitTemplate rabbitTemplate,
-        ApplicationEventPublisher eventPublisher
+        ApplicationEventPublisher eventPublisher,
+        MessageArchiveService messageArchiveService,
+        ObservationRegistry observationRegistry
     ) {
         this.messageRepository = messageRepository;
         this.conversationRepository = conversationRepository;
@@ -93,14 +105,27 @@ public class MessageServiceImpl implements MessageService {
         this.entityFinderService = entityFinderService;
         this.rabbitTemplate = rabbitTemplate;
         this.eventPublisher = eventPublisher;
+        this.messageArchiveService = messageArchiveService;
+        this.observationRegistry = observationRegistry;
     }
 
     // Constants for RabbitMQ routing
     private static final String CHAT_EXCHANGE = "chat.exchange";
     private static final String NEW_MESSAGE_ROUTING_KEY = "event.message.new";
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
 
+    /**
+     * Observed as {@code tuniv.chat.message.send}: a timer plus a span, so a slow send in the latency histogram
+     * links to its trace. The enclosing transaction's commit is not included.
+     */
     @Override
     public ChatMessageDto sendMessage(Integer conversationId, SendMessageRequest request, UserDetailsImpl currentUser) {
+        return Observation.createNotStarted("tuniv.chat.message.send", observationRegistry)
+            .contextualName("send-message")
+            .observe(() -> doSendMessage(conversationId, request, currentUser));
+    }
+
+    private ChatMessageDto doSendMessage(Integer conversationId, SendMessageRequest request, UserDetailsImpl currentUser) {
         log.info("Sending message to conversation {} by user {}", conversationId, currentUser.getId());
 
         String sanitizedBody = htmlSanitizerService.sanitizeMessageBody(request.getBody(), true);
@@ -278,19 +303,58 @@ public class MessageServiceImpl implements MessageService {
             return Page.empty(pageable);
         }
 
-        // 3. BULK-FETCHING LOGIC
-        List<MessageListProjection> projections = projectionsPage.getContent();
+        // 3. BULK-FETCH REACTIONS AND MAP
+        List<ChatMessageDto> dtos = toDtosWithReactions(projectionsPage.getContent(), currentUser.getId());
+
+        // 4. RETURN
+        return new PageImpl<>(dtos, pageable, projectionsPage.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @RouteTo(DataSourceRoute.PRIMARY) // May rehydrate an archived month and re-read it; a replica could lag behind
+    public CursorPage<ChatMessageDto> getMessageHistory(Integer conversationId, String before, int size, UserDetailsImpl currentUser) {
+        log.debug("Fetching message history before {} in conversation {} by user {}", before, conversationId, currentUser.getId());
+
+        Conversation conversation = entityFinderService.getActiveConversationOrThrow(conversationId);
+        validateConversationMembership(conversation, currentUser);
+
+        int limit = CursorPage.clampSize(size, MAX_HISTORY_PAGE_SIZE);
+        KeysetCursor cursor = KeysetCursor.decode(before);
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<MessageListProjection> rows = messageRepository.findMessageProjectionsBefore(
+            conversationId, cursor.createdAt(), cursor.id(), pageable);
+
+        // A short page may mean the rest of the history sits in an archived month
+        if (rows.size() <= limit) {
+            Instant oldest = rows.isEmpty() ? cursor.createdAt() : rows.get(rows.size() - 1).getSentAt();
+            if (messageArchiveService.rehydrateBefore(conversationId, oldest)) {
+                rows = messageRepository.findMessageProjectionsBefore(
+                    conversationId, cursor.createdAt(), cursor.id(), pageable);
+            }
+        }
+
+        CursorPage<MessageListProjection> page = CursorPage.fromRows(
+            rows, limit, row -> new KeysetCursor(row.getSentAt(), row.getId()));
+        return page.withItems(toDtosWithReactions(page.items(), currentUser.getId()));
+    }
+
+    /**
+     * Maps list projections to DTOs, reading reaction counts and the current user's reactions in two queries.
+     */
+    private List<ChatMessageDto> toDtosWithReactions(List<MessageListProjection> projections, Integer currentUserId) {
+        if (projections.isEmpty()) {
+            return List.of();
+        }
         List<Integer> messageIds = projections.stream()
             .map(MessageListProjection::getId)
             .collect(Collectors.toList());
 
-        // 4. FETCH ALL REACTION DATA IN 2 QUERIES
         Map<Integer, Map<String, Long>> reactionCountsMap = reactionService
             .getReactionCountsForMessages(messageIds);
         Map<Integer, String> currentUserReactionsMap = reactionService
-            .getUserReactionsForMessages(currentUser.getId(), messageIds);
+            .getUserReactionsForMessages(currentUserId, messageIds);
 
-        // 5. IN-MEMORY MAPPING
         List<ChatMessageDto> dtos = new ArrayList<>();
         for (MessageListProjection projection : projections) {
             ChatMessageDto dto = messageMapper.projectionToDto(projection);
@@ -324,8 +388,7 @@ public class MessageServiceImpl implements MessageService {
             dtos.add(dto);
         }
 
-        // 6. RETURN
-        return new PageImpl<>(dtos, pageable, projectionsPage.getTotalElements());
+        return dtos;
     }
 
     @Override
@@ -375,6 +438,7 @@ public class MessageServiceImpl implements MessageService {
         // Use optimized bulk mapper for search results
         List<Message> messageList = messages.getContent();
         Map<Integer, List<Reaction>> reactionsByMessage = bulkDataFetcherService.getReactionsByMessages(messageList);
+        messageMapper.preloadUsers(messageList);
 
         List<ChatMessageDto> dtos = new ArrayList<>();
         for (Message message : messageList) {
@@ -389,6 +453,7 @@ public class MessageServiceImpl implements MessageService {
 
     @Override
     @Transactional(readOnly = true)
+    @RouteTo(DataSourceRoute.PRIMARY) // May rehydrate an archived month and re-read it; a replica could lag behind
     public List<ChatMessageDto> getMessagesAround(Integer conversationId, Integer aroundMessageId, UserDetailsImpl currentUser, int limit) {
         log.debug("Fetching messages around {} in conversation {} by user {}", aroundMessageId, conversationId, currentUser.getId());
 
@@ -396,8 +461,16 @@ public class MessageServiceImpl implements MessageService {
         Conversation conversation = entityFinderService.getActiveConversationOrThrow(conversationId);
         validateConversationMembership(conversation, currentUser);
 
+        // The target may sit in an archived partition; bring its month back before loading it
+        if (!messageRepository.existsById(aroundMessageId)) {
+            messageArchiveService.rehydrateMessage(conversationId, aroundMessageId);
+        }
+
         // ✅ UPDATED: Use getNonDeletedMessageOrThrow instead of getMessageOrThrow
         Message aroundMessage = entityFinderService.getNonDeletedMessageOrThrow(aroundMessageId);
+        if (!aroundMessage.getConversation().getConversationId().equals(conversationId)) {
+            throw new ResourceNotFoundException("Message not found with id: " + aroundMessageId);
+        }
 
         // Ensure limit is even for splitting, minimum 2
         int effectiveLimit = Math.max(2, (limit / 2) * 2);
@@ -408,6 +481,15 @@ public class MessageServiceImpl implements MessageService {
 
         List<Message> messagesBefore = messageRepository.findMessagesBefore(
             conversationId, aroundMessage.getSentAt(), beforePageable);
+        if (messagesBefore.size() < halfLimit) {
+            Instant oldest = messagesBefore.isEmpty()
+                ? aroundMessage.getSentAt()
+                : messagesBefore.get(messagesBefore.size() - 1).getSentAt();
+            if (messageArchiveService.rehydrateBefore(conversationId, oldest)) {
+                messagesBefore = messageRepository.findMessagesBefore(
+                    conversationId, aroundMessage.getSentAt(), beforePageable);
+            }
+        }
 
         List<Message> messagesAfter = messageRepository.findMessagesAfter(
             conversationId, aroundMessage.getSentAt(), afterPageable);
@@ -425,6 +507,7 @@ public class MessageServiceImpl implements MessageService {
 
         // Use bulk mapper for reactions
         Map<Integer, List<Reaction>> reactionsByMessage = bulkDataFetcherService.getReactionsByMessages(allMessages);
+        messageMapper.preloadUsers(allMessages);
 
         List<ChatMessageDto> dtos = new ArrayList<>();
         for (Message message : allMessages) {
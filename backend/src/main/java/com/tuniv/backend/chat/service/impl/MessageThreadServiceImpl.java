@@ -64,6 +64,7 @@ public class MessageThreadServiceImpl implements MessageThreadService {
         // Use optimized bulk mapper for replies to avoid N+1 queries
         List<Message> replyList = replies.getContent();
         Map<Integer, List<Reaction>> reactionsByMessage = bulkDataFetcherService.getReactionsByMessages(replyList);
+        messageMapper.preloadUsers(replyList);
         
         List<ChatMessageDto> dtos = new ArrayList<>();
         for (Message reply : replyList) {
@@ -200,6 +201,7 @@ public class MessageThreadServiceImpl implements MessageThreadService {
         // Use optimized bulk mapper
         List<Message> replyList = replies.getContent();
         Map<Integer, List<Reaction>> reactionsByMessage = bulkDataFetcherService.getReactionsByMessages(replyList);
+        messageMapper.preloadUsers(replyList);
         
         List<ChatMessageDto> dtos = new ArrayList<>();
         for (Message reply : replyList) {
@@ -27,6 +27,7 @@ import com.tuniv.backend.chat.service.ChatRealtimeService;
 import com.tuniv.backend.chat.service.EntityFinderService;
 import com.tuniv.backend.chat.service.MessageService;
 import com.tuniv.backend.chat.service.ReadReceiptService;
+import com.tuniv.backend.config.AsyncConfig;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
 import com.tuniv.backend.shared.exception.ResourceNotFoundException;
 
@@ -53,7 +54,7 @@ public class ReadReceiptServiceImpl implements ReadReceiptService {
      * This method is triggered when a MessageReadEvent is published by MessageService.
      */
     @EventListener
-    @Async
+    @Async(AsyncConfig.REALTIME_EXECUTOR)
     @Transactional
     public void handleMessageReadEvent(MessageReadEvent event) {
         log.debug("Received MessageReadEvent for message {} read by user {}", event.getMessageId(), event.getUserId());
@@ -18,12 +18,15 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.tuniv.backend.community.dto.CommunityCreateRequest;
+import com.tuniv.backend.community.dto.CommunityDirectoryPage;
 import com.tuniv.backend.community.dto.CommunityDetailDto;
+import com.tuniv.backend.community.dto.CommunityInsightsDto;
 import com.tuniv.backend.community.dto.CommunityStatsDto;
 import com.tuniv.backend.community.dto.CommunitySummaryDto;
 import com.tuniv.backend.community.dto.CommunityUpdateRequest;
 import com.tuniv.backend.community.dto.CommunityWithStatsDto;
 import com.tuniv.backend.community.dto.TrendingCommunityDto;
+import com.tuniv.backend.community.service.CommunityDirectoryService;
 import com.tuniv.backend.community.service.CommunityService;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
 import com.tuniv.backend.qa.dto.TopicSummaryDto;
@@ -38,6 +41,7 @@ import lombok.RequiredArgsConstructor;
 public class CommunityController {
 
     private final CommunityService communityService;
+    private final CommunityDirectoryService communityDirectoryService;
 
     /**
      * POST /api/v1/communities
@@ -83,6 +87,23 @@ public class CommunityController {
         return ResponseEntity.ok(communities);
     }
 
+    /**
+     * GET /api/v1/communities/directory
+     * The community browser: largest communities first, optionally filtered by university, name and size.
+     * Uses cursor paging; pass the returned nextCursor back as {@code cursor}.
+     */
+    @GetMapping("/directory")
+    public ResponseEntity<CommunityDirectoryPage> getDirectory(
+            @RequestParam(required = false) Integer universityId,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Integer minMembers,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CommunityDirectoryService.DEFAULT_PAGE_SIZE) int size,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        return ResponseEntity.ok(communityDirectoryService.getDirectory(
+            universityId, search, minMembers, cursor, size, currentUser));
+    }
+
     /**
      * GET /api/v1/communities/trending
      * Gets a list of communities with the most activity in the last week.
@@ -203,6 +224,16 @@ public class CommunityController {
         CommunityStatsDto stats = communityService.getCommunityStats(communityId);
         return ResponseEntity.ok(stats);
     }
+
+    /**
+     * GET /api/v1/communities/{communityId}/insights
+     * Growth and activity figures for the last 7 days.
+     */
+    @GetMapping("/{communityId}/insights")
+    public ResponseEntity<CommunityInsightsDto> getCommunityInsights(@PathVariable Integer communityId) {
+        CommunityInsightsDto insights = communityService.getCommunityInsights(communityId);
+        return ResponseEntity.ok(insights);
+    }
     
     /**
      * GET /api/v1/communities/{communityId}/stats/topic-distribution
@@ -0,0 +1,13 @@
+package com.tuniv.backend.community.dto;
+
+import java.util.List;
+
+/**
+ * A keyset-paged slice of the community directory, ordered by member count.
+ * {@code nextCursor} is opaque to clients; pass it back as {@code cursor} to load the next slice.
+ */
+public record CommunityDirectoryPage(
+    List<CommunitySummaryDto> items,
+    String nextCursor,
+    boolean hasMore
+) {}
@@ -20,7 +20,7 @@ import com.tuniv.backend.community.model.Community;
 import com.tuniv.backend.community.model.CommunityMembership;
 import com.tuniv.backend.qa.model.TopicType;
 import com.tuniv.backend.user.dto.UserSummaryDto;
-import com.tuniv.backend.user.mapper.UserMapper;
+import com.tuniv.backend.user.service.UserSummaryCache;
 
 import lombok.RequiredArgsConstructor;
 
@@ -28,7 +28,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class CommunityMapper {
 
-    private final UserMapper userMapper;
+    private final UserSummaryCache userSummaryCache;
 
     public CommunitySummaryDto toSummaryDto(Community community) {
         if (community == null) {
@@ -64,8 +64,10 @@ public class CommunityMapper {
         
         String universityName = (community.getUniversity() != null) ? community.getUniversity().getName() : null;
         
-        // FIX 1: Use getCreator() instead of getCreatedBy()
-        UserSummaryDto creatorSummary = userMapper.toUserSummaryDto(community.getCreator());
+        // Only the creator id is read from the entity; the summary comes from the shared cache
+        UserSummaryDto creatorSummary = community.getCreator() != null
+            ? userSummaryCache.get(community.getCreator().getUserId())
+            : null;
 
         return new CommunityDetailDto(
             community.getCommunityId(),
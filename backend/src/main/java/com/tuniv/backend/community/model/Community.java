@@ -36,7 +36,8 @@ import lombok.Setter;
     @Index(name = "idx_community_member_count", columnList = "member_count DESC"),
     @Index(name = "idx_community_topic_count", columnList = "topic_count DESC"),
     @Index(name = "idx_community_created", columnList = "created_at DESC"),
-    @Index(name = "idx_community_active", columnList = "is_active, member_count DESC")
+    @Index(name = "idx_community_active", columnList = "is_active, member_count DESC"),
+    @Index(name = "idx_community_directory", columnList = "university_id, member_count DESC, community_id DESC")
 })
 @Getter
 @Setter
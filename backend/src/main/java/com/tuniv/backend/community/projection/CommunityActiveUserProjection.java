@@ -0,0 +1,10 @@
+package com.tuniv.backend.community.projection;
+
+/**
+ * Last time a user posted in a community, as epoch seconds.
+ */
+public interface CommunityActiveUserProjection {
+    Integer getCommunityId();
+    Integer getUserId();
+    Long getLastActiveEpoch();
+}
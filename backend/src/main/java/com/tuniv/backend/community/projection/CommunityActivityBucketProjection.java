@@ -0,0 +1,11 @@
+package com.tuniv.backend.community.projection;
+
+/**
+ * Number of events of one kind in a community during one time bucket.
+ * {@code bucket} is the epoch second of the event divided by the bucket width in seconds.
+ */
+public interface CommunityActivityBucketProjection {
+    Integer getCommunityId();
+    Long getBucket();
+    Long getTotal();
+}
@@ -0,0 +1,13 @@
+package com.tuniv.backend.community.projection;
+
+/**
+ * One row of the community directory, read straight from SQL without loading Community entities.
+ */
+public interface CommunityDirectoryProjection {
+    Integer getCommunityId();
+    String getName();
+    String getIconUrl();
+    Integer getMemberCount();
+    Integer getTopicCount();
+    String getUniversityName();
+}
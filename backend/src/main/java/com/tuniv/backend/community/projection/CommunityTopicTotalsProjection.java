@@ -0,0 +1,12 @@
+package com.tuniv.backend.community.projection;
+
+/**
+ * Per-community topic counters, computed in one grouped query for the stats engine.
+ */
+public interface CommunityTopicTotalsProjection {
+    Integer getCommunityId();
+    Long getTotalTopics();
+    Long getSolvedTopics();
+    Long getQuestionTopics();
+    Long getDiscussionTopics();
+}
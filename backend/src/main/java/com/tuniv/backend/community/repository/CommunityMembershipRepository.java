@@ -1,5 +1,6 @@
 package com.tuniv.backend.community.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.tuniv.backend.authorization.projection.CommunityMembershipRowProjection;
 import com.tuniv.backend.community.model.CommunityMembership;
 import com.tuniv.backend.community.model.CommunityRole;
 
@@ -23,6 +25,17 @@ public interface CommunityMembershipRepository extends JpaRepository<CommunityMe
      */
     Optional<CommunityMembership> findById_UserIdAndId_CommunityId(Integer userId, Integer communityId);
 
+    /**
+     * All community memberships of the given users, as rows for MembershipIndex.
+     */
+    @Query("""
+        SELECT m.id.userId AS userId, m.id.communityId AS communityId, r.id AS roleId, m.isActive AS active
+        FROM CommunityMembership m
+        LEFT JOIN m.role r
+        WHERE m.id.userId IN :userIds
+        """)
+    List<CommunityMembershipRowProjection> findRowsByUserIds(@Param("userIds") Collection<Integer> userIds);
+
     /**
      * Checks if a user is a member of a specific community.
      * This is more efficient than fetching the entire membership object.
@@ -54,6 +67,12 @@ public interface CommunityMembershipRepository extends JpaRepository<CommunityMe
     @EntityGraph(attributePaths = {"user"})
     List<CommunityMembership> findById_CommunityIdAndRole(Integer communityId, CommunityRole role);
 
+    /**
+     * Most active members of a community, for the insights panel. Users are resolved via UserSummaryCache.
+     */
+    @EntityGraph(attributePaths = {"role"})
+    List<CommunityMembership> findTop5ById_CommunityIdAndIsActiveTrueOrderByContributionScoreDesc(Integer communityId);
+
     /**
      * ❌ REMOVED: Banned members query - now handled by ModerationService
      * List<CommunityMembership> findById_CommunityIdAndIsBannedTrue(Integer communityId);
@@ -1,6 +1,7 @@
 package com.tuniv.backend.community.repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,10 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.tuniv.backend.community.model.Community;
+import com.tuniv.backend.community.projection.CommunityActiveUserProjection;
+import com.tuniv.backend.community.projection.CommunityActivityBucketProjection;
+import com.tuniv.backend.community.projection.CommunityDirectoryProjection;
+import com.tuniv.backend.community.projection.CommunityTopicTotalsProjection;
 import com.tuniv.backend.qa.model.TopicType;
 
 @Repository
@@ -21,6 +26,10 @@ public interface CommunityRepository extends JpaRepository<Community, Integer>,
 
     // ✅ This query is performant as it uses denormalized counters.
     Page<Community> findByNameContainingIgnoreCase(String search, Pageable pageable);
+
+    Page<Community> findByUniversity_UniversityId(Integer universityId, Pageable pageable);
+
+    Page<Community> findByUniversity_UniversityIdAndNameContainingIgnoreCase(Integer universityId, String search, Pageable pageable);
     
     // ✅ ADDED: A simple, direct lookup by name.
     Optional<Community> findByNameIgnoreCase(String name);
@@ -92,6 +101,10 @@ public interface CommunityRepository extends JpaRepository<Community, Integer>,
         Pageable pageable
     );
 
+    /** Loads the given communities with their university in one query, e.g. for the trending list. */
+    @Query("SELECT c FROM Community c LEFT JOIN FETCH c.university WHERE c.communityId IN :communityIds")
+    List<Community> findAllWithUniversityByCommunityIdIn(@Param("communityIds") Collection<Integer> communityIds);
+
     // === Denormalized Counter Management ===
     // ✅ ADDED: These methods are ESSENTIAL for keeping the Community entity's stats in sync.
 
@@ -110,4 +123,116 @@ public interface CommunityRepository extends JpaRepository<Community, Integer>,
     @Modifying
     @Query("UPDATE Community c SET c.topicCount = c.topicCount - 1 WHERE c.communityId = :communityId AND c.topicCount > 0")
     void decrementTopicCount(@Param("communityId") Integer communityId);
-}
\ No newline at end of file
+
+    // ========== DIRECTORY ==========
+
+    /**
+     * One keyset page of the community directory, largest communities first.
+     * The name filter is an ILIKE served by the pg_trgm GIN index idx_community_name_trgm;
+     * the remaining filters and the ordering use idx_community_directory.
+     * {@code search} must already have LIKE wildcards escaped.
+     */
+    @Query(value = """
+        SELECT c.community_id AS communityId, c.name AS name, c.icon_url AS iconUrl,
+               c.member_count AS memberCount, c.topic_count AS topicCount, u.name AS universityName
+        FROM communities c
+        LEFT JOIN universities u ON u.university_id = c.university_id
+        WHERE c.is_active = true
+          AND c.visibility IN (:visibilities)
+          AND (CAST(:universityId AS integer) IS NULL OR c.university_id = :universityId)
+          AND c.member_count >= :minMembers
+          AND (CAST(:search AS text) IS NULL OR c.name ILIKE '%' || CAST(:search AS text) || '%')
+          AND (CAST(:afterMemberCount AS integer) IS NULL
+               OR (c.member_count, c.community_id) < (CAST(:afterMemberCount AS integer), CAST(:afterCommunityId AS integer)))
+        ORDER BY c.member_count DESC, c.community_id DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<CommunityDirectoryProjection> findDirectoryPage(@Param("visibilities") Collection<String> visibilities,
+                                                         @Param("universityId") Integer universityId,
+                                                         @Param("minMembers") int minMembers,
+                                                         @Param("search") String search,
+                                                         @Param("afterMemberCount") Integer afterMemberCount,
+                                                         @Param("afterCommunityId") Integer afterCommunityId,
+                                                         @Param("limit") int limit);
+
+    // ========== STATS ENGINE SEEDING ==========
+    // Grouped queries that rebuild CommunityStatsEngine; each one is a single scan instead of a COUNT per community.
+
+    /**
+     * Topic counters per community. Pass null to compute them for every community.
+     */
+    @Query("""
+        SELECT t.community.communityId AS communityId,
+               COUNT(t) AS totalTopics,
+               SUM(CASE WHEN t.isSolved = true THEN 1 ELSE 0 END) AS solvedTopics,
+               SUM(CASE WHEN t.topicType = com.tuniv.backend.qa.model.TopicType.QUESTION THEN 1 ELSE 0 END) AS questionTopics,
+               SUM(CASE WHEN t.topicType = com.tuniv.backend.qa.model.TopicType.DISCUSSION THEN 1 ELSE 0 END) AS discussionTopics
+        FROM Topic t
+        WHERE t.community IS NOT NULL
+          AND (:communityId IS NULL OR t.community.communityId = :communityId)
+        GROUP BY t.community.communityId
+        """)
+    List<CommunityTopicTotalsProjection> findTopicTotals(@Param("communityId") Integer communityId);
+
+    @Query(value = """
+        SELECT t.community_id AS communityId,
+               CAST(FLOOR(EXTRACT(EPOCH FROM p.created_at) / :bucketSeconds) AS bigint) AS bucket,
+               COUNT(*) AS total
+        FROM topics t
+        JOIN posts p ON p.id = t.id
+        WHERE t.community_id IS NOT NULL AND p.is_deleted = false AND p.created_at >= :since
+        GROUP BY t.community_id, bucket
+        """, nativeQuery = true)
+    List<CommunityActivityBucketProjection> findTopicActivityBuckets(@Param("since") Instant since,
+                                                                     @Param("bucketSeconds") long bucketSeconds);
+
+    @Query(value = """
+        SELECT t.community_id AS communityId,
+               CAST(FLOOR(EXTRACT(EPOCH FROM p.created_at) / :bucketSeconds) AS bigint) AS bucket,
+               COUNT(*) AS total
+        FROM replies r
+        JOIN posts p ON p.id = r.id
+        JOIN topics t ON t.id = r.topic_id
+        WHERE t.community_id IS NOT NULL AND p.is_deleted = false AND p.created_at >= :since
+        GROUP BY t.community_id, bucket
+        """, nativeQuery = true)
+    List<CommunityActivityBucketProjection> findReplyActivityBuckets(@Param("since") Instant since,
+                                                                     @Param("bucketSeconds") long bucketSeconds);
+
+    /** Votes on a topic or on one of its replies both count towards the topic's community. */
+    @Query(value = """
+        SELECT t.community_id AS communityId,
+               CAST(FLOOR(EXTRACT(EPOCH FROM v.created_at) / :bucketSeconds) AS bigint) AS bucket,
+               COUNT(*) AS total
+        FROM votes v
+        LEFT JOIN replies r ON r.id = v.post_id
+        JOIN topics t ON t.id = COALESCE(r.topic_id, v.post_id)
+        WHERE t.community_id IS NOT NULL AND v.is_retracted = false AND v.created_at >= :since
+        GROUP BY t.community_id, bucket
+        """, nativeQuery = true)
+    List<CommunityActivityBucketProjection> findVoteActivityBuckets(@Param("since") Instant since,
+                                                                    @Param("bucketSeconds") long bucketSeconds);
+
+    @Query(value = """
+        SELECT m.community_id AS communityId,
+               CAST(FLOOR(EXTRACT(EPOCH FROM m.joined_at) / :bucketSeconds) AS bigint) AS bucket,
+               COUNT(*) AS total
+        FROM community_memberships m
+        WHERE m.joined_at >= :since
+        GROUP BY m.community_id, bucket
+        """, nativeQuery = true)
+    List<CommunityActivityBucketProjection> findMemberJoinBuckets(@Param("since") Instant since,
+                                                                  @Param("bucketSeconds") long bucketSeconds);
+
+    /** Authors of topics and replies posted since {@code since}, with their latest post time per community. */
+    @Query(value = """
+        SELECT t.community_id AS communityId, p.user_id AS userId,
+               CAST(EXTRACT(EPOCH FROM MAX(p.created_at)) AS bigint) AS lastActiveEpoch
+        FROM posts p
+        LEFT JOIN replies r ON r.id = p.id
+        JOIN topics t ON t.id = COALESCE(r.topic_id, p.id)
+        WHERE t.community_id IS NOT NULL AND p.is_deleted = false AND p.created_at >= :since
+        GROUP BY t.community_id, p.user_id
+        """, nativeQuery = true)
+    List<CommunityActiveUserProjection> findActiveAuthorsSince(@Param("since") Instant since);
+}
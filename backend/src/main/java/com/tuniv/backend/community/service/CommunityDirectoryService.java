@@ -0,0 +1,155 @@
+package com.tuniv.backend.community.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tuniv.backend.authorization.service.MembershipIndex;
+import com.tuniv.backend.community.dto.CommunityDirectoryPage;
+import com.tuniv.backend.community.dto.CommunitySummaryDto;
+import com.tuniv.backend.community.model.CommunityVisibility;
+import com.tuniv.backend.community.projection.CommunityDirectoryProjection;
+import com.tuniv.backend.community.repository.CommunityRepository;
+import com.tuniv.backend.config.security.services.UserDetailsImpl;
+
+/**
+ * Read model behind the community browser.
+ *
+ * Every filter (university, visibility, minimum members, name search) is applied in a single keyset-paged
+ * SQL query, so pages are always full and ordering is stable. Browsing pages without a search term are
+ * cached per university and evicted when a community of that university is created, updated, joined or left.
+ */
+@Service
+public class CommunityDirectoryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 24;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final Set<String> PUBLIC_ONLY = Set.of(CommunityVisibility.PUBLIC.name());
+    private static final Set<String> PUBLIC_AND_UNIVERSITY =
+            Set.of(CommunityVisibility.PUBLIC.name(), CommunityVisibility.UNIVERSITY.name());
+
+    private record DirectoryKey(Integer universityId, boolean includeUniversityOnly, int minMembers,
+                                String cursor, int size) {}
+
+    private final CommunityRepository communityRepository;
+    private final MembershipIndex membershipIndex;
+    private final Cache<DirectoryKey, CommunityDirectoryPage> browseCache;
+
+    public CommunityDirectoryService(
+            CommunityRepository communityRepository,
+            MembershipIndex membershipIndex,
+            @Value("${app.cache.community-directory.max-size:10000}") long maxSize,
+            @Value("${app.cache.community-directory.ttl:PT5M}") Duration ttl) {
+        this.communityRepository = communityRepository;
+        this.membershipIndex = membershipIndex;
+        this.browseCache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * @param universityId null to browse communities of all universities (and global ones)
+     * @param cursor       the {@code nextCursor} of the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public CommunityDirectoryPage getDirectory(Integer universityId, String search, Integer minMembers,
+                                               String cursor, int size, UserDetailsImpl currentUser) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int memberFloor = minMembers != null ? Math.max(0, minMembers) : 0;
+        // UNIVERSITY-visibility communities are only listed to verified members of that university.
+        boolean includeUniversityOnly = universityId != null && currentUser != null
+                && membershipIndex.isVerifiedUniversityMember(currentUser.getId(), universityId);
+
+        String term = search != null && !search.isBlank() ? escapeLike(search.trim()) : null;
+        if (term != null) {
+            // Search results are too diverse to be worth caching.
+            return query(universityId, includeUniversityOnly, memberFloor, term, cursor, limit);
+        }
+
+        DirectoryKey key = new DirectoryKey(universityId, includeUniversityOnly, memberFloor, cursor, limit);
+        CommunityDirectoryPage cached = browseCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        CommunityDirectoryPage page = query(universityId, includeUniversityOnly, memberFloor, null, cursor, limit);
+        browseCache.put(key, page);
+        return page;
+    }
+
+    /**
+     * Evicts cached directory pages that can contain communities of the given university,
+     * after the current transaction commits. The all-universities listing is always evicted.
+     */
+    public void invalidate(Integer universityId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(universityId);
+                }
+            });
+        } else {
+            evict(universityId);
+        }
+    }
+
+    private void evict(Integer universityId) {
+        browseCache.asMap().keySet().removeIf(key ->
+                key.universityId() == null || Objects.equals(key.universityId(), universityId));
+    }
+
+    private CommunityDirectoryPage query(Integer universityId, boolean includeUniversityOnly, int minMembers,
+                                         String search, String cursor, int limit) {
+        Integer afterMemberCount = null;
+        Integer afterCommunityId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = cursor.split(":");
+            try {
+                afterMemberCount = Integer.valueOf(parts[0]);
+                afterCommunityId = Integer.valueOf(parts[1]);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid directory cursor: " + cursor);
+            }
+        }
+
+        List<CommunityDirectoryProjection> rows = communityRepository.findDirectoryPage(
+                includeUniversityOnly ? PUBLIC_AND_UNIVERSITY : PUBLIC_ONLY,
+                universityId, minMembers, search, afterMemberCount, afterCommunityId, limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<CommunitySummaryDto> items = new ArrayList<>(Math.min(rows.size(), limit));
+        for (CommunityDirectoryProjection row : hasMore ? rows.subList(0, limit) : rows) {
+            items.add(new CommunitySummaryDto(
+                row.getCommunityId(),
+                row.getName(),
+                row.getIconUrl(),
+                row.getMemberCount(),
+                row.getTopicCount(),
+                row.getUniversityName()
+            ));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            CommunitySummaryDto last = items.get(items.size() - 1);
+            nextCursor = last.memberCount() + ":" + last.communityId();
+        }
+        return new CommunityDirectoryPage(List.copyOf(items), nextCursor, hasMore);
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
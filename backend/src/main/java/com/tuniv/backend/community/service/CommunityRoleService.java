@@ -1,6 +1,8 @@
 package com.tuniv.backend.community.service;
 
+import com.tuniv.backend.authorization.service.MembershipIndex;
 import com.tuniv.backend.authorization.service.PermissionService;
+import com.tuniv.backend.authorization.service.RolePermissionRegistry;
 import com.tuniv.backend.authorization.model.Permission;
 import com.tuniv.backend.authorization.repository.PermissionRepository;
 import com.tuniv.backend.community.dto.RoleUpdateRequest;
@@ -38,6 +40,8 @@ public class CommunityRoleService {
     private final CommunityMembershipRepository membershipRepository;
     private final UserRepository userRepository;
     private final PermissionService permissionService;
+    private final RolePermissionRegistry rolePermissionRegistry;
+    private final MembershipIndex membershipIndex;
 
     @Transactional
     public CommunityRole createRole(Integer communityId, RoleCreateRequest request, User adminUser) {
@@ -68,7 +72,9 @@ public class CommunityRoleService {
         }
         role.setPermissions(permissions);
 
-        return roleRepository.save(role);
+        CommunityRole savedRole = roleRepository.save(role);
+        rolePermissionRegistry.invalidate();
+        return savedRole;
     }
 
     @Transactional
@@ -96,6 +102,7 @@ public class CommunityRoleService {
                 permissions.add(permission);
             }
             role.setPermissions(permissions);
+            rolePermissionRegistry.invalidate();
         }
 
         return roleRepository.save(role);
@@ -123,6 +130,7 @@ public class CommunityRoleService {
         }
 
         roleRepository.delete(role);
+        rolePermissionRegistry.invalidate();
     }
 
     @Transactional
@@ -147,6 +155,7 @@ public class CommunityRoleService {
 
         membership.setRole(newRole);
         membershipRepository.save(membership);
+        membershipIndex.invalidate(request.userId());
     }
 
     @Transactional(readOnly = true)
@@ -4,13 +4,14 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -19,9 +20,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.tuniv.backend.authorization.model.CommunityPermissions;
+import com.tuniv.backend.authorization.service.MembershipIndex;
 import com.tuniv.backend.authorization.service.PermissionService;
 import com.tuniv.backend.community.dto.CommunityCreateRequest;
 import com.tuniv.backend.community.dto.CommunityDetailDto;
+import com.tuniv.backend.community.dto.CommunityInsightsDto;
+import com.tuniv.backend.community.dto.CommunityMemberDto;
 import com.tuniv.backend.community.dto.CommunityStatsDto;
 import com.tuniv.backend.community.dto.CommunitySummaryDto;
 import com.tuniv.backend.community.dto.CommunityTopicStatsDto;
@@ -46,9 +50,10 @@ import com.tuniv.backend.qa.service.TopicService;
 import com.tuniv.backend.shared.exception.ResourceNotFoundException;
 import com.tuniv.backend.university.model.University;
 import com.tuniv.backend.university.repository.UniversityRepository;
-import com.tuniv.backend.university.repository.UniversityMembershipRepository;
+import com.tuniv.backend.user.dto.UserSummaryDto;
 import com.tuniv.backend.user.model.User;
 import com.tuniv.backend.user.repository.UserRepository;
+import com.tuniv.backend.user.service.UserSummaryCache;
 
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
@@ -57,16 +62,22 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class CommunityService {
 
+    private static final long TRENDING_MIN_WEEKLY_TOPICS = 5L;
+    private static final int TRENDING_LIMIT = 10;
+
     private final CommunityRepository communityRepository;
     private final CommunityMembershipRepository membershipRepository;
     private final UserRepository userRepository;
     private final UniversityRepository universityRepository;
-    private final UniversityMembershipRepository universityMembershipRepository;
     private final CommunityMapper communityMapper;
     private final TopicService topicService;
     private final TopicRepository topicRepository;
     private final CommunityRoleRepository roleRepository;
     private final PermissionService permissionService;
+    private final CommunityDirectoryService communityDirectoryService;
+    private final CommunityStatsEngine communityStatsEngine;
+    private final MembershipIndex membershipIndex;
+    private final UserSummaryCache userSummaryCache;
 
     @Transactional
     public CommunityDetailDto createCommunity(CommunityCreateRequest request, UserDetailsImpl currentUserDetails) {
@@ -106,6 +117,9 @@ public class CommunityService {
         
         // Use the repository to increment the counter
         communityRepository.incrementMemberCount(savedCommunity.getCommunityId());
+        communityDirectoryService.invalidate(request.universityId());
+        communityStatsEngine.recordMemberJoined(savedCommunity.getCommunityId());
+        membershipIndex.invalidate(creator.getUserId());
 
         // ✅ FIXED: Use the correct mapper method with membership and null moderation status
         return communityMapper.toDetailDto(savedCommunity, initialMembership, null);
@@ -138,7 +152,8 @@ public class CommunityService {
                 .orElseThrow(() -> new ResourceNotFoundException("Community not found"));
 
         // Check for existing membership
-        if (membershipRepository.existsById_UserIdAndId_CommunityId(user.getUserId(), communityId)) {
+        MembershipIndex.MembershipSnapshot memberships = membershipIndex.membershipsOf(user.getUserId());
+        if (memberships.isCommunityMember(communityId)) {
             throw new IllegalArgumentException("User is already a member of this community.");
         }
 
@@ -162,7 +177,7 @@ public class CommunityService {
             case UNIVERSITY_ONLY:
                 // Check if user is a member of the community's university
                 if (community.getUniversity() == null || 
-                    !universityMembershipRepository.existsByUserAndUniversity(user, community.getUniversity())) {
+                    !memberships.isUniversityMember(community.getUniversity().getUniversityId())) {
                     throw new AccessDeniedException("Only members of " + community.getUniversity().getName() + " can join this community.");
                 }
                 createNewMembership(user, community);
@@ -185,6 +200,9 @@ public class CommunityService {
 
         membershipRepository.save(membership);
         communityRepository.incrementMemberCount(community.getCommunityId());
+        communityDirectoryService.invalidate(universityIdOf(community));
+        communityStatsEngine.recordMemberJoined(community.getCommunityId());
+        membershipIndex.invalidate(user.getUserId());
     }
 
     @Transactional
@@ -199,6 +217,8 @@ public class CommunityService {
             Community community = membership.get().getCommunity();
             // Use the repository to decrement the counter
             communityRepository.decrementMemberCount(community.getCommunityId());
+            communityDirectoryService.invalidate(universityIdOf(community));
+            membershipIndex.invalidate(currentUserDetails.getId());
         }
     }
 
@@ -206,23 +226,13 @@ public class CommunityService {
     public Page<CommunitySummaryDto> getAllCommunities(String search, Integer universityId, Pageable pageable, UserDetailsImpl currentUser) {
         Page<Community> communities;
         
+        // ✅ University filtering happens in the query, so pages are full and totals are correct
         if (search != null && !search.trim().isEmpty() && universityId != null) {
-            // This method doesn't exist in your repository, so we'll filter manually
-            communities = communityRepository.findByNameContainingIgnoreCase(search, pageable);
-            // Filter by university in memory (not ideal but works for now)
-            List<Community> filtered = communities.getContent().stream()
-                .filter(c -> c.getUniversity() != null && c.getUniversity().getUniversityId().equals(universityId))
-                .collect(Collectors.toList());
-            return new PageImpl<>(communityMapper.toSummaryDtoList(filtered), pageable, filtered.size());
+            communities = communityRepository.findByUniversity_UniversityIdAndNameContainingIgnoreCase(universityId, search, pageable);
         } else if (search != null && !search.trim().isEmpty()) {
             communities = communityRepository.findByNameContainingIgnoreCase(search, pageable);
         } else if (universityId != null) {
-            // This method doesn't exist in your repository, so we'll use findAll and filter
-            communities = communityRepository.findAll(pageable);
-            List<Community> filtered = communities.getContent().stream()
-                .filter(c -> c.getUniversity() != null && c.getUniversity().getUniversityId().equals(universityId))
-                .collect(Collectors.toList());
-            return new PageImpl<>(communityMapper.toSummaryDtoList(filtered), pageable, filtered.size());
+            communities = communityRepository.findByUniversity_UniversityId(universityId, pageable);
         } else {
             communities = communityRepository.findAll(pageable);
         }
@@ -265,20 +275,15 @@ public class CommunityService {
         Community community = communityRepository.findById(communityId)
                 .orElseThrow(() -> new ResourceNotFoundException("Community not found"));
 
-        // Use repository count methods for stats
-        long totalTopics = communityRepository.countTopicsByCommunityId(communityId);
-        long solvedTopics = communityRepository.countSolvedTopicsByCommunityId(communityId);
-        long questionTopics = communityRepository.countTopicsByCommunityIdAndType(communityId, TopicType.QUESTION);
-        long postTopics = communityRepository.countTopicsByCommunityIdAndType(communityId, TopicType.DISCUSSION);
-
-        // Manually build the DTO
+        // ✅ Served from the in-memory stats engine instead of four COUNT queries
+        CommunityStatsEngine.TopicTotals totals = communityStatsEngine.topicTotals(communityId);
         CommunityTopicStatsDto statsDto = new CommunityTopicStatsDto(
                 communityId,
                 community.getName(),
-                totalTopics,
-                solvedTopics,
-                questionTopics,
-                postTopics
+                totals.total(),
+                totals.solved(),
+                totals.questions(),
+                totals.discussions()
         );
 
         return communityMapper.toStatsDto(statsDto, community);
@@ -309,24 +314,66 @@ public class CommunityService {
 
     @Transactional(readOnly = true)
     public List<TrendingCommunityDto> getTrendingCommunities(UserDetailsImpl currentUser) {
-        Instant oneWeekAgo = Instant.now().minus(7, ChronoUnit.DAYS);
-        
-        // Get trending communities using repository method
-        List<Community> trendingCommunities = communityRepository.findTrendingCommunities(
-            oneWeekAgo, 5L, PageRequest.of(0, 10)
-        );
+        if (!communityStatsEngine.isReady()) {
+            // Stats are still loading after startup: rank by the database, without activity figures.
+            Instant oneWeekAgo = Instant.now().minus(7, ChronoUnit.DAYS);
+            return communityRepository.findTrendingCommunities(oneWeekAgo, TRENDING_MIN_WEEKLY_TOPICS, PageRequest.of(0, TRENDING_LIMIT))
+                    .stream()
+                    .map(community -> communityMapper.toTrendingCommunityDto(community, null))
+                    .collect(Collectors.toList());
+        }
 
-        return trendingCommunities.stream()
+        List<Integer> trendingIds = communityStatsEngine.trendingCommunityIds(TRENDING_MIN_WEEKLY_TOPICS, TRENDING_LIMIT);
+        Map<Integer, Community> communitiesById = communityRepository.findAllWithUniversityByCommunityIdIn(trendingIds).stream()
+                .collect(Collectors.toMap(Community::getCommunityId, community -> community));
+
+        return trendingIds.stream()
+                .map(communitiesById::get)
+                .filter(community -> community != null)
                 .map(community -> {
-                    // Calculate recent activity count for this community
-                    Long recentActivityCount = communityRepository.countTopicsByCommunityIdAndType(
-                        community.getCommunityId(), TopicType.QUESTION) + 
-                        communityRepository.countTopicsByCommunityIdAndType(community.getCommunityId(), TopicType.DISCUSSION);
+                    CommunityStatsEngine.ActivitySnapshot activity = communityStatsEngine.activity(community.getCommunityId());
+                    long recentActivityCount = activity.topics().lastWeek() + activity.replies().lastWeek();
                     return communityMapper.toTrendingCommunityDto(community, recentActivityCount);
                 })
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public CommunityInsightsDto getCommunityInsights(Integer communityId) {
+        Community community = communityRepository.findById(communityId)
+                .orElseThrow(() -> new ResourceNotFoundException("Community not found"));
+
+        CommunityStatsEngine.ActivitySnapshot activity = communityStatsEngine.activity(communityId);
+        long joinedThisWeek = activity.joins().lastWeek();
+        long membersAWeekAgo = community.getMemberCount() - joinedThisWeek;
+        double weeklyGrowthRate = membersAWeekAgo > 0 ? (double) joinedThisWeek / membersAWeekAgo * 100.0 : 0.0;
+
+        Map<String, Long> newMembersByDay = new LinkedHashMap<>();
+        communityStatsEngine.joinsByDay(communityId).forEach((day, count) -> newMembersByDay.put(day.toString(), count));
+
+        List<CommunityMembership> contributors =
+                membershipRepository.findTop5ById_CommunityIdAndIsActiveTrueOrderByContributionScoreDesc(communityId);
+        Map<Integer, UserSummaryDto> users = userSummaryCache.getAll(
+                contributors.stream().map(m -> m.getId().getUserId()).toList());
+        List<CommunityMemberDto> topContributors = contributors.stream()
+                .map(m -> new CommunityMemberDto(
+                        users.get(m.getId().getUserId()),
+                        m.getRole(),
+                        m.getJoinedAt(),
+                        m.getContributionScore()))
+                .toList();
+
+        return new CommunityInsightsDto(
+                community.getMemberCount(),
+                weeklyGrowthRate,
+                newMembersByDay,
+                communityStatsEngine.dailyActiveMembers(communityId),
+                (int) activity.topics().lastWeek(),
+                (int) activity.replies().lastWeek(),
+                topContributors
+        );
+    }
+
     @Transactional(readOnly = true)
     public Page<CommunitySummaryDto> searchCommunitiesWithFilters(
             String search, 
@@ -395,6 +442,7 @@ public class CommunityService {
                 community)) {
             throw new AccessDeniedException("Insufficient permissions to update community settings");
         }
+        Integer previousUniversityId = universityIdOf(community);
 
         if (request.name() != null && !request.name().trim().isEmpty()) {
             // Check if new name is already taken by another community
@@ -409,6 +457,12 @@ public class CommunityService {
         }
 
         Community updatedCommunity = communityRepository.save(community);
+        Integer universityId = universityIdOf(updatedCommunity);
+        communityDirectoryService.invalidate(universityId);
+        if (!Objects.equals(previousUniversityId, universityId)) {
+            // Its old university's pages still list it
+            communityDirectoryService.invalidate(previousUniversityId);
+        }
         
         // ✅ FIXED: Use the membership that we already have and null for moderation status
         Optional<CommunityMembership> membership = membershipRepository.findById_UserIdAndId_CommunityId(
@@ -428,13 +482,11 @@ public class CommunityService {
              throw new ResourceNotFoundException("Community not found");
         }
         
-        // Fetch stats using repository methods
-        long questionTopics = communityRepository.countTopicsByCommunityIdAndType(communityId, TopicType.QUESTION);
-        long postTopics = communityRepository.countTopicsByCommunityIdAndType(communityId, TopicType.DISCUSSION);
+        CommunityStatsEngine.TopicTotals totals = communityStatsEngine.topicTotals(communityId);
 
         Map<TopicType, Long> distribution = new HashMap<>();
-        distribution.put(TopicType.QUESTION, questionTopics);
-        distribution.put(TopicType.DISCUSSION, postTopics);
+        distribution.put(TopicType.QUESTION, totals.questions());
+        distribution.put(TopicType.DISCUSSION, totals.discussions());
         
         return distribution;
     }
@@ -444,7 +496,7 @@ public class CommunityService {
         if (currentUser == null) {
             return false;
         }
-        return membershipRepository.existsById_UserIdAndId_CommunityId(currentUser.getId(), communityId);
+        return membershipIndex.isCommunityMember(currentUser.getId(), communityId);
     }
 
     @Transactional(readOnly = true)
@@ -453,10 +505,8 @@ public class CommunityService {
             return false;
         }
         
-        Optional<CommunityMembership> membership = membershipRepository.findById_UserIdAndId_CommunityId(
-            currentUser.getId(), communityId);
-        
-        if (membership.isEmpty()) {
+        Integer roleId = membershipIndex.membershipsOf(currentUser.getId()).activeCommunityRoleId(communityId);
+        if (roleId == null) {
             return false;
         }
         
@@ -464,7 +514,7 @@ public class CommunityService {
             DefaultCommunityRoles.COMMUNITY_MODERATOR.getName(), true)
                 .orElse(null);
                 
-        return moderatorRole != null && membership.get().getRole().equals(moderatorRole);
+        return moderatorRole != null && moderatorRole.getId().equals(roleId);
     }
 
     @Transactional(readOnly = true)
@@ -490,8 +540,14 @@ public class CommunityService {
         // Delete all memberships first - FIXED METHOD NAME
         List<CommunityMembership> memberships = membershipRepository.findById_CommunityId(communityId);
         membershipRepository.deleteAll(memberships);
+        memberships.forEach(m -> membershipIndex.invalidate(m.getId().getUserId()));
 
         // Then delete the community
         communityRepository.delete(community);
+        communityDirectoryService.invalidate(universityIdOf(community));
+    }
+
+    private Integer universityIdOf(Community community) {
+        return community.getUniversity() != null ? community.getUniversity().getUniversityId() : null;
     }
-}
\ No newline at end of file
+}
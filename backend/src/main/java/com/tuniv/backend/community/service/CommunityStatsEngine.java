@@ -0,0 +1,503 @@
+package com.tuniv.backend.community.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tuniv.backend.community.projection.CommunityActiveUserProjection;
+import com.tuniv.backend.community.projection.CommunityActivityBucketProjection;
+import com.tuniv.backend.community.projection.CommunityTopicTotalsProjection;
+import com.tuniv.backend.community.repository.CommunityRepository;
+import com.tuniv.backend.qa.model.TopicType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory community statistics: topic counters plus rolling 1h / 24h / 7d windows of topics,
+ * replies, votes and new members, kept in bucketed ring buffers.
+ *
+ * Services record activity as it happens (applied after commit). Everything here is derived from the
+ * database, so instead of writing snapshots the engine is rebuilt periodically from a handful of grouped
+ * queries; this also folds in activity recorded by other nodes and corrects any drift.
+ * Until the first rebuild completes, totals fall back to a per-community query.
+ *
+ * The rebuild queries share one REPEATABLE READ snapshot, and activity is buffered from the moment that
+ * snapshot is taken. Buffered activity committed after the snapshot, so the queries cannot have seen it
+ * and replaying it onto the fresh counters does not count it twice.
+ */
+@Service
+@Slf4j
+public class CommunityStatsEngine {
+
+    private static final long FINE_BUCKET_MILLIS = 5 * 60 * 1000L;
+    private static final int FINE_BUCKETS = 12; // 1 hour
+    private static final long COARSE_BUCKET_MILLIS = 60 * 60 * 1000L;
+    private static final int COARSE_BUCKETS = 168; // 7 days
+    private static final long DAY_MILLIS = 24 * COARSE_BUCKET_MILLIS;
+
+    private enum ActivityKind { TOPIC_CREATED, TOPIC_DELETED, SOLUTION_MARKED, SOLUTION_UNMARKED, REPLY_CREATED, VOTE_CAST, MEMBER_JOINED }
+
+    private record Activity(Integer communityId, ActivityKind kind, TopicType topicType, boolean solved,
+                            Integer userId, long occurredAt) {}
+
+    public record TopicTotals(long total, long solved, long questions, long discussions) {
+        static final TopicTotals EMPTY = new TopicTotals(0, 0, 0, 0);
+    }
+
+    public record WindowCounts(long lastHour, long lastDay, long lastWeek) {}
+
+    public record ActivitySnapshot(WindowCounts topics, WindowCounts replies, WindowCounts votes, WindowCounts joins) {
+
+        /** Topics, replies and votes of the last 7 days, weighted by the effort they represent. */
+        public double weeklyScore() {
+            return topics.lastWeek() * 3.0 + replies.lastWeek() * 2.0 + votes.lastWeek();
+        }
+    }
+
+    private final CommunityRepository communityRepository;
+    private final TransactionTemplate snapshotTransaction;
+
+    private volatile Map<Integer, CommunityCounters> counters = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Orders activity against the start and end of a rebuild; held only for in-memory work
+    private final ReentrantLock applyLock = new ReentrantLock();
+    private List<Activity> activityDuringRebuild; // non-null while a rebuild is reading, guarded by applyLock
+
+    public CommunityStatsEngine(CommunityRepository communityRepository, PlatformTransactionManager transactionManager) {
+        this.communityRepository = communityRepository;
+        // Not read-only: the snapshot has to come from the primary, a lagging replica would miss committed activity
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    // ========== QUERIES ==========
+
+    public TopicTotals topicTotals(Integer communityId) {
+        CommunityCounters c = counters.get(communityId);
+        if (c != null) {
+            return c.totals();
+        }
+        if (ready) {
+            return TopicTotals.EMPTY;
+        }
+        return communityRepository.findTopicTotals(communityId).stream()
+                .findFirst()
+                .map(CommunityStatsEngine::toTotals)
+                .orElse(TopicTotals.EMPTY);
+    }
+
+    public ActivitySnapshot activity(Integer communityId) {
+        CommunityCounters c = counters.get(communityId);
+        if (c == null) {
+            WindowCounts none = new WindowCounts(0, 0, 0);
+            return new ActivitySnapshot(none, none, none, none);
+        }
+        return c.activity(System.currentTimeMillis());
+    }
+
+    /** New members per UTC day over the last 7 days, oldest first. Days without joins are included as 0. */
+    public Map<LocalDate, Long> joinsByDay(Integer communityId) {
+        long now = System.currentTimeMillis();
+        Map<LocalDate, Long> byDay = new TreeMap<>();
+        LocalDate today = LocalDate.ofInstant(Instant.ofEpochMilli(now), ZoneOffset.UTC);
+        for (int i = 6; i >= 0; i--) {
+            byDay.put(today.minusDays(i), 0L);
+        }
+        CommunityCounters c = counters.get(communityId);
+        if (c != null) {
+            c.joinWindow.forEachHour(now, (hourStart, count) -> {
+                LocalDate day = LocalDate.ofInstant(Instant.ofEpochMilli(hourStart), ZoneOffset.UTC);
+                byDay.computeIfPresent(day, (d, total) -> total + count);
+            });
+        }
+        return byDay;
+    }
+
+    /** Distinct users who posted a topic or reply in the community during the last 24 hours. */
+    public int dailyActiveMembers(Integer communityId) {
+        CommunityCounters c = counters.get(communityId);
+        if (c == null) {
+            return 0;
+        }
+        long cutoff = System.currentTimeMillis() - DAY_MILLIS;
+        return (int) c.lastActiveByUser.values().stream().filter(at -> at >= cutoff).count();
+    }
+
+    /**
+     * Ids of the most active communities of the last 7 days, highest {@link ActivitySnapshot#weeklyScore()} first.
+     */
+    public List<Integer> trendingCommunityIds(long minTopicsLastWeek, int limit) {
+        long now = System.currentTimeMillis();
+        return counters.entrySet().stream()
+                .filter(e -> e.getValue().topicWindow.lastWeek(now) >= minTopicsLastWeek)
+                .map(e -> Map.entry(e.getKey(), e.getValue().activity(now).weeklyScore()))
+                .sorted(Map.Entry.<Integer, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.<Integer, Double>comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ========== RECORDING ==========
+
+    public void recordTopicCreated(Integer communityId, TopicType topicType, Integer authorId) {
+        record(new Activity(communityId, ActivityKind.TOPIC_CREATED, topicType, false, authorId, System.currentTimeMillis()));
+    }
+
+    public void recordTopicDeleted(Integer communityId, TopicType topicType, boolean solved) {
+        record(new Activity(communityId, ActivityKind.TOPIC_DELETED, topicType, solved, null, System.currentTimeMillis()));
+    }
+
+    public void recordSolutionMarked(Integer communityId) {
+        record(new Activity(communityId, ActivityKind.SOLUTION_MARKED, null, true, null, System.currentTimeMillis()));
+    }
+
+    public void recordSolutionUnmarked(Integer communityId) {
+        record(new Activity(communityId, ActivityKind.SOLUTION_UNMARKED, null, false, null, System.currentTimeMillis()));
+    }
+
+    public void recordReply(Integer communityId, Integer authorId) {
+        record(new Activity(communityId, ActivityKind.REPLY_CREATED, null, false, authorId, System.currentTimeMillis()));
+    }
+
+    public void recordVote(Integer communityId) {
+        record(new Activity(communityId, ActivityKind.VOTE_CAST, null, false, null, System.currentTimeMillis()));
+    }
+
+    public void recordMemberJoined(Integer communityId) {
+        record(new Activity(communityId, ActivityKind.MEMBER_JOINED, null, false, null, System.currentTimeMillis()));
+    }
+
+    /**
+     * Applies the activity once the current transaction commits; rolled back work is never counted.
+     * Topics posted in modules rather than communities have no community id and are ignored.
+     */
+    private void record(Activity activity) {
+        if (activity.communityId() == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(activity);
+                }
+            });
+        } else {
+            apply(activity);
+        }
+    }
+
+    private void apply(Activity activity) {
+        applyLock.lock();
+        try {
+            if (activityDuringRebuild != null) {
+                activityDuringRebuild.add(activity);
+            }
+            apply(counters, activity);
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    private static void apply(Map<Integer, CommunityCounters> target, Activity a) {
+        CommunityCounters c = target.computeIfAbsent(a.communityId(), id -> new CommunityCounters());
+        AtomicLong typeCounter = c.typeCounter(a.topicType());
+        switch (a.kind()) {
+            case TOPIC_CREATED -> {
+                c.topics.incrementAndGet();
+                if (typeCounter != null) {
+                    typeCounter.incrementAndGet();
+                }
+                c.topicWindow.add(a.occurredAt(), 1);
+                c.markActive(a.userId(), a.occurredAt());
+            }
+            case TOPIC_DELETED -> {
+                c.topics.decrementAndGet();
+                if (typeCounter != null) {
+                    typeCounter.decrementAndGet();
+                }
+                if (a.solved()) {
+                    c.solved.decrementAndGet();
+                }
+            }
+            case SOLUTION_MARKED -> c.solved.incrementAndGet();
+            case SOLUTION_UNMARKED -> c.solved.decrementAndGet();
+            case REPLY_CREATED -> {
+                c.replyWindow.add(a.occurredAt(), 1);
+                c.markActive(a.userId(), a.occurredAt());
+            }
+            case VOTE_CAST -> c.voteWindow.add(a.occurredAt(), 1);
+            case MEMBER_JOINED -> c.joinWindow.add(a.occurredAt(), 1);
+        }
+    }
+
+    // ========== REBUILD ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.community-stats.rebuild-interval:300000}",
+               initialDelayString = "${app.community-stats.rebuild-interval:300000}")
+    public void rebuild() {
+        // A lock rather than synchronized: the queries below would pin a virtual thread to its carrier.
+        rebuildLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            Map<Integer, CommunityCounters> fresh;
+            try {
+                fresh = snapshotTransaction.execute(status -> readFromDatabase(start));
+            } catch (Exception e) {
+                stopBuffering();
+                log.error("Failed to rebuild community stats, keeping the previous counters", e);
+                return;
+            }
+
+            applyLock.lock();
+            try {
+                for (Activity pending : activityDuringRebuild) {
+                    apply(fresh, pending);
+                }
+                activityDuringRebuild = null;
+                counters = fresh;
+                ready = true;
+            } finally {
+                applyLock.unlock();
+            }
+            log.debug("Community stats rebuilt for {} communities in {} ms", fresh.size(), System.currentTimeMillis() - start);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Runs every rebuild query inside the caller's REPEATABLE READ transaction. Buffering starts right before
+     * the first query, which is where Postgres takes the snapshot all of them read from.
+     */
+    private Map<Integer, CommunityCounters> readFromDatabase(long start) {
+        Map<Integer, CommunityCounters> fresh = new ConcurrentHashMap<>();
+
+        applyLock.lock();
+        try {
+            activityDuringRebuild = new ArrayList<>();
+        } finally {
+            applyLock.unlock();
+        }
+
+        for (CommunityTopicTotalsProjection row : communityRepository.findTopicTotals(null)) {
+            CommunityCounters c = fresh.computeIfAbsent(row.getCommunityId(), id -> new CommunityCounters());
+            TopicTotals totals = toTotals(row);
+            c.topics.set(totals.total());
+            c.solved.set(totals.solved());
+            c.questions.set(totals.questions());
+            c.discussions.set(totals.discussions());
+        }
+
+        Instant now = Instant.ofEpochMilli(start);
+        Instant weekAgo = now.minus(7, ChronoUnit.DAYS);
+        Instant hourAgo = now.minus(1, ChronoUnit.HOURS);
+        seedWindows(fresh, weekAgo, hourAgo, c -> c.topicWindow, communityRepository::findTopicActivityBuckets);
+        seedWindows(fresh, weekAgo, hourAgo, c -> c.replyWindow, communityRepository::findReplyActivityBuckets);
+        seedWindows(fresh, weekAgo, hourAgo, c -> c.voteWindow, communityRepository::findVoteActivityBuckets);
+        seedWindows(fresh, weekAgo, hourAgo, c -> c.joinWindow, communityRepository::findMemberJoinBuckets);
+
+        for (CommunityActiveUserProjection row : communityRepository.findActiveAuthorsSince(now.minus(1, ChronoUnit.DAYS))) {
+            fresh.computeIfAbsent(row.getCommunityId(), id -> new CommunityCounters())
+                    .markActive(row.getUserId(), row.getLastActiveEpoch() * 1000L);
+        }
+        return fresh;
+    }
+
+    private void stopBuffering() {
+        applyLock.lock();
+        try {
+            activityDuringRebuild = null;
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface BucketQuery {
+        List<CommunityActivityBucketProjection> find(Instant since, long bucketSeconds);
+    }
+
+    private static void seedWindows(Map<Integer, CommunityCounters> target, Instant weekAgo, Instant hourAgo,
+                                    Function<CommunityCounters, RollingCounter> window, BucketQuery query) {
+        for (CommunityActivityBucketProjection row : query.find(weekAgo, COARSE_BUCKET_MILLIS / 1000)) {
+            window.apply(target.computeIfAbsent(row.getCommunityId(), id -> new CommunityCounters()))
+                    .seedCoarse(row.getBucket(), row.getTotal());
+        }
+        for (CommunityActivityBucketProjection row : query.find(hourAgo, FINE_BUCKET_MILLIS / 1000)) {
+            window.apply(target.computeIfAbsent(row.getCommunityId(), id -> new CommunityCounters()))
+                    .seedFine(row.getBucket(), row.getTotal());
+        }
+    }
+
+    private static TopicTotals toTotals(CommunityTopicTotalsProjection row) {
+        return new TopicTotals(
+                nullToZero(row.getTotalTopics()),
+                nullToZero(row.getSolvedTopics()),
+                nullToZero(row.getQuestionTopics()),
+                nullToZero(row.getDiscussionTopics()));
+    }
+
+    private static long nullToZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    // ========== INTERNAL STATE ==========
+
+    private static final class CommunityCounters {
+        final AtomicLong topics = new AtomicLong();
+        final AtomicLong solved = new AtomicLong();
+        final AtomicLong questions = new AtomicLong();
+        final AtomicLong discussions = new AtomicLong();
+        final RollingCounter topicWindow = new RollingCounter();
+        final RollingCounter replyWindow = new RollingCounter();
+        final RollingCounter voteWindow = new RollingCounter();
+        final RollingCounter joinWindow = new RollingCounter();
+        final Map<Integer, Long> lastActiveByUser = new ConcurrentHashMap<>();
+
+        /**
+         * Only questions and discussions have their own counter, as in {@code findTopicTotals};
+         * every other type counts towards the total alone. Null when the type has no counter.
+         */
+        AtomicLong typeCounter(TopicType type) {
+            if (type == null) {
+                return null;
+            }
+            return switch (type) {
+                case QUESTION -> questions;
+                case DISCUSSION -> discussions;
+                default -> null;
+            };
+        }
+
+        void markActive(Integer userId, long at) {
+            if (userId != null) {
+                lastActiveByUser.merge(userId, at, Math::max);
+            }
+        }
+
+        ActivitySnapshot activity(long now) {
+            return new ActivitySnapshot(topicWindow.counts(now), replyWindow.counts(now),
+                    voteWindow.counts(now), joinWindow.counts(now));
+        }
+
+        TopicTotals totals() {
+            return new TopicTotals(Math.max(0, topics.get()), Math.max(0, solved.get()),
+                    Math.max(0, questions.get()), Math.max(0, discussions.get()));
+        }
+    }
+
+    /**
+     * Two ring buffers of event counts: 5-minute buckets covering the last hour and hourly buckets covering
+     * the last 7 days. Each slot remembers which bucket it currently holds, so stale slots are reset lazily
+     * instead of by a timer.
+     */
+    private static final class RollingCounter {
+        private final long[] fine = new long[FINE_BUCKETS];
+        private final long[] fineStamps = newStamps(FINE_BUCKETS);
+        private final long[] coarse = new long[COARSE_BUCKETS];
+        private final long[] coarseStamps = newStamps(COARSE_BUCKETS);
+
+        synchronized void add(long atMillis, long n) {
+            addTo(fine, fineStamps, atMillis / FINE_BUCKET_MILLIS, n);
+            addTo(coarse, coarseStamps, atMillis / COARSE_BUCKET_MILLIS, n);
+        }
+
+        synchronized void seedFine(long bucket, long n) {
+            addTo(fine, fineStamps, bucket, n);
+        }
+
+        synchronized void seedCoarse(long bucket, long n) {
+            addTo(coarse, coarseStamps, bucket, n);
+        }
+
+        synchronized WindowCounts counts(long nowMillis) {
+            long currentHour = nowMillis / COARSE_BUCKET_MILLIS;
+            return new WindowCounts(
+                    sum(fine, fineStamps, nowMillis / FINE_BUCKET_MILLIS, FINE_BUCKETS),
+                    sum(coarse, coarseStamps, currentHour, 24),
+                    sum(coarse, coarseStamps, currentHour, COARSE_BUCKETS));
+        }
+
+        synchronized long lastWeek(long nowMillis) {
+            return sum(coarse, coarseStamps, nowMillis / COARSE_BUCKET_MILLIS, COARSE_BUCKETS);
+        }
+
+        synchronized void forEachHour(long nowMillis, HourVisitor visitor) {
+            long currentHour = nowMillis / COARSE_BUCKET_MILLIS;
+            for (long hour = currentHour - COARSE_BUCKETS + 1; hour <= currentHour; hour++) {
+                int slot = (int) (hour % COARSE_BUCKETS);
+                if (coarseStamps[slot] == hour && coarse[slot] != 0) {
+                    visitor.visit(hour * COARSE_BUCKET_MILLIS, coarse[slot]);
+                }
+            }
+        }
+
+        private static void addTo(long[] counts, long[] stamps, long bucket, long n) {
+            int slot = (int) (bucket % counts.length);
+            if (stamps[slot] != bucket) {
+                if (stamps[slot] > bucket) {
+                    return; // Older than the window this ring covers.
+                }
+                stamps[slot] = bucket;
+                counts[slot] = 0;
+            }
+            counts[slot] += n;
+        }
+
+        private static long sum(long[] counts, long[] stamps, long currentBucket, int buckets) {
+            long total = 0;
+            for (int i = 0; i < buckets; i++) {
+                long bucket = currentBucket - i;
+                int slot = (int) (bucket % counts.length);
+                if (stamps[slot] == bucket) {
+                    total += counts[slot];
+                }
+            }
+            return total;
+        }
+
+        private static long[] newStamps(int size) {
+            long[] stamps = new long[size];
+            Arrays.fill(stamps, -1L);
+            return stamps;
+        }
+    }
+
+    @FunctionalInterface
+    private interface HourVisitor {
+        void visit(long hourStartMillis, long count);
+    }
+}
@@ -1,24 +1,74 @@
 package com.tuniv.backend.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import com.tuniv.backend.shared.service.WorkloadExecutors;
+import com.tuniv.backend.shared.service.WorkloadExecutors.Workload;
+
 import java.util.concurrent.Executor;
 
+import lombok.RequiredArgsConstructor;
+
+/**
+ * One bulkheaded executor per workload class; bind work to one with {@code @Async(AsyncConfig.X_EXECUTOR)}.
+ * Sizes and rejection policies are configured under {@code app.executors.*}, see {@link WorkloadExecutors}.
+ * An unqualified {@code @Async} runs on the maintenance executor.
+ */
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
 public class AsyncConfig implements AsyncConfigurer {
 
+    public static final String REALTIME_EXECUTOR = "realtimeExecutor";
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+    public static final String EMAIL_EXECUTOR = "emailExecutor";
+    public static final String MEDIA_EXECUTOR = "mediaExecutor";
+    public static final String MAINTENANCE_EXECUTOR = "maintenanceExecutor";
+    public static final String PASSWORD_HASHING_EXECUTOR = "passwordHashingExecutor";
+
+    private final WorkloadExecutors workloadExecutors;
+
+    /** Chat read receipts and system messages: latency-sensitive and short. */
+    @Bean(name = REALTIME_EXECUTOR)
+    public ThreadPoolTaskExecutor realtimeExecutor() {
+        return workloadExecutors.create(Workload.REALTIME);
+    }
+
+    /** In-app notification fan-out. Emails it triggers are handed on to the email executor. */
+    @Bean(name = NOTIFICATION_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationExecutor() {
+        return workloadExecutors.create(Workload.NOTIFICATION);
+    }
+
+    /** SMTP sends, which can stall for seconds; the SMTP limiter additionally caps open connections. */
+    @Bean(name = EMAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor emailExecutor() {
+        return workloadExecutors.create(Workload.EMAIL);
+    }
+
+    /** Attachment uploads to file storage; when full, the submitting request thread uploads the file itself. */
+    @Bean(name = MEDIA_EXECUTOR)
+    public ThreadPoolTaskExecutor mediaExecutor() {
+        return workloadExecutors.create(Workload.MEDIA);
+    }
+
+    @Bean(name = MAINTENANCE_EXECUTOR)
+    public ThreadPoolTaskExecutor maintenanceExecutor() {
+        return workloadExecutors.create(Workload.MAINTENANCE);
+    }
+
+    /** Password hashing for logins and password changes, see {@code PooledPasswordEncoder}. Not for {@code @Async}. */
+    @Bean(name = PASSWORD_HASHING_EXECUTOR)
+    public ThreadPoolTaskExecutor passwordHashingExecutor() {
+        return workloadExecutors.create(Workload.PASSWORD_HASHING);
+    }
+
     @Override
     public Executor getAsyncExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(25);
-        executor.setThreadNamePrefix("ChatEventAsync-");
-        executor.initialize();
-        return executor;
+        return maintenanceExecutor();
     }
-}
\ No newline at end of file
+}
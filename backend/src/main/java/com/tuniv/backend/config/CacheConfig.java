@@ -1,5 +1,36 @@
 package com.tuniv.backend.config;
 
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tuniv.backend.shared.cache.TieredCacheManager;
+
+/**
+ * Backs {@code @Cacheable} with a per-node L1 in front of Redis, see {@link TieredCacheManager}.
+ */
+@Configuration
 public class CacheConfig {
-    
+
+    @Bean
+    public TieredCacheManager cacheManager(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                           Environment environment) {
+        TieredCacheManager cacheManager = new TieredCacheManager(redisTemplate, objectMapper, environment);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TieredCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TieredCacheManager.INVALIDATION_CHANNEL));
+        return container;
+    }
 }
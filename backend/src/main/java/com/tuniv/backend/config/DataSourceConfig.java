@@ -0,0 +1,107 @@
+package com.tuniv.backend.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.tuniv.backend.shared.datasource.ReadWriteRoutingDataSource;
+import com.tuniv.backend.shared.datasource.RecentWriters;
+import com.tuniv.backend.shared.datasource.RouteTo;
+import com.tuniv.backend.shared.datasource.RouteToInterceptor;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The primary pool comes from {@code spring.datasource.*}. When {@code app.datasource.replica-urls} lists
+ * read replicas, each gets its own pool (same credentials and Hikari settings) and read-only transactions
+ * are routed to them, see {@link ReadWriteRoutingDataSource}. Without replicas the primary is used as is.
+ */
+@Slf4j
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * The replica pools. A bean of their own so that Spring closes them on shutdown, like the primary.
+     */
+    @Bean
+    public ReplicaDataSources replicaDataSources(HikariDataSource primaryDataSource,
+                                                 @Value("${app.datasource.replica-urls:}") List<String> replicaUrls,
+                                                 @Value("${app.datasource.replica-pool-size:10}") int replicaPoolSize) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(url.trim());
+            config.setPoolName("replica-" + replicas.size());
+            config.setMaximumPoolSize(replicaPoolSize);
+            config.setReadOnly(true);
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaDataSources(List.copyOf(replicas));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSources replicaDataSources,
+                                 RecentWriters recentWriters) {
+        List<DataSource> replicas = List.copyOf(replicaDataSources.pools());
+        if (replicas.isEmpty()) {
+            return primaryDataSource;
+        }
+
+        log.info("Routing read-only transactions to {} replica(s)", replicas.size());
+        return new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(primaryDataSource, replicas, recentWriters));
+    }
+
+    public record ReplicaDataSources(List<HikariDataSource> pools) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            pools.forEach(HikariDataSource::close);
+        }
+    }
+
+    /**
+     * Applies {@link RouteTo} on any bean. Runs before the transaction interceptor, so the route is in place
+     * when the transaction takes its connection.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor routeToAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(RouteTo.class, true))
+                .union(new AnnotationMatchingPointcut(null, RouteTo.class, true));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new RouteToInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
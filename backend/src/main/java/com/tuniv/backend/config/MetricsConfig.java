@@ -0,0 +1,28 @@
+package com.tuniv.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.tuniv.backend.chat.service.WebSocketSessionService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Gauges over state that lives in framework beans. Timers and summaries for the hot paths are recorded where
+ * the work happens; Redis command latencies ({@code lettuce.*}), RabbitMQ publish/consume timings
+ * ({@code spring.rabbit.*}), HTTP timings and the {@code executor.*} gauges of every executor bean (workload
+ * pools and STOMP channels, tagged with the bean name) come from Spring Boot. Application meters are prefixed
+ * {@code tuniv.} so histograms can be enabled for all of them with one property.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /** Active STOMP sessions on this node. */
+    @Bean
+    public MeterBinder webSocketSessionMetrics(WebSocketSessionService sessionService) {
+        return registry -> Gauge.builder("tuniv.websocket.sessions", sessionService,
+                        WebSocketSessionService::getLocalSessionCount)
+                .register(registry);
+    }
+}
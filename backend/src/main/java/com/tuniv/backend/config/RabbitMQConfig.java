@@ -1,16 +1,28 @@
 package com.tuniv.backend.config;
 
 import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.tuniv.backend.authorization.service.MembershipIndex;
+import com.tuniv.backend.authorization.service.RolePermissionRegistry;
+import com.tuniv.backend.filestorage.service.ImageDerivativeService;
+import com.tuniv.backend.follow.service.FollowGraphService;
+import com.tuniv.backend.user.service.UserSummaryCache;
+
 @Configuration
 public class RabbitMQConfig {
 
@@ -62,6 +74,106 @@ public class RabbitMQConfig {
                 .with("user.*");
     }
 
+    // Fanout exchange broadcasting user summary cache invalidations to every node
+    @Bean
+    public FanoutExchange userSummaryInvalidationExchange() {
+        return new FanoutExchange(UserSummaryCache.INVALIDATION_EXCHANGE);
+    }
+
+    // Per-node, auto-delete queue: each instance receives every invalidation
+    @Bean
+    public AnonymousQueue userSummaryInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding userSummaryInvalidationBinding(AnonymousQueue userSummaryInvalidationQueue,
+                                                  FanoutExchange userSummaryInvalidationExchange) {
+        return BindingBuilder.bind(userSummaryInvalidationQueue).to(userSummaryInvalidationExchange);
+    }
+
+    // Fanout exchange replicating follow/unfollow changes into every node's follow graph
+    @Bean
+    public FanoutExchange followGraphUpdatesExchange() {
+        return new FanoutExchange(FollowGraphService.UPDATES_EXCHANGE);
+    }
+
+    @Bean
+    public AnonymousQueue followGraphUpdatesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding followGraphUpdatesBinding(AnonymousQueue followGraphUpdatesQueue,
+                                             FanoutExchange followGraphUpdatesExchange) {
+        return BindingBuilder.bind(followGraphUpdatesQueue).to(followGraphUpdatesExchange);
+    }
+
+    // Fanout exchange telling every node to reload its role-permission matrix
+    @Bean
+    public FanoutExchange rolePermissionReloadExchange() {
+        return new FanoutExchange(RolePermissionRegistry.RELOAD_EXCHANGE);
+    }
+
+    @Bean
+    public AnonymousQueue rolePermissionReloadQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding rolePermissionReloadBinding(AnonymousQueue rolePermissionReloadQueue,
+                                               FanoutExchange rolePermissionReloadExchange) {
+        return BindingBuilder.bind(rolePermissionReloadQueue).to(rolePermissionReloadExchange);
+    }
+
+    // Fanout exchange evicting a user's memberships from every node's MembershipIndex
+    @Bean
+    public FanoutExchange membershipIndexInvalidationExchange() {
+        return new FanoutExchange(MembershipIndex.INVALIDATION_EXCHANGE);
+    }
+
+    @Bean
+    public AnonymousQueue membershipIndexInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding membershipIndexInvalidationBinding(AnonymousQueue membershipIndexInvalidationQueue,
+                                                      FanoutExchange membershipIndexInvalidationExchange) {
+        return BindingBuilder.bind(membershipIndexInvalidationQueue).to(membershipIndexInvalidationExchange);
+    }
+
+    // Durable work queue for the image derivative pipeline
+    @Bean
+    public DirectExchange mediaExchange() {
+        return new DirectExchange(ImageDerivativeService.EXCHANGE);
+    }
+
+    @Bean
+    public Queue imageDerivativeQueue() {
+        return new Queue(ImageDerivativeService.QUEUE, true);
+    }
+
+    @Bean
+    public Binding imageDerivativeBinding(Queue imageDerivativeQueue, DirectExchange mediaExchange) {
+        return BindingBuilder.bind(imageDerivativeQueue).to(mediaExchange).with(ImageDerivativeService.ROUTING_KEY);
+    }
+
+    // Image jobs hold whole decoded bitmaps: fixed consumer count, one unacked message each, failures not requeued
+    @Bean
+    public SimpleRabbitListenerContainerFactory imageDerivativeContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${app.media.worker-concurrency:2}") int concurrency) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(concurrency);
+        factory.setPrefetchCount(1);
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -71,6 +183,8 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(jsonMessageConverter());
+        // Publish timings as spring.rabbit.template, and trace context carried into listeners
+        rabbitTemplate.setObservationEnabled(true);
         return rabbitTemplate;
     }
 }
\ No newline at end of file
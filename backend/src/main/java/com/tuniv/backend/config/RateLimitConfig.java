@@ -0,0 +1,36 @@
+package com.tuniv.backend.config;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import com.tuniv.backend.shared.ratelimit.RateLimitInterceptor;
+import com.tuniv.backend.shared.ratelimit.RateLimited;
+import com.tuniv.backend.shared.service.RateLimitingService;
+
+/**
+ * Applies {@link RateLimited} to controller and STOMP handler methods, see {@link RateLimitingService}.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * Runs first, so a rejected call never reaches membership checks or opens a transaction.
+     * The service is looked up lazily: infrastructure advisors are created before ordinary beans.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor rateLimitAdvisor(ObjectProvider<RateLimitingService> rateLimitingService) {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimitingService);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(null, RateLimited.class, true), interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
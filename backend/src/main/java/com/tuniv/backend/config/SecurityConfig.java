@@ -1,8 +1,12 @@
 package com.tuniv.backend.config;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,14 +16,18 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.tuniv.backend.config.security.PooledPasswordEncoder;
 import com.tuniv.backend.config.security.jwt.JwtAuthFilter;
 import com.tuniv.backend.config.security.services.UserDetailsServiceImpl;
 
@@ -34,15 +42,18 @@ public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // After a successful login, hashes with an outdated algorithm or cost are replaced
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   DaoAuthenticationProvider authenticationProvider) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
@@ -58,6 +69,9 @@ public class SecurityConfig {
                     "/v3/api-docs/**"
                 ).permitAll()
 
+                // Served only on management.server.port, which is not exposed publicly
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+
                 // ✅ PUBLIC READ-ONLY ACCESS
                 .requestMatchers(HttpMethod.GET,
                     "/api/v1/universities/**",
@@ -74,7 +88,7 @@ public class SecurityConfig {
                 // ✅ SECURE ALL OTHER REQUESTS
                 .anyRequest().authenticated()
             )
-            .authenticationProvider(authenticationProvider())
+            .authenticationProvider(authenticationProvider)
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
             
         return http.build();
@@ -92,9 +106,26 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * Hashes are stored with an {@code {id}} prefix naming the algorithm; existing unprefixed hashes are
+     * bcrypt. Hashing runs on the password-hashing executor rather than the request thread.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Qualifier(AsyncConfig.PASSWORD_HASHING_EXECUTOR) ThreadPoolTaskExecutor hashingExecutor,
+            @Value("${app.auth.password.algorithm:bcrypt}") String algorithm,
+            @Value("${app.auth.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${app.auth.password.max-queue-wait:PT2S}") Duration maxQueueWait) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+            "bcrypt", bcrypt,
+            "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Unsupported app.auth.password.algorithm: " + algorithm);
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new PooledPasswordEncoder(delegating, hashingExecutor, maxQueueWait);
     }
 
     @Bean
@@ -0,0 +1,76 @@
+package com.tuniv.backend.config.security;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.tuniv.backend.shared.exception.ResourceBusyException;
+
+/**
+ * Runs password hashing on its own bounded executor instead of the calling request thread, so a login storm
+ * can use at most that executor's threads and the rest of the API keeps its CPU.
+ *
+ * Hashing fails fast with {@link ResourceBusyException} (503) when the queue is full, or when a task has
+ * already waited longer than {@code maxQueueWait} by the time a thread picks it up; a client that has likely
+ * given up by then is not worth a hash. {@link #upgradeEncoding} does no hashing and runs inline.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolTaskExecutor executor;
+    private final long maxQueueWaitNanos;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, ThreadPoolTaskExecutor executor, Duration maxQueueWait) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(Supplier<T> work) {
+        long submittedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                if (System.nanoTime() - submittedAt > maxQueueWaitNanos) {
+                    throw new ResourceBusyException("Sign-in is busy, please try again shortly");
+                }
+                return work.get();
+            });
+        } catch (TaskRejectedException e) {
+            throw new ResourceBusyException("Sign-in is busy, please try again shortly");
+        }
+
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ResourceBusyException("Interrupted while waiting for password hashing");
+        }
+    }
+}
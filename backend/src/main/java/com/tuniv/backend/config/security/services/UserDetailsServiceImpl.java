@@ -1,9 +1,11 @@
 package com.tuniv.backend.config.security.services;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.tuniv.backend.user.model.User;
@@ -15,7 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -78,6 +80,24 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         // }
     }
 
+    /**
+     * Stores a rehash made at login with the current algorithm and cost. Only replaces the hash that was just
+     * verified, so a password changed concurrently is not overwritten.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        UserDetailsImpl details = (UserDetailsImpl) userDetails;
+        int updated = userRepository.updatePasswordHash(details.getId(), details.getPassword(), newPassword);
+        if (updated == 0) {
+            log.debug("Skipped rehash for user {}: password changed since login", details.getUsername());
+            return userDetails;
+        }
+        log.debug("Rehashed password for user {}", details.getUsername());
+        details.getUser().setPassword(newPassword);
+        return details;
+    }
+
     // ✅ NEW: Method to check if user exists (for validation purposes)
     public boolean userExists(String username) {
         return userRepository.existsByUsername(username);
@@ -10,6 +10,8 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.tuniv.backend.filestorage.model.FileStorage;
+import com.tuniv.backend.shared.ratelimit.RateLimitPolicy;
+import com.tuniv.backend.shared.ratelimit.RateLimited;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,6 +23,7 @@ public class FileUploadController {
     private final FileStorage fileStorageService;
 
     @PostMapping("/upload")
+    @RateLimited(RateLimitPolicy.UPLOAD)
     public ResponseEntity<?> uploadFile(@RequestParam("file") MultipartFile file) {
         if (file.isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of("error", "File cannot be empty."));
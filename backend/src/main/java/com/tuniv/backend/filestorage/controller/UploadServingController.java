@@ -0,0 +1,40 @@
+package com.tuniv.backend.filestorage.controller;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.tuniv.backend.config.security.services.UserDetailsImpl;
+import com.tuniv.backend.filestorage.service.UploadServingService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves files written by {@code LocalFileStorageService}. With S3 storage, upload URLs point at the bucket instead.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class UploadServingController {
+
+    private static final String UPLOADS_PREFIX = "/uploads/";
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private final UploadServingService uploadServingService;
+
+    @RequestMapping(value = "/uploads/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serveUpload(HttpServletRequest request,
+                            HttpServletResponse response,
+                            @AuthenticationPrincipal UserDetailsImpl currentUser) throws IOException {
+        String path = PATH_HELPER.getPathWithinApplication(request);
+        String objectKey = path.substring(path.indexOf(UPLOADS_PREFIX) + UPLOADS_PREFIX.length());
+        uploadServingService.serve(objectKey, request, response, currentUser != null ? currentUser.getId() : null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.tuniv.backend.filestorage.dto;
+
+/**
+ * Queued request to render the image variants for one stored image.
+ *
+ * @param contentHash SHA-256 of the source when known; derivatives of identical content are shared
+ */
+public record ImageDerivativeJob(Target target, Integer targetId, String sourceUrl, String contentHash) {
+
+    public enum Target {
+        ATTACHMENT,
+        PROFILE_PHOTO
+    }
+}
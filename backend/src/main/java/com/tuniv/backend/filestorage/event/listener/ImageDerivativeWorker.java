@@ -0,0 +1,63 @@
+package com.tuniv.backend.filestorage.event.listener;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import com.tuniv.backend.filestorage.dto.ImageDerivativeJob;
+import com.tuniv.backend.filestorage.model.ImageDerivatives;
+import com.tuniv.backend.filestorage.model.ImageVariant;
+import com.tuniv.backend.filestorage.service.ImageDerivativeService;
+import com.tuniv.backend.qa.service.AttachmentService;
+import com.tuniv.backend.user.service.UserService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Renders image derivatives off the request path. Concurrency and prefetch are bounded by
+ * {@code imageDerivativeContainerFactory}, since each job holds a decoded image in memory.
+ * Works against whichever {@code FileStorage} is active, including local disk.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageDerivativeWorker {
+
+    private static final Set<ImageVariant> ATTACHMENT_VARIANTS =
+        EnumSet.of(ImageVariant.THUMBNAIL, ImageVariant.PREVIEW, ImageVariant.COMPRESSED);
+    private static final Set<ImageVariant> PROFILE_PHOTO_VARIANTS = EnumSet.of(ImageVariant.AVATAR);
+
+    private final ImageDerivativeService imageDerivativeService;
+    private final AttachmentService attachmentService;
+    private final UserService userService;
+
+    @RabbitListener(queues = ImageDerivativeService.QUEUE, containerFactory = "imageDerivativeContainerFactory")
+    public void handleJob(ImageDerivativeJob job) {
+        log.debug("Rendering image derivatives for {} {}", job.target(), job.targetId());
+        try {
+            switch (job.target()) {
+                case ATTACHMENT -> {
+                    ImageDerivatives derivatives = attachmentService.findImageDerivatives(job.contentHash())
+                        .orElse(null);
+                    if (derivatives == null) {
+                        derivatives = imageDerivativeService.render(job.sourceUrl(), job.contentHash(), ATTACHMENT_VARIANTS);
+                    }
+                    attachmentService.recordImageDerivatives(job.targetId(), derivatives);
+                }
+                case PROFILE_PHOTO -> {
+                    ImageDerivatives derivatives =
+                        imageDerivativeService.render(job.sourceUrl(), job.contentHash(), PROFILE_PHOTO_VARIANTS);
+                    userService.recordProfilePhotoThumbnail(job.targetId(), job.sourceUrl(),
+                        derivatives.url(ImageVariant.AVATAR));
+                }
+            }
+        } catch (Exception e) {
+            // Not retried: readers keep using the original file. Undecodable images would only fail again.
+            log.error("Failed to render image derivatives for {} {} from {}: {}",
+                job.target(), job.targetId(), job.sourceUrl(), e.getMessage(), e);
+        }
+    }
+}
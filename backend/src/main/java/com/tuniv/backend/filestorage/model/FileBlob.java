@@ -0,0 +1,58 @@
+package com.tuniv.backend.filestorage.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One content-addressed object in file storage, keyed by the SHA-256 of its bytes.
+ * {@code refCount} is the number of attachments pointing at it; a blob whose count has been zero
+ * for longer than the grace period is garbage-collected together with its stored object.
+ */
+@Entity
+@Table(name = "file_blobs", indexes = {
+    @Index(name = "idx_file_blob_orphaned", columnList = "ref_count, orphaned_at"),
+    @Index(name = "idx_file_blob_object_key", columnList = "object_key")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class FileBlob {
+
+    @Id
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    // ========== STORED OBJECT ==========
+    @Column(name = "object_key", length = 100)
+    private String objectKey; // Storage name derived from the hash by BlobKeys, set with url
+
+    @Column(name = "url", length = 1000)
+    private String url; // Set once the object has been written
+
+    @Column(name = "size", nullable = false)
+    private Long size;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "is_stored", nullable = false)
+    private boolean stored = false;
+
+    // ========== REFERENCES ==========
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+
+    @Column(name = "orphaned_at")
+    private Instant orphanedAt; // When refCount last dropped to zero
+}
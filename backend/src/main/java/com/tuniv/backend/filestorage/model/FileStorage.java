@@ -1,9 +1,43 @@
 package com.tuniv.backend.filestorage.model;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 import org.springframework.web.multipart.MultipartFile;
 
 public interface FileStorage {
-    String storeFile(MultipartFile file, String subDirectory);
+
+    /**
+     * Streams {@code content} to storage without buffering it on the heap, computing its SHA-256 in the
+     * same pass. {@code size} must be the exact content length. The stream is read once and not closed.
+     */
+    StoredFile store(InputStream content, long size, String originalFilename, String contentType, String subDirectory);
+
+    /**
+     * Like {@link #store}, but writes to exactly {@code objectKey}, replacing any existing object there.
+     * Used for content-addressed blobs, where every writer of a key writes identical bytes.
+     */
+    StoredFile storeObject(InputStream content, long size, String contentType, String objectKey);
+
+    default StoredFile store(MultipartFile file, String subDirectory) {
+        // Multipart parts larger than the threshold are already on disk; this streams from the temp file.
+        try (InputStream content = file.getInputStream()) {
+            return store(content, file.getSize(), file.getOriginalFilename(), file.getContentType(), subDirectory);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read file for upload: " + file.getOriginalFilename(), e);
+        }
+    }
+
+    default String storeFile(MultipartFile file, String subDirectory) {
+        return store(file, subDirectory).url();
+    }
+
     void deleteFile(String fileUrl);
 
+    /** Deletes the object stored under {@code objectKey}, if any. */
+    void deleteObject(String objectKey);
+
+    /** Opens a stored file by the URL {@link #store} returned for it. The caller closes the stream. */
+    InputStream open(String fileUrl) throws IOException;
+
 }
@@ -0,0 +1,13 @@
+package com.tuniv.backend.filestorage.model;
+
+import java.util.Map;
+
+/**
+ * The source image's dimensions and the URL of each generated variant.
+ */
+public record ImageDerivatives(int width, int height, Map<ImageVariant, String> urls) {
+
+    public String url(ImageVariant variant) {
+        return urls.get(variant);
+    }
+}
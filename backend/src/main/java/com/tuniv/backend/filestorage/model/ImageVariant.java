@@ -0,0 +1,22 @@
+package com.tuniv.backend.filestorage.model;
+
+/**
+ * Resized, metadata-free renditions generated for uploaded images. Images are scaled to fit
+ * within {@code maxDimension} on their longer side and never upscaled.
+ */
+public enum ImageVariant {
+    AVATAR(256),
+    THUMBNAIL(320),
+    PREVIEW(1280),
+    COMPRESSED(2560);
+
+    private final int maxDimension;
+
+    ImageVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int maxDimension() {
+        return maxDimension;
+    }
+}
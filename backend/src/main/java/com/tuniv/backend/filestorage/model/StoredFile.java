@@ -0,0 +1,11 @@
+package com.tuniv.backend.filestorage.model;
+
+/**
+ * Result of storing one upload: its public URL plus the size and SHA-256 (lowercase hex)
+ * computed while the content was streamed to storage.
+ */
+public record StoredFile(
+    String url,
+    long size,
+    String sha256
+) {}
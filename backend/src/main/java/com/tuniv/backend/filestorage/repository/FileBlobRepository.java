@@ -0,0 +1,79 @@
+package com.tuniv.backend.filestorage.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tuniv.backend.filestorage.model.FileBlob;
+
+@Repository
+public interface FileBlobRepository extends JpaRepository<FileBlob, String> {
+
+    /**
+     * Takes one reference on a blob, creating its row if needed. Reviving a blob whose count had dropped to zero
+     * clears its stored flag, so the next writer re-uploads it in case collection already removed the object.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO file_blobs AS b (sha256, size, content_type, is_stored, ref_count, created_at)
+        VALUES (:sha256, :size, :contentType, FALSE, 1, :now)
+        ON CONFLICT (sha256) DO UPDATE SET
+            ref_count = b.ref_count + 1,
+            orphaned_at = NULL,
+            is_stored = b.is_stored AND b.ref_count > 0
+        """, nativeQuery = true)
+    void acquire(@Param("sha256") String sha256,
+                 @Param("size") long size,
+                 @Param("contentType") String contentType,
+                 @Param("now") Instant now);
+
+    @Query("SELECT b.url FROM FileBlob b WHERE b.sha256 = :sha256 AND b.stored = true")
+    Optional<String> findStoredUrl(@Param("sha256") String sha256);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE FileBlob b SET b.objectKey = :objectKey, b.url = :url, b.stored = true WHERE b.sha256 = :sha256")
+    int markStored(@Param("sha256") String sha256, @Param("objectKey") String objectKey, @Param("url") String url);
+
+    @Query("SELECT b.contentType FROM FileBlob b WHERE b.objectKey = :objectKey")
+    Optional<String> findContentTypeByObjectKey(@Param("objectKey") String objectKey);
+
+    /**
+     * Drops {@code count} references. With a non-null {@code url}, only matches if the blob lives at that URL,
+     * which tells blob-backed attachments apart from older ones that merely carry a content hash.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE file_blobs SET
+            ref_count = GREATEST(ref_count - :count, 0),
+            orphaned_at = CASE WHEN ref_count - :count <= 0 THEN CAST(:now AS timestamptz) ELSE orphaned_at END
+        WHERE sha256 = :sha256
+          AND (CAST(:url AS text) IS NULL OR url = CAST(:url AS text))
+        """, nativeQuery = true)
+    int release(@Param("sha256") String sha256,
+                @Param("url") String url,
+                @Param("count") int count,
+                @Param("now") Instant now);
+
+    /**
+     * Unreferenced blobs past the grace period, locked so a concurrent {@link #acquire} waits until the
+     * collection commits (and then recreates the row) instead of reviving a blob whose object is being deleted.
+     */
+    @Query(value = """
+        SELECT * FROM file_blobs
+        WHERE ref_count = 0 AND orphaned_at < :cutoff
+        ORDER BY orphaned_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<FileBlob> lockCollectable(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,45 @@
+package com.tuniv.backend.filestorage.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Derives storage names for content-addressed objects. Stored objects are publicly readable, so naming them
+ * by their plain SHA-256 would let anyone holding a file check whether it was ever uploaded. Names are an
+ * HMAC of the hash under a server secret instead: still one name per content, but not computable outside.
+ * The plain hash stays in the database for deduplication lookups.
+ *
+ * Changing the secret only renames objects stored afterwards; blobs keep the URL recorded when they were stored.
+ */
+@Component
+public class BlobKeys {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    public BlobKeys(@Value("${app.storage.blob-key-secret}") String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("app.storage.blob-key-secret must be set");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    /** 64 hex characters naming the content with this SHA-256 in storage. */
+    public String token(String sha256) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM); // Mac instances are not thread-safe
+            mac.init(key);
+            return HexFormat.of().formatHex(mac.doFinal(sha256.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+}
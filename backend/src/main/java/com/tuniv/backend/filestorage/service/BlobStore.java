@@ -0,0 +1,131 @@
+package com.tuniv.backend.filestorage.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.tuniv.backend.filestorage.model.FileBlob;
+import com.tuniv.backend.filestorage.model.FileStorage;
+import com.tuniv.backend.filestorage.model.StoredFile;
+import com.tuniv.backend.filestorage.repository.FileBlobRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content-addressed layer over {@link FileStorage}: each distinct file is stored once under
+ * {@code blobs/<aa>/<token>}, where the token is {@link BlobKeys#token} of its SHA-256, and shared by
+ * every attachment with the same bytes.
+ * Callers hold one reference per attachment and must {@link #release} it when the attachment goes away.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlobStore {
+
+    private static final String BLOB_PREFIX = "blobs/";
+
+    private final FileStorage fileStorage;
+    private final FileBlobRepository fileBlobRepository;
+    private final BlobKeys blobKeys;
+    private final ImageDerivativeService imageDerivativeService;
+
+    @Value("${app.storage.blob-gc-grace:PT1H}")
+    private Duration gcGrace;
+
+    @Value("${app.storage.blob-gc-batch-size:500}")
+    private int gcBatchSize;
+
+    /**
+     * Stores the file unless identical content is already stored, and takes a reference on its blob.
+     * The content is hashed from the multipart temp file first, so a duplicate costs one local read
+     * and no upload.
+     */
+    public StoredFile put(MultipartFile file) {
+        String sha256 = hash(file);
+        fileBlobRepository.acquire(sha256, file.getSize(), file.getContentType(), Instant.now());
+
+        try {
+            String storedUrl = fileBlobRepository.findStoredUrl(sha256).orElse(null);
+            if (storedUrl != null) {
+                log.debug("Deduplicated upload {} onto blob {}", file.getOriginalFilename(), sha256);
+                return new StoredFile(storedUrl, file.getSize(), sha256);
+            }
+
+            String objectKey = objectKey(sha256);
+            StoredFile stored;
+            try (InputStream content = file.getInputStream()) {
+                stored = fileStorage.storeObject(content, file.getSize(), file.getContentType(), objectKey);
+            }
+            if (!stored.sha256().equals(sha256)) {
+                throw new IllegalStateException("Content of " + file.getOriginalFilename() + " changed while uploading");
+            }
+            fileBlobRepository.markStored(sha256, objectKey, stored.url());
+            return stored;
+        } catch (IOException | RuntimeException e) {
+            release(sha256, null, 1);
+            throw new RuntimeException("Could not store file " + file.getOriginalFilename(), e);
+        }
+    }
+
+    /**
+     * Drops {@code count} references on a blob. Joins the caller's transaction, so a rolled-back
+     * delete keeps its references.
+     *
+     * @param url if non-null, only release when the blob is stored at this URL
+     * @return false if no matching blob exists (the file predates content addressing)
+     */
+    public boolean release(String sha256, String url, int count) {
+        return fileBlobRepository.release(sha256, url, count, Instant.now()) > 0;
+    }
+
+    /**
+     * Deletes blobs that have been unreferenced for longer than the grace period, object first, then row.
+     * Runs in its own transaction because the row locks are what keep a concurrent upload from reusing a blob
+     * while its object is being deleted.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int collectGarbage() {
+        List<FileBlob> collectable = fileBlobRepository.lockCollectable(Instant.now().minus(gcGrace), gcBatchSize);
+        for (FileBlob blob : collectable) {
+            if (blob.getUrl() != null) {
+                fileStorage.deleteFile(blob.getUrl());
+            }
+            if (ImageDerivativeService.isProcessable(blob.getContentType())) {
+                imageDerivativeService.derivativeKeys(blob.getSha256()).forEach(fileStorage::deleteObject);
+            }
+        }
+        fileBlobRepository.deleteAllInBatch(collectable);
+
+        if (!collectable.isEmpty()) {
+            log.info("Garbage-collected {} unreferenced blobs", collectable.size());
+        }
+        return collectable.size();
+    }
+
+    private String objectKey(String sha256) {
+        String token = blobKeys.token(sha256);
+        return BLOB_PREFIX + token.substring(0, 2) + "/" + token;
+    }
+
+    private static String hash(MultipartFile file) {
+        try (InputStream content = file.getInputStream()) {
+            HashingInputStream hashing = new HashingInputStream(content);
+            byte[] buffer = new byte[64 * 1024];
+            while (hashing.read(buffer, 0, buffer.length) >= 0) {
+                // read only to feed the digest
+            }
+            return hashing.sha256Hex();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read file for upload: " + file.getOriginalFilename(), e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.tuniv.backend.filestorage.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes the SHA-256 and length of everything read through it, so content can be hashed
+ * in the same pass that streams it to storage. Not thread-safe; closing it does not close the source.
+ */
+public class HashingInputStream extends FilterInputStream {
+
+    private final MessageDigest digest;
+    private long bytesRead;
+
+    public HashingInputStream(InputStream source) {
+        super(source);
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b >= 0) {
+            digest.update((byte) b);
+            bytesRead++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = in.read(buffer, offset, length);
+        if (n > 0) {
+            digest.update(buffer, offset, n);
+            bytesRead += n;
+        }
+        return n;
+    }
+
+    /** Skipping would leave bytes out of the hash, so skipped bytes are read and hashed. */
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] scratch = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(scratch, 0, (int) Math.min(scratch.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        // The caller owns the source stream.
+    }
+
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    /** The SHA-256 of the bytes read so far, as lowercase hex. Call once, after the content is consumed. */
+    public String sha256Hex() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
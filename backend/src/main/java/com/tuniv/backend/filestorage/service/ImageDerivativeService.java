@@ -0,0 +1,356 @@
+package com.tuniv.backend.filestorage.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.w3c.dom.NodeList;
+
+import com.tuniv.backend.filestorage.dto.ImageDerivativeJob;
+import com.tuniv.backend.filestorage.model.FileStorage;
+import com.tuniv.backend.filestorage.model.ImageDerivatives;
+import com.tuniv.backend.filestorage.model.ImageVariant;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Renders resized, metadata-free variants of stored images and queues the jobs that request them.
+ * Variants are written as WebP when an ImageIO WebP writer is on the classpath, otherwise as JPEG.
+ * Re-encoding from decoded pixels drops EXIF, GPS and other embedded metadata, so a JPEG's EXIF
+ * orientation is applied to the pixels first; otherwise camera photos would come out sideways.
+ * WebP sources are not processed: the JDK has no WebP reader.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageDerivativeService {
+
+    public static final String EXCHANGE = "media.exchange";
+    public static final String QUEUE = "q.media.image_derivatives";
+    public static final String ROUTING_KEY = "image.derivatives";
+
+    private static final String DERIVATIVE_PREFIX = "derivatives/";
+    private static final Set<String> PROCESSABLE_TYPES = Set.of(
+        "image/jpeg", "image/png", "image/gif", "image/bmp"
+    );
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final int APP1_MARKER = 0xE1;
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+    private static final List<String> OUTPUT_EXTENSIONS = List.of("webp", "jpg");
+
+    private final FileStorage fileStorage;
+    private final RabbitTemplate rabbitTemplate;
+    private final BlobKeys blobKeys;
+
+    @Value("${app.media.max-source-pixels:40000000}")
+    private long maxSourcePixels;
+
+    @Value("${app.media.output-quality:0.82}")
+    private float outputQuality;
+
+    // ========== JOBS ==========
+
+    public static boolean isProcessable(String contentType) {
+        return contentType != null && PROCESSABLE_TYPES.contains(contentType.toLowerCase());
+    }
+
+    /**
+     * Queues a job once the current transaction commits, so the worker never sees rows that were rolled back.
+     */
+    public void enqueue(ImageDerivativeJob job) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(job);
+                }
+            });
+        } else {
+            send(job);
+        }
+    }
+
+    private void send(ImageDerivativeJob job) {
+        try {
+            rabbitTemplate.convertAndSend(EXCHANGE, ROUTING_KEY, job);
+        } catch (Exception e) {
+            // Readers fall back to the original file until derivatives exist.
+            log.warn("Failed to queue image derivatives for {} {}: {}", job.target(), job.targetId(), e.getMessage());
+        }
+    }
+
+    // ========== RENDERING ==========
+
+    /**
+     * Decodes the stored image once and writes each requested variant next to the others under
+     * {@code derivatives/<aa>/<key>/}, keyed by the content's blob token when the hash is known so identical
+     * uploads share them.
+     */
+    public ImageDerivatives render(String sourceUrl, String contentHash, Set<ImageVariant> variants) throws IOException {
+        BufferedImage source = decode(sourceUrl);
+        String sourceKey = contentHash != null ? blobKeys.token(contentHash) : sha256Hex(sourceUrl);
+        OutputFormat format = OutputFormat.detect();
+
+        Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+        for (ImageVariant variant : variants) {
+            BufferedImage scaled = scale(source, variant.maxDimension(), format.opaque());
+            byte[] encoded = encode(scaled, format);
+            String key = derivativeKey(sourceKey, variant, format.extension());
+            urls.put(variant, fileStorage.storeObject(
+                new ByteArrayInputStream(encoded), encoded.length, format.mimeType(), key).url());
+        }
+        return new ImageDerivatives(source.getWidth(), source.getHeight(), urls);
+    }
+
+    /**
+     * Every key a variant of this source may have been written under, for garbage collection.
+     */
+    public List<String> derivativeKeys(String contentHash) {
+        String sourceKey = blobKeys.token(contentHash);
+        List<String> keys = new ArrayList<>();
+        for (ImageVariant variant : ImageVariant.values()) {
+            for (String extension : OUTPUT_EXTENSIONS) {
+                keys.add(derivativeKey(sourceKey, variant, extension));
+            }
+        }
+        return keys;
+    }
+
+    private static String derivativeKey(String sourceKey, ImageVariant variant, String extension) {
+        return DERIVATIVE_PREFIX + sourceKey.substring(0, 2) + "/" + sourceKey + "/"
+                + variant.name().toLowerCase() + "." + extension;
+    }
+
+    private BufferedImage decode(String sourceUrl) throws IOException {
+        try (InputStream content = fileStorage.open(sourceUrl);
+             ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format: " + sourceUrl);
+            }
+            ImageReader reader = readers.next();
+            try {
+                // Only JPEG metadata is parsed, for its orientation; none of it is copied into the variants
+                boolean jpeg = "jpeg".equalsIgnoreCase(reader.getFormatName());
+                reader.setInput(input, true, !jpeg);
+                // Check the header before allocating pixels, so a decompression bomb is rejected cheaply
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxSourcePixels) {
+                    throw new IOException("Image too large to process (" + pixels + " pixels): " + sourceUrl);
+                }
+                int orientation = jpeg ? exifOrientation(reader) : 1;
+                return orient(reader.read(0), orientation);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * The EXIF orientation (1-8) stored in a JPEG's APP1 segment, or 1 when there is none or it cannot be read.
+     */
+    private static int exifOrientation(ImageReader reader) {
+        try {
+            IIOMetadata metadata = reader.getImageMetadata(0);
+            if (metadata == null || !JPEG_METADATA_FORMAT.equals(metadata.getNativeMetadataFormatName())) {
+                return 1;
+            }
+            IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(JPEG_METADATA_FORMAT);
+            NodeList markers = root.getElementsByTagName("unknown");
+            for (int i = 0; i < markers.getLength(); i++) {
+                IIOMetadataNode marker = (IIOMetadataNode) markers.item(i);
+                if (Integer.parseInt(marker.getAttribute("MarkerTag")) == APP1_MARKER
+                        && marker.getUserObject() instanceof byte[] data) {
+                    int orientation = orientationFromExif(data);
+                    if (orientation != 0) {
+                        return orientation;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not read EXIF orientation: {}", e.getMessage());
+        }
+        return 1;
+    }
+
+    /**
+     * Finds the orientation tag in IFD0 of an APP1 payload ({@code Exif\0\0} followed by a TIFF header).
+     * Returns 0 if the payload is not EXIF or has no valid orientation.
+     */
+    static int orientationFromExif(byte[] data) {
+        int tiff = 6;
+        if (data.length < tiff + 8 || data[0] != 'E' || data[1] != 'x' || data[2] != 'i' || data[3] != 'f') {
+            return 0;
+        }
+        boolean littleEndian = data[tiff] == 'I' && data[tiff + 1] == 'I';
+        if (!littleEndian && !(data[tiff] == 'M' && data[tiff + 1] == 'M')) {
+            return 0;
+        }
+        long ifd = tiff + readInt(data, tiff + 4, littleEndian);
+        if (ifd < tiff || ifd + 2 > data.length) {
+            return 0;
+        }
+        int entries = readShort(data, (int) ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry + 12 > data.length) {
+                return 0;
+            }
+            if (readShort(data, entry, littleEndian) == EXIF_ORIENTATION_TAG) {
+                int value = readShort(data, entry + 8, littleEndian);
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static int readShort(byte[] data, int offset, boolean littleEndian) {
+        int b0 = data[offset] & 0xFF;
+        int b1 = data[offset + 1] & 0xFF;
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static long readInt(byte[] data, int offset, boolean littleEndian) {
+        long high = readShort(data, offset, littleEndian);
+        long low = readShort(data, offset + 2, littleEndian);
+        return littleEndian ? (low << 16) | high : (high << 16) | low;
+    }
+
+    /**
+     * Turns the pixels upright for an EXIF orientation: 2-4 mirror or rotate by 180 degrees,
+     * 5-8 rotate by 90 degrees either way (5 and 7 mirrored as well), which swaps width and height.
+     */
+    static BufferedImage orient(BufferedImage source, int orientation) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+            default -> null;
+        };
+        if (transform == null) {
+            return source;
+        }
+        boolean swap = orientation >= 5;
+        BufferedImage target = new BufferedImage(swap ? h : w, swap ? w : h,
+                source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.drawImage(source, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Downscales in successive halvings, then one final bilinear step; a single bilinear step
+     * from a much larger image aliases badly.
+     */
+    private static BufferedImage scale(BufferedImage source, int maxDimension, boolean opaque) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2, opaque);
+        }
+        return draw(current, targetWidth, targetHeight, opaque);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, boolean opaque) {
+        BufferedImage target = new BufferedImage(width, height,
+                opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (opaque) {
+                // JPEG has no alpha; flatten transparency onto white rather than black
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+            }
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image, OutputFormat format) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByMIMEType(format.mimeType()).next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (types != null && types.length > 0 && param.getCompressionType() == null) {
+                    param.setCompressionType(types[0]);
+                }
+                param.setCompressionQuality(outputQuality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record OutputFormat(String mimeType, String extension, boolean opaque) {
+
+        static OutputFormat detect() {
+            return ImageIO.getImageWritersByMIMEType("image/webp").hasNext()
+                    ? new OutputFormat("image/webp", "webp", false)
+                    : new OutputFormat("image/jpeg", "jpg", true);
+        }
+    }
+}
@@ -1,29 +1,44 @@
 package com.tuniv.backend.filestorage.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.tuniv.backend.filestorage.model.FileStorage;
+import com.tuniv.backend.filestorage.model.StoredFile;
+
+import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Slf4j
 @ConditionalOnProperty(name = "storage.type", havingValue = "local")
 public class LocalFileStorageService implements FileStorage {
 
+    /** Upper bound for a single transferFrom call; the JDK still copies through its own small buffer. */
+    private static final long TRANSFER_CHUNK_BYTES = 8L * 1024 * 1024;
+
     private final Path rootStorageLocation;
+    private final String publicBaseUrl;
 
-    public LocalFileStorageService(@Value("${file.upload-dir}") String uploadDir) {
+    public LocalFileStorageService(@Value("${file.upload-dir}") String uploadDir,
+                                   @Value("${file.public-base-url:}") String publicBaseUrl) {
         this.rootStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.publicBaseUrl = publicBaseUrl;
         try {
             Files.createDirectories(this.rootStorageLocation);
         } catch (Exception ex) {
@@ -32,29 +47,75 @@ public class LocalFileStorageService implements FileStorage {
     }
 
     @Override
-    public String storeFile(MultipartFile file, String subDirectory) {
-        String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-        try {
-            Path targetDirectory = this.rootStorageLocation.resolve(subDirectory);
-            Files.createDirectories(targetDirectory);
+    public StoredFile store(InputStream content, long size, String originalFilename, String contentType, String subDirectory) {
+        String cleanFilename = StringUtils.cleanPath(originalFilename != null ? originalFilename : "");
+        String fileExtension = "";
+        int i = cleanFilename.lastIndexOf('.');
+        if (i > 0) {
+            fileExtension = cleanFilename.substring(i);
+        }
+        String uniqueFileName = UUID.randomUUID().toString() + fileExtension;
+        return storeObject(content, size, contentType, subDirectory + "/" + uniqueFileName);
+    }
 
-            String fileExtension = "";
-            int i = originalFilename.lastIndexOf('.');
-            if (i > 0) {
-                fileExtension = originalFilename.substring(i);
+    /**
+     * Streams the content into a temporary file with {@link FileChannel#transferFrom}, which moves it through a
+     * small fixed-size buffer instead of materializing it on the heap, hashing it on the way through; then moves
+     * it into place atomically, so concurrent writers of the same key never expose a partial file.
+     */
+    @Override
+    public StoredFile storeObject(InputStream content, long size, String contentType, String objectKey) {
+        Path targetLocation = this.rootStorageLocation.resolve(objectKey).normalize();
+        if (!targetLocation.startsWith(this.rootStorageLocation)) {
+            throw new SecurityException("Cannot store file outside of the storage directory.");
+        }
+
+        HashingInputStream hashing = new HashingInputStream(content);
+        Path tempLocation = null;
+        try {
+            Files.createDirectories(targetLocation.getParent());
+            tempLocation = Files.createTempFile(targetLocation.getParent(), ".upload-", ".tmp");
+            try (ReadableByteChannel source = Channels.newChannel(hashing);
+                 FileChannel target = FileChannel.open(tempLocation, StandardOpenOption.WRITE)) {
+                long position = 0;
+                long transferred;
+                while ((transferred = target.transferFrom(source, position, TRANSFER_CHUNK_BYTES)) > 0) {
+                    position += transferred;
+                }
+            }
+            Files.move(tempLocation, targetLocation, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            if (tempLocation != null) {
+                deleteQuietly(tempLocation);
             }
-            String uniqueFileName = UUID.randomUUID().toString() + fileExtension;
+            throw new RuntimeException("Could not store file " + objectKey, ex);
+        }
 
-            Path targetLocation = targetDirectory.resolve(uniqueFileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+        return new StoredFile(publicUrl(objectKey), hashing.bytesRead(), hashing.sha256Hex());
+    }
 
+    /**
+     * Uses {@code file.public-base-url} when set; otherwise the current request's context path, as before.
+     * Uploads may run on storage worker threads that have no request bound, hence the relative fallback.
+     */
+    private String publicUrl(String relativePath) {
+        if (!publicBaseUrl.isBlank()) {
+            return publicBaseUrl.replaceAll("/+$", "") + "/uploads/" + relativePath;
+        }
+        if (RequestContextHolder.getRequestAttributes() != null) {
             return ServletUriComponentsBuilder.fromCurrentContextPath()
                     .path("/uploads/")
-                    .path(subDirectory + "/")
-                    .path(uniqueFileName)
+                    .path(relativePath)
                     .toUriString();
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not store file " + originalFilename, ex);
+        }
+        return "/uploads/" + relativePath;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Error removing partial upload {}: {}", path, e.getMessage());
         }
     }
 
@@ -66,31 +127,65 @@ public class LocalFileStorageService implements FileStorage {
         }
 
         try {
-            // Example URL: http://localhost:8080/uploads/questions/abc.jpg
-            // We need to extract the path part: /uploads/questions/abc.jpg
-            String pathPart = new java.net.URL(fileUrl).getPath();
-            
-            // Assuming your context path is "/" and your uploads are served from "/uploads/**"
-            // we need to remove the leading "/uploads/" to get the relative path
-            // For robustness, find the position of "/uploads/"
-            int uploadsIndex = pathPart.indexOf("/uploads/");
-            if (uploadsIndex == -1) {
+            Path filePath = resolveUrl(fileUrl);
+            if (filePath == null) {
                 // Or log a warning if the URL format is unexpected
-                return; 
-            }
-            
-            String relativePath = pathPart.substring(uploadsIndex + "/uploads/".length());
-            Path filePath = this.rootStorageLocation.resolve(relativePath).normalize();
-            
-            // Security check: ensure the resolved path is still within the storage directory
-            if (!filePath.startsWith(this.rootStorageLocation)) {
-                throw new SecurityException("Cannot delete file outside of the storage directory.");
+                return;
             }
-
             Files.deleteIfExists(filePath);
         } catch (Exception e) {
             // Log the exception, but don't re-throw as a fatal error
-            System.err.println("Error deleting local file: " + fileUrl + " - " + e.getMessage());
+            log.warn("Error deleting local file {}: {}", fileUrl, e.getMessage());
+        }
+    }
+
+    @Override
+    public void deleteObject(String objectKey) {
+        try {
+            Files.deleteIfExists(resolveKey(objectKey));
+        } catch (Exception e) {
+            log.warn("Error deleting local file {}: {}", objectKey, e.getMessage());
+        }
+    }
+
+    @Override
+    public InputStream open(String fileUrl) throws IOException {
+        Path filePath = resolveUrl(fileUrl);
+        if (filePath == null) {
+            throw new IOException("Not a locally stored file: " + fileUrl);
+        }
+        return Files.newInputStream(filePath);
+    }
+
+    /**
+     * Maps a public upload URL back to its file, or null if the URL is not one of ours.
+     */
+    private Path resolveUrl(String fileUrl) {
+        // Example URL: http://localhost:8080/uploads/questions/abc.jpg
+        // We need to extract the path part: /uploads/questions/abc.jpg
+        // URI rather than URL, so relative "/uploads/..." URLs resolve too
+        String pathPart = java.net.URI.create(fileUrl).getPath();
+
+        // Assuming your context path is "/" and your uploads are served from "/uploads/**"
+        // we need to remove the leading "/uploads/" to get the relative path
+        // For robustness, find the position of "/uploads/"
+        int uploadsIndex = pathPart == null ? -1 : pathPart.indexOf("/uploads/");
+        if (uploadsIndex == -1) {
+            return null;
+        }
+        return resolveKey(pathPart.substring(uploadsIndex + "/uploads/".length()));
+    }
+
+    /**
+     * The file backing an object key, confined to the storage directory. Used to serve uploads directly.
+     */
+    public Path resolveKey(String relativePath) {
+        Path filePath = this.rootStorageLocation.resolve(relativePath).normalize();
+
+        // Security check: ensure the resolved path is still within the storage directory
+        if (!filePath.startsWith(this.rootStorageLocation)) {
+            throw new SecurityException("Cannot access file outside of the storage directory.");
         }
+        return filePath;
     }
-}
\ No newline at end of file
+}
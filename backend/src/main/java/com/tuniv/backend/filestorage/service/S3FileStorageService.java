@@ -1,23 +1,39 @@
 package com.tuniv.backend.filestorage.service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.util.unit.DataSize;
 
+import com.google.common.io.ByteStreams;
 import com.tuniv.backend.filestorage.model.FileStorage;
+import com.tuniv.backend.filestorage.model.StoredFile;
+import com.tuniv.backend.shared.service.ConcurrencyLimiter;
+import com.tuniv.backend.shared.service.ResourceLimiters;
 
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
 @Service
 @ConditionalOnProperty(name = "storage.type", havingValue = "s3")
@@ -26,16 +42,26 @@ public class S3FileStorageService implements FileStorage {
     private final S3Client s3Client;
     private final String bucketName;
     private final String endpoint;
+    private final DataSize multipartThreshold;
+    private final DataSize partSize;
+    private final ConcurrencyLimiter limiter;
 
     public S3FileStorageService(
             @Value("${aws.s3.bucket-name}") String bucketName,
             @Value("${aws.s3.region}") String region,
             @Value("${aws.s3.endpoint}") String endpoint,
             @Value("${aws.access.key}") String accessKey,
-            @Value("${aws.secret.key}") String secretKey
+            @Value("${aws.secret.key}") String secretKey,
+            @Value("${aws.s3.multipart-threshold:16MB}") DataSize multipartThreshold,
+            @Value("${aws.s3.part-size:8MB}") DataSize partSize,
+            ResourceLimiters resourceLimiters
     ) {
+        this.limiter = resourceLimiters.objectStorage();
         this.bucketName = bucketName;
         this.endpoint = endpoint;
+        // S3 rejects parts below 5MB (except the last one)
+        this.partSize = DataSize.ofBytes(Math.max(partSize.toBytes(), DataSize.ofMegabytes(5).toBytes()));
+        this.multipartThreshold = multipartThreshold;
         this.s3Client = S3Client.builder()
                 .region(Region.of(region))
                 .endpointOverride(URI.create(endpoint))
@@ -44,36 +70,93 @@ public class S3FileStorageService implements FileStorage {
                 .build();
     }
     
-    // ✨ --- UPDATED: storeFile to match interface --- ✨
     @Override
-    public String storeFile(MultipartFile file, String subDirectory) {
-        try {
-            return uploadFileToS3(file.getBytes(), file.getOriginalFilename(), subDirectory);
-        } catch (IOException e) {
-             throw new RuntimeException("Could not read file for upload: " + file.getOriginalFilename(), e);
-        }
-    }
-
-    private String uploadFileToS3(byte[] fileContent, String originalFilename, String subDirectory) {
+    public StoredFile store(InputStream content, long size, String originalFilename, String contentType, String subDirectory) {
         String fileExtension = "";
-        int i = originalFilename.lastIndexOf('.');
+        int i = originalFilename != null ? originalFilename.lastIndexOf('.') : -1;
         if (i > 0) {
             fileExtension = originalFilename.substring(i);
         }
         String uniqueFileName = UUID.randomUUID().toString() + fileExtension;
-        
+
         // Use subDirectory to create a "folder" in the S3 bucket
-        String key = subDirectory + "/" + uniqueFileName;
+        return storeObject(content, size, contentType, subDirectory + "/" + uniqueFileName);
+    }
 
-        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+    /**
+     * Streams the content to S3, hashing it on the way through. Content below the multipart threshold goes up in a
+     * single PUT; larger content is sent as a multipart upload so at most one part is in flight per upload.
+     */
+    @Override
+    public StoredFile storeObject(InputStream content, long size, String contentType, String key) {
+        return limiter.call(() -> upload(content, size, contentType, key));
+    }
+
+    private StoredFile upload(InputStream content, long size, String contentType, String key) {
+        HashingInputStream hashing = new HashingInputStream(content);
+        if (size < multipartThreshold.toBytes()) {
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(contentType)
+                    .contentLength(size)
+                    .acl("public-read") // Make the file publicly accessible
+                    .build();
+            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(hashing, size));
+        } else {
+            uploadMultipart(hashing, size, key, contentType);
+        }
+
+        return new StoredFile(String.format("%s/%s/%s", this.endpoint, this.bucketName, key),
+                hashing.bytesRead(), hashing.sha256Hex());
+    }
+
+    private void uploadMultipart(InputStream content, long size, String key, String contentType) {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
                 .bucket(bucketName)
                 .key(key)
-                .acl("public-read") // Make the file publicly accessible
-                .build();
+                .contentType(contentType)
+                .acl("public-read")
+                .build()).uploadId();
 
-        s3Client.putObject(putObjectRequest, RequestBody.fromBytes(fileContent));
-
-        return String.format("%s/%s/%s", this.endpoint, this.bucketName, key);
+        try {
+            long partSizeBytes = partSize.toBytes();
+            List<CompletedPart> completedParts = new ArrayList<>();
+            long remaining = size;
+            int partNumber = 1;
+            while (remaining > 0) {
+                long partLength = Math.min(partSizeBytes, remaining);
+                UploadPartResponse response = s3Client.uploadPart(UploadPartRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength(partLength)
+                                .build(),
+                        RequestBody.fromInputStream(ByteStreams.limit(content, partLength), partLength));
+                completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+                remaining -= partLength;
+                partNumber++;
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+        } catch (RuntimeException e) {
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .build());
+            } catch (Exception abortError) {
+                e.addSuppressed(abortError);
+            }
+            throw e;
+        }
     }
 
     // ✨ --- NEW: DELETE FILE METHOD --- ✨
@@ -84,19 +167,44 @@ public class S3FileStorageService implements FileStorage {
         }
 
         try {
-            // Example URL: https://my-bucket.s3.us-east-1.amazonaws.com/questions/abc.jpg
-            // The object key is the part after the bucket name: "questions/abc.jpg"
-            String key = fileUrl.substring(fileUrl.indexOf(bucketName) + bucketName.length() + 1);
+            deleteObject(keyOf(fileUrl));
+        } catch (Exception e) {
+            System.err.println("Error deleting S3 file: " + fileUrl + " - " + e.getMessage());
+        }
+    }
 
+    @Override
+    public void deleteObject(String key) {
+        try {
             DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
                     .bucket(bucketName)
                     .key(key)
                     .build();
 
-            s3Client.deleteObject(deleteObjectRequest);
+            limiter.run(() -> s3Client.deleteObject(deleteObjectRequest));
 
         } catch (Exception e) {
-            System.err.println("Error deleting S3 file: " + fileUrl + " - " + e.getMessage());
+            System.err.println("Error deleting S3 object: " + key + " - " + e.getMessage());
         }
     }
+
+    @Override
+    public InputStream open(String fileUrl) throws IOException {
+        try {
+            GetObjectRequest request = GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(keyOf(fileUrl))
+                    .build();
+            // Only the request is limited; the caller reads the body afterwards
+            return limiter.call(() -> s3Client.getObject(request));
+        } catch (SdkException e) {
+            throw new IOException("Could not open S3 file: " + fileUrl, e);
+        }
+    }
+
+    private String keyOf(String fileUrl) {
+        // Example URL: https://my-bucket.s3.us-east-1.amazonaws.com/questions/abc.jpg
+        // The object key is the part after the bucket name: "questions/abc.jpg"
+        return fileUrl.substring(fileUrl.indexOf(bucketName) + bucketName.length() + 1);
+    }
 }
@@ -0,0 +1,77 @@
+package com.tuniv.backend.filestorage.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts bytes served from {@code /uploads/**} per user and day. Counts accumulate in memory on the
+ * request path and are flushed to one Redis hash per UTC day ({@code uploads:bandwidth:<date>}, field = user id,
+ * or {@value #ANONYMOUS} for unauthenticated downloads), so every node adds into the same totals.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadBandwidthMeter {
+
+    private static final String KEY_PREFIX = "uploads:bandwidth:";
+    private static final String ANONYMOUS = "anonymous";
+    private static final Duration RETENTION = Duration.ofDays(35);
+
+    private final StringRedisTemplate redisTemplate;
+
+    // merge() and remove() are atomic per key, so no increment is lost between recording and flushing
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+
+    public void record(Integer userId, long bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        String field = userId != null ? userId.toString() : ANONYMOUS;
+        pending.merge(field, bytes, Long::sum);
+    }
+
+    /**
+     * Bytes served to a user on a UTC day, as flushed so far.
+     */
+    public long bytesServed(Integer userId, LocalDate day) {
+        Object value = redisTemplate.opsForHash().get(KEY_PREFIX + day, userId.toString());
+        return value != null ? Long.parseLong(value.toString()) : 0L;
+    }
+
+    @Scheduled(fixedDelayString = "${app.uploads.bandwidth-flush-interval:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        String key = KEY_PREFIX + LocalDate.now(ZoneOffset.UTC);
+        for (String field : pending.keySet()) {
+            Long bytes = pending.remove(field);
+            if (bytes == null || bytes <= 0) {
+                continue;
+            }
+            try {
+                redisTemplate.opsForHash().increment(key, field, bytes);
+            } catch (Exception e) {
+                // Put the bytes back for the next flush rather than dropping them
+                pending.merge(field, bytes, Long::sum);
+                log.warn("Failed to flush upload bandwidth for {}: {}", field, e.getMessage());
+                return;
+            }
+        }
+        try {
+            redisTemplate.expire(key, RETENTION);
+        } catch (Exception e) {
+            log.debug("Failed to set expiry on {}: {}", key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.tuniv.backend.filestorage.service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tuniv.backend.filestorage.repository.FileBlobRepository;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves locally stored uploads. Stored objects never change under a given name (UUIDs, content hashes),
+ * so responses are cacheable forever and carry strong validators: the name token for content-addressed blobs,
+ * size and modification time otherwise. Supports single byte ranges for resumable and partial downloads.
+ * Bodies go out through Tomcat's sendfile when the connector offers it, otherwise via
+ * {@link FileChannel#transferTo}.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class UploadServingService {
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final Pattern BLOB_KEY = Pattern.compile("^blobs/[0-9a-f]{2}/([0-9a-f]{64})$");
+    private static final Pattern SINGLE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    // Tomcat's sendfile contract: set these and write no body; the connector streams the file from the kernel
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalFileStorageService localFileStorage;
+    private final FileBlobRepository fileBlobRepository;
+    private final UploadBandwidthMeter bandwidthMeter;
+    private final long sendfileThreshold;
+    private final Cache<String, String> blobContentTypes;
+
+    public UploadServingService(LocalFileStorageService localFileStorage,
+                                FileBlobRepository fileBlobRepository,
+                                UploadBandwidthMeter bandwidthMeter,
+                                @Value("${app.uploads.sendfile-threshold:49152}") long sendfileThreshold,
+                                @Value("${app.cache.blob-content-type.max-size:10000}") long contentTypeCacheSize) {
+        this.localFileStorage = localFileStorage;
+        this.fileBlobRepository = fileBlobRepository;
+        this.bandwidthMeter = bandwidthMeter;
+        this.sendfileThreshold = sendfileThreshold;
+        // Content types of blobs never change, so entries only leave by size
+        this.blobContentTypes = CacheBuilder.newBuilder()
+                .maximumSize(contentTypeCacheSize)
+                .build();
+    }
+
+    public void serve(String objectKey, HttpServletRequest request, HttpServletResponse response, Integer userId)
+            throws IOException {
+        Path file;
+        BasicFileAttributes attributes;
+        try {
+            file = localFileStorage.resolveKey(objectKey);
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (SecurityException | InvalidPathException | NoSuchFileException e) {
+            // Traversal attempts and names no file could have (NUL bytes and the like) are simply not there
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!attributes.isRegularFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        Matcher blobKey = BLOB_KEY.matcher(objectKey);
+        String etag = blobKey.matches()
+                ? "\"" + blobKey.group(1) + "\""
+                : "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(contentType(objectKey, blobKey));
+        response.setHeader("X-Content-Type-Options", "nosniff"); // User content must not be sniffed into HTML
+
+        long start = 0;
+        long length = size;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeApplies(request, etag, lastModified)) {
+            long[] bounds = parseRange(range, size);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                length = bounds[1] - bounds[0] + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + bounds[0] + "-" + bounds[1] + "/" + size);
+            }
+        }
+        response.setContentLengthLong(length);
+
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (length >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            bandwidthMeter.record(userId, length); // Counted as scheduled; the connector does the transfer
+            return;
+        }
+
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            while (written < length) {
+                long n = channel.transferTo(start + written, length - written, out);
+                if (n <= 0) {
+                    break;
+                }
+                written += n;
+            }
+        } catch (IOException e) {
+            // Usually the client going away mid-download; what was sent still counts
+            log.debug("Upload download of {} aborted after {} bytes: {}", objectKey, written, e.getMessage());
+        } finally {
+            bandwidthMeter.record(userId, written);
+        }
+    }
+
+    /**
+     * If-None-Match wins over If-Modified-Since, as RFC 9110 requires.
+     */
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2); // Weak comparison is the rule for If-None-Match
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * An If-Range that no longer matches means the client's partial copy is stale: send the whole file.
+     */
+    private static boolean rangeApplies(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(etag);
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    /**
+     * @return {@code [first, last]} for a satisfiable single range, an empty array to ignore the header
+     *         (malformed or multi-range: serving the full body is always allowed), or null if unsatisfiable
+     */
+    static long[] parseRange(String header, long size) {
+        Matcher matcher = SINGLE_RANGE.matcher(header.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return new long[0];
+        }
+        try {
+            long first;
+            long last;
+            if (matcher.group(1).isEmpty()) {
+                long suffix = Long.parseLong(matcher.group(2));
+                if (suffix == 0 || size == 0) {
+                    return null;
+                }
+                first = Math.max(0, size - suffix);
+                last = size - 1;
+            } else {
+                first = Long.parseLong(matcher.group(1));
+                last = matcher.group(2).isEmpty() ? Long.MAX_VALUE : Long.parseLong(matcher.group(2));
+                if (last < first) {
+                    return new long[0];
+                }
+                if (first >= size) {
+                    return null;
+                }
+                last = Math.min(last, size - 1);
+            }
+            return new long[] {first, last};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Blob keys carry no extension, so their type comes from the blob row; everything else goes by extension.
+     */
+    private String contentType(String objectKey, Matcher blobKey) {
+        if (blobKey.matches()) {
+            String token = blobKey.group(1);
+            String cached = blobContentTypes.getIfPresent(token);
+            if (cached != null) {
+                return cached;
+            }
+            String type = fileBlobRepository.findContentTypeByObjectKey(objectKey)
+                    .filter(StringUtils::hasText)
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            blobContentTypes.put(token, type);
+            return type;
+        }
+        Optional<MediaType> type = MediaTypeFactory.getMediaType(objectKey);
+        return type.map(MediaType::toString).orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    }
+}
@@ -0,0 +1,105 @@
+package com.tuniv.backend.follow.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tuniv.backend.config.security.services.UserDetailsImpl;
+import com.tuniv.backend.follow.dto.FollowRequestDto;
+import com.tuniv.backend.follow.dto.FollowSuggestionDto;
+import com.tuniv.backend.follow.dto.FollowSummaryDto;
+import com.tuniv.backend.follow.dto.FollowerInfoDto;
+import com.tuniv.backend.follow.model.FollowableType;
+import com.tuniv.backend.follow.service.FollowService;
+import com.tuniv.backend.shared.dto.CursorPage;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/follows")
+@RequiredArgsConstructor
+public class FollowController {
+
+    private final FollowService followService;
+
+    /**
+     * POST /api/v1/follows/{targetType}/{targetId}
+     * Follows a user, community, tag, module or university. Following twice is a no-op.
+     */
+    @PostMapping("/{targetType}/{targetId}")
+    public ResponseEntity<Void> follow(
+            @PathVariable FollowableType targetType,
+            @PathVariable Integer targetId,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        followService.follow(new FollowRequestDto(targetType, targetId), currentUser);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * DELETE /api/v1/follows/{targetType}/{targetId}
+     */
+    @DeleteMapping("/{targetType}/{targetId}")
+    public ResponseEntity<Void> unfollow(
+            @PathVariable FollowableType targetType,
+            @PathVariable Integer targetId,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        followService.unfollow(new FollowRequestDto(targetType, targetId), currentUser);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * GET /api/v1/follows/me
+     * Cursor-paged list of what the current user follows. Pass {@code nextCursor} as {@code before} for older items.
+     */
+    @GetMapping("/me")
+    public ResponseEntity<CursorPage<FollowSummaryDto>> getCurrentUserFollowing(
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "" + FollowService.DEFAULT_PAGE_SIZE) int size,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        return ResponseEntity.ok(followService.getCurrentUserFollowing(currentUser, before, size));
+    }
+
+    /**
+     * GET /api/v1/follows/users/{userId}
+     * Cursor-paged list of what a user follows.
+     */
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<CursorPage<FollowSummaryDto>> getFollowing(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "" + FollowService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(followService.getFollowing(userId, before, size));
+    }
+
+    /**
+     * GET /api/v1/follows/{targetType}/{targetId}/followers
+     * Cursor-paged list of a target's followers.
+     */
+    @GetMapping("/{targetType}/{targetId}/followers")
+    public ResponseEntity<CursorPage<FollowerInfoDto>> getFollowers(
+            @PathVariable FollowableType targetType,
+            @PathVariable Integer targetId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "" + FollowService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(followService.getFollowers(targetType, targetId, before, size));
+    }
+
+    /**
+     * GET /api/v1/follows/suggestions
+     * Users followed by the people the current user follows.
+     */
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<FollowSuggestionDto>> getUserSuggestions(
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        return ResponseEntity.ok(followService.getUserSuggestions(currentUser, limit));
+    }
+}
@@ -29,7 +29,7 @@ import lombok.Setter;
 @Table(name = "follows", 
     indexes = {
         @Index(name = "idx_follows_user_followable", columnList = "user_id, followable_id", unique = true),
-        @Index(name = "idx_follows_followable", columnList = "followable_id"),
+        @Index(name = "idx_follows_followable_created", columnList = "followable_id, created_at"),
         @Index(name = "idx_follows_user_created", columnList = "user_id, created_at"),
         @Index(name = "idx_follows_mutual", columnList = "is_mutual, created_at")
     }
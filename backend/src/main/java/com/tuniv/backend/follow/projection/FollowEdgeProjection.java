@@ -0,0 +1,11 @@
+package com.tuniv.backend.follow.projection;
+
+/**
+ * One follow edge as the in-memory follow graph stores it.
+ */
+public interface FollowEdgeProjection {
+    Integer getFollowId();
+    Integer getFollowerId();
+    Long getFollowableId();
+    Boolean getNotificationsEnabled();
+}
@@ -0,0 +1,16 @@
+package com.tuniv.backend.follow.projection;
+
+import java.time.Instant;
+
+import com.tuniv.backend.follow.model.FollowableType;
+
+/**
+ * One follow edge without its endpoints loaded; names are resolved separately per target type.
+ */
+public interface FollowRowProjection {
+    Integer getFollowId();
+    Integer getFollowerId();
+    Long getFollowableId();
+    FollowableType getTargetType();
+    Instant getCreatedAt();
+}
@@ -0,0 +1,10 @@
+package com.tuniv.backend.follow.projection;
+
+/**
+ * Maps a followable back to the entity that owns it (user, community, tag, module or university).
+ */
+public interface FollowTargetProjection {
+    Long getFollowableId();
+    Integer getEntityId();
+    String getName();
+}
@@ -1,30 +1,86 @@
 package com.tuniv.backend.follow.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.tuniv.backend.follow.model.Follow;
-import com.tuniv.backend.follow.model.FollowableType;
+import com.tuniv.backend.follow.projection.FollowEdgeProjection;
+import com.tuniv.backend.follow.projection.FollowRowProjection;
 
 @Repository
 public interface FollowRepository extends JpaRepository<Follow, Integer> {
 
-    // Find all things a user follows
-    List<Follow> findAllByUser_UserId(Integer userId);
-
-    // Find followers for a specific target
-    List<Follow> findByTargetTypeAndTargetId(FollowableType targetType, Integer targetId);
-
     // Find specific follow relationship
-    Optional<Follow> findByUser_UserIdAndTargetTypeAndTargetId(Integer userId, FollowableType targetType, Integer targetId);
+    Optional<Follow> findByFollower_UserIdAndTarget_Id(Integer userId, Long followableId);
 
-    // Count how many followers a specific target has
-    long countByTargetTypeAndTargetId(FollowableType targetType, Integer targetId);
-    
     // Check if a user already follows a specific target
-    boolean existsByUser_UserIdAndTargetTypeAndTargetId(Integer userId, FollowableType targetType, Integer targetId);
+    boolean existsByFollower_UserIdAndTarget_Id(Integer userId, Long followableId);
+
+    // Count how many followers a specific target has
+    long countByTarget_Id(Long followableId);
+
+    // Followers of a target with the follower already loaded (notification fan-out)
+    @Query("SELECT f FROM Follow f JOIN FETCH f.follower WHERE f.target.id = :followableId")
+    List<Follow> findAllByTargetIdWithFollower(@Param("followableId") Long followableId);
+
+    // Database fallback for fan-out while the in-memory follow graph is not loaded
+    @Query("""
+        SELECT DISTINCT f.follower.userId FROM Follow f
+        WHERE f.target.id IN :followableIds AND f.notificationsEnabled = true
+    """)
+    List<Integer> findNotifiedFollowerIdsByTargetIds(@Param("followableIds") Collection<Long> followableIds);
+
+    // ========== KEYSET PAGES ==========
+
+    /**
+     * Everything a user follows, newest first. Served by idx_follows_user_created.
+     */
+    @Query("""
+        SELECT f.followId AS followId, f.follower.userId AS followerId, t.id AS followableId,
+               t.entityType AS targetType, f.createdAt AS createdAt
+        FROM Follow f JOIN f.target t
+        WHERE f.follower.userId = :userId
+          AND (f.createdAt < :before OR (f.createdAt = :before AND f.followId < :beforeId))
+        ORDER BY f.createdAt DESC, f.followId DESC
+    """)
+    List<FollowRowProjection> findFollowingPage(@Param("userId") Integer userId,
+                                                @Param("before") Instant before,
+                                                @Param("beforeId") Integer beforeId,
+                                                Pageable pageable);
+
+    /**
+     * Followers of a target, newest first. Served by idx_follows_followable_created.
+     */
+    @Query("""
+        SELECT f.followId AS followId, f.follower.userId AS followerId, f.target.id AS followableId,
+               f.target.entityType AS targetType, f.createdAt AS createdAt
+        FROM Follow f
+        WHERE f.target.id = :followableId
+          AND (f.createdAt < :before OR (f.createdAt = :before AND f.followId < :beforeId))
+        ORDER BY f.createdAt DESC, f.followId DESC
+    """)
+    List<FollowRowProjection> findFollowersPage(@Param("followableId") Long followableId,
+                                                @Param("before") Instant before,
+                                                @Param("beforeId") Integer beforeId,
+                                                Pageable pageable);
 
+    /**
+     * All follow edges in id order, used to rebuild the in-memory follow graph in batches.
+     */
+    @Query("""
+        SELECT f.followId AS followId, f.follower.userId AS followerId, f.target.id AS followableId,
+               f.notificationsEnabled AS notificationsEnabled
+        FROM Follow f
+        WHERE f.followId > :afterId
+        ORDER BY f.followId
+    """)
+    List<FollowEdgeProjection> findEdgesAfter(@Param("afterId") Integer afterId, Pageable pageable);
 }
@@ -0,0 +1,89 @@
+package com.tuniv.backend.follow.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.tuniv.backend.follow.model.Followable;
+import com.tuniv.backend.follow.projection.FollowTargetProjection;
+
+@Repository
+public interface FollowableRepository extends JpaRepository<Followable, Long> {
+
+    // ========== TARGET LOOKUP (entity id -> followable id) ==========
+
+    @Query("SELECT u.followable.id FROM User u WHERE u.userId = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Integer userId);
+
+    @Query("SELECT c.followable.id FROM Community c WHERE c.communityId = :communityId")
+    Optional<Long> findIdByCommunityId(@Param("communityId") Integer communityId);
+
+    @Query("SELECT t.followable.id FROM Tag t WHERE t.id = :tagId")
+    Optional<Long> findIdByTagId(@Param("tagId") Integer tagId);
+
+    @Query("SELECT m.followable.id FROM Module m WHERE m.moduleId = :moduleId")
+    Optional<Long> findIdByModuleId(@Param("moduleId") Integer moduleId);
+
+    @Query("SELECT u.followable.id FROM University u WHERE u.universityId = :universityId")
+    Optional<Long> findIdByUniversityId(@Param("universityId") Integer universityId);
+
+    // ========== BULK NAME RESOLUTION (one IN query per target type) ==========
+
+    @Query("""
+        SELECT u.followable.id AS followableId, u.userId AS entityId, u.username AS name
+        FROM User u WHERE u.followable.id IN :followableIds
+    """)
+    List<FollowTargetProjection> findUserTargets(@Param("followableIds") Collection<Long> followableIds);
+
+    @Query("""
+        SELECT c.followable.id AS followableId, c.communityId AS entityId, c.name AS name
+        FROM Community c WHERE c.followable.id IN :followableIds
+    """)
+    List<FollowTargetProjection> findCommunityTargets(@Param("followableIds") Collection<Long> followableIds);
+
+    @Query("""
+        SELECT t.followable.id AS followableId, t.id AS entityId, t.name AS name
+        FROM Tag t WHERE t.followable.id IN :followableIds
+    """)
+    List<FollowTargetProjection> findTagTargets(@Param("followableIds") Collection<Long> followableIds);
+
+    @Query("""
+        SELECT m.followable.id AS followableId, m.moduleId AS entityId, m.name AS name
+        FROM Module m WHERE m.followable.id IN :followableIds
+    """)
+    List<FollowTargetProjection> findModuleTargets(@Param("followableIds") Collection<Long> followableIds);
+
+    @Query("""
+        SELECT u.followable.id AS followableId, u.universityId AS entityId, u.name AS name
+        FROM University u WHERE u.followable.id IN :followableIds
+    """)
+    List<FollowTargetProjection> findUniversityTargets(@Param("followableIds") Collection<Long> followableIds);
+
+    @Query("""
+        SELECT u.followable.id AS followableId, u.userId AS entityId, u.username AS name
+        FROM User u WHERE u.followable IS NOT NULL
+    """)
+    List<FollowTargetProjection> findAllUserTargets();
+
+    @Query("""
+        SELECT t.followable.id AS followableId, t.id AS entityId, t.name AS name
+        FROM TopicTag tt JOIN tt.tag t WHERE tt.topic.id = :topicId
+    """)
+    List<FollowTargetProjection> findTagTargetsByTopicId(@Param("topicId") Integer topicId);
+
+    // ========== COUNTERS ==========
+
+    @Modifying
+    @Query("UPDATE Followable f SET f.followerCount = f.followerCount + 1 WHERE f.id = :id")
+    void incrementFollowerCount(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Followable f SET f.followerCount = f.followerCount - 1 WHERE f.id = :id AND f.followerCount > 0")
+    void decrementFollowerCount(@Param("id") Long id);
+}
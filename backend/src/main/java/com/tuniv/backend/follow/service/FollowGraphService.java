@@ -0,0 +1,594 @@
+package com.tuniv.backend.follow.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tuniv.backend.follow.projection.FollowEdgeProjection;
+import com.tuniv.backend.follow.projection.FollowTargetProjection;
+import com.tuniv.backend.follow.repository.FollowRepository;
+import com.tuniv.backend.follow.repository.FollowableRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory follow graph used for notification fan-out and "who to follow" suggestions.
+ *
+ * Adjacency is kept as sorted primitive arrays in both directions (followable -> follower user ids,
+ * user -> followed followable ids). Arrays are never mutated in place: an update swaps in a new array,
+ * so readers need no locking. Changes are applied after commit and broadcast to the other nodes over
+ * a RabbitMQ fanout exchange.
+ *
+ * Every edge carries the id of its follow row, which orders the updates for that edge: a follow is
+ * ignored once an unfollow of the same or a later follow id has been seen, so late or reordered
+ * deliveries cannot resurrect an edge. Broadcasts can still be lost (a node was down, the broker was
+ * unreachable), so the graph is rebuilt from the database periodically; the database is the source of
+ * truth and any missed change is corrected by the next rebuild. The snapshot on disk only lets a
+ * restarted node serve from memory while its first rebuild runs; until then, callers fall back to the database.
+ */
+@Service
+@Slf4j
+public class FollowGraphService {
+
+    public static final String UPDATES_EXCHANGE = "follow.graph.updates";
+
+    private static final int SNAPSHOT_MAGIC = 0x46475332; // "FGS2"
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final int[] NO_INTS = new int[0];
+    private static final long[] NO_LONGS = new long[0];
+
+    /**
+     * @param followId the follow row the change concerns; orders the changes made to one edge
+     */
+    public record FollowGraphUpdate(String originNodeId, boolean added, Integer followerId, Long followableId,
+                                    Integer followedUserId, int followId, boolean notificationsEnabled) {}
+
+    public record UserSuggestion(Integer userId, int mutualCount) {}
+
+    private final FollowRepository followRepository;
+    private final FollowableRepository followableRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final Path snapshotPath;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile Graph graph = new Graph();
+    private volatile boolean ready = false;
+    // Guards graph writes and the swap at the end of a rebuild; readers never take it.
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private List<FollowGraphUpdate> updatesDuringRebuild; // non-null while a rebuild is reading, guarded by writeLock
+
+    public FollowGraphService(
+            FollowRepository followRepository,
+            FollowableRepository followableRepository,
+            RabbitTemplate rabbitTemplate,
+            @Value("${app.follow-graph.snapshot-path:data/follow-graph.snapshot}") String snapshotPath) {
+        this.followRepository = followRepository;
+        this.followableRepository = followableRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.snapshotPath = Path.of(snapshotPath);
+    }
+
+    // ========== QUERIES ==========
+
+    /**
+     * Distinct ids of the users following any of the given targets with notifications enabled, sorted ascending.
+     */
+    public int[] notificationRecipientsOf(Collection<Long> followableIds) {
+        if (followableIds.isEmpty()) {
+            return NO_INTS;
+        }
+        if (!ready) {
+            return followRepository.findNotifiedFollowerIdsByTargetIds(followableIds).stream()
+                    .mapToInt(Integer::intValue)
+                    .sorted()
+                    .toArray();
+        }
+
+        Graph g = graph;
+        int total = 0;
+        List<Followers> lists = new ArrayList<>(followableIds.size());
+        for (Long id : followableIds) {
+            Followers followers = g.followersByTarget.getOrDefault(id, Followers.NONE);
+            lists.add(followers);
+            total += followers.size();
+        }
+        int[] merged = new int[total];
+        int count = 0;
+        for (Followers followers : lists) {
+            for (int i = 0; i < followers.size(); i++) {
+                if (followers.notify(i)) {
+                    merged[count++] = followers.userIds[i];
+                }
+            }
+        }
+        merged = Arrays.copyOf(merged, count);
+        if (lists.size() > 1) {
+            Arrays.sort(merged);
+            return dedupSorted(merged);
+        }
+        return merged;
+    }
+
+    /**
+     * Users followed by the people {@code userId} follows, ranked by how many of them follow each one.
+     * Returns an empty list until the graph is loaded; suggestions are not worth a database scan.
+     */
+    public List<UserSuggestion> suggestUsers(Integer userId, int limit) {
+        if (!ready) {
+            return List.of();
+        }
+        Graph g = graph;
+        long[] myTargets = g.targetsByFollower.getOrDefault(userId, NO_LONGS);
+
+        Map<Integer, Integer> mutualCounts = new HashMap<>();
+        for (long target : myTargets) {
+            Integer followedUser = g.userByFollowable.get(target);
+            if (followedUser == null) {
+                continue;
+            }
+            for (long secondHop : g.targetsByFollower.getOrDefault(followedUser, NO_LONGS)) {
+                Integer candidate = g.userByFollowable.get(secondHop);
+                if (candidate != null && !candidate.equals(userId) && Arrays.binarySearch(myTargets, secondHop) < 0) {
+                    mutualCounts.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+
+        return mutualCounts.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(e -> new UserSuggestion(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ========== UPDATES ==========
+
+    public void recordFollow(Integer followerId, Long followableId, Integer followedUserId,
+                             int followId, boolean notificationsEnabled) {
+        publishAfterCommit(new FollowGraphUpdate(nodeId, true, followerId, followableId, followedUserId,
+                followId, notificationsEnabled));
+    }
+
+    public void recordUnfollow(Integer followerId, Long followableId, int followId) {
+        publishAfterCommit(new FollowGraphUpdate(nodeId, false, followerId, followableId, null, followId, false));
+    }
+
+    @RabbitListener(queues = "#{followGraphUpdatesQueue.name}")
+    public void handleUpdate(FollowGraphUpdate update) {
+        // Our own updates were applied before broadcasting; versions would make a second copy a no-op anyway.
+        if (!nodeId.equals(update.originNodeId())) {
+            apply(update);
+        }
+    }
+
+    private void publishAfterCommit(FollowGraphUpdate update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(update);
+                }
+            });
+        } else {
+            publish(update);
+        }
+    }
+
+    private void publish(FollowGraphUpdate update) {
+        apply(update);
+        try {
+            rabbitTemplate.convertAndSend(UPDATES_EXCHANGE, "", update);
+        } catch (Exception e) {
+            // Other nodes catch up on their next rebuild
+            log.warn("Failed to broadcast follow graph update {}: {}", update, e.getMessage());
+        }
+    }
+
+    private void apply(FollowGraphUpdate update) {
+        writeLock.lock();
+        try {
+            graph.apply(update, null);
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(update);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ========== LOADING & REBUILDS ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        readSnapshot().ifPresent(snapshot -> {
+            graph = snapshot;
+            ready = true;
+            log.info("Follow graph restored from snapshot: {} targets", snapshot.followersByTarget.size());
+        });
+        rebuild();
+    }
+
+    /**
+     * Replaces the graph with one read from the database, then re-applies the updates that arrived while
+     * it was being read. Their follow ids decide whether each one is newer than what the read saw.
+     */
+    @Scheduled(fixedDelayString = "${app.follow-graph.rebuild-interval:3600000}",
+               initialDelayString = "${app.follow-graph.rebuild-interval:3600000}")
+    public void rebuild() {
+        // A lock rather than synchronized: the queries below would pin a virtual thread to its carrier.
+        rebuildLock.lock();
+        try {
+            writeLock.lock();
+            try {
+                updatesDuringRebuild = new ArrayList<>();
+            } finally {
+                writeLock.unlock();
+            }
+
+            long start = System.currentTimeMillis();
+            Graph fresh;
+            try {
+                fresh = readFromDatabase();
+            } catch (Exception e) {
+                writeLock.lock();
+                try {
+                    updatesDuringRebuild = null;
+                } finally {
+                    writeLock.unlock();
+                }
+                log.error("Failed to rebuild follow graph, keeping the current one", e);
+                return;
+            }
+
+            writeLock.lock();
+            try {
+                Graph previous = graph;
+                // The previous graph's unfollows still reject a follow delivered after its own unfollow.
+                for (FollowGraphUpdate pending : updatesDuringRebuild) {
+                    fresh.apply(pending, previous);
+                }
+                updatesDuringRebuild = null;
+                graph = fresh;
+                ready = true;
+            } finally {
+                writeLock.unlock();
+            }
+            log.info("Follow graph rebuilt: {} targets in {} ms",
+                    fresh.followersByTarget.size(), System.currentTimeMillis() - start);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Graph readFromDatabase() {
+        Map<Long, EdgeList> edges = new HashMap<>();
+        int afterId = 0;
+        List<FollowEdgeProjection> batch;
+        do {
+            batch = followRepository.findEdgesAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (FollowEdgeProjection edge : batch) {
+                edges.computeIfAbsent(edge.getFollowableId(), id -> new EdgeList())
+                        .add(edge.getFollowerId(), edge.getFollowId(), Boolean.TRUE.equals(edge.getNotificationsEnabled()));
+                afterId = edge.getFollowId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        Graph g = new Graph();
+        edges.forEach((target, list) -> g.followersByTarget.put(target, list.toFollowers()));
+        g.rebuildReverseIndex();
+        for (FollowTargetProjection user : followableRepository.findAllUserTargets()) {
+            g.userByFollowable.put(user.getFollowableId(), user.getEntityId());
+        }
+        return g;
+    }
+
+    @Scheduled(fixedDelayString = "${app.follow-graph.snapshot-interval:600000}",
+               initialDelayString = "${app.follow-graph.snapshot-interval:600000}")
+    @PreDestroy
+    public void writeSnapshot() {
+        if (!ready) {
+            return;
+        }
+        Graph g = graph;
+        try {
+            Path parent = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, "follow-graph", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmp))))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                List<Map.Entry<Long, Followers>> entries = new ArrayList<>(g.followersByTarget.entrySet());
+                out.writeInt(entries.size());
+                for (Map.Entry<Long, Followers> entry : entries) {
+                    Followers followers = entry.getValue();
+                    out.writeLong(entry.getKey());
+                    out.writeInt(followers.size());
+                    for (int i = 0; i < followers.size(); i++) {
+                        out.writeInt(followers.userIds[i]);
+                        out.writeInt(followers.versions[i]);
+                    }
+                }
+                out.writeInt(g.userByFollowable.size());
+                for (Map.Entry<Long, Integer> user : g.userByFollowable.entrySet()) {
+                    out.writeLong(user.getKey());
+                    out.writeInt(user.getValue());
+                }
+            }
+            Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write follow graph snapshot to {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    private Optional<Graph> readSnapshot() {
+        if (!Files.isReadable(snapshotPath)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(snapshotPath))))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                log.warn("Ignoring follow graph snapshot {} with unknown format", snapshotPath);
+                return Optional.empty();
+            }
+            Graph g = new Graph();
+            int targets = in.readInt();
+            for (int i = 0; i < targets; i++) {
+                long target = in.readLong();
+                int size = in.readInt();
+                int[] userIds = new int[size];
+                int[] versions = new int[size];
+                for (int j = 0; j < size; j++) {
+                    userIds[j] = in.readInt();
+                    versions[j] = in.readInt();
+                }
+                g.followersByTarget.put(target, new Followers(userIds, versions));
+            }
+            int users = in.readInt();
+            for (int i = 0; i < users; i++) {
+                g.userByFollowable.put(in.readLong(), in.readInt());
+            }
+            g.rebuildReverseIndex();
+            return Optional.of(g);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable follow graph snapshot {}: {}", snapshotPath, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // ========== GRAPH ==========
+
+    private record Edge(long followableId, int followerId) {}
+
+    private static final class Graph {
+        final ConcurrentHashMap<Long, Followers> followersByTarget = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Integer, long[]> targetsByFollower = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Long, Integer> userByFollowable = new ConcurrentHashMap<>();
+        // Follow id of the last unfollow seen per edge; only holds unfollows since this graph was built
+        final ConcurrentHashMap<Edge, Integer> unfollowedAt = new ConcurrentHashMap<>();
+
+        /**
+         * Applies one update unless a newer change to the same edge is already known.
+         * Callers hold the write lock.
+         *
+         * @param previous a graph whose unfollows should also be honoured, or null
+         */
+        void apply(FollowGraphUpdate update, Graph previous) {
+            Edge edge = new Edge(update.followableId(), update.followerId());
+            int current = followersByTarget.getOrDefault(update.followableId(), Followers.NONE).followId(update.followerId());
+            if (update.followId() < current) {
+                return; // The edge has been re-followed since
+            }
+
+            if (update.added()) {
+                if (update.followId() <= unfollowedAt.getOrDefault(edge, 0)
+                        || (previous != null && update.followId() <= previous.unfollowedAt.getOrDefault(edge, 0))) {
+                    return; // Delivered after its own unfollow
+                }
+                followersByTarget.compute(update.followableId(), (k, followers) ->
+                        (followers != null ? followers : Followers.NONE)
+                                .with(update.followerId(), update.followId(), update.notificationsEnabled()));
+                targetsByFollower.compute(update.followerId(), (k, arr) -> insertSorted(arr, update.followableId()));
+                if (update.followedUserId() != null) {
+                    userByFollowable.put(update.followableId(), update.followedUserId());
+                }
+            } else {
+                unfollowedAt.merge(edge, update.followId(), Math::max);
+                followersByTarget.computeIfPresent(update.followableId(), (k, followers) -> followers.without(update.followerId()));
+                targetsByFollower.computeIfPresent(update.followerId(), (k, arr) -> removeSorted(arr, update.followableId()));
+            }
+        }
+
+        void rebuildReverseIndex() {
+            Map<Integer, List<Long>> reverse = new HashMap<>();
+            followersByTarget.forEach((target, followers) -> {
+                for (int follower : followers.userIds) {
+                    reverse.computeIfAbsent(follower, f -> new ArrayList<>()).add(target);
+                }
+            });
+            reverse.forEach((follower, targets) -> targetsByFollower.put(follower,
+                    targets.stream().mapToLong(Long::longValue).sorted().toArray()));
+        }
+    }
+
+    /**
+     * Followers of one target, sorted by user id, with the follow id of each edge alongside.
+     * A negative follow id marks a follower who turned notifications off for this target.
+     */
+    private static final class Followers {
+        static final Followers NONE = new Followers(NO_INTS, NO_INTS);
+
+        final int[] userIds;
+        final int[] versions;
+
+        Followers(int[] userIds, int[] versions) {
+            this.userIds = userIds;
+            this.versions = versions;
+        }
+
+        int size() {
+            return userIds.length;
+        }
+
+        boolean notify(int index) {
+            return versions[index] > 0;
+        }
+
+        /** Follow id of the user's edge, or 0 when they do not follow. */
+        int followId(int userId) {
+            int pos = Arrays.binarySearch(userIds, userId);
+            return pos >= 0 ? Math.abs(versions[pos]) : 0;
+        }
+
+        Followers with(int userId, int followId, boolean notificationsEnabled) {
+            int version = notificationsEnabled ? followId : -followId;
+            int pos = Arrays.binarySearch(userIds, userId);
+            if (pos >= 0) {
+                int[] nextVersions = versions.clone();
+                nextVersions[pos] = version;
+                return new Followers(userIds, nextVersions);
+            }
+            int insertAt = -pos - 1;
+            return new Followers(insertAt(userIds, insertAt, userId), insertAt(versions, insertAt, version));
+        }
+
+        // Returning null from computeIfPresent drops the key once the last edge is gone.
+        Followers without(int userId) {
+            int pos = Arrays.binarySearch(userIds, userId);
+            if (pos < 0) {
+                return this;
+            }
+            if (userIds.length == 1) {
+                return null;
+            }
+            return new Followers(removeAt(userIds, pos), removeAt(versions, pos));
+        }
+    }
+
+    /** Collects one target's edges while reading the database, in follow id order. */
+    private static final class EdgeList {
+        private int[] userIds = new int[4];
+        private int[] versions = new int[4];
+        private int size;
+
+        void add(int userId, int followId, boolean notificationsEnabled) {
+            if (size == userIds.length) {
+                userIds = Arrays.copyOf(userIds, size * 2);
+                versions = Arrays.copyOf(versions, size * 2);
+            }
+            userIds[size] = userId;
+            versions[size] = notificationsEnabled ? followId : -followId;
+            size++;
+        }
+
+        Followers toFollowers() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(userIds[a], userIds[b]));
+            int[] sortedUsers = new int[size];
+            int[] sortedVersions = new int[size];
+            for (int i = 0; i < size; i++) {
+                sortedUsers[i] = userIds[order[i]];
+                sortedVersions[i] = versions[order[i]];
+            }
+            return new Followers(sortedUsers, sortedVersions);
+        }
+    }
+
+    // ========== SORTED ARRAY HELPERS ==========
+
+    private static int[] insertAt(int[] arr, int index, int value) {
+        int[] next = new int[arr.length + 1];
+        System.arraycopy(arr, 0, next, 0, index);
+        next[index] = value;
+        System.arraycopy(arr, index, next, index + 1, arr.length - index);
+        return next;
+    }
+
+    private static int[] removeAt(int[] arr, int index) {
+        int[] next = new int[arr.length - 1];
+        System.arraycopy(arr, 0, next, 0, index);
+        System.arraycopy(arr, index + 1, next, index, arr.length - index - 1);
+        return next;
+    }
+
+    private static long[] insertSorted(long[] arr, long value) {
+        if (arr == null) {
+            return new long[] { value };
+        }
+        int pos = Arrays.binarySearch(arr, value);
+        if (pos >= 0) {
+            return arr;
+        }
+        int insertAt = -pos - 1;
+        long[] next = new long[arr.length + 1];
+        System.arraycopy(arr, 0, next, 0, insertAt);
+        next[insertAt] = value;
+        System.arraycopy(arr, insertAt, next, insertAt + 1, arr.length - insertAt);
+        return next;
+    }
+
+    // Returning null from computeIfPresent drops the key once the last edge is gone.
+    private static long[] removeSorted(long[] arr, long value) {
+        int pos = Arrays.binarySearch(arr, value);
+        if (pos < 0) {
+            return arr;
+        }
+        if (arr.length == 1) {
+            return null;
+        }
+        long[] next = new long[arr.length - 1];
+        System.arraycopy(arr, 0, next, 0, pos);
+        System.arraycopy(arr, pos + 1, next, pos, arr.length - pos - 1);
+        return next;
+    }
+
+    private static int[] dedupSorted(int[] sorted) {
+        if (sorted.length < 2) {
+            return sorted;
+        }
+        int write = 1;
+        for (int read = 1; read < sorted.length; read++) {
+            if (sorted[read] != sorted[write - 1]) {
+                sorted[write++] = sorted[read];
+            }
+        }
+        return write == sorted.length ? sorted : Arrays.copyOf(sorted, write);
+    }
+}
@@ -1,20 +1,35 @@
 package com.tuniv.backend.follow.service;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import com.tuniv.backend.community.repository.CommunityRepository;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
 import com.tuniv.backend.follow.dto.FollowRequestDto;
+import com.tuniv.backend.follow.dto.FollowSuggestionDto;
+import com.tuniv.backend.follow.dto.FollowableDto;
 import com.tuniv.backend.follow.model.Follow;
+import com.tuniv.backend.follow.model.Followable;
+import com.tuniv.backend.follow.projection.FollowRowProjection;
+import com.tuniv.backend.follow.projection.FollowTargetProjection;
 import com.tuniv.backend.follow.repository.FollowRepository;
+import com.tuniv.backend.follow.repository.FollowableRepository;
 import com.tuniv.backend.notification.event.NewFollowerEvent;
-import com.tuniv.backend.qa.repository.TagRepository;
+import com.tuniv.backend.shared.dto.CursorPage;
+import com.tuniv.backend.shared.dto.KeysetCursor;
 import com.tuniv.backend.user.model.User;
 import com.tuniv.backend.user.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,19 +37,28 @@ import com.tuniv.backend.follow.dto.FollowSummaryDto;
 import com.tuniv.backend.follow.dto.FollowerInfoDto;
 import com.tuniv.backend.follow.model.FollowableType;
 import com.tuniv.backend.shared.exception.ResourceNotFoundException;
-import com.tuniv.backend.university.repository.ModuleRepository;
-import com.tuniv.backend.user.mapper.UserMapper;
+import com.tuniv.backend.user.dto.UserSummaryDto;
+import com.tuniv.backend.user.service.UserSummaryCache;
 
+/**
+ * Follow relationships between users and followable targets.
+ *
+ * A follow points at a {@link Followable}; the owning entity (user, community, tag, module, university)
+ * is found through its {@code followable_id}. Listings are keyset-paged and resolve target names with
+ * one IN query per target type present on the page, never one query per row.
+ */
 @Service
 @RequiredArgsConstructor
 public class FollowService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final FollowRepository followRepository;
+    private final FollowableRepository followableRepository;
     private final UserRepository userRepository;
-    private final CommunityRepository communityRepository;
-    private final ModuleRepository moduleRepository;
-    private final TagRepository tagRepository;
-    private final UserMapper userMapper;
+    private final UserSummaryCache userSummaryCache;
+    private final FollowGraphService followGraphService;
     private final ApplicationEventPublisher eventPublisher; // ✅ Added
 
 
@@ -43,29 +67,32 @@ public class FollowService {
         User follower = userRepository.findById(currentUserDetails.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
 
-        // 1. Validate that the target being followed actually exists.
-        validateTargetExists(request.targetType(), request.targetId());
-        
-        // 2. Prevent users from following themselves.
+        // 1. Prevent users from following themselves.
         if (request.targetType() == FollowableType.USER && follower.getUserId().equals(request.targetId())) {
             throw new IllegalArgumentException("You cannot follow yourself.");
         }
-        
+
+        // 2. Resolve the target's followable (this also validates that the target exists).
+        Long followableId = request.targetType() == FollowableType.USER
+                ? getOrCreateUserFollowableId(request.targetId())
+                : findFollowableId(request.targetType(), request.targetId())
+                        .orElseThrow(() -> targetNotFound(request.targetType(), request.targetId()));
+
         // 3. Check if the user is already following the target to prevent duplicates.
-        boolean alreadyFollowing = followRepository.existsByUser_UserIdAndTargetTypeAndTargetId(
-            follower.getUserId(), request.targetType(), request.targetId()
-        );
-
-        if (!alreadyFollowing) {
-            Follow follow = new Follow(follower, request.targetType(), request.targetId());
-            followRepository.save(follow);
-
-            // ✅ Publish event for user follows
-            if (request.targetType() == FollowableType.USER) {
-                User followedUser = userRepository.findById(request.targetId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Followed user not found"));
-                eventPublisher.publishEvent(new NewFollowerEvent(follower, followedUser));
-            }
+        if (followRepository.existsByFollower_UserIdAndTarget_Id(follower.getUserId(), followableId)) {
+            return;
+        }
+
+        Follow follow = followRepository.save(new Follow(follower, followableRepository.getReferenceById(followableId)));
+        followableRepository.incrementFollowerCount(followableId);
+        followGraphService.recordFollow(follower.getUserId(), followableId,
+            request.targetType() == FollowableType.USER ? request.targetId() : null,
+            follow.getFollowId(), follow.isNotificationsEnabled());
+
+        // ✅ Publish event for user follows
+        if (request.targetType() == FollowableType.USER) {
+            User followedUser = userRepository.getReferenceById(request.targetId());
+            eventPublisher.publishEvent(new NewFollowerEvent(follower, followedUser));
         }
     }
 
@@ -73,123 +100,217 @@ public class FollowService {
     @Transactional
     public void unfollow(FollowRequestDto request, UserDetailsImpl currentUserDetails) {
         // Find the specific follow relationship and delete it if it exists.
-        followRepository.findByUser_UserIdAndTargetTypeAndTargetId(
-            currentUserDetails.getId(), request.targetType(), request.targetId()
-        ).ifPresent(followRepository::delete);
-    }
-    
-    /**
-     * Helper method to ensure a target (Community, User, etc.) exists before following.
-     */
-    private void validateTargetExists(FollowableType type, Integer id) {
-        boolean exists = switch (type) {
-            case USER -> userRepository.existsById(id);
-            case COMMUNITY -> communityRepository.existsById(id);
-            case MODULE -> moduleRepository.existsById(id);
-            case TAG -> tagRepository.existsById(id);
-        };
-        
-        if (!exists) {
-            throw new ResourceNotFoundException("Cannot follow. The " + type.name().toLowerCase() + " with ID " + id + " does not exist.");
-        }
+        findFollowableId(request.targetType(), request.targetId())
+            .flatMap(followableId -> followRepository.findByFollower_UserIdAndTarget_Id(currentUserDetails.getId(), followableId))
+            .ifPresent(follow -> {
+                followRepository.delete(follow);
+                followableRepository.decrementFollowerCount(follow.getTarget().getId());
+                followGraphService.recordUnfollow(currentUserDetails.getId(), follow.getTarget().getId(), follow.getFollowId());
+            });
     }
-    
+
     /**
-     * Get all things a user follows
+     * Get a page of things a user follows, newest first.
      */
     @Transactional(readOnly = true)
-    public List<FollowSummaryDto> getFollowing(Integer userId) {
-        List<Follow> follows = followRepository.findAllByUser_UserId(userId);
-        
-        return follows.stream()
-                .map(this::toFollowSummaryDto)
+    public CursorPage<FollowSummaryDto> getFollowing(Integer userId, String before, int size) {
+        int limit = CursorPage.clampSize(size, MAX_PAGE_SIZE);
+        KeysetCursor cursor = KeysetCursor.decode(before);
+        List<FollowRowProjection> rows = followRepository.findFollowingPage(
+            userId, cursor.createdAt(), cursor.id(), PageRequest.of(0, limit + 1));
+
+        CursorPage<FollowRowProjection> page = toCursorPage(rows, limit);
+        Map<Long, FollowTargetProjection> targets = resolveTargets(page.items());
+
+        List<FollowSummaryDto> items = page.items().stream()
+                .filter(row -> targets.containsKey(row.getFollowableId())) // Target was deleted
+                .map(row -> {
+                    FollowTargetProjection target = targets.get(row.getFollowableId());
+                    return new FollowSummaryDto(
+                        row.getFollowId(),
+                        row.getTargetType(),
+                        target.getEntityId(),
+                        target.getName(),
+                        row.getCreatedAt()
+                    );
+                })
                 .collect(Collectors.toList());
+        return page.withItems(items);
     }
-    
+
     /**
-     * Get all things the current user follows
+     * Get a page of things the current user follows
      */
     @Transactional(readOnly = true)
-    public List<FollowSummaryDto> getCurrentUserFollowing(UserDetailsImpl currentUser) {
-        return getFollowing(currentUser.getId());
+    public CursorPage<FollowSummaryDto> getCurrentUserFollowing(UserDetailsImpl currentUser, String before, int size) {
+        return getFollowing(currentUser.getId(), before, size);
     }
-    
+
     /**
-     * Get followers for a specific target (user, community, etc.)
+     * Get a page of followers for a specific target (user, community, etc.), newest first.
      */
     @Transactional(readOnly = true)
-    public List<FollowerInfoDto> getFollowers(FollowableType targetType, Integer targetId) {
-        List<Follow> followers = followRepository.findByTargetTypeAndTargetId(targetType, targetId);
-        
-        return followers.stream()
-                .map(follow -> new FollowerInfoDto(
-                    userMapper.toUserSummaryDto(follow.getUser()),
-                    follow.getCreatedAt()
-                ))
+    public CursorPage<FollowerInfoDto> getFollowers(FollowableType targetType, Integer targetId, String before, int size) {
+        Optional<Long> followableId = findFollowableId(targetType, targetId);
+        if (followableId.isEmpty()) {
+            return CursorPage.empty();
+        }
+
+        int limit = CursorPage.clampSize(size, MAX_PAGE_SIZE);
+        KeysetCursor cursor = KeysetCursor.decode(before);
+        CursorPage<FollowRowProjection> page = toCursorPage(followRepository.findFollowersPage(
+            followableId.get(), cursor.createdAt(), cursor.id(), PageRequest.of(0, limit + 1)), limit);
+
+        Map<Integer, UserSummaryDto> summaries = userSummaryCache.getAll(page.items().stream()
+                .map(FollowRowProjection::getFollowerId)
+                .toList());
+
+        List<FollowerInfoDto> items = page.items().stream()
+                .map(row -> new FollowerInfoDto(summaries.get(row.getFollowerId()), row.getCreatedAt()))
                 .collect(Collectors.toList());
+        return page.withItems(items);
     }
-    
+
     /**
      * Get follower count for a specific target
      */
     @Transactional(readOnly = true)
     public long getFollowerCount(FollowableType targetType, Integer targetId) {
-        return followRepository.countByTargetTypeAndTargetId(targetType, targetId);
+        return findFollowableId(targetType, targetId)
+                .map(followRepository::countByTarget_Id)
+                .orElse(0L);
     }
-    
+
     /**
      * Check if current user follows a specific target
      */
     @Transactional(readOnly = true)
     public boolean isFollowing(UserDetailsImpl currentUser, FollowableType targetType, Integer targetId) {
-        return followRepository.existsByUser_UserIdAndTargetTypeAndTargetId(
-            currentUser.getId(), targetType, targetId
-        );
+        return findFollowableId(targetType, targetId)
+                .map(followableId -> followRepository.existsByFollower_UserIdAndTarget_Id(currentUser.getId(), followableId))
+                .orElse(false);
     }
-    
+
     /**
      * Get follow relationship details if it exists
      */
     @Transactional(readOnly = true)
     public FollowSummaryDto getFollowRelationship(UserDetailsImpl currentUser, FollowableType targetType, Integer targetId) {
-        return followRepository.findByUser_UserIdAndTargetTypeAndTargetId(
-            currentUser.getId(), targetType, targetId
-        ).map(this::toFollowSummaryDto)
-         .orElse(null);
+        return findFollowableId(targetType, targetId)
+                .flatMap(followableId -> followRepository.findByFollower_UserIdAndTarget_Id(currentUser.getId(), followableId))
+                .map(follow -> new FollowSummaryDto(
+                    follow.getFollowId(),
+                    targetType,
+                    targetId,
+                    resolveTargets(targetType, Set.of(follow.getTarget().getId()))
+                        .values().stream().findFirst().map(FollowTargetProjection::getName).orElse(null),
+                    follow.getCreatedAt()
+                ))
+                .orElse(null);
     }
-    
+
     /**
-     * Convert Follow entity to FollowSummaryDto
+     * Suggests users to follow: people followed by the people the current user follows.
+     * Served entirely from the in-memory follow graph and the user summary cache.
      */
-    private FollowSummaryDto toFollowSummaryDto(Follow follow) {
-        String targetName = getTargetName(follow.getTargetType(), follow.getTargetId());
-        
-        return new FollowSummaryDto(
-            follow.getFollowId(),
-            follow.getTargetType(),
-            follow.getTargetId(),
-            targetName,
-            follow.getCreatedAt()
-        );
+    @Transactional(readOnly = true)
+    public List<FollowSuggestionDto> getUserSuggestions(UserDetailsImpl currentUser, int limit) {
+        List<FollowGraphService.UserSuggestion> suggestions =
+            followGraphService.suggestUsers(currentUser.getId(), CursorPage.clampSize(limit, MAX_PAGE_SIZE));
+        Map<Integer, UserSummaryDto> users = userSummaryCache.getAll(suggestions.stream()
+                .map(FollowGraphService.UserSuggestion::userId)
+                .toList());
+
+        return suggestions.stream()
+                .filter(suggestion -> users.containsKey(suggestion.userId()))
+                .map(suggestion -> {
+                    UserSummaryDto user = users.get(suggestion.userId());
+                    return new FollowSuggestionDto(
+                        new FollowableDto(
+                            user.id(),
+                            FollowableType.USER,
+                            user.username(),
+                            user.profilePhotoUrl(),
+                            Objects.requireNonNullElse(user.reputationScore(), 0) + " reputation",
+                            false
+                        ),
+                        "Followed by " + suggestion.mutualCount() + " people you follow"
+                    );
+                })
+                .collect(Collectors.toList());
     }
-    
+
+    // ========== TARGET RESOLUTION ==========
+
     /**
-     * Get the name of the target being followed
+     * Maps a (type, entity id) pair to the followable id of that entity, if both exist.
      */
-    private String getTargetName(FollowableType targetType, Integer targetId) {
-        return switch (targetType) {
-            case USER -> userRepository.findById(targetId)
-                    .map(User::getUsername)
-                    .orElse("Unknown User");
-            case COMMUNITY -> communityRepository.findById(targetId)
-                    .map(com.tuniv.backend.community.model.Community::getName)
-                    .orElse("Unknown Community");
-            case MODULE -> moduleRepository.findById(targetId)
-                    .map(com.tuniv.backend.university.model.Module::getName)
-                    .orElse("Unknown Module");
-            case TAG -> tagRepository.findById(targetId)
-                    .map(com.tuniv.backend.qa.model.Tag::getName)
-                    .orElse("Unknown Tag");
+    private Optional<Long> findFollowableId(FollowableType type, Integer id) {
+        return switch (type) {
+            case USER -> followableRepository.findIdByUserId(id);
+            case COMMUNITY -> followableRepository.findIdByCommunityId(id);
+            case TAG -> followableRepository.findIdByTagId(id);
+            case MODULE -> followableRepository.findIdByModuleId(id);
+            case UNIVERSITY -> followableRepository.findIdByUniversityId(id);
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Users only get a followable once someone follows them for the first time.
+     * Two first follows may race here; the conditional update lets exactly one followable win
+     * and the loser switches to it.
+     */
+    private Long getOrCreateUserFollowableId(Integer userId) {
+        Optional<Long> existing = followableRepository.findIdByUserId(userId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        if (!userRepository.existsById(userId)) {
+            throw targetNotFound(FollowableType.USER, userId);
+        }
+
+        Followable created = followableRepository.saveAndFlush(new Followable(FollowableType.USER));
+        if (userRepository.claimFollowable(userId, created.getId()) == 1) {
+            return created.getId();
+        }
+        followableRepository.delete(created);
+        return followableRepository.findIdByUserId(userId)
+                .orElseThrow(() -> targetNotFound(FollowableType.USER, userId));
+    }
+
+    /**
+     * Resolves the targets of a page of follows with one query per target type present on the page.
+     */
+    private Map<Long, FollowTargetProjection> resolveTargets(List<FollowRowProjection> rows) {
+        Map<FollowableType, Set<Long>> idsByType = new EnumMap<>(FollowableType.class);
+        for (FollowRowProjection row : rows) {
+            idsByType.computeIfAbsent(row.getTargetType(), type -> new HashSet<>()).add(row.getFollowableId());
+        }
+
+        Map<Long, FollowTargetProjection> targets = new HashMap<>();
+        idsByType.forEach((type, ids) -> targets.putAll(resolveTargets(type, ids)));
+        return targets;
+    }
+
+    private Map<Long, FollowTargetProjection> resolveTargets(FollowableType type, Collection<Long> followableIds) {
+        List<FollowTargetProjection> targets = switch (type) {
+            case USER -> followableRepository.findUserTargets(followableIds);
+            case COMMUNITY -> followableRepository.findCommunityTargets(followableIds);
+            case TAG -> followableRepository.findTagTargets(followableIds);
+            case MODULE -> followableRepository.findModuleTargets(followableIds);
+            case UNIVERSITY -> followableRepository.findUniversityTargets(followableIds);
+        };
+        return targets.stream()
+                .collect(Collectors.toMap(FollowTargetProjection::getFollowableId, target -> target));
+    }
+
+    private ResourceNotFoundException targetNotFound(FollowableType type, Integer id) {
+        return new ResourceNotFoundException("Cannot follow. The " + type.name().toLowerCase() + " with ID " + id + " does not exist.");
+    }
+
+    // ========== CURSOR PAGING ==========
+
+    private CursorPage<FollowRowProjection> toCursorPage(List<FollowRowProjection> rows, int limit) {
+        return CursorPage.fromRows(rows, limit, row -> new KeysetCursor(row.getCreatedAt(), row.getFollowId()));
+    }
+}
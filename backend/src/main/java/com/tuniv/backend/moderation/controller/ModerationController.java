@@ -2,18 +2,19 @@ package com.tuniv.backend.moderation.web;
 
 import com.tuniv.backend.moderation.dto.CreateReportRequest;
 import com.tuniv.backend.moderation.dto.HandleReportRequest;
+import com.tuniv.backend.moderation.dto.ModerationDashboardStatsDto;
+import com.tuniv.backend.moderation.dto.ModerationQueuePage;
 import com.tuniv.backend.moderation.dto.ReportDetailDto;
 import com.tuniv.backend.moderation.dto.ReportSummaryDto;
 import com.tuniv.backend.moderation.model.ReportScope;
 import com.tuniv.backend.moderation.service.ModerationService;
+import com.tuniv.backend.shared.ratelimit.RateLimitPolicy;
+import com.tuniv.backend.shared.ratelimit.RateLimited;
 import com.tuniv.backend.user.model.User;
 import com.tuniv.backend.user.repository.UserRepository;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -35,6 +36,7 @@ public class ModerationController {
      * Creates a new report for a piece of content.
      */
     @PostMapping("/reports")
+    @RateLimited(RateLimitPolicy.REPORT)
     public ResponseEntity<ReportSummaryDto> createReport(
             @Valid @RequestBody CreateReportRequest request) {
         
@@ -72,21 +74,38 @@ public class ModerationController {
     }
 
     /**
-     * Gets a paginated list of reports for a specific moderation queue.
+     * Gets one page of a moderation queue, highest priority and oldest first.
+     * Repeat reports on the same content appear as a single item with a report count.
      * (Accessible by moderators with permission for that queue)
      */
     @GetMapping("/reports/queue")
-    public ResponseEntity<Page<ReportSummaryDto>> getReportsByScope(
+    public ResponseEntity<ModerationQueuePage> getQueue(
             @RequestParam ReportScope scope,
             @RequestParam(required = false) Integer universityId,
             @RequestParam(required = false) Integer communityId,
-            @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         
         // Permission check for the queue is handled inside the service
-        Page<ReportSummaryDto> reportsPage = moderationService.getReportsByScope(
-                scope, universityId, communityId, pageable
+        ModerationQueuePage queuePage = moderationService.getQueue(
+                scope, universityId, communityId, cursor, size
         );
-        return ResponseEntity.ok(reportsPage);
+        return ResponseEntity.ok(queuePage);
+    }
+
+    /**
+     * Gets the dashboard statistics of a moderation queue.
+     * Served from in-memory counters, so dashboards can auto-refresh freely.
+     * (Accessible by moderators with permission for that queue)
+     */
+    @GetMapping("/dashboard")
+    public ResponseEntity<ModerationDashboardStatsDto> getDashboardStats(
+            @RequestParam ReportScope scope,
+            @RequestParam(required = false) Integer universityId,
+            @RequestParam(required = false) Integer communityId) {
+
+        // Permission check for the queue is handled inside the service
+        return ResponseEntity.ok(moderationService.getDashboardStats(scope, universityId, communityId));
     }
 
     // --- Helper Method ---
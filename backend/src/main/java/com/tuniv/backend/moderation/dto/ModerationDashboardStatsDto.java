@@ -1,18 +1,24 @@
 package com.tuniv.backend.moderation.dto;
 
+import java.util.List;
 import java.util.Map;
 
 public record ModerationDashboardStatsDto(
     // Queue Health
     long pendingReports,
     long reportsUnderReview,
-    double averageResolutionTimeInHours,
+    double averageResolutionTimeInHours, // Over the last 7 days
 
     // Activity Volume
     long reportsFiledToday,
     long reportsResolvedToday,
+    Map<String, Long> actionsTakenToday, // Key: action type, Value: count
+
+    // Sparklines: one value per hour for the last 24 hours, oldest first
+    List<Long> reportsFiledByHour,
+    List<Long> reportsResolvedByHour,
 
     // Leaderboards
-    Map<String, Long> topReportedUsers, // Key: username, Value: report count
-    Map<String, Long> topModerators // Key: username, Value: resolved count
-) {}
\ No newline at end of file
+    Map<String, Long> topReportedUsers, // Key: username, Value: open report count
+    Map<String, Long> topModerators // Key: username, Value: resolved count over the last 7 days
+) {}
@@ -0,0 +1,20 @@
+package com.tuniv.backend.moderation.dto;
+
+import java.time.Instant;
+
+import com.tuniv.backend.moderation.model.ReportScope;
+
+/**
+ * One entry of a moderation queue: a reported target with all of its open reports folded in.
+ */
+public record ModerationQueueItemDto(
+    Integer itemId,
+    ReportScope scope,
+    int reportCount,
+    int priority,
+    String latestReason,
+    Integer latestReportId, // Open this report to handle the item
+    Instant firstReportedAt,
+    Instant lastReportedAt,
+    ReportedContentDto content
+) {}
@@ -0,0 +1,13 @@
+package com.tuniv.backend.moderation.dto;
+
+import java.util.List;
+
+/**
+ * A keyset-paged slice of a moderation queue, ordered by priority and then age.
+ * {@code nextCursor} is opaque to clients; pass it back as {@code cursor} to load the next slice.
+ */
+public record ModerationQueuePage(
+    List<ModerationQueueItemDto> items,
+    String nextCursor,
+    boolean hasMore
+) {}
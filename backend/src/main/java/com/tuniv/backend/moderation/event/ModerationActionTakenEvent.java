@@ -3,6 +3,7 @@ package com.tuniv.backend.moderation.event;
 import org.springframework.context.ApplicationEvent;
 
 import com.tuniv.backend.moderation.dto.ModerationActionDto;
+import com.tuniv.backend.moderation.model.ReportScope;
 import com.tuniv.backend.user.model.User;
 
 /**
@@ -15,18 +16,28 @@ public class ModerationActionTakenEvent extends ApplicationEvent {
     private final User moderator;
     private final User targetUser;
     private final Object targetContent;
+    // Scope of the report the action was taken on
+    private final ReportScope scope;
+    private final Integer universityId;
+    private final Integer communityId;
 
     public ModerationActionTakenEvent(
             Object source,
             ModerationActionDto action,
             User moderator,
             User targetUser,
-            Object targetContent) {
+            Object targetContent,
+            ReportScope scope,
+            Integer universityId,
+            Integer communityId) {
         super(source);
         this.action = action;
         this.moderator = moderator;
         this.targetUser = targetUser;
         this.targetContent = targetContent;
+        this.scope = scope;
+        this.universityId = universityId;
+        this.communityId = communityId;
     }
 
     // Add getters for all fields
@@ -34,4 +45,7 @@ public class ModerationActionTakenEvent extends ApplicationEvent {
     public User getModerator() { return moderator; }
     public User getTargetUser() { return targetUser; }
     public Object getTargetContent() { return targetContent; }
+    public ReportScope getScope() { return scope; }
+    public Integer getUniversityId() { return universityId; }
+    public Integer getCommunityId() { return communityId; }
 }
\ No newline at end of file
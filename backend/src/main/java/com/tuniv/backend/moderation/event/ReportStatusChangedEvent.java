@@ -0,0 +1,42 @@
+package com.tuniv.backend.moderation.event;
+
+import java.time.Instant;
+
+import org.springframework.context.ApplicationEvent;
+
+import com.tuniv.backend.moderation.model.ReportScope;
+import com.tuniv.backend.moderation.model.ReportStatus;
+
+import lombok.Getter;
+
+/**
+ * Event published when a report is filed ({@code previousStatus} is null) or changes status.
+ * Carries the report's denormalized scope so listeners never need to load it.
+ */
+@Getter
+public class ReportStatusChangedEvent extends ApplicationEvent {
+    private final ReportScope scope;
+    private final Integer universityId;
+    private final Integer communityId;
+    private final ReportStatus previousStatus;
+    private final ReportStatus newStatus;
+    private final Instant reportedAt;
+    private final Instant changedAt;
+    private final Integer moderatorId;
+    private final Integer targetUserId;
+
+    public ReportStatusChangedEvent(Object source, ReportScope scope, Integer universityId, Integer communityId,
+                                    ReportStatus previousStatus, ReportStatus newStatus, Instant reportedAt,
+                                    Instant changedAt, Integer moderatorId, Integer targetUserId) {
+        super(source);
+        this.scope = scope;
+        this.universityId = universityId;
+        this.communityId = communityId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.reportedAt = reportedAt;
+        this.changedAt = changedAt;
+        this.moderatorId = moderatorId;
+        this.targetUserId = targetUserId;
+    }
+}
@@ -36,10 +36,10 @@ public interface ModerationMapper {
         @Mapping(source = "report.createdAt", target = "createdAt"),
         @Mapping(source = "report.resolvedBy", target = "assignedModerator"), // Uses UserMapper
         @Mapping(source = "report.resolutionNotes", target = "moderatorNotes"),
-        @Mapping(target = "reportedContent", source = "report"), // Custom mapping below
+        @Mapping(target = "reportedContent", source = "reportedContent"), // Queue preview or mapReportToReportedContentDto
         @Mapping(target = "targetUserHistory", source = "historyLogs") // Manually pass this in
     })
-    ReportDetailDto toReportDetailDto(Report report, List<ModerationLogDto> historyLogs);
+    ReportDetailDto toReportDetailDto(Report report, ReportedContentDto reportedContent, List<ModerationLogDto> historyLogs);
 
     // This method maps the polymorphic 'target' to the ReportedContentDto
     default ReportedContentDto mapReportToReportedContentDto(Report report) {
@@ -15,10 +15,13 @@ import com.tuniv.backend.user.model.User;
 import jakarta.persistence.Column;
 import static jakarta.persistence.DiscriminatorType.STRING;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -26,7 +29,9 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "moderation_logs")
+@Table(name = "moderation_logs", indexes = {
+    @Index(name = "idx_moderation_log_created", columnList = "created_at")
+})
 @Getter
 @Setter
 public class ModerationLog {
@@ -69,6 +74,17 @@ public class ModerationLog {
     @JoinColumn(name = "target_id")
     private Object target; // The actual entity being acted on (e.g., a Post object)
 
+    // Denormalized from the report, for per-queue moderation metrics
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope")
+    private ReportScope scope;
+
+    @Column(name = "university_id")
+    private Integer universityId;
+
+    @Column(name = "community_id")
+    private Integer communityId;
+
     @CreationTimestamp
     private Instant createdAt;
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.tuniv.backend.moderation.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Moderation queue read-model: one row per reported target, aggregating all of its reports.
+ *
+ * Rows are written only by {@code ModerationQueueService} through an upsert, so repeat reports on the same
+ * content bump {@link #reportCount} instead of adding queue entries. Handling the target closes the row;
+ * a report filed after that reopens it with a fresh count. The content preview is denormalized here so
+ * queue pages never load the reported entities.
+ */
+@Entity
+@Table(name = "moderation_queue_items",
+    uniqueConstraints = @UniqueConstraint(name = "uk_moderation_queue_target", columnNames = {"target_type", "target_id"}),
+    indexes = {
+        // Queue ordering: highest priority first, then oldest first
+        @Index(name = "idx_mqueue_scope_order", columnList = "scope, status, priority DESC, first_reported_at, item_id"),
+        @Index(name = "idx_mqueue_university_order", columnList = "university_id, scope, status, priority DESC, first_reported_at, item_id"),
+        @Index(name = "idx_mqueue_community_order", columnList = "community_id, scope, status, priority DESC, first_reported_at, item_id")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+public class ModerationQueueItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "item_id")
+    private Integer itemId;
+
+    @Column(name = "target_type", length = 50, nullable = false)
+    private String targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private Integer targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false)
+    private ReportScope scope;
+
+    @Column(name = "university_id")
+    private Integer universityId;
+
+    @Column(name = "community_id")
+    private Integer communityId;
+
+    @Column(name = "conversation_id")
+    private Integer conversationId;
+
+    /** PENDING while the item is in the queue; the resolution status once handled. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ReportStatus status = ReportStatus.PENDING;
+
+    /** Reports received since the item was (re)opened. */
+    @Column(name = "report_count", nullable = false)
+    private int reportCount;
+
+    /** Highest reason severity among those reports (1 = low, 3 = high). */
+    @Column(name = "severity", nullable = false)
+    private int severity;
+
+    /** Severity first, report volume second; see {@code ModerationQueueService}. */
+    @Column(name = "priority", nullable = false)
+    private int priority;
+
+    @Column(name = "latest_report_id")
+    private Integer latestReportId;
+
+    @Column(name = "latest_reason", length = 100)
+    private String latestReason;
+
+    @Column(name = "first_reported_at", nullable = false)
+    private Instant firstReportedAt;
+
+    @Column(name = "last_reported_at", nullable = false)
+    private Instant lastReportedAt;
+
+    @Column(name = "resolved_at")
+    private Instant resolvedAt;
+
+    // ========== CONTENT PREVIEW ==========
+
+    @Column(name = "content_author_id")
+    private Integer contentAuthorId;
+
+    @Column(name = "content_author_username", length = 50)
+    private String contentAuthorUsername;
+
+    @Column(name = "content_url")
+    private String contentUrl;
+
+    @Column(name = "content_snippet", length = 200)
+    private String contentSnippet;
+}
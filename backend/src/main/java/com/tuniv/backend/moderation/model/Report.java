@@ -78,10 +78,17 @@ public class Report extends Auditable {
      * This field holds the actual entity (e.g., a Post object) and is
      * linked via the foreign key in the @JoinColumn.
      */
-    @Any
+    @Any(fetch = FetchType.LAZY)
     @JoinColumn(name = "target_id", nullable = false)
     private Object target;
 
+    /**
+     * Read-only view of the target's id, so queries and the moderation queue can use it
+     * without loading the target.
+     */
+    @Column(name = "target_id", insertable = false, updatable = false)
+    private Integer targetId;
+
     @NotBlank
     @Size(max = 100)
     @Column(name = "reason", nullable = false, length = 100)
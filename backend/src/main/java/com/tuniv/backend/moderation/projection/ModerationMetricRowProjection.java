@@ -0,0 +1,17 @@
+package com.tuniv.backend.moderation.projection;
+
+/**
+ * One grouped row used to rebuild the moderation metrics. Every query fills the scope columns and
+ * {@code total}; the other columns are null unless the query groups by them.
+ * {@code bucket} is an epoch hour or epoch day, depending on the query.
+ */
+public interface ModerationMetricRowProjection {
+    String getScope();
+    Integer getUniversityId();
+    Integer getCommunityId();
+    Long getBucket();
+    String getLabel();
+    Integer getUserId();
+    Long getTotal();
+    Long getDurationSeconds();
+}
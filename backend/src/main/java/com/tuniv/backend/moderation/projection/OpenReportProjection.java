@@ -0,0 +1,13 @@
+package com.tuniv.backend.moderation.projection;
+
+import java.time.Instant;
+
+import com.tuniv.backend.moderation.model.ReportStatus;
+
+/**
+ * Status and filing time of an open report, enough to account for it when it is resolved in bulk.
+ */
+public interface OpenReportProjection {
+    ReportStatus getStatus();
+    Instant getCreatedAt();
+}
@@ -1,13 +1,18 @@
 package com.tuniv.backend.moderation.repository;
 
+import java.time.Instant;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.tuniv.backend.moderation.model.ModerationLog;
+import com.tuniv.backend.moderation.projection.ModerationMetricRowProjection;
 import com.tuniv.backend.user.model.User;
 
 @Repository
@@ -27,6 +32,22 @@ public interface ModerationLogRepository extends JpaRepository<ModerationLog, In
     
     /**
      * Finds recent actions for a specific target user, used in ReportDetailDto.
+     * Moderator and target are fetched with the logs since the DTO maps both.
      */
-    List<ModerationLog> findTop10ByTargetUserOrderByCreatedAtDesc(User targetUser);
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = {"moderator", "targetUser"})
+    List<ModerationLog> findTop10ByTargetUser_UserIdOrderByCreatedAtDesc(Integer targetUserId);
+
+    /**
+     * Moderation actions per queue, action ({@code label}) and epoch day since {@code since}.
+     */
+    @Query(value = """
+        SELECT l.scope AS scope, l.university_id AS universityId, l.community_id AS communityId,
+               CAST(FLOOR(EXTRACT(EPOCH FROM l.created_at) / 86400) AS bigint) AS bucket,
+               l.action AS label, CAST(NULL AS integer) AS userId,
+               COUNT(*) AS total, CAST(NULL AS bigint) AS durationSeconds
+        FROM moderation_logs l
+        WHERE l.created_at >= :since AND l.scope IS NOT NULL
+        GROUP BY l.scope, l.university_id, l.community_id, bucket, l.action
+        """, nativeQuery = true)
+    List<ModerationMetricRowProjection> countActionsByDay(@Param("since") Instant since);
+}
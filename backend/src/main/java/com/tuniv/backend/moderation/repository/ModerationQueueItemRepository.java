@@ -0,0 +1,196 @@
+package com.tuniv.backend.moderation.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tuniv.backend.moderation.model.ModerationQueueItem;
+import com.tuniv.backend.moderation.model.ReportStatus;
+import com.tuniv.backend.moderation.projection.ModerationMetricRowProjection;
+
+@Repository
+public interface ModerationQueueItemRepository extends JpaRepository<ModerationQueueItem, Integer> {
+
+    Optional<ModerationQueueItem> findByTargetTypeAndTargetId(String targetType, Integer targetId);
+
+    /**
+     * Adds a batch of reports on one target to its queue item, creating the item if needed.
+     * An open item accumulates count and severity; a closed item is reopened with the batch's values,
+     * unless every report in the batch predates its resolution (those were resolved along with it).
+     * Priority is {@code severity * 1000 + min(reportCount, 999)}.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO moderation_queue_items AS q (
+            target_type, target_id, scope, university_id, community_id, conversation_id, status,
+            report_count, severity, priority, latest_report_id, latest_reason, first_reported_at, last_reported_at,
+            content_author_id, content_author_username, content_url, content_snippet)
+        VALUES (
+            :targetType, :targetId, :scope, :universityId, :communityId, :conversationId, 'PENDING',
+            :reportCount, :severity, :severity * 1000 + LEAST(:reportCount, 999), :latestReportId, :latestReason,
+            :firstReportedAt, :lastReportedAt, :authorId, :authorUsername, :contentUrl, :contentSnippet)
+        ON CONFLICT (target_type, target_id) DO UPDATE SET
+            report_count = CASE WHEN q.status = 'PENDING' THEN q.report_count + EXCLUDED.report_count
+                                ELSE EXCLUDED.report_count END,
+            severity = CASE WHEN q.status = 'PENDING' THEN GREATEST(q.severity, EXCLUDED.severity)
+                            ELSE EXCLUDED.severity END,
+            priority = CASE WHEN q.status = 'PENDING'
+                            THEN GREATEST(q.severity, EXCLUDED.severity) * 1000
+                                 + LEAST(q.report_count + EXCLUDED.report_count, 999)
+                            ELSE EXCLUDED.priority END,
+            first_reported_at = CASE WHEN q.status = 'PENDING' THEN LEAST(q.first_reported_at, EXCLUDED.first_reported_at)
+                                     ELSE EXCLUDED.first_reported_at END,
+            last_reported_at = GREATEST(q.last_reported_at, EXCLUDED.last_reported_at),
+            latest_report_id = EXCLUDED.latest_report_id,
+            latest_reason = EXCLUDED.latest_reason,
+            status = 'PENDING',
+            resolved_at = NULL,
+            scope = EXCLUDED.scope,
+            university_id = EXCLUDED.university_id,
+            community_id = EXCLUDED.community_id,
+            conversation_id = EXCLUDED.conversation_id,
+            content_author_id = COALESCE(EXCLUDED.content_author_id, q.content_author_id),
+            content_author_username = COALESCE(EXCLUDED.content_author_username, q.content_author_username),
+            content_url = COALESCE(EXCLUDED.content_url, q.content_url),
+            content_snippet = COALESCE(EXCLUDED.content_snippet, q.content_snippet)
+        WHERE q.status = 'PENDING' OR q.resolved_at IS NULL OR EXCLUDED.last_reported_at > q.resolved_at
+        """, nativeQuery = true)
+    void upsertReports(@Param("targetType") String targetType,
+                       @Param("targetId") Integer targetId,
+                       @Param("scope") String scope,
+                       @Param("universityId") Integer universityId,
+                       @Param("communityId") Integer communityId,
+                       @Param("conversationId") Integer conversationId,
+                       @Param("reportCount") int reportCount,
+                       @Param("severity") int severity,
+                       @Param("latestReportId") Integer latestReportId,
+                       @Param("latestReason") String latestReason,
+                       @Param("firstReportedAt") Instant firstReportedAt,
+                       @Param("lastReportedAt") Instant lastReportedAt,
+                       @Param("authorId") Integer authorId,
+                       @Param("authorUsername") String authorUsername,
+                       @Param("contentUrl") String contentUrl,
+                       @Param("contentSnippet") String contentSnippet);
+
+    /**
+     * Rebuilds the queue items of targets whose pending reports never made it into the queue, for example
+     * because the node buffering them stopped before its flush. A target qualifies when its newest pending
+     * report is older than {@code before} (so reports still in a live node's buffer are left alone) and its
+     * item is missing, or older than that report. Qualifying items are set from the reports table, the same
+     * way V5__moderation_queue.sql backfilled them; severities mirror ModerationQueueService.REASON_SEVERITY.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        WITH open_reports AS (
+            SELECT r.*,
+                   CASE
+                       WHEN UPPER(r.reason) IN ('HARASSMENT', 'HATE_SPEECH', 'VIOLENCE', 'SELF_HARM', 'ILLEGAL_CONTENT') THEN 3
+                       WHEN UPPER(r.reason) IN ('INAPPROPRIATE', 'MISINFORMATION', 'IMPERSONATION') THEN 2
+                       ELSE 1
+                   END AS severity,
+                   ROW_NUMBER() OVER (PARTITION BY r.target_type, r.target_id ORDER BY r.created_at DESC, r.report_id DESC) AS recency
+            FROM reports r
+            WHERE r.status = 'PENDING'
+        ),
+        per_target AS (
+            SELECT target_type, target_id,
+                   COUNT(*) AS report_count,
+                   MAX(severity) AS severity,
+                   MIN(created_at) AS first_reported_at,
+                   MAX(created_at) AS last_reported_at
+            FROM open_reports
+            GROUP BY target_type, target_id
+        ),
+        missed AS (
+            SELECT t.* FROM per_target t
+            LEFT JOIN moderation_queue_items q ON q.target_type = t.target_type AND q.target_id = t.target_id
+            WHERE t.last_reported_at < :before
+              AND (q.item_id IS NULL
+                   OR (q.status = 'PENDING' AND q.last_reported_at < t.last_reported_at)
+                   OR (q.status <> 'PENDING' AND (q.resolved_at IS NULL OR q.resolved_at < t.last_reported_at)))
+        )
+        INSERT INTO moderation_queue_items AS q (
+            target_type, target_id, scope, university_id, community_id, conversation_id, status,
+            report_count, severity, priority, latest_report_id, latest_reason, first_reported_at, last_reported_at)
+        SELECT t.target_type, t.target_id, latest.scope, latest.university_id, latest.community_id, latest.conversation_id, 'PENDING',
+               t.report_count, t.severity, t.severity * 1000 + LEAST(t.report_count, 999), latest.report_id, latest.reason,
+               t.first_reported_at, t.last_reported_at
+        FROM missed t
+        JOIN open_reports latest
+          ON latest.target_type = t.target_type AND latest.target_id = t.target_id AND latest.recency = 1
+        ON CONFLICT (target_type, target_id) DO UPDATE SET
+            report_count = EXCLUDED.report_count,
+            severity = EXCLUDED.severity,
+            priority = EXCLUDED.priority,
+            first_reported_at = EXCLUDED.first_reported_at,
+            last_reported_at = EXCLUDED.last_reported_at,
+            latest_report_id = EXCLUDED.latest_report_id,
+            latest_reason = EXCLUDED.latest_reason,
+            status = 'PENDING',
+            resolved_at = NULL,
+            scope = EXCLUDED.scope,
+            university_id = EXCLUDED.university_id,
+            community_id = EXCLUDED.community_id,
+            conversation_id = EXCLUDED.conversation_id
+        """, nativeQuery = true)
+    int reconcileMissedReports(@Param("before") Instant before);
+
+    /**
+     * One keyset page of open items in a queue, highest priority first and oldest first within a priority.
+     * Served by the idx_mqueue_* indexes.
+     */
+    @Query(value = """
+        SELECT q.* FROM moderation_queue_items q
+        WHERE q.scope = :scope
+          AND q.status = 'PENDING'
+          AND (CAST(:universityId AS integer) IS NULL OR q.university_id = :universityId)
+          AND (CAST(:communityId AS integer) IS NULL OR q.community_id = :communityId)
+          AND (CAST(:afterPriority AS integer) IS NULL
+               OR q.priority < CAST(:afterPriority AS integer)
+               OR (q.priority = CAST(:afterPriority AS integer)
+                   AND (q.first_reported_at, q.item_id)
+                       > (CAST(:afterFirstReportedAt AS timestamptz), CAST(:afterItemId AS integer))))
+        ORDER BY q.priority DESC, q.first_reported_at ASC, q.item_id ASC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<ModerationQueueItem> findQueuePage(@Param("scope") String scope,
+                                            @Param("universityId") Integer universityId,
+                                            @Param("communityId") Integer communityId,
+                                            @Param("afterPriority") Integer afterPriority,
+                                            @Param("afterFirstReportedAt") Instant afterFirstReportedAt,
+                                            @Param("afterItemId") Integer afterItemId,
+                                            @Param("limit") int limit);
+
+    @Modifying
+    @Query("""
+        UPDATE ModerationQueueItem q SET q.status = :status, q.resolvedAt = :resolvedAt
+        WHERE q.targetType = :targetType AND q.targetId = :targetId
+          AND q.status = com.tuniv.backend.moderation.model.ReportStatus.PENDING
+        """)
+    int close(@Param("targetType") String targetType,
+              @Param("targetId") Integer targetId,
+              @Param("status") ReportStatus status,
+              @Param("resolvedAt") Instant resolvedAt);
+
+    /**
+     * Reports waiting in each queue per content author ({@code userId}), for the most-reported-users widget.
+     */
+    @Query(value = """
+        SELECT q.scope AS scope, q.university_id AS universityId, q.community_id AS communityId,
+               CAST(NULL AS bigint) AS bucket, CAST(NULL AS text) AS label, q.content_author_id AS userId,
+               SUM(q.report_count) AS total, CAST(NULL AS bigint) AS durationSeconds
+        FROM moderation_queue_items q
+        WHERE q.status = 'PENDING' AND q.content_author_id IS NOT NULL
+        GROUP BY q.scope, q.university_id, q.community_id, q.content_author_id
+        """, nativeQuery = true)
+    List<ModerationMetricRowProjection> countOpenReportsByAuthor();
+}
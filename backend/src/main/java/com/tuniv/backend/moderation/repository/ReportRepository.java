@@ -1,43 +1,129 @@
 package com.tuniv.backend.moderation.repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.tuniv.backend.moderation.model.Report;
-import com.tuniv.backend.moderation.model.ReportScope;
-import com.tuniv.backend.moderation.model.ReportStatus;
+import com.tuniv.backend.moderation.projection.ModerationMetricRowProjection;
+import com.tuniv.backend.moderation.projection.OpenReportProjection;
 
 @Repository
 public interface ReportRepository extends JpaRepository<Report, Integer>, JpaSpecificationExecutor<Report> {
 
     /**
-     * Finds a report by its target, used to prevent duplicate reports.
+     * The reporter's still-open report on a target, used to drop repeat reports from the same user.
      */
-    Optional<Report> findByTargetTypeAndTargetIdAndStatus(String targetType, Integer targetId, ReportStatus status);
+    @Query(value = """
+        SELECT r.report_id FROM reports r
+        WHERE r.reporter_user_id = :reporterId
+          AND r.target_type = :targetType AND r.target_id = :targetId
+          AND r.status IN ('PENDING', 'UNDER_REVIEW')
+        LIMIT 1
+        """, nativeQuery = true)
+    Optional<Integer> findOpenReportId(@Param("reporterId") Integer reporterId,
+                                       @Param("targetType") String targetType,
+                                       @Param("targetId") Integer targetId);
 
     /**
-     * Finds platform-level reports by scope and status.
+     * The other open reports on a target, read before {@link #resolveOpenReportsOnTarget} so their
+     * resolution can be accounted for in the moderation metrics.
      */
-    Page<Report> findByScopeAndStatus(ReportScope scope, ReportStatus status, Pageable pageable);
+    @Query("""
+        SELECT r.status AS status, r.createdAt AS createdAt FROM Report r
+        WHERE r.targetType = :targetType AND r.targetId = :targetId
+          AND r.status IN (com.tuniv.backend.moderation.model.ReportStatus.PENDING,
+                           com.tuniv.backend.moderation.model.ReportStatus.UNDER_REVIEW)
+          AND r.reportId <> :excludedReportId
+        """)
+    List<OpenReportProjection> findOpenReportsOnTarget(@Param("targetType") String targetType,
+                                                       @Param("targetId") Integer targetId,
+                                                       @Param("excludedReportId") Integer excludedReportId);
 
     /**
-     * Finds university-level reports by scope, university ID, and status.
+     * Applies a moderator's decision to every other open report on the same target,
+     * since they all share one queue item.
      */
-    Page<Report> findByScopeAndUniversityIdAndStatus(ReportScope scope, Integer universityId, ReportStatus status, Pageable pageable);
+    @Modifying
+    @Query(value = """
+        UPDATE reports SET status = :status, resolved_by_user_id = :moderatorId,
+               resolution_notes = :notes, resolved_at = :resolvedAt, updated_at = :resolvedAt
+        WHERE target_type = :targetType AND target_id = :targetId
+          AND status IN ('PENDING', 'UNDER_REVIEW')
+          AND report_id <> :handledReportId
+        """, nativeQuery = true)
+    int resolveOpenReportsOnTarget(@Param("targetType") String targetType,
+                                   @Param("targetId") Integer targetId,
+                                   @Param("handledReportId") Integer handledReportId,
+                                   @Param("status") String status,
+                                   @Param("moderatorId") Integer moderatorId,
+                                   @Param("notes") String notes,
+                                   @Param("resolvedAt") Instant resolvedAt);
+
+    // ========== METRICS REBUILD ==========
+
+    /**
+     * Open reports per queue and status ({@code label}).
+     */
+    @Query(value = """
+        SELECT r.scope AS scope, r.university_id AS universityId, r.community_id AS communityId,
+               CAST(NULL AS bigint) AS bucket, r.status AS label, CAST(NULL AS integer) AS userId,
+               COUNT(*) AS total, CAST(NULL AS bigint) AS durationSeconds
+        FROM reports r
+        WHERE r.status IN ('PENDING', 'UNDER_REVIEW')
+        GROUP BY r.scope, r.university_id, r.community_id, r.status
+        """, nativeQuery = true)
+    List<ModerationMetricRowProjection> countOpenReportsByScope();
 
     /**
-     * Finds community-level reports by scope, community ID, and status.
+     * Reports filed per queue and epoch hour since {@code since}.
      */
-    Page<Report> findByScopeAndCommunityIdAndStatus(ReportScope scope, Integer communityId, ReportStatus status, Pageable pageable);
+    @Query(value = """
+        SELECT r.scope AS scope, r.university_id AS universityId, r.community_id AS communityId,
+               CAST(FLOOR(EXTRACT(EPOCH FROM r.created_at) / 3600) AS bigint) AS bucket,
+               CAST(NULL AS text) AS label, CAST(NULL AS integer) AS userId,
+               COUNT(*) AS total, CAST(NULL AS bigint) AS durationSeconds
+        FROM reports r
+        WHERE r.created_at >= :since
+        GROUP BY r.scope, r.university_id, r.community_id, bucket
+        """, nativeQuery = true)
+    List<ModerationMetricRowProjection> countFiledReportsByHour(@Param("since") Instant since);
 
     /**
-     * Finds chat reports by scope, university ID (context), and status.
+     * Reports resolved or dismissed per queue and epoch hour since {@code since},
+     * with the summed time from filing to resolution.
      */
-    Page<Report> findByScopeAndUniversityIdAndStatusAndConversationIdIsNotNull(ReportScope scope, Integer universityId, ReportStatus status, Pageable pageable);
+    @Query(value = """
+        SELECT r.scope AS scope, r.university_id AS universityId, r.community_id AS communityId,
+               CAST(FLOOR(EXTRACT(EPOCH FROM r.resolved_at) / 3600) AS bigint) AS bucket,
+               CAST(NULL AS text) AS label, CAST(NULL AS integer) AS userId,
+               COUNT(*) AS total,
+               CAST(SUM(GREATEST(EXTRACT(EPOCH FROM r.resolved_at - r.created_at), 0)) AS bigint) AS durationSeconds
+        FROM reports r
+        WHERE r.status IN ('RESOLVED', 'DISMISSED') AND r.resolved_at >= :since
+        GROUP BY r.scope, r.university_id, r.community_id, bucket
+        """, nativeQuery = true)
+    List<ModerationMetricRowProjection> countResolvedReportsByHour(@Param("since") Instant since);
 
-}
\ No newline at end of file
+    /**
+     * Reports resolved or dismissed per queue, moderator and epoch day since {@code since}.
+     */
+    @Query(value = """
+        SELECT r.scope AS scope, r.university_id AS universityId, r.community_id AS communityId,
+               CAST(FLOOR(EXTRACT(EPOCH FROM r.resolved_at) / 86400) AS bigint) AS bucket,
+               CAST(NULL AS text) AS label, r.resolved_by_user_id AS userId,
+               COUNT(*) AS total, CAST(NULL AS bigint) AS durationSeconds
+        FROM reports r
+        WHERE r.status IN ('RESOLVED', 'DISMISSED') AND r.resolved_at >= :since
+          AND r.resolved_by_user_id IS NOT NULL
+        GROUP BY r.scope, r.university_id, r.community_id, bucket, r.resolved_by_user_id
+        """, nativeQuery = true)
+    List<ModerationMetricRowProjection> countResolutionsByModeratorAndDay(@Param("since") Instant since);
+}
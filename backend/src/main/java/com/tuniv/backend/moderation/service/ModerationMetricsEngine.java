@@ -0,0 +1,456 @@
+package com.tuniv.backend.moderation.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tuniv.backend.moderation.dto.ModerationDashboardStatsDto;
+import com.tuniv.backend.moderation.event.ModerationActionTakenEvent;
+import com.tuniv.backend.moderation.event.ReportStatusChangedEvent;
+import com.tuniv.backend.moderation.model.ReportScope;
+import com.tuniv.backend.moderation.model.ReportStatus;
+import com.tuniv.backend.moderation.projection.ModerationMetricRowProjection;
+import com.tuniv.backend.moderation.repository.ModerationLogRepository;
+import com.tuniv.backend.moderation.repository.ModerationQueueItemRepository;
+import com.tuniv.backend.moderation.repository.ReportRepository;
+import com.tuniv.backend.user.dto.UserSummaryDto;
+import com.tuniv.backend.user.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory moderation metrics per queue: open-report gauges, hourly filed / resolved series for the last
+ * 7 days, and daily moderator and action tallies.
+ *
+ * Counters are updated from {@link ReportStatusChangedEvent} and {@link ModerationActionTakenEvent} after
+ * commit. Like the community stats engine, the metrics are rebuilt periodically from grouped queries over
+ * reports, moderation logs and the queue read-model instead of being snapshotted; that also folds in
+ * changes made on other nodes. Dashboards read a briefly cached DTO, so auto-refresh never hits the database.
+ */
+@Service
+@Slf4j
+public class ModerationMetricsEngine {
+
+    private static final long HOUR_MILLIS = 60 * 60 * 1000L;
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+    private static final int HOURS = 168; // 7 days
+    private static final int DAYS = 7;
+    private static final int SPARKLINE_HOURS = 24;
+    private static final int LEADERBOARD_SIZE = 5;
+
+    /**
+     * One moderation queue: PLATFORM has no context, UNIVERSITY and CHAT are per university,
+     * COMMUNITY is per community (the same split as the queue endpoint).
+     */
+    public record ScopeKey(ReportScope scope, Integer contextId) {
+
+        public static ScopeKey of(ReportScope scope, Integer universityId, Integer communityId) {
+            return switch (scope) {
+                case PLATFORM -> new ScopeKey(scope, null);
+                case UNIVERSITY, CHAT -> new ScopeKey(scope, universityId);
+                case COMMUNITY -> new ScopeKey(scope, communityId);
+            };
+        }
+
+        static ScopeKey of(ModerationMetricRowProjection row) {
+            return of(ReportScope.valueOf(row.getScope()), row.getUniversityId(), row.getCommunityId());
+        }
+    }
+
+    private final ReportRepository reportRepository;
+    private final ModerationLogRepository logRepository;
+    private final ModerationQueueItemRepository queueRepository;
+    private final UserRepository userRepository;
+    private final Cache<ScopeKey, ModerationDashboardStatsDto> dashboardCache;
+
+    private volatile Map<ScopeKey, ScopeMetrics> metrics = new ConcurrentHashMap<>();
+    private volatile boolean rebuilding = false;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Queue<Consumer<Map<ScopeKey, ScopeMetrics>>> changesDuringRebuild = new ConcurrentLinkedQueue<>();
+
+    public ModerationMetricsEngine(
+            ReportRepository reportRepository,
+            ModerationLogRepository logRepository,
+            ModerationQueueItemRepository queueRepository,
+            UserRepository userRepository,
+            @Value("${app.cache.moderation-dashboard.ttl:PT15S}") Duration dashboardTtl) {
+        this.reportRepository = reportRepository;
+        this.logRepository = logRepository;
+        this.queueRepository = queueRepository;
+        this.userRepository = userRepository;
+        this.dashboardCache = CacheBuilder.newBuilder()
+                .maximumSize(10000)
+                .expireAfterWrite(dashboardTtl)
+                .build();
+    }
+
+    // ========== QUERIES ==========
+
+    public ModerationDashboardStatsDto dashboard(ScopeKey key) {
+        ModerationDashboardStatsDto cached = dashboardCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        ModerationDashboardStatsDto stats = computeDashboard(key, System.currentTimeMillis());
+        dashboardCache.put(key, stats);
+        return stats;
+    }
+
+    private ModerationDashboardStatsDto computeDashboard(ScopeKey key, long now) {
+        ScopeMetrics m = metrics.get(key);
+        if (m == null) {
+            m = new ScopeMetrics();
+        }
+        long currentHour = now / HOUR_MILLIS;
+        long firstHourOfDay = (now / DAY_MILLIS) * 24;
+
+        long resolvedThisWeek = m.resolved.sum(currentHour - HOURS + 1, currentHour);
+        long resolutionSeconds = m.resolutionSeconds.sum(currentHour - HOURS + 1, currentHour);
+        double averageHours = resolvedThisWeek > 0 ? resolutionSeconds / (double) resolvedThisWeek / 3600.0 : 0.0;
+
+        Map<Integer, Long> topAuthors = top(m.openReportsByAuthor);
+        Map<Integer, Long> topModerators = top(m.resolvedByModerator.totals(now, DAYS));
+        Map<Integer, String> usernames = usernames(topAuthors, topModerators);
+
+        return new ModerationDashboardStatsDto(
+                Math.max(0, m.pending.get()),
+                Math.max(0, m.underReview.get()),
+                averageHours,
+                m.filed.sum(firstHourOfDay, currentHour),
+                m.resolved.sum(firstHourOfDay, currentHour),
+                m.actions.totals(now, 1),
+                m.filed.series(currentHour, SPARKLINE_HOURS),
+                m.resolved.series(currentHour, SPARKLINE_HOURS),
+                byUsername(topAuthors, usernames),
+                byUsername(topModerators, usernames)
+        );
+    }
+
+    // ========== RECORDING ==========
+
+    @EventListener
+    public void onReportStatusChanged(ReportStatusChangedEvent event) {
+        ScopeKey key = ScopeKey.of(event.getScope(), event.getUniversityId(), event.getCommunityId());
+        record(target -> metricsFor(target, key).apply(event));
+    }
+
+    @EventListener
+    public void onModerationActionTaken(ModerationActionTakenEvent event) {
+        if (event.getScope() == null || event.getAction() == null || event.getAction().actionType() == null) {
+            return;
+        }
+        ScopeKey key = ScopeKey.of(event.getScope(), event.getUniversityId(), event.getCommunityId());
+        String action = event.getAction().actionType();
+        long at = event.getTimestamp();
+        record(target -> metricsFor(target, key).actions.add(at, action, 1));
+    }
+
+    /**
+     * Applies the change once the current transaction commits; rolled back work is never counted.
+     */
+    private void record(Consumer<Map<ScopeKey, ScopeMetrics>> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<Map<ScopeKey, ScopeMetrics>> change) {
+        if (rebuilding) {
+            changesDuringRebuild.add(change);
+        }
+        change.accept(metrics);
+    }
+
+    private static ScopeMetrics metricsFor(Map<ScopeKey, ScopeMetrics> target, ScopeKey key) {
+        return target.computeIfAbsent(key, k -> new ScopeMetrics());
+    }
+
+    // ========== REBUILD ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.moderation.metrics-rebuild-interval:300000}",
+               initialDelayString = "${app.moderation.metrics-rebuild-interval:300000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuilding = true;
+            try {
+                long start = System.currentTimeMillis();
+                Instant now = Instant.ofEpochMilli(start);
+                Instant weekAgo = now.minus(DAYS, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+                Instant firstDay = now.truncatedTo(ChronoUnit.DAYS).minus(DAYS - 1, ChronoUnit.DAYS);
+                Map<ScopeKey, ScopeMetrics> fresh = new ConcurrentHashMap<>();
+
+                for (ModerationMetricRowProjection row : reportRepository.countOpenReportsByScope()) {
+                    AtomicLong gauge = metricsFor(fresh, ScopeKey.of(row)).gauge(ReportStatus.valueOf(row.getLabel()));
+                    if (gauge != null) {
+                        gauge.set(row.getTotal());
+                    }
+                }
+                for (ModerationMetricRowProjection row : reportRepository.countFiledReportsByHour(weekAgo)) {
+                    metricsFor(fresh, ScopeKey.of(row)).filed.seed(row.getBucket(), row.getTotal());
+                }
+                for (ModerationMetricRowProjection row : reportRepository.countResolvedReportsByHour(weekAgo)) {
+                    ScopeMetrics m = metricsFor(fresh, ScopeKey.of(row));
+                    m.resolved.seed(row.getBucket(), row.getTotal());
+                    m.resolutionSeconds.seed(row.getBucket(), row.getDurationSeconds() != null ? row.getDurationSeconds() : 0L);
+                }
+                for (ModerationMetricRowProjection row : reportRepository.countResolutionsByModeratorAndDay(firstDay)) {
+                    metricsFor(fresh, ScopeKey.of(row)).resolvedByModerator.seed(row.getBucket(), row.getUserId(), row.getTotal());
+                }
+                for (ModerationMetricRowProjection row : logRepository.countActionsByDay(firstDay)) {
+                    metricsFor(fresh, ScopeKey.of(row)).actions.seed(row.getBucket(), row.getLabel(), row.getTotal());
+                }
+                for (ModerationMetricRowProjection row : queueRepository.countOpenReportsByAuthor()) {
+                    metricsFor(fresh, ScopeKey.of(row)).openReportsByAuthor.merge(row.getUserId(), row.getTotal(), Long::sum);
+                }
+
+                metrics = fresh;
+                rebuilding = false;
+                // Changes committed while the queries ran may be missing from their results. Replaying them can
+                // count a change twice if the query already saw it; the next rebuild corrects that.
+                Consumer<Map<ScopeKey, ScopeMetrics>> pending;
+                while ((pending = changesDuringRebuild.poll()) != null) {
+                    pending.accept(fresh);
+                }
+                dashboardCache.invalidateAll();
+                log.debug("Moderation metrics rebuilt for {} queues in {} ms", fresh.size(), System.currentTimeMillis() - start);
+            } catch (Exception e) {
+                rebuilding = false;
+                changesDuringRebuild.clear();
+                log.error("Failed to rebuild moderation metrics, keeping the previous counters", e);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // ========== HELPERS ==========
+
+    private static Map<Integer, Long> top(Map<Integer, Long> counts) {
+        Map<Integer, Long> top = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<Integer, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.<Integer, Long>comparingByKey()))
+                .limit(LEADERBOARD_SIZE)
+                .forEach(e -> top.put(e.getKey(), e.getValue()));
+        return top;
+    }
+
+    private Map<Integer, String> usernames(Map<Integer, Long> first, Map<Integer, Long> second) {
+        List<Integer> ids = new ArrayList<>(first.keySet());
+        ids.addAll(second.keySet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Integer, String> usernames = new HashMap<>();
+        for (UserSummaryDto user : userRepository.findSummariesByIds(ids)) {
+            usernames.put(user.id(), user.username());
+        }
+        return usernames;
+    }
+
+    private static Map<String, Long> byUsername(Map<Integer, Long> counts, Map<Integer, String> usernames) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.forEach((userId, count) -> {
+            String username = usernames.get(userId);
+            if (username != null) {
+                result.put(username, count);
+            }
+        });
+        return result;
+    }
+
+    private static boolean isFinal(ReportStatus status) {
+        return status == ReportStatus.RESOLVED || status == ReportStatus.DISMISSED;
+    }
+
+    // ========== INTERNAL STATE ==========
+
+    private static final class ScopeMetrics {
+        final AtomicLong pending = new AtomicLong();
+        final AtomicLong underReview = new AtomicLong();
+        final HourlySeries filed = new HourlySeries();
+        final HourlySeries resolved = new HourlySeries();
+        final HourlySeries resolutionSeconds = new HourlySeries();
+        final Map<Integer, Long> openReportsByAuthor = new ConcurrentHashMap<>();
+        final DailyTally<Integer> resolvedByModerator = new DailyTally<>();
+        final DailyTally<String> actions = new DailyTally<>();
+
+        AtomicLong gauge(ReportStatus status) {
+            if (status == ReportStatus.PENDING) {
+                return pending;
+            }
+            return status == ReportStatus.UNDER_REVIEW ? underReview : null;
+        }
+
+        void apply(ReportStatusChangedEvent e) {
+            ReportStatus previous = e.getPreviousStatus();
+            ReportStatus current = e.getNewStatus();
+            long changedAt = e.getChangedAt().toEpochMilli();
+
+            AtomicLong from = gauge(previous);
+            if (from != null) {
+                from.decrementAndGet();
+            }
+            AtomicLong to = gauge(current);
+            if (to != null) {
+                to.incrementAndGet();
+            }
+
+            if (previous == null) {
+                filed.add(changedAt, 1);
+                adjustAuthor(e.getTargetUserId(), 1);
+            }
+            if (isFinal(current) && !isFinal(previous)) {
+                resolved.add(changedAt, 1);
+                if (e.getReportedAt() != null) {
+                    resolutionSeconds.add(changedAt, Math.max(0, Duration.between(e.getReportedAt(), e.getChangedAt()).toSeconds()));
+                }
+                if (e.getModeratorId() != null) {
+                    resolvedByModerator.add(changedAt, e.getModeratorId(), 1);
+                }
+                if (previous != null) {
+                    adjustAuthor(e.getTargetUserId(), -1);
+                }
+            }
+        }
+
+        private void adjustAuthor(Integer userId, long delta) {
+            if (userId != null) {
+                openReportsByAuthor.compute(userId, (id, n) -> {
+                    long value = (n != null ? n : 0L) + delta;
+                    return value > 0 ? value : null;
+                });
+            }
+        }
+    }
+
+    /**
+     * Hourly counts for the last 7 days in a ring buffer. Each slot remembers which hour it currently holds,
+     * so stale slots are reset lazily instead of by a timer.
+     */
+    private static final class HourlySeries {
+        private final long[] counts = new long[HOURS];
+        private final long[] stamps = newStamps(HOURS);
+
+        synchronized void add(long atMillis, long n) {
+            seed(atMillis / HOUR_MILLIS, n);
+        }
+
+        synchronized void seed(long hour, long n) {
+            int slot = (int) (hour % HOURS);
+            if (stamps[slot] != hour) {
+                stamps[slot] = hour;
+                counts[slot] = 0;
+            }
+            counts[slot] += n;
+        }
+
+        synchronized long sum(long fromHour, long toHour) {
+            long total = 0;
+            for (long hour = Math.max(fromHour, toHour - HOURS + 1); hour <= toHour; hour++) {
+                total += get(hour);
+            }
+            return total;
+        }
+
+        /** The last {@code hours} hourly counts up to {@code currentHour}, oldest first. */
+        synchronized List<Long> series(long currentHour, int hours) {
+            List<Long> values = new ArrayList<>(hours);
+            for (long hour = currentHour - hours + 1; hour <= currentHour; hour++) {
+                values.add(get(hour));
+            }
+            return values;
+        }
+
+        private long get(long hour) {
+            int slot = (int) (hour % HOURS);
+            return stamps[slot] == hour ? counts[slot] : 0L;
+        }
+    }
+
+    /**
+     * Per-key counts for each of the last 7 UTC days, in a ring buffer of maps.
+     */
+    private static final class DailyTally<K> {
+        private final List<Map<K, Long>> days = new ArrayList<>(DAYS);
+        private final long[] stamps = newStamps(DAYS);
+
+        DailyTally() {
+            for (int i = 0; i < DAYS; i++) {
+                days.add(new HashMap<>());
+            }
+        }
+
+        synchronized void add(long atMillis, K key, long n) {
+            seed(atMillis / DAY_MILLIS, key, n);
+        }
+
+        synchronized void seed(long day, K key, long n) {
+            if (key == null) {
+                return;
+            }
+            int slot = (int) (day % DAYS);
+            if (stamps[slot] != day) {
+                stamps[slot] = day;
+                days.get(slot).clear();
+            }
+            days.get(slot).merge(key, n, Long::sum);
+        }
+
+        /** Counts summed over the last {@code dayCount} days, today included. */
+        synchronized Map<K, Long> totals(long nowMillis, int dayCount) {
+            long today = nowMillis / DAY_MILLIS;
+            Map<K, Long> totals = new HashMap<>();
+            for (long day = today - Math.min(dayCount, DAYS) + 1; day <= today; day++) {
+                int slot = (int) (day % DAYS);
+                if (stamps[slot] == day) {
+                    days.get(slot).forEach((key, n) -> totals.merge(key, n, Long::sum));
+                }
+            }
+            return totals;
+        }
+    }
+
+    private static long[] newStamps(int size) {
+        long[] stamps = new long[size];
+        Arrays.fill(stamps, -1L);
+        return stamps;
+    }
+}
@@ -0,0 +1,305 @@
+package com.tuniv.backend.moderation.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tuniv.backend.moderation.dto.ModerationQueueItemDto;
+import com.tuniv.backend.moderation.dto.ModerationQueuePage;
+import com.tuniv.backend.moderation.dto.ReportedContentDto;
+import com.tuniv.backend.moderation.mapper.ModerationMapper;
+import com.tuniv.backend.moderation.model.ModerationQueueItem;
+import com.tuniv.backend.moderation.model.Report;
+import com.tuniv.backend.moderation.model.ReportScope;
+import com.tuniv.backend.moderation.model.ReportStatus;
+import com.tuniv.backend.moderation.repository.ModerationQueueItemRepository;
+import com.tuniv.backend.user.dto.UserSummaryDto;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the moderation queue read-model ({@link ModerationQueueItem}).
+ *
+ * New reports are buffered per target after their transaction commits and flushed on a short interval,
+ * one upsert per target, so a brigade of reports against one post costs a single row write per flush
+ * instead of a contended update per report. Content previews are built once per target and cached,
+ * then stored on the queue item so queue pages never touch the reported entities.
+ *
+ * The buffer is flushed on shutdown. Reports lost with it anyway (a crash) are picked up from the
+ * {@code reports} table by a periodic reconciliation once they are older than any live buffer could be.
+ */
+@Service
+@Slf4j
+public class ModerationQueueService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SNIPPET_LENGTH = 200;
+
+    private static final int DEFAULT_SEVERITY = 1;
+    private static final Map<String, Integer> REASON_SEVERITY = Map.of(
+            "HARASSMENT", 3,
+            "HATE_SPEECH", 3,
+            "VIOLENCE", 3,
+            "SELF_HARM", 3,
+            "ILLEGAL_CONTENT", 3,
+            "INAPPROPRIATE", 2,
+            "MISINFORMATION", 2,
+            "IMPERSONATION", 2
+    );
+
+    private record TargetKey(String targetType, Integer targetId) {}
+
+    /** Reports on one target received since the last flush. */
+    private record PendingReports(ReportScope scope, Integer universityId, Integer communityId, Integer conversationId,
+                                  int count, int severity, Integer latestReportId, String latestReason,
+                                  Instant firstReportedAt, Instant lastReportedAt, ReportedContentDto preview) {
+
+        PendingReports merge(PendingReports other) {
+            PendingReports newer = other.lastReportedAt().isAfter(lastReportedAt) ? other : this;
+            PendingReports older = newer == this ? other : this;
+            return new PendingReports(newer.scope, newer.universityId, newer.communityId, newer.conversationId,
+                    count + other.count, Math.max(severity, other.severity),
+                    newer.latestReportId, newer.latestReason,
+                    older.firstReportedAt, newer.lastReportedAt,
+                    newer.preview != null ? newer.preview : older.preview);
+        }
+    }
+
+    private final ModerationQueueItemRepository queueRepository;
+    private final ModerationMapper moderationMapper;
+    private final Map<TargetKey, PendingReports> pending = new ConcurrentHashMap<>();
+    private final Cache<TargetKey, ReportedContentDto> previewCache;
+    private final Duration reconcileGrace;
+
+    public ModerationQueueService(
+            ModerationQueueItemRepository queueRepository,
+            ModerationMapper moderationMapper,
+            @Value("${app.cache.moderation-preview.max-size:10000}") long previewMaxSize,
+            @Value("${app.cache.moderation-preview.ttl:PT10M}") Duration previewTtl,
+            @Value("${app.moderation.queue-reconcile-grace:PT1M}") Duration reconcileGrace) {
+        this.queueRepository = queueRepository;
+        this.moderationMapper = moderationMapper;
+        this.reconcileGrace = reconcileGrace;
+        this.previewCache = CacheBuilder.newBuilder()
+                .maximumSize(previewMaxSize)
+                .expireAfterWrite(previewTtl)
+                .build();
+    }
+
+    // ========== INTAKE ==========
+
+    /**
+     * The content preview of a reported target, built with {@code loader} only if it is not cached yet.
+     */
+    public ReportedContentDto preview(String targetType, Integer targetId, Supplier<ReportedContentDto> loader) {
+        TargetKey key = new TargetKey(targetType, targetId);
+        ReportedContentDto cached = previewCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        ReportedContentDto preview = loader.get();
+        if (preview != null) {
+            previewCache.put(key, preview);
+        }
+        return preview;
+    }
+
+    /**
+     * Queues a newly saved report once the current transaction commits.
+     */
+    public void enqueue(Report report, Integer targetId, ReportedContentDto preview) {
+        Instant reportedAt = report.getCreatedAt() != null ? report.getCreatedAt() : Instant.now();
+        TargetKey key = new TargetKey(report.getTargetType(), targetId);
+        PendingReports batch = new PendingReports(report.getScope(), report.getUniversityId(), report.getCommunityId(),
+                report.getConversationId(), 1, severityOf(report.getReason()), report.getReportId(), report.getReason(),
+                reportedAt, reportedAt, preview);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.merge(key, batch, PendingReports::merge);
+                }
+            });
+        } else {
+            pending.merge(key, batch, PendingReports::merge);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.moderation.queue-flush-interval:1000}")
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        int flushed = 0;
+        for (TargetKey key : List.copyOf(pending.keySet())) {
+            PendingReports batch = pending.remove(key);
+            if (batch == null) {
+                continue;
+            }
+            try {
+                upsert(key, batch);
+                flushed++;
+            } catch (Exception e) {
+                // Keep the reports for the next flush rather than dropping them from the queue.
+                pending.merge(key, batch, PendingReports::merge);
+                log.warn("Failed to flush {} report(s) on {} {} to the moderation queue: {}",
+                        batch.count(), key.targetType(), key.targetId(), e.getMessage());
+            }
+        }
+        log.debug("Flushed reports on {} target(s) to the moderation queue", flushed);
+    }
+
+    /**
+     * Queues pending reports that were committed but never flushed. Only reports older than the grace
+     * period are considered, so this never races a running node's buffer.
+     */
+    @Scheduled(fixedDelayString = "${app.moderation.queue-reconcile-interval:300000}",
+               initialDelayString = "${app.moderation.queue-reconcile-interval:300000}")
+    public void reconcile() {
+        try {
+            int repaired = queueRepository.reconcileMissedReports(Instant.now().minus(reconcileGrace));
+            if (repaired > 0) {
+                log.warn("Re-queued {} target(s) whose reports were never flushed to the moderation queue", repaired);
+            }
+        } catch (Exception e) {
+            log.warn("Moderation queue reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Takes the target's queue item out of the queue after a moderator decision. Buffered reports that
+     * predate the decision are dropped too, since the decision already covered them.
+     */
+    public void close(String targetType, Integer targetId, ReportStatus status, Instant resolvedAt) {
+        queueRepository.close(targetType, targetId, status, resolvedAt);
+
+        TargetKey key = new TargetKey(targetType, targetId);
+        Runnable dropCovered = () -> {
+            pending.computeIfPresent(key, (k, batch) -> batch.lastReportedAt().isAfter(resolvedAt) ? batch : null);
+            previewCache.invalidate(key);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dropCovered.run();
+                }
+            });
+        } else {
+            dropCovered.run();
+        }
+    }
+
+    // ========== QUEUE READS ==========
+
+    /**
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public ModerationQueuePage getQueue(ReportScope scope, Integer universityId, Integer communityId,
+                                        String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Integer afterPriority = null;
+        Instant afterFirstReportedAt = null;
+        Integer afterItemId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = cursor.split(":");
+            try {
+                afterPriority = Integer.valueOf(parts[0]);
+                afterFirstReportedAt = Instant.EPOCH.plus(Long.parseLong(parts[1]), ChronoUnit.MICROS);
+                afterItemId = Integer.valueOf(parts[2]);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid queue cursor: " + cursor);
+            }
+        }
+
+        List<ModerationQueueItem> rows = queueRepository.findQueuePage(scope.name(), universityId, communityId,
+                afterPriority, afterFirstReportedAt, afterItemId, limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<ModerationQueueItem> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        List<ModerationQueueItemDto> items = new ArrayList<>(pageRows.size());
+        for (ModerationQueueItem item : pageRows) {
+            items.add(new ModerationQueueItemDto(
+                    item.getItemId(),
+                    item.getScope(),
+                    item.getReportCount(),
+                    item.getPriority(),
+                    item.getLatestReason(),
+                    item.getLatestReportId(),
+                    item.getFirstReportedAt(),
+                    item.getLastReportedAt(),
+                    toContentDto(item)
+            ));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            ModerationQueueItem last = pageRows.get(pageRows.size() - 1);
+            // first_reported_at has microsecond precision; a millisecond cursor would repeat rows on the next page
+            nextCursor = last.getPriority() + ":" + ChronoUnit.MICROS.between(Instant.EPOCH, last.getFirstReportedAt())
+                    + ":" + last.getItemId();
+        }
+        return new ModerationQueuePage(List.copyOf(items), nextCursor, hasMore);
+    }
+
+    public Optional<ModerationQueueItem> findItem(String targetType, Integer targetId) {
+        return queueRepository.findByTargetTypeAndTargetId(targetType, targetId);
+    }
+
+    /**
+     * The content preview stored on a queue item, or null if none was captured.
+     */
+    public ReportedContentDto toContentDto(ModerationQueueItem item) {
+        if (item.getContentUrl() == null && item.getContentSnippet() == null) {
+            return null;
+        }
+        UserSummaryDto author = item.getContentAuthorId() != null
+                ? new UserSummaryDto(item.getContentAuthorId(), item.getContentAuthorUsername(), null, null)
+                : null;
+        return new ReportedContentDto(item.getTargetId(), moderationMapper.targetTypeToContainerType(item.getTargetType()),
+                author, item.getContentUrl(), item.getContentSnippet());
+    }
+
+    // ========== HELPERS ==========
+
+    private void upsert(TargetKey key, PendingReports batch) {
+        ReportedContentDto preview = batch.preview();
+        UserSummaryDto author = preview != null ? preview.contentAuthor() : null;
+        String snippet = preview != null ? preview.contentSnippet() : null;
+        if (snippet != null && snippet.length() > MAX_SNIPPET_LENGTH) {
+            snippet = snippet.substring(0, MAX_SNIPPET_LENGTH);
+        }
+        queueRepository.upsertReports(
+                key.targetType(), key.targetId(), batch.scope().name(),
+                batch.universityId(), batch.communityId(), batch.conversationId(),
+                batch.count(), batch.severity(), batch.latestReportId(), batch.latestReason(),
+                batch.firstReportedAt(), batch.lastReportedAt(),
+                author != null ? author.id() : null, author != null ? author.username() : null,
+                preview != null ? preview.contentUrl() : null, snippet);
+    }
+
+    private static int severityOf(String reason) {
+        return reason != null ? REASON_SEVERITY.getOrDefault(reason.toUpperCase(), DEFAULT_SEVERITY) : DEFAULT_SEVERITY;
+    }
+}
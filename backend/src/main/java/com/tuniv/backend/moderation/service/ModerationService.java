@@ -1,10 +1,9 @@
 package com.tuniv.backend.moderation.service;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-
 import com.tuniv.backend.moderation.dto.CreateReportRequest;
 import com.tuniv.backend.moderation.dto.HandleReportRequest;
+import com.tuniv.backend.moderation.dto.ModerationDashboardStatsDto;
+import com.tuniv.backend.moderation.dto.ModerationQueuePage;
 import com.tuniv.backend.moderation.dto.ReportDetailDto;
 import com.tuniv.backend.moderation.dto.ReportSummaryDto;
 import com.tuniv.backend.moderation.model.ReportScope;
@@ -32,15 +31,26 @@ public interface ModerationService {
     ReportDetailDto handleReport(Integer reportId, HandleReportRequest request, User moderator);
 
     /**
-     * Gets a paginated list of reports for a specific moderation queue.
+     * Gets one page of a moderation queue. Reports on the same content are folded into a single item.
+     *
+     * @param scope        The scope to query (PLATFORM, UNIVERSITY, COMMUNITY, CHAT).
+     * @param universityId Optional university ID (for UNIVERSITY and CHAT scopes).
+     * @param communityId  Optional community ID (for COMMUNITY scope).
+     * @param cursor       The {@code nextCursor} of the previous page, or null for the first page.
+     * @param size         Maximum number of items.
+     * @return A page of queue items, highest priority and oldest first.
+     */
+    ModerationQueuePage getQueue(ReportScope scope, Integer universityId, Integer communityId, String cursor, int size);
+
+    /**
+     * Gets the dashboard statistics of a moderation queue.
      *
      * @param scope        The scope to query (PLATFORM, UNIVERSITY, COMMUNITY, CHAT).
      * @param universityId Optional university ID (for UNIVERSITY and CHAT scopes).
      * @param communityId  Optional community ID (for COMMUNITY scope).
-     * @param pageable     Pagination information.
-     * @return A page of report summaries.
+     * @return Queue health, activity, sparklines and leaderboards.
      */
-    Page<ReportSummaryDto> getReportsByScope(ReportScope scope, Integer universityId, Integer communityId, Pageable pageable);
+    ModerationDashboardStatsDto getDashboardStats(ReportScope scope, Integer universityId, Integer communityId);
 
     /**
      * Gets the detailed view of a single report.
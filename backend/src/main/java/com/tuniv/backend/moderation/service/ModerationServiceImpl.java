@@ -4,11 +4,15 @@ import com.tuniv.backend.authorization.model.CommunityPermissions;
 import com.tuniv.backend.authorization.model.UniversityPermissions;
 import com.tuniv.backend.authorization.service.PermissionService; // ✅ ADDED
 import com.tuniv.backend.moderation.dto.*;
+import com.tuniv.backend.moderation.event.ModerationActionTakenEvent;
+import com.tuniv.backend.moderation.event.ReportStatusChangedEvent;
 import com.tuniv.backend.moderation.mapper.ModerationMapper;
 import com.tuniv.backend.moderation.model.*;
+import com.tuniv.backend.moderation.projection.OpenReportProjection;
 import com.tuniv.backend.moderation.repository.ModerationLogRepository;
 import com.tuniv.backend.moderation.repository.ReportRepository;
 import com.tuniv.backend.shared.exception.ResourceNotFoundException;
+import com.tuniv.backend.shared.model.ContainerType;
 import com.tuniv.backend.university.model.University; // ✅ ADDED
 import com.tuniv.backend.university.repository.UniversityRepository; // ✅ ADDED
 import com.tuniv.backend.user.model.User;
@@ -21,8 +25,7 @@ import com.tuniv.backend.chat.model.Message;
 import com.tuniv.backend.chat.repository.MessageRepository; // Assuming this exists
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException; // Use this for auth
 import org.springframework.security.core.context.SecurityContextHolder; // ✅ ADDED
 import org.springframework.security.core.userdetails.UsernameNotFoundException; // ✅ ADDED
@@ -31,6 +34,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -48,12 +52,23 @@ public class ModerationServiceImpl implements ModerationService {
     private final CommunityRepository communityRepository;
     private final MessageRepository messageRepository;
     private final UniversityRepository universityRepository; // ✅ ADDED
+    private final ModerationQueueService moderationQueueService;
+    private final ModerationMetricsEngine moderationMetricsEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
     // You will need a service to check user permissions
     private final PermissionService permissionService; // ✅ ADDED
 
     @Override
     public ReportSummaryDto createReport(CreateReportRequest request, User reporter) {
+        String targetType = getTargetTypeString(request.contentType());
+
+        // Repeat reports from the same user on the same content collapse into their open report
+        Optional<Integer> openReportId = reportRepository.findOpenReportId(reporter.getUserId(), targetType, request.contentId());
+        if (openReportId.isPresent()) {
+            return moderationMapper.toReportSummaryDto(findReportById(openReportId.get()));
+        }
+
         Report report = new Report();
         report.setReporter(reporter);
         report.setReason(request.reason());
@@ -63,12 +78,23 @@ public class ModerationServiceImpl implements ModerationService {
         // 1. Find the target entity and set polymorphic fields
         Object targetEntity = findTargetEntity(request.contentType(), request.contentId());
         report.setTarget(targetEntity);
-        report.setTargetType(getTargetTypeString(request.contentType()));
+        report.setTargetType(targetType);
 
         // 2. Determine the scope and denormalized IDs
         populateReportScope(report, targetEntity);
         
         Report savedReport = reportRepository.save(report);
+
+        // 3. Fold it into the target's queue item (the preview is built once per target)
+        ReportedContentDto preview = moderationQueueService.preview(targetType, request.contentId(),
+                () -> moderationMapper.mapReportToReportedContentDto(savedReport));
+        moderationQueueService.enqueue(savedReport, request.contentId(), preview);
+
+        eventPublisher.publishEvent(new ReportStatusChangedEvent(this, savedReport.getScope(),
+                savedReport.getUniversityId(), savedReport.getCommunityId(), null, ReportStatus.PENDING,
+                savedReport.getCreatedAt(), savedReport.getCreatedAt(), null,
+                preview != null && preview.contentAuthor() != null ? preview.contentAuthor().id() : null));
+
         return moderationMapper.toReportSummaryDto(savedReport);
     }
 
@@ -84,6 +110,7 @@ public class ModerationServiceImpl implements ModerationService {
         }
 
         // 2. Update report status
+        ReportStatus previousStatus = report.getStatus();
         report.setStatus(request.newStatus());
         report.setResolvedBy(moderator);
         report.setResolutionNotes(request.moderatorNotes());
@@ -95,45 +122,65 @@ public class ModerationServiceImpl implements ModerationService {
         }
 
         Report savedReport = reportRepository.save(report);
-        
-        // 4. Return the full updated detail DTO
+
+        Integer targetUserId = findTargetUserId(report);
+        publishStatusChange(report, previousStatus, report.getCreatedAt(), moderator, targetUserId);
+
+        // 4. A final decision covers every open report on the same content and takes it out of the queue
+        if (request.newStatus() == ReportStatus.RESOLVED || request.newStatus() == ReportStatus.DISMISSED) {
+            for (OpenReportProjection other : reportRepository.findOpenReportsOnTarget(report.getTargetType(), report.getTargetId(), reportId)) {
+                publishStatusChange(report, other.getStatus(), other.getCreatedAt(), moderator, targetUserId);
+            }
+            reportRepository.resolveOpenReportsOnTarget(report.getTargetType(), report.getTargetId(), reportId,
+                    request.newStatus().name(), moderator.getUserId(), request.moderatorNotes(), report.getResolvedAt());
+            moderationQueueService.close(report.getTargetType(), report.getTargetId(), request.newStatus(), report.getResolvedAt());
+        }
+
+        // 5. Return the full updated detail DTO
         return getReportDetails(savedReport.getReportId());
     }
 
     @Override
-    public Page<ReportSummaryDto> getReportsByScope(ReportScope scope, Integer universityId, Integer communityId, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public ModerationQueuePage getQueue(ReportScope scope, Integer universityId, Integer communityId, String cursor, int size) {
         User currentUser = getCurrentUser(); // Helper to get from SecurityContext
-        
+
         // 1. Authorization Check: Can the current user access this queue?
         checkModeratorPermissions(currentUser, scope, universityId, communityId);
 
-        // 2. Fetch the correct queue from the repository
-        Page<Report> reportsPage;
-        ReportStatus pendingStatus = ReportStatus.PENDING; // Or combine PENDING and UNDER_REVIEW
-
+        // 2. Scope-specific filters
         switch (scope) {
             case PLATFORM:
-                reportsPage = reportRepository.findByScopeAndStatus(scope, pendingStatus, pageable);
+                universityId = null;
+                communityId = null;
                 break;
             case UNIVERSITY:
-                if (universityId == null) throw new IllegalArgumentException("University ID is required for UNIVERSITY scope.");
-                reportsPage = reportRepository.findByScopeAndUniversityIdAndStatus(scope, universityId, pendingStatus, pageable);
+            case CHAT:
+                if (universityId == null) throw new IllegalArgumentException("University ID is required for " + scope + " scope.");
+                communityId = null;
                 break;
             case COMMUNITY:
                 if (communityId == null) throw new IllegalArgumentException("Community ID is required for COMMUNITY scope.");
-                reportsPage = reportRepository.findByScopeAndCommunityIdAndStatus(scope, communityId, pendingStatus, pageable);
+                universityId = null;
                 break;
-            case CHAT:
-                 if (universityId == null) throw new IllegalArgumentException("University ID is required for CHAT scope context.");
-                 // This query seems specific, ensure it's what you need
-                 reportsPage = reportRepository.findByScopeAndUniversityIdAndStatusAndConversationIdIsNotNull(scope, universityId, pendingStatus, pageable);
-                 break;
             default:
                 throw new IllegalArgumentException("Unknown report scope: " + scope);
         }
 
-        // 3. Map to DTOs
-        return reportsPage.map(moderationMapper::toReportSummaryDto);
+        // 3. Page the queue read-model
+        return moderationQueueService.getQueue(scope, universityId, communityId, cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ModerationDashboardStatsDto getDashboardStats(ReportScope scope, Integer universityId, Integer communityId) {
+        User currentUser = getCurrentUser();
+
+        // 1. Authorization Check: Can the current user access this queue?
+        checkModeratorPermissions(currentUser, scope, universityId, communityId);
+
+        // 2. Served from the in-memory metrics engine
+        return moderationMetricsEngine.dashboard(ModerationMetricsEngine.ScopeKey.of(scope, universityId, communityId));
     }
 
     @Override
@@ -144,20 +191,25 @@ public class ModerationServiceImpl implements ModerationService {
         // 1. Authorization Check
         checkModeratorPermissions(currentUser, report.getScope(), report.getUniversityId(), report.getCommunityId());
 
-        // 2. Get the target user (author of the content)
-        User targetUser = getTargetUser(report.getTarget());
+        // 2. Content preview from the queue item; only load the target if it has not been queued yet
+        ReportedContentDto reportedContent = moderationQueueService.findItem(report.getTargetType(), report.getTargetId())
+                .map(moderationQueueService::toContentDto)
+                .orElseGet(() -> moderationMapper.mapReportToReportedContentDto(report));
 
-        // 3. Fetch moderation history for that user
+        // 3. Fetch moderation history for the content's author
+        Integer targetUserId = reportedContent != null && reportedContent.contentAuthor() != null
+                ? reportedContent.contentAuthor().id()
+                : null;
         List<ModerationLogDto> historyLogs = List.of();
-        if (targetUser != null) {
-            historyLogs = logRepository.findTop10ByTargetUserOrderByCreatedAtDesc(targetUser)
+        if (targetUserId != null) {
+            historyLogs = logRepository.findTop10ByTargetUser_UserIdOrderByCreatedAtDesc(targetUserId)
                     .stream()
                     .map(moderationMapper::toModerationLogDto)
                     .collect(Collectors.toList());
         }
         
         // 4. Map to DTO
-        return moderationMapper.toReportDetailDto(report, historyLogs);
+        return moderationMapper.toReportDetailDto(report, reportedContent, historyLogs);
     }
 
     // ========== HELPER METHODS ==========
@@ -173,7 +225,11 @@ public class ModerationServiceImpl implements ModerationService {
         log.setAction(action.actionType());
         log.setJustification(action.reason());
         log.setTargetUser(targetUser);
-        log.setTargetPost(targetPost); // Will be null if target is not a Post
+        log.setTarget(target);
+        log.setTargetType(report.getTargetType());
+        log.setScope(report.getScope());
+        log.setUniversityId(report.getUniversityId());
+        log.setCommunityId(report.getCommunityId());
         logRepository.save(log);
 
         // 2. Perform the action
@@ -198,10 +254,28 @@ public class ModerationServiceImpl implements ModerationService {
             // Add other cases like "REMOVE_CONTENT", "SUSPEND_USER", etc.
         }
         
-        // 3. Notify user if requested
-        if (action.notifyUser() && targetUser != null) {
-             // eventPublisher.publishEvent(new ModerationActionTakenEvent(targetUser, ...));
-        }
+        // 3. Announce the action (metrics, and user notification when action.notifyUser() is set)
+        eventPublisher.publishEvent(new ModerationActionTakenEvent(this, action, moderator, targetUser, target,
+                report.getScope(), report.getUniversityId(), report.getCommunityId()));
+    }
+
+    private void publishStatusChange(Report report, ReportStatus previousStatus, Instant reportedAt,
+                                     User moderator, Integer targetUserId) {
+        eventPublisher.publishEvent(new ReportStatusChangedEvent(this, report.getScope(), report.getUniversityId(),
+                report.getCommunityId(), previousStatus, report.getStatus(), reportedAt, report.getResolvedAt(),
+                moderator.getUserId(), targetUserId));
+    }
+
+    /**
+     * Author of the reported content, from the queue item when available to avoid loading the target.
+     */
+    private Integer findTargetUserId(Report report) {
+        return moderationQueueService.findItem(report.getTargetType(), report.getTargetId())
+                .map(ModerationQueueItem::getContentAuthorId)
+                .orElseGet(() -> {
+                    User targetUser = getTargetUser(report.getTarget());
+                    return targetUser != null ? targetUser.getUserId() : null;
+                });
     }
 
     private void populateReportScope(Report report, Object targetEntity) {
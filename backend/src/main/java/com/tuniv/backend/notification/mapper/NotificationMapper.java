@@ -1,18 +1,31 @@
 package com.tuniv.backend.notification.mapper;
 
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.stereotype.Component;
+
 import com.tuniv.backend.notification.dto.NotificationDto;
 import com.tuniv.backend.notification.model.Notification;
+import com.tuniv.backend.user.dto.UserSummaryDto;
+import com.tuniv.backend.user.service.UserSummaryCache;
+
+import lombok.RequiredArgsConstructor;
 
+@Component
+@RequiredArgsConstructor
 public class NotificationMapper {
 
-    public static NotificationDto toDto(Notification notification) {
+    private final UserSummaryCache userSummaryCache;
+
+    public NotificationDto toDto(Notification notification) {
         if (notification == null) {
             return null;
         }
 
         return NotificationDto.builder()
                 .notificationId(notification.getNotificationId())
-                .actorUsername(notification.getActor() != null ? notification.getActor().getUsername() : "System")
+                .actorUsername(actorUsername(notification))
                 .message(notification.getMessage())
                 .link(notification.getLink())
                 .isRead(notification.isRead())
@@ -20,5 +33,26 @@ public class NotificationMapper {
                 .type(notification.getType())
                 .build();
     }
-}
 
+    /**
+     * Maps a list of notifications, resolving all actors with a single cache lookup.
+     */
+    public List<NotificationDto> toDtoList(List<Notification> notifications) {
+        userSummaryCache.getAll(notifications.stream()
+                .map(Notification::getActor)
+                .filter(Objects::nonNull)
+                .map(actor -> actor.getUserId())
+                .toList());
+        return notifications.stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    private String actorUsername(Notification notification) {
+        if (notification.getActor() == null) {
+            return "System";
+        }
+        UserSummaryDto actor = userSummaryCache.get(notification.getActor().getUserId());
+        return actor != null ? actor.username() : null;
+    }
+}
@@ -42,7 +42,8 @@ import com.tuniv.backend.shared.model.Auditable;
 public class Notification extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_id_seq")
+    @SequenceGenerator(name = "notification_id_seq", sequenceName = "notifications_notification_id_seq", allocationSize = 50)
     private Integer notificationId;
 
     // ========== OPTIMISTIC LOCKING ==========
@@ -9,6 +9,9 @@ import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import com.tuniv.backend.config.AsyncConfig;
+import com.tuniv.backend.shared.service.ResourceLimiters;
+
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -19,12 +22,13 @@ public class AuthEmailService {
 
     private final JavaMailSender mailSender;
     private final TemplateEngine templateEngine;
+    private final ResourceLimiters resourceLimiters;
 
     @Value("${app.frontend.url}") // Inject the frontend URL from application.properties
     private String frontendUrl;
 
     
-    @Async
+    @Async(AsyncConfig.EMAIL_EXECUTOR)
     public void sendPasswordResetEmail(String to, String token) {
         try {
             // Construct the reset URL using the injected frontendUrl
@@ -47,14 +51,14 @@ public class AuthEmailService {
             // Add the same logo here
             helper.addInline("logoImage", new ClassPathResource("static/images/logo.svg"));
 
-            mailSender.send(mimeMessage);
+            resourceLimiters.smtp().run(() -> mailSender.send(mimeMessage));
             System.out.println("HTML Password reset email sent to " + to);
 
         } catch (MessagingException e) {
             System.err.println("Failed to send email: " + e.getMessage());
         }
     }
-     @Async
+    @Async(AsyncConfig.EMAIL_EXECUTOR)
     public void sendVerificationEmail(String to, String token) {
         try {
             String verificationUrl = frontendUrl + "/verify-email?token=" + token;
@@ -77,7 +81,7 @@ public class AuthEmailService {
             helper.setText(htmlContent, true);
             helper.addInline("logoImage", new ClassPathResource("static/images/logo.svg"));
 
-            mailSender.send(mimeMessage);
+            resourceLimiters.smtp().run(() -> mailSender.send(mimeMessage));
             System.out.println("HTML Verification email sent to " + to);
 
         } catch (MessagingException e) {
@@ -86,7 +90,7 @@ public class AuthEmailService {
     }
 
 
-    @Async
+    @Async(AsyncConfig.EMAIL_EXECUTOR)
 public void sendUniversityVerificationEmail(String to, String token) {
     try {
         String verificationUrl = frontendUrl + "/verify-university?token=" + token; // A new frontend route
@@ -106,7 +110,7 @@ public void sendUniversityVerificationEmail(String to, String token) {
         helper.setSubject(subject);
         helper.setText(htmlContent, true);
 
-        mailSender.send(mimeMessage);
+        resourceLimiters.smtp().run(() -> mailSender.send(mimeMessage));
         System.out.println("University verification email sent to " + to);
 
     } catch (MessagingException e) {
@@ -1,7 +1,11 @@
 package com.tuniv.backend.notification.service;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
@@ -19,10 +23,11 @@ import org.thymeleaf.context.Context;
 import com.tuniv.backend.chat.model.Message;
 import com.tuniv.backend.chat.model.Reaction;
 import com.tuniv.backend.community.model.Community;
+import com.tuniv.backend.config.AsyncConfig;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
-import com.tuniv.backend.follow.model.Follow;
-import com.tuniv.backend.follow.model.FollowableType;
-import com.tuniv.backend.follow.repository.FollowRepository;
+import com.tuniv.backend.follow.projection.FollowTargetProjection;
+import com.tuniv.backend.follow.repository.FollowableRepository;
+import com.tuniv.backend.follow.service.FollowGraphService;
 import com.tuniv.backend.notification.dto.NotificationDto;
 import com.tuniv.backend.notification.event.NewAnswerEvent;
 import com.tuniv.backend.notification.event.NewChatMessageReactionEvent;
@@ -46,9 +51,12 @@ import com.tuniv.backend.university.model.Module;
 import com.tuniv.backend.university.model.University;
 import com.tuniv.backend.user.model.User;
 import com.tuniv.backend.user.repository.UserRepository;
+import com.tuniv.backend.shared.service.ResourceLimiters;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -58,11 +66,16 @@ import lombok.extern.slf4j.Slf4j;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final FollowRepository followRepository;
+    private final FollowableRepository followableRepository;
+    private final FollowGraphService followGraphService;
     private final UserRepository userRepository;
     private final JavaMailSender mailSender;
     private final TemplateEngine templateEngine;
+    private final ResourceLimiters resourceLimiters;
+    private final Executor emailExecutor; // SMTP runs on its own bulkhead so a slow server cannot stall fan-out
     private final SimpMessageSendingOperations messagingTemplate;
+    private final NotificationMapper notificationMapper;
+    private final MeterRegistry meterRegistry;
 
     @Value("${app.frontend.url}")
     private String frontendUrl;
@@ -72,7 +85,7 @@ public class NotificationService {
     }
 
     // ✅ UPDATED: Handle when someone follows you
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     @EventListener
     public void handleNewFollower(NewFollowerEvent event) {
         User follower = event.getFollower();
@@ -86,108 +99,67 @@ public class NotificationService {
         createNotificationAndSendEmail(followedUser, follower, NotificationType.NEW_FOLLOWER, message, link);
     }
 
-    // ✅ UPDATED: Handle new topic from followed user
-    @Async
+    /**
+     * Notifies everyone following the topic's author, community, module or tags, exactly once each.
+     * Recipients come from the in-memory follow graph; when someone follows several of these,
+     * the most specific reason wins (author, then community, then module, then tag).
+     */
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     @EventListener
-    public void handleNewTopicFromFollowedUser(NewTopicEvent event) {
+    public void handleNewTopicForFollowers(NewTopicEvent event) {
         Topic topic = event.getTopic();
         User author = topic.getAuthor();
-        
-        // Get all users who follow this author
-        List<Follow> followers = followRepository.findByTargetTypeAndTargetId(
-            FollowableType.USER, author.getUserId()
-        );
-        
-        String message = author.getUsername() + " created a new " + topic.getTopicType().toString().toLowerCase() + ": \"" + truncate(topic.getTitle(), 30) + "\"";
+        String kind = topic.getTopicType().toString().toLowerCase();
+        String title = truncate(topic.getTitle(), 30);
         String link = "/topics/" + topic.getId();
-        
-        followers.forEach(follow -> {
-            User recipient = follow.getUser();
-            if (!recipient.equals(author)) {
-                createNotificationAndSendEmail(recipient, author, NotificationType.NEW_QUESTION_FROM_FOLLOWED_USER, message, link);
-            }
-        });
-    }
 
-    // ✅ UPDATED: Handle new topic in followed community
-    @Async
-    @EventListener
-    public void handleNewTopicInFollowedCommunity(NewTopicEvent event) {
-        Topic topic = event.getTopic();
-        if (topic.getCommunity() == null) return;
-        
+        Set<Integer> notified = new HashSet<>();
+        notified.add(author.getUserId());
+
+        followableRepository.findIdByUserId(author.getUserId()).ifPresent(followableId ->
+            notifyFollowers(List.of(followableId), notified, author, NotificationType.NEW_QUESTION_FROM_FOLLOWED_USER,
+                author.getUsername() + " created a new " + kind + ": \"" + title + "\"", link));
+
         Community community = topic.getCommunity();
-        User author = topic.getAuthor();
-        
-        // Get all users who follow this community
-        List<Follow> followers = followRepository.findByTargetTypeAndTargetId(
-            FollowableType.COMMUNITY, community.getCommunityId()
-        );
-        
-        String message = "New " + topic.getTopicType().toString().toLowerCase() + " in " + community.getName() + ": \"" + truncate(topic.getTitle(), 30) + "\"";
-        String link = "/topics/" + topic.getId();
-        
-        followers.forEach(follow -> {
-            User recipient = follow.getUser();
-            if (!recipient.equals(author)) {
-                createNotificationAndSendEmail(recipient, author, NotificationType.NEW_QUESTION_IN_FOLLOWED_COMMUNITY, message, link);
-            }
-        });
-    }
+        if (community != null) {
+            followableRepository.findIdByCommunityId(community.getCommunityId()).ifPresent(followableId ->
+                notifyFollowers(List.of(followableId), notified, author, NotificationType.NEW_QUESTION_IN_FOLLOWED_COMMUNITY,
+                    "New " + kind + " in " + community.getName() + ": \"" + title + "\"", link));
+        }
 
-    // ✅ UPDATED: Handle new topic in followed module
-    @Async
-    @EventListener
-    public void handleNewTopicInFollowedModule(NewTopicEvent event) {
-        Topic topic = event.getTopic();
-        if (topic.getModule() == null) return;
-        
         Module module = topic.getModule();
-        User author = topic.getAuthor();
-        
-        // Get all users who follow this module
-        List<Follow> followers = followRepository.findByTargetTypeAndTargetId(
-            FollowableType.MODULE, module.getModuleId()
-        );
-        
-        String message = "New " + topic.getTopicType().toString().toLowerCase() + " in " + module.getName() + ": \"" + truncate(topic.getTitle(), 30) + "\"";
-        String link = "/topics/" + topic.getId();
-        
-        followers.forEach(follow -> {
-            User recipient = follow.getUser();
-            if (!recipient.equals(author)) {
-                createNotificationAndSendEmail(recipient, author, NotificationType.NEW_QUESTION_IN_FOLLOWED_MODULE, message, link);
-            }
-        });
+        if (module != null) {
+            followableRepository.findIdByModuleId(module.getModuleId()).ifPresent(followableId ->
+                notifyFollowers(List.of(followableId), notified, author, NotificationType.NEW_QUESTION_IN_FOLLOWED_MODULE,
+                    "New " + kind + " in " + module.getName() + ": \"" + title + "\"", link));
+        }
+
+        for (FollowTargetProjection tag : followableRepository.findTagTargetsByTopicId(topic.getId())) {
+            notifyFollowers(List.of(tag.getFollowableId()), notified, author, NotificationType.NEW_QUESTION_WITH_FOLLOWED_TAG,
+                "New " + kind + " with tag #" + tag.getName() + ": \"" + title + "\"", link);
+        }
     }
 
-    // ✅ UPDATED: Handle new topic with followed tag
-    @Async
-    @EventListener
-    public void handleNewTopicWithFollowedTag(NewTopicEvent event) {
-        Topic topic = event.getTopic();
-        User author = topic.getAuthor();
-        
-        // For each tag in the topic, notify users who follow that tag
-        topic.getTags().forEach(tag -> {
-            List<Follow> followers = followRepository.findByTargetTypeAndTargetId(
-                FollowableType.TAG, tag.getId()
-            );
-            
-            String message = "New " + topic.getTopicType().toString().toLowerCase() + " with tag #" + tag.getName() + ": \"" + truncate(topic.getTitle(), 30) + "\"";
-            String link = "/topics/" + topic.getId();
-            
-            followers.forEach(follow -> {
-                User recipient = follow.getUser();
-                if (!recipient.equals(author)) {
-                    createNotificationAndSendEmail(recipient, author, NotificationType.NEW_QUESTION_WITH_FOLLOWED_TAG, message, link);
-                }
-            });
-        });
+    private void notifyFollowers(Collection<Long> followableIds, Set<Integer> alreadyNotified, User actor,
+                                 NotificationType type, String message, String link) {
+        List<Integer> recipientIds = Arrays.stream(followGraphService.notificationRecipientsOf(followableIds))
+                .boxed()
+                .filter(alreadyNotified::add)
+                .toList();
+        recordFanOut(type, recipientIds.size());
+        if (recipientIds.isEmpty()) {
+            return;
+        }
+        // One saveAll, so the inserts go out as JDBC batches instead of one round trip per follower
+        List<Notification> notifications = userRepository.findAllById(recipientIds).stream()
+                .map(recipient -> buildNotification(recipient, actor, type, message, link))
+                .toList();
+        notificationRepository.saveAll(notifications);
+        notifications.forEach(this::deliver);
     }
 
     // ✅ UPDATED: Handle new answer (reply on QUESTION topic)
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     @EventListener
     public void handleNewAnswer(NewAnswerEvent event) {
         Reply answer = event.getAnswer();
@@ -203,7 +175,7 @@ public class NotificationService {
     }
 
     // ✅ NEW: Handle new comment (reply on POST topic or nested reply)
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     @EventListener
     public void handleNewComment(NewCommentEvent event) {
         Reply comment = event.getComment();
@@ -232,7 +204,7 @@ public class NotificationService {
     }
 
     // ✅ UPDATED: Handle new vote
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     @EventListener
     public void handleNewVote(NewVoteEvent event) {
         userRepository.findById(event.getAuthorId()).ifPresent(recipient -> {
@@ -252,7 +224,7 @@ public class NotificationService {
     }
 
     // ✅ UPDATED: Handle solution marked
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     @EventListener
     public void handleSolutionMarked(SolutionAcceptedEvent event) {
         Reply solution = event.getSolution();
@@ -268,7 +240,7 @@ public class NotificationService {
     }
 
     // ✅ NEW: Handle solution unmarked
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     @EventListener
     public void handleSolutionUnmarked(SolutionUnmarkedEvent event) {
         Reply previousSolution = event.getPreviousSolution();
@@ -285,7 +257,7 @@ public class NotificationService {
     }
 
     // ✅ UPDATED: Handle new topic in university
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     @EventListener
     public void handleNewTopicInUniversity(NewTopicEvent event) {
         Topic topic = event.getTopic();
@@ -298,6 +270,7 @@ public class NotificationService {
                 university.getUniversityId(),
                 actor.getUserId()
         );
+        recordFanOut(NotificationType.NEW_QUESTION_IN_UNI, recipients.size());
         
         String message = "A new " + topic.getTopicType().toString().toLowerCase() + " was posted in " + university.getName() + ": \"" + truncate(topic.getTitle(), 30) + "\"";
         String link = "/topics/" + topic.getId();
@@ -308,7 +281,7 @@ public class NotificationService {
     }
 
     // ✅ Keep existing chat message handler
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     @EventListener
     public void handleNewMessage(NewMessageEvent event) {
         Message message = event.getMessage();
@@ -320,6 +293,7 @@ public class NotificationService {
             return;
         }
 
+        recordFanOut(NotificationType.NEW_CHAT_MESSAGE, recipients.size());
         String link = "/chat/" + message.getConversation().getConversationId();
         String messageText = String.format("You have a new message from %s.", actor.getUsername());
 
@@ -333,7 +307,7 @@ public class NotificationService {
             );
         });
     }
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     @EventListener
     public void handleNewChatMessageReaction(NewChatMessageReactionEvent event) {
         Reaction reaction = event.getReaction();
@@ -361,7 +335,7 @@ public class NotificationService {
     }
 
     // ✅ Keep existing university join handler
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     @EventListener
     public void handleUserJoinedUniversity(UserJoinedUniversityEvent event) {
         User recipient = event.getUser();
@@ -389,9 +363,24 @@ public class NotificationService {
         }
     }
 
+    /** Recipients of one event for one notification type, as {@code tuniv.notification.fanout}. */
+    private void recordFanOut(NotificationType type, int recipients) {
+        DistributionSummary.builder("tuniv.notification.fanout")
+                .baseUnit("recipients")
+                .tag("type", type.name())
+                .register(meterRegistry)
+                .record(recipients);
+    }
+
     // ✅ Keep existing notification creation and email methods
     private void createNotificationAndSendEmail(User recipient, User actor, NotificationType type, String message, String link) {
-        Notification notification = Notification.builder()
+        Notification notification = buildNotification(recipient, actor, type, message, link);
+        notificationRepository.save(notification);
+        deliver(notification);
+    }
+
+    private Notification buildNotification(User recipient, User actor, NotificationType type, String message, String link) {
+        return Notification.builder()
                 .recipient(recipient)
                 .actor(actor)
                 .type(type)
@@ -399,14 +388,17 @@ public class NotificationService {
                 .link(link)
                 .isRead(false)
                 .build();
-        notificationRepository.save(notification);
+    }
 
+    private void deliver(Notification notification) {
+        User recipient = notification.getRecipient();
         String destination = "/topic/user/" + recipient.getUserId() + "/notifications";
-        NotificationDto notificationDto = NotificationMapper.toDto(notification);
+        NotificationDto notificationDto = notificationMapper.toDto(notification);
         messagingTemplate.convertAndSend(destination, notificationDto);
         log.info("Sent WebSocket notification to destination: {}", destination);
 
-        sendEmail(recipient, actor, type, message, link);
+        sendEmail(recipient, notification.getActor(), notification.getType(), notification.getMessage(),
+                notification.getLink());
     }
 
     private void sendEmail(User recipient, User actor, NotificationType type, String message, String link) {
@@ -467,8 +459,15 @@ public class NotificationService {
             helper.setText(htmlContent, true);
             helper.addInline("logoImage", new ClassPathResource("static/images/logo.svg"));
 
-            mailSender.send(mimeMessage);
-            log.info("Notification email sent to {}", recipient.getEmail());
+            String to = recipient.getEmail();
+            emailExecutor.execute(() -> {
+                try {
+                    resourceLimiters.smtp().run(() -> mailSender.send(mimeMessage));
+                    log.info("Notification email sent to {}", to);
+                } catch (RuntimeException e) {
+                    log.error("Failed to send notification email to {}: {}", to, e.getMessage());
+                }
+            });
 
         } catch (MessagingException e) {
             log.error("Failed to send notification email to {}: {}", recipient.getEmail(), e.getMessage());
@@ -480,9 +479,7 @@ public class NotificationService {
     public List<NotificationDto> getNotificationsForUser(UserDetailsImpl currentUser) {
         List<Notification> notifications = notificationRepository
                 .findByRecipientUserIdOrderByCreatedAtDesc(currentUser.getId());
-        return notifications.stream()
-                .map(NotificationMapper::toDto)
-                .collect(Collectors.toList());
+        return notificationMapper.toDtoList(notifications);
     }
 
     @Transactional
@@ -21,6 +21,9 @@ import com.tuniv.backend.qa.dto.ReplyUpdateRequest;
 import com.tuniv.backend.qa.mapper.TopicMapper;
 import com.tuniv.backend.qa.model.Reply;
 import com.tuniv.backend.qa.service.ReplyService;
+import com.tuniv.backend.shared.ratelimit.RateLimitPolicy;
+import com.tuniv.backend.shared.ratelimit.RateLimited;
+
 @RestController
 @RequestMapping("/api/v1")
 @RequiredArgsConstructor
@@ -33,6 +36,7 @@ public class ReplyController {
      * Creates a new reply (an answer or a comment) for a specific topic.
      */
     @PostMapping(value = "/topics/{topicId}/replies", consumes = {MediaType.MULTIPART_FORM_DATA_VALUE})
+    @RateLimited(RateLimitPolicy.CONTENT)
     public ResponseEntity<ReplyResponseDto> createReply(
             @PathVariable Integer topicId,
             @RequestPart("reply") @Valid ReplyCreateRequest request,
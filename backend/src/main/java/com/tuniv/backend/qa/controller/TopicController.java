@@ -1,7 +1,6 @@
 package com.tuniv.backend.qa.controller;
 
 import java.util.List;
-import java.util.Map;
 
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
@@ -32,9 +31,9 @@ import com.tuniv.backend.qa.dto.TopicUpdateRequest;
 import com.tuniv.backend.qa.dto.VoteRequest;
 import com.tuniv.backend.qa.service.TopicService;
 import com.tuniv.backend.qa.service.VoteService;
-import com.tuniv.backend.shared.service.RateLimitingService;
+import com.tuniv.backend.shared.ratelimit.RateLimitPolicy;
+import com.tuniv.backend.shared.ratelimit.RateLimited;
 
-import io.github.bucket4j.Bucket;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -46,7 +45,6 @@ public class TopicController {
     private final TopicService topicService;
     // Assuming these services exist to preserve voting/rate-limiting functionality
     private final VoteService voteService;
-    private final RateLimitingService rateLimitingService;
     private final CacheManager cacheManager;
 
     // A simple record for the solution request body
@@ -82,6 +80,7 @@ public class TopicController {
      * Creates a new topic (either a QUESTION or a POST).
      */
     @PostMapping(consumes = {MediaType.MULTIPART_FORM_DATA_VALUE})
+    @RateLimited(RateLimitPolicy.CONTENT)
     public ResponseEntity<TopicResponseDto> createTopic(
             @RequestPart("topic") @Valid TopicCreateRequest request,
             @RequestPart(value = "files", required = false) List<MultipartFile> files,
@@ -137,6 +136,7 @@ public class TopicController {
      * Adds a reply (or a nested comment) to a topic.
      */
     @PostMapping(value = "/{topicId}/replies", consumes = {MediaType.MULTIPART_FORM_DATA_VALUE})
+    @RateLimited(RateLimitPolicy.CONTENT)
     public ResponseEntity<TopicResponseDto> addReply(
             @PathVariable Integer topicId,
             @RequestPart("reply") @Valid ReplyCreateRequest request,
@@ -181,18 +181,12 @@ public class TopicController {
      * Casts a vote (up or down) on a topic.
      */
     @PostMapping("/{topicId}/vote")
+    @RateLimited(RateLimitPolicy.VOTE)
     public ResponseEntity<?> voteOnTopic(
             @PathVariable Integer topicId,
             @RequestBody @Valid VoteRequest voteRequest,
             @AuthenticationPrincipal UserDetailsImpl currentUser) {
         
-        // Assuming rate limiting logic is preserved
-        Bucket bucket = rateLimitingService.resolveBucket(currentUser.getId().toString());
-        if (!bucket.tryConsume(1)) {
-            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                    .body(Map.of("error", "Rate limit for voting exceeded."));
-        }
-
         voteService.voteOnTopic(topicId, currentUser, voteRequest.value());
 
         
@@ -206,18 +200,13 @@ public class TopicController {
      * Casts a vote (up or down) on a reply.
      */
     @PostMapping("/{topicId}/replies/{replyId}/vote")
+    @RateLimited(RateLimitPolicy.VOTE)
     public ResponseEntity<?> voteOnReply(
             @PathVariable Integer topicId,
             @PathVariable Integer replyId,
             @RequestBody @Valid VoteRequest voteRequest,
             @AuthenticationPrincipal UserDetailsImpl currentUser) {
 
-        Bucket bucket = rateLimitingService.resolveBucket(currentUser.getId().toString());
-        if (!bucket.tryConsume(1)) {
-            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                    .body(Map.of("error", "Rate limit for voting exceeded."));
-        }
-        
         voteService.voteOnReply(replyId, currentUser, voteRequest.value());
 
 
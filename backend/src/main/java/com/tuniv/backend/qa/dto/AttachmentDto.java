@@ -5,5 +5,9 @@ public record AttachmentDto(
     String fileName,
     String fileUrl,
     String fileType,
-    Long fileSize
+    Long fileSize,
+    String thumbnailUrl, // Falls back to fileUrl until derivatives exist
+    String previewUrl,
+    Integer width,
+    Integer height
 ) {}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.tuniv.backend.qa.dto;
+
+import java.time.Instant;
+
+/**
+ * A reply as listed on its author's profile, together with the topic it belongs to.
+ */
+public record ReplySummaryDto(
+    Integer id,
+    String body,
+    Integer topicId,
+    String topicTitle,
+    Integer parentReplyId,
+    Instant createdAt,
+    int score,
+    boolean isSolution,
+    String currentUserVote // "UPVOTE", "DOWNVOTE", or null
+) {
+    /**
+     * Constructor used by JPQL constructor expressions, where the current user's vote arrives as its raw value.
+     */
+    public ReplySummaryDto(Integer id, String body, Integer topicId, String topicTitle, Integer parentReplyId,
+                           Instant createdAt, int score, boolean isSolution, Short currentUserVoteValue) {
+        this(id, body, topicId, topicTitle, parentReplyId, createdAt, score, isSolution,
+             VoteInfo.toVoteLabel(currentUserVoteValue));
+    }
+}
@@ -20,6 +20,17 @@ public record TopicSummaryDto(
     String containerName,
     List<String> tags
 ) {
+    /**
+     * Constructor used by JPQL constructor expressions: the current user's vote arrives as its raw value
+     * and tags are attached afterwards with {@link #withTags(List)}.
+     */
+    public TopicSummaryDto(Integer id, String title, TopicType topicType, Integer authorId, String authorUsername,
+                           Instant createdAt, int score, int replyCount, Short currentUserVoteValue,
+                           boolean isSolved, Integer containerId, String containerName) {
+        this(id, title, topicType, authorId, authorUsername, createdAt, score, replyCount,
+             VoteInfo.toVoteLabel(currentUserVoteValue), isSolved, containerId, containerName, List.of());
+    }
+
     public TopicSummaryDto withTags(List<String> newTags) {
         return new TopicSummaryDto(
             id, title, topicType, authorId, authorUsername, createdAt, score, 
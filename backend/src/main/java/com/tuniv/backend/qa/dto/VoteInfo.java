@@ -1,4 +1,14 @@
 package com.tuniv.backend.qa.dto;
 
 public record VoteInfo(Integer postId, int value) {
+
+    /**
+     * Converts a raw vote value (+1 / -1) into the label exposed on DTOs ("UPVOTE" / "DOWNVOTE"), or null if absent.
+     */
+    public static String toVoteLabel(Short value) {
+        if (value == null || value == 0) {
+            return null;
+        }
+        return value > 0 ? "UPVOTE" : "DOWNVOTE";
+    }
 }
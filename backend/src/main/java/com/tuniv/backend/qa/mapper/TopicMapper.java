@@ -3,23 +3,41 @@ package com.tuniv.backend.qa.mapper;
 import com.tuniv.backend.qa.dto.*;
 import com.tuniv.backend.qa.model.*;
 import com.tuniv.backend.shared.model.ContainerType;
+import com.tuniv.backend.user.dto.UserSummaryDto;
 import com.tuniv.backend.user.model.User;
+import com.tuniv.backend.user.service.UserSummaryCache;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Maps Topic, Reply, and related entities to their corresponding DTOs.
  * Centralizes complex object graph assembly to keep services clean.
  * This component is designed to work with data fetched from repositories,
  * not from direct, lazy-loaded entity collections.
+ * Author details are resolved through {@link UserSummaryCache}; only the author id is read from the entity.
  */
 @Component
+@RequiredArgsConstructor
 public class TopicMapper {
 
+    private final UserSummaryCache userSummaryCache;
+
+    /**
+     * Loads the summaries of all topic authors in one round trip so that mapping a page of topics
+     * does not resolve authors one by one.
+     */
+    public void preloadAuthors(Collection<Topic> topics) {
+        userSummaryCache.getAll(topics.stream().map(topic -> authorId(topic.getAuthor())).toList());
+    }
+
     /**
      * The primary method for building the detailed Topic view.
      * It orchestrates the mapping of the topic and all its related, pre-fetched data.
@@ -46,6 +64,14 @@ public class TopicMapper {
             .map(Tag::getName)
             .collect(Collectors.toList());
 
+        // ✅ Resolve every author on the page (topic, solution, replies) with a single lookup
+        userSummaryCache.getAll(Stream.concat(
+                Stream.of(topic.getAuthor(), topic.getAcceptedSolution() != null ? topic.getAcceptedSolution().getAuthor() : null),
+                allReplies.stream().map(Reply::getAuthor))
+            .map(this::authorId)
+            .filter(Objects::nonNull)
+            .toList());
+
         // ✅ Efficiently build the nested reply tree from the flat list
         List<ReplyResponseDto> nestedReplies = buildReplyTree(allReplies, currentUserVotes);
 
@@ -79,12 +105,14 @@ public class TopicMapper {
      * @return A TopicSummaryDto.
      */
     public TopicSummaryDto toTopicSummaryDto(Topic topic, List<Tag> tags, String currentUserVote) {
+        Integer authorId = authorId(topic.getAuthor());
+        UserSummaryDto author = userSummaryCache.get(authorId);
         return new TopicSummaryDto(
             topic.getId(),
             topic.getTitle(),
             topic.getTopicType(),
-            topic.getAuthor().getUserId(),
-            topic.getAuthor().getUsername(),
+            authorId,
+            author != null ? author.username() : null,
             topic.getCreatedAt(),
             topic.getScore(),
             topic.getReplyCount(), // ✅ Use denormalized count
@@ -96,8 +124,83 @@ public class TopicMapper {
         );
     }
 
+    /**
+     * Ids of the topic and every reply in its tree, for looking up one reader's votes on the whole view.
+     */
+    public List<Integer> postIdsOf(TopicResponseDto topic) {
+        List<Integer> postIds = new ArrayList<>();
+        postIds.add(topic.id());
+        collectReplyIds(topic.replies(), postIds);
+        return postIds;
+    }
+
+    /**
+     * Copies a shared topic view with one reader's votes filled in. The shared view is never modified,
+     * since it may be held by the cache and served to other readers.
+     *
+     * @param currentUserVotes A map of the current user's votes [postId -> voteType].
+     */
+    public TopicResponseDto withCurrentUserVotes(TopicResponseDto topic, Map<Integer, String> currentUserVotes) {
+        if (currentUserVotes.isEmpty()) {
+            return topic;
+        }
+        return new TopicResponseDto(
+            topic.id(),
+            topic.title(),
+            topic.body(),
+            topic.topicType(),
+            topic.isSolved(),
+            topic.author(),
+            topic.createdAt(),
+            topic.editedAt(),
+            topic.score(),
+            currentUserVotes.get(topic.id()),
+            topic.replyCount(),
+            topic.viewCount(),
+            topic.acceptedSolution(),
+            topic.container(),
+            topic.tags(),
+            topic.attachments(),
+            withCurrentUserVotes(topic.replies(), currentUserVotes)
+        );
+    }
+
     //<editor-fold desc="Tree Building and Helper Methods">
 
+    private void collectReplyIds(List<ReplyResponseDto> replies, List<Integer> ids) {
+        if (replies == null) {
+            return;
+        }
+        for (ReplyResponseDto reply : replies) {
+            ids.add(reply.id());
+            collectReplyIds(reply.childReplies(), ids);
+        }
+    }
+
+    private List<ReplyResponseDto> withCurrentUserVotes(List<ReplyResponseDto> replies, Map<Integer, String> currentUserVotes) {
+        if (replies == null) {
+            return new ArrayList<>();
+        }
+        List<ReplyResponseDto> copies = new ArrayList<>(replies.size());
+        for (ReplyResponseDto reply : replies) {
+            copies.add(new ReplyResponseDto(
+                reply.id(),
+                reply.body(),
+                reply.author(),
+                reply.createdAt(),
+                reply.editedAt(),
+                reply.score(),
+                currentUserVotes.get(reply.id()),
+                reply.topicId(),
+                reply.parentReplyId(),
+                reply.isSolution(),
+                reply.attachments(),
+                withCurrentUserVotes(reply.childReplies(), currentUserVotes)
+            ));
+        }
+        return copies;
+    }
+
     /**
      * Efficiently builds a nested reply tree from a flat list. This avoids N+1 query problems
      * and deep recursion issues that can occur with lazy-loaded collections.
@@ -160,15 +263,23 @@ public class TopicMapper {
     }
     
     private UserDto toUserDto(User user) {
-        if (user == null) return null;
+        UserSummaryDto summary = userSummaryCache.get(authorId(user));
+        if (summary == null) return null;
         return new UserDto(
-            user.getUserId(),
-            user.getUsername(),
-            user.getReputationScore(),
-            user.getProfilePhotoUrl()
+            summary.id(),
+            summary.username(),
+            summary.reputationScore() != null ? summary.reputationScore() : 0,
+            summary.profilePhotoUrl()
         );
     }
 
+    /**
+     * Reading only the identifier keeps a lazy author proxy uninitialized.
+     */
+    private Integer authorId(User user) {
+        return user != null ? user.getUserId() : null;
+    }
+
     private AttachmentDto toAttachmentDto(Attachment attachment) {
         if (attachment == null) return null;
         return new AttachmentDto(
@@ -176,10 +287,26 @@ public class TopicMapper {
             attachment.getFileName(),
             attachment.getFileUrl(),
             attachment.getFileType(),
-            attachment.getFileSize()
+            attachment.getFileSize(),
+            firstNonNull(attachment.getThumbnailUrl(), attachment.getFileUrl()),
+            firstNonNull(attachment.getPreviewUrl(), attachment.getCompressedUrl(), attachment.getFileUrl()),
+            attachment.getWidth(),
+            attachment.getHeight()
         );
     }
 
+    /**
+     * The first rendition that exists, in order of preference; derivatives are filled in asynchronously after upload.
+     */
+    private static String firstNonNull(String... candidates) {
+        for (String candidate : candidates) {
+            if (candidate != null) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
     private SolutionInfoDto toSolutionInfoDto(Reply solution) {
         if (solution == null) return null;
         return new SolutionInfoDto(
@@ -16,6 +16,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
@@ -33,7 +34,8 @@ import lombok.Setter;
     @Index(name = "idx_attachment_uploaded", columnList = "uploaded_at DESC"),
     @Index(name = "idx_attachment_user", columnList = "uploaded_by_user_id"),
     @Index(name = "idx_attachment_mimetype", columnList = "mime_type"),
-    @Index(name = "idx_attachment_public", columnList = "is_public, uploaded_at DESC")
+    @Index(name = "idx_attachment_public", columnList = "is_public, uploaded_at DESC"),
+    @Index(name = "idx_attachment_content_hash", columnList = "content_hash")
 })
 @Getter
 @Setter
@@ -41,7 +43,8 @@ import lombok.Setter;
 public class Attachment extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attachment_id_seq")
+    @SequenceGenerator(name = "attachment_id_seq", sequenceName = "attachments_attachment_id_seq", allocationSize = 50)
     @Column(name = "attachment_id")
     private Integer attachmentId;
 
@@ -73,6 +76,9 @@ public class Attachment extends Auditable {
     @Column(name = "mime_type", nullable = false, length = 100)
     private String mimeType;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 hex, computed while the file is streamed to storage
+
     // ========== UPLOAD METADATA ==========
     @Column(name = "uploaded_at", nullable = false)
     private Instant uploadedAt = Instant.now(); // ✅ Standardized to Instant
@@ -31,8 +31,10 @@ import lombok.Setter;
 @Where(clause = "is_deleted = false")
 public abstract class Post extends Auditable implements SoftDeletable {
 
+    // Pooled ids (one sequence call per 50 rows) keep inserts batchable; the sequence must INCREMENT BY 50
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_id_seq")
+    @SequenceGenerator(name = "post_id_seq", sequenceName = "posts_id_seq", allocationSize = 50)
     private Integer id;
 
     // ========== OPTIMISTIC LOCKING ==========
@@ -44,7 +44,8 @@ import lombok.Setter;
     @Index(name = "idx_topic_last_activity", columnList = "last_activity_at DESC"),
     @Index(name = "idx_topic_pinned", columnList = "is_pinned, last_activity_at DESC"),
     @Index(name = "idx_topic_solved", columnList = "is_solved, created_at DESC"),
-    @Index(name = "idx_topic_score", columnList = "score DESC, created_at DESC")
+    @Index(name = "idx_topic_score", columnList = "score DESC, created_at DESC"),
+    @Index(name = "idx_topic_accepted_solution", columnList = "accepted_solution_id, solution_awarded_at DESC")
 })
 @Getter
 @Setter
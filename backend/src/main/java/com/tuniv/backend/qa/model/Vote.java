@@ -18,6 +18,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
@@ -42,7 +43,8 @@ import lombok.Setter;
 public class Vote extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vote_id_seq")
+    @SequenceGenerator(name = "vote_id_seq", sequenceName = "votes_id_seq", allocationSize = 50)
     private Integer id;
 
     // ========== OPTIMISTIC LOCKING ==========
@@ -0,0 +1,18 @@
+package com.tuniv.backend.qa.projection.activity;
+
+import java.time.Instant;
+
+/**
+ * One row of a user's activity timeline, as read from the topics, replies or votes tables.
+ * Columns that do not apply to the source query (e.g. voteValue for a topic) are null.
+ */
+public interface ActivityEntryProjection {
+    // Row id in its own table, the tie-breaker of the keyset (the vote id for votes, the post id otherwise)
+    Integer getEntryId();
+    Integer getPostId();
+    Integer getTopicId();
+    Instant getCreatedAt();
+    Integer getScore();
+    Integer getVoteValue();
+    Integer getParentReplyId();
+}
@@ -0,0 +1,16 @@
+package com.tuniv.backend.qa.projection.topic;
+
+import com.tuniv.backend.qa.model.TopicType;
+
+/**
+ * Minimal topic columns needed to label a post that belongs to the topic
+ * (title, type and solution state) without loading the entity.
+ */
+public interface TopicHeaderProjection {
+    Integer getId();
+    String getTitle();
+    TopicType getTopicType();
+    Integer getScore();
+    Boolean getSolved();
+    Integer getAcceptedSolutionId();
+}
@@ -0,0 +1,9 @@
+package com.tuniv.backend.qa.projection.topic;
+
+/**
+ * One tag name of a topic, read without loading the Tag or TopicTag entities.
+ */
+public interface TopicTagNameProjection {
+    Integer getTopicId();
+    String getName();
+}
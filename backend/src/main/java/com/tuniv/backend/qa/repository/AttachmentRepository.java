@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.tuniv.backend.qa.model.Attachment;
 @Repository
@@ -52,6 +53,27 @@ public interface AttachmentRepository extends JpaRepository<Attachment, Integer>
     @Query("SELECT a FROM Attachment a WHERE a.fileSize > :minSize")
     List<Attachment> findLargeAttachments(@Param("minSize") Long minSize);
     
+    // ✅ Files with identical content, by the SHA-256 computed at upload.
+    @EntityGraph(attributePaths = {"post"})
+    List<Attachment> findByContentHash(String contentHash);
+
+    // ✅ An attachment with the same content whose image derivatives are already rendered.
+    Optional<Attachment> findFirstByContentHashAndThumbnailUrlIsNotNull(String contentHash);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE Attachment a SET a.thumbnailUrl = :thumbnailUrl, a.previewUrl = :previewUrl,
+            a.compressedUrl = :compressedUrl, a.width = :width, a.height = :height
+        WHERE a.attachmentId = :attachmentId
+        """)
+    int updateImageDerivatives(@Param("attachmentId") Integer attachmentId,
+                               @Param("thumbnailUrl") String thumbnailUrl,
+                               @Param("previewUrl") String previewUrl,
+                               @Param("compressedUrl") String compressedUrl,
+                               @Param("width") Integer width,
+                               @Param("height") Integer height);
+
     // ✅ Good for a "recently uploaded" feed.
     @EntityGraph(attributePaths = {"post"})
     List<Attachment> findTop10ByOrderByUploadedAtDesc();
@@ -1,5 +1,7 @@
 package com.tuniv.backend.qa.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,8 +14,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.tuniv.backend.qa.dto.ReplySummaryDto;
 import com.tuniv.backend.qa.model.Reply;
 import com.tuniv.backend.qa.model.TopicType;
+import com.tuniv.backend.qa.projection.activity.ActivityEntryProjection;
 
 @Repository
 public interface ReplyRepository extends JpaRepository<Reply, Integer> {
@@ -32,6 +36,55 @@ public interface ReplyRepository extends JpaRepository<Reply, Integer> {
     // ✅ Standard query for finding a user's replies.
     List<Reply> findByAuthor_UserIdOrderByCreatedAtDesc(Integer userId);
 
+    /**
+     * Keyset page of a user's replies for the activity timeline, newest first. Served by {@code idx_reply_author}.
+     * Whether a reply is an answer or a comment is decided by the caller from the topic type and parentReplyId.
+     */
+    @Query("""
+        SELECT r.id AS entryId, r.id AS postId, r.topic.id AS topicId, r.createdAt AS createdAt, r.score AS score,
+               r.parentReply.id AS parentReplyId
+        FROM Reply r
+        WHERE r.author.userId = :userId
+          AND (r.createdAt < :before OR (r.createdAt = :before AND r.id < :beforeId))
+        ORDER BY r.createdAt DESC, r.id DESC
+    """)
+    List<ActivityEntryProjection> findActivityEntriesByAuthor(
+        @Param("userId") Integer userId,
+        @Param("before") Instant before,
+        @Param("beforeId") Integer beforeId,
+        Pageable pageable
+    );
+
+    /**
+     * Keyset page of a user's replies for their profile, newest first. Served by {@code idx_reply_author}.
+     */
+    @Query("""
+        SELECT NEW com.tuniv.backend.qa.dto.ReplySummaryDto(
+            r.id, r.body, t.id, t.title, r.parentReply.id, r.createdAt, r.score, r.isSolution,
+            (SELECT v.value FROM Vote v WHERE v.post.id = r.id AND v.user.userId = :currentUserId)
+        )
+        FROM Reply r
+        JOIN r.topic t
+        WHERE r.author.userId = :userId
+          AND (r.createdAt < :before OR (r.createdAt = :before AND r.id < :beforeId))
+        ORDER BY r.createdAt DESC, r.id DESC
+    """)
+    List<ReplySummaryDto> findReplySummariesByAuthorBefore(
+        @Param("userId") Integer userId,
+        @Param("currentUserId") Integer currentUserId,
+        @Param("before") Instant before,
+        @Param("beforeId") Integer beforeId,
+        Pageable pageable
+    );
+
+    // ✅ Resolves vote targets that are replies in one query (ids that are topics simply don't match).
+    @Query("""
+        SELECT r.id AS postId, r.topic.id AS topicId, r.score AS score, r.parentReply.id AS parentReplyId
+        FROM Reply r
+        WHERE r.id IN :replyIds
+    """)
+    List<ActivityEntryProjection> findActivityTargetsByIds(@Param("replyIds") Collection<Integer> replyIds);
+
     // ❌ REMOVED ATTRIBUTE: `attachments` no longer exists on the Post entity.
     @EntityGraph(attributePaths = {"author"})
     List<Reply> findByTopicIdAndParentReplyIsNull(@Param("topicId") Integer topicId);
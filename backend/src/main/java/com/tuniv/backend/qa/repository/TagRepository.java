@@ -12,6 +12,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.tuniv.backend.qa.model.Tag;
+import com.tuniv.backend.qa.projection.topic.TopicTagNameProjection;
+
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Integer> {
     
@@ -57,4 +59,16 @@ public interface TagRepository extends JpaRepository<Tag, Integer> {
     @Modifying
     @Query("UPDATE Tag t SET t.usageCount = t.usageCount - 1 WHERE t.id = :tagId AND t.usageCount > 0")
     void decrementUsageCount(@Param("tagId") Integer tagId);
+
+    /**
+     * Tag names for a page of topics in one query, for listings built from projections.
+     */
+    @Query("""
+        SELECT tt.topic.id AS topicId, t.name AS name
+        FROM TopicTag tt
+        JOIN tt.tag t
+        WHERE tt.topic.id IN :topicIds
+        ORDER BY t.name
+    """)
+    List<TopicTagNameProjection> findTagNamesByTopicIds(@Param("topicIds") Collection<Integer> topicIds);
 }
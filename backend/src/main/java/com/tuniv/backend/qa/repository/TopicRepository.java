@@ -1,6 +1,7 @@
 package com.tuniv.backend.qa.repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +18,8 @@ import org.springframework.stereotype.Repository;
 import com.tuniv.backend.community.model.Community;
 import com.tuniv.backend.qa.dto.TopicSummaryDto;
 import com.tuniv.backend.qa.model.Topic;
+import com.tuniv.backend.qa.projection.activity.ActivityEntryProjection;
+import com.tuniv.backend.qa.projection.topic.TopicHeaderProjection;
 
 @Repository
 public interface TopicRepository extends JpaRepository<Topic, Integer>, JpaSpecificationExecutor<Topic> {
@@ -51,6 +54,86 @@ public interface TopicRepository extends JpaRepository<Topic, Integer>, JpaSpeci
     @Query("SELECT t FROM Topic t WHERE t.acceptedSolution.author.userId = :userId")
     List<Topic> findByAcceptedSolution_Author_UserId(@Param("userId") Integer userId);
 
+    // ========== PROFILE LISTINGS ==========
+
+    /**
+     * Keyset page of a user's topics for their profile, newest first. Served by {@code idx_topic_author}.
+     */
+    @Query("""
+        SELECT NEW com.tuniv.backend.qa.dto.TopicSummaryDto(
+            t.id, t.title, t.topicType, t.author.userId, t.author.username, t.createdAt, t.score,
+            t.replyCount,
+            (SELECT v.value FROM Vote v WHERE v.post.id = t.id AND v.user.userId = :currentUserId),
+            t.isSolved,
+            COALESCE(m.moduleId, c.communityId),
+            COALESCE(m.name, c.name)
+        )
+        FROM Topic t
+        LEFT JOIN t.module m
+        LEFT JOIN t.community c
+        WHERE t.author.userId = :userId
+          AND (t.createdAt < :before OR (t.createdAt = :before AND t.id < :beforeId))
+        ORDER BY t.createdAt DESC, t.id DESC
+    """)
+    List<TopicSummaryDto> findTopicSummariesByAuthorBefore(
+        @Param("userId") Integer userId,
+        @Param("currentUserId") Integer currentUserId,
+        @Param("before") Instant before,
+        @Param("beforeId") Integer beforeId,
+        Pageable pageable
+    );
+
+    // ========== ACTIVITY TIMELINE ==========
+
+    /**
+     * Keyset page of the topics a user created, newest first. Served by {@code idx_topic_author}.
+     */
+    @Query("""
+        SELECT t.id AS entryId, t.id AS postId, t.id AS topicId, t.createdAt AS createdAt, t.score AS score
+        FROM Topic t
+        WHERE t.author.userId = :userId
+          AND (t.createdAt < :before OR (t.createdAt = :before AND t.id < :beforeId))
+        ORDER BY t.createdAt DESC, t.id DESC
+    """)
+    List<ActivityEntryProjection> findActivityEntriesByAuthor(
+        @Param("userId") Integer userId,
+        @Param("before") Instant before,
+        @Param("beforeId") Integer beforeId,
+        Pageable pageable
+    );
+
+    /**
+     * Keyset page of a user's replies that were accepted as solutions, ordered by when they were accepted.
+     * Solutions accepted before that time was recorded fall back to the reply's own creation time.
+     * The author's replies are found through {@code idx_posts_author_created}, their topics through
+     * {@code idx_topic_accepted_solution}.
+     */
+    @Query("""
+        SELECT r.id AS entryId, r.id AS postId, t.id AS topicId, COALESCE(t.solutionAwardedAt, r.createdAt) AS createdAt,
+               r.score AS score
+        FROM Topic t
+        JOIN t.acceptedSolution r
+        WHERE r.author.userId = :userId
+          AND (COALESCE(t.solutionAwardedAt, r.createdAt) < :before
+               OR (COALESCE(t.solutionAwardedAt, r.createdAt) = :before AND r.id < :beforeId))
+        ORDER BY COALESCE(t.solutionAwardedAt, r.createdAt) DESC, r.id DESC
+    """)
+    List<ActivityEntryProjection> findAcceptedSolutionEntriesByAuthor(
+        @Param("userId") Integer userId,
+        @Param("before") Instant before,
+        @Param("beforeId") Integer beforeId,
+        Pageable pageable
+    );
+
+    // ✅ Batch lookup of the few topic columns needed to label activity, without loading entities.
+    @Query("""
+        SELECT t.id AS id, t.title AS title, t.topicType AS topicType, t.score AS score,
+               t.isSolved AS solved, t.acceptedSolution.id AS acceptedSolutionId
+        FROM Topic t
+        WHERE t.id IN :topicIds
+    """)
+    List<TopicHeaderProjection> findTopicHeadersByIds(@Param("topicIds") Collection<Integer> topicIds);
+
     /**
      * ⚠️ PERFORMANCE WARNING: A query with multiple optional 'OR' clauses can be slow on large datasets
      * because the database struggles to use indexes effectively for all conditions.
@@ -1,5 +1,6 @@
 package com.tuniv.backend.qa.repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Repository;
 
 import com.tuniv.backend.qa.dto.VoteInfo;
 import com.tuniv.backend.qa.model.Vote;
+import com.tuniv.backend.qa.projection.activity.ActivityEntryProjection;
 
 
 @Repository
@@ -28,6 +30,24 @@ public interface VoteRepository extends JpaRepository<Vote, Integer> {
      */
     List<Vote> findByUser_UserIdOrderByCreatedAtDesc(Integer userId);
 
+    /**
+     * Keyset page of a user's votes for the activity timeline, newest first.
+     * Served by {@code idx_vote_user_created}; the voted post is resolved separately in bulk.
+     */
+    @Query("""
+        SELECT v.id AS entryId, v.post.id AS postId, v.createdAt AS createdAt, CAST(v.value AS Integer) AS voteValue
+        FROM Vote v
+        WHERE v.user.userId = :userId
+          AND (v.createdAt < :before OR (v.createdAt = :before AND v.id < :beforeId))
+        ORDER BY v.createdAt DESC, v.id DESC
+    """)
+    List<ActivityEntryProjection> findActivityEntriesByUser(
+        @Param("userId") Integer userId,
+        @Param("before") Instant before,
+        @Param("beforeId") Integer beforeId,
+        Pageable pageable
+    );
+
     /**
      * An efficient DTO projection to get a user's vote status for a list of posts
      * in a single query. Perfect for hydrating a feed of topics or replies.
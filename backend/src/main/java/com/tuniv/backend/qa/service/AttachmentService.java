@@ -2,6 +2,7 @@ package com.tuniv.backend.qa.service;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -9,13 +10,25 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.tuniv.backend.filestorage.model.FileStorage;
+import com.tuniv.backend.filestorage.model.StoredFile;
+import com.tuniv.backend.filestorage.dto.ImageDerivativeJob;
+import com.tuniv.backend.filestorage.model.ImageDerivatives;
+import com.tuniv.backend.filestorage.model.ImageVariant;
+import com.tuniv.backend.filestorage.service.BlobStore;
+import com.tuniv.backend.filestorage.service.ImageDerivativeService;
 import com.tuniv.backend.qa.model.Attachment;
 import com.tuniv.backend.qa.model.Post;
 import com.tuniv.backend.qa.repository.AttachmentRepository;
@@ -30,11 +43,20 @@ public class AttachmentService {
 
     private final FileStorage fileStorageService; // Use the interface
     private final AttachmentRepository attachmentRepository;
+    private final BlobStore blobStore;
+    private final ImageDerivativeService imageDerivativeService;
+    private final AsyncTaskExecutor mediaExecutor; // Bounded media bulkhead, see AsyncConfig
+
+    /**
+     * A file that has been written to storage but not yet recorded as an {@link Attachment}.
+     */
+    public record StoredUpload(String originalFilename, String contentType, StoredFile stored) {}
 
     /**
      * Saves a list of uploaded files and associates them with a given Post.
+     * Files are streamed to storage concurrently before any rows are written, so storage I/O never holds a
+     * database transaction open; call this before the caller's transaction starts where possible.
      */
-@Transactional
     public List<Attachment> saveAttachments(List<MultipartFile> files, Post post) {
         if (files == null || files.isEmpty() || post == null || post.getId() == null) {
             return Collections.emptyList();
@@ -50,40 +72,146 @@ public class AttachmentService {
 
         validateTotalFileSize(validFiles);
 
-        List<Attachment> newAttachments = new ArrayList<>();
-        String subDirectory = post.getPostType().toLowerCase() + "s";
+        return attachUploads(uploadFiles(validFiles), post);
+    }
 
-        for (MultipartFile file : validFiles) {
+    /**
+     * Puts the files into the content-addressed blob store in parallel on the bounded media executor;
+     * content that is already stored is not uploaded again. Each upload holds one blob reference.
+     * All-or-nothing: if any upload fails, the references taken by the others are released again.
+     */
+    public List<StoredUpload> uploadFiles(List<MultipartFile> files) {
+        List<CompletableFuture<StoredUpload>> futures = files.stream()
+            .map(file -> CompletableFuture.supplyAsync(
+                () -> new StoredUpload(file.getOriginalFilename(), file.getContentType(), blobStore.put(file)),
+                mediaExecutor))
+            .toList();
+
+        List<StoredUpload> uploads = new ArrayList<>();
+        RuntimeException failure = null;
+        for (int i = 0; i < futures.size(); i++) {
             try {
-                String fileUrl = fileStorageService.storeFile(file, subDirectory);
-                
-                Attachment attachment = new Attachment();
-                attachment.setFileName(file.getOriginalFilename());
-                attachment.setFileUrl(fileUrl);
-                attachment.setMimeType(file.getContentType());
-                attachment.setFileType(file.getContentType()); // You might want to derive a simpler type
-                attachment.setFileSize(file.getSize());
-                
-                // ✅ ARCHITECTURAL FIX: Set the relationship directly on the attachment.
-                attachment.setPost(post);
-                attachment.setUploadedBy(post.getAuthor());
-
-                // ✅ REMOVED: post.addAttachment(attachment); - This is no longer valid.
-                
-                newAttachments.add(attachment);
-            } catch (Exception e) {
-                log.error("Failed to store file: {}", file.getOriginalFilename(), e);
-                // Rollback transaction by rethrowing
-                throw new RuntimeException("Failed to store file: " + file.getOriginalFilename(), e);
+                uploads.add(futures.get(i).join());
+            } catch (CompletionException e) {
+                String filename = files.get(i).getOriginalFilename();
+                log.error("Failed to store file: {}", filename, e.getCause());
+                if (failure == null) {
+                    failure = new RuntimeException("Failed to store file: " + filename, e.getCause());
+                }
             }
         }
-        
+
+        if (failure != null) {
+            releaseUploads(uploads);
+            throw failure;
+        }
+        return uploads;
+    }
+
+    /**
+     * Records already-stored files as attachments of the post. If the surrounding transaction rolls back
+     * (or the insert fails outside one), the uploads' blob references are released again.
+     */
+    public List<Attachment> attachUploads(List<StoredUpload> uploads, Post post) {
+        if (uploads.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Attachment> newAttachments = new ArrayList<>();
+        for (StoredUpload upload : uploads) {
+            Attachment attachment = new Attachment();
+            attachment.setFileName(upload.originalFilename());
+            attachment.setFileUrl(upload.stored().url());
+            attachment.setMimeType(upload.contentType());
+            attachment.setFileType(upload.contentType()); // You might want to derive a simpler type
+            attachment.setFileSize(upload.stored().size());
+            attachment.setContentHash(upload.stored().sha256());
+
+            // ✅ ARCHITECTURAL FIX: Set the relationship directly on the attachment.
+            attachment.setPost(post);
+            attachment.setUploadedBy(post.getAuthor());
+
+            newAttachments.add(attachment);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        releaseUploads(uploads);
+                    }
+                }
+            });
+            return saveNewAttachments(newAttachments, post);
+        }
+
+        try {
+            return saveNewAttachments(newAttachments, post);
+        } catch (RuntimeException e) {
+            releaseUploads(uploads);
+            throw e;
+        }
+    }
+
+    private List<Attachment> saveNewAttachments(List<Attachment> newAttachments, Post post) {
         // ✅ OPTIMIZED: Save all new attachments in a single batch query.
         List<Attachment> savedAttachments = attachmentRepository.saveAll(newAttachments);
         log.info("Saved {} attachments for post ID: {}", savedAttachments.size(), post.getId());
+
+        // Thumbnails and previews are rendered by the image worker once the rows are committed
+        for (Attachment attachment : savedAttachments) {
+            if (ImageDerivativeService.isProcessable(attachment.getMimeType())) {
+                imageDerivativeService.enqueue(new ImageDerivativeJob(ImageDerivativeJob.Target.ATTACHMENT,
+                        attachment.getAttachmentId(), attachment.getFileUrl(), attachment.getContentHash()));
+            }
+        }
         return savedAttachments;
     }
 
+    /**
+     * Derivatives already rendered for identical content, so a re-upload of the same image is not re-rendered.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ImageDerivatives> findImageDerivatives(String contentHash) {
+        if (contentHash == null) {
+            return Optional.empty();
+        }
+        return attachmentRepository.findFirstByContentHashAndThumbnailUrlIsNotNull(contentHash)
+            .map(existing -> {
+                Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+                urls.put(ImageVariant.THUMBNAIL, existing.getThumbnailUrl());
+                urls.put(ImageVariant.PREVIEW, existing.getPreviewUrl());
+                urls.put(ImageVariant.COMPRESSED, existing.getCompressedUrl());
+                return new ImageDerivatives(
+                    existing.getWidth() != null ? existing.getWidth() : 0,
+                    existing.getHeight() != null ? existing.getHeight() : 0,
+                    urls);
+            });
+    }
+
+    /**
+     * Called by the image pipeline once an attachment's derivatives exist.
+     */
+    public void recordImageDerivatives(Integer attachmentId, ImageDerivatives derivatives) {
+        attachmentRepository.updateImageDerivatives(attachmentId,
+            derivatives.url(ImageVariant.THUMBNAIL),
+            derivatives.url(ImageVariant.PREVIEW),
+            derivatives.url(ImageVariant.COMPRESSED),
+            derivatives.width() > 0 ? derivatives.width() : null,
+            derivatives.height() > 0 ? derivatives.height() : null);
+    }
+
+    private void releaseUploads(List<StoredUpload> uploads) {
+        for (StoredUpload upload : uploads) {
+            try {
+                blobStore.release(upload.stored().sha256(), upload.stored().url(), 1);
+            } catch (Exception e) {
+                log.error("Failed to release blob {} of discarded upload", upload.stored().sha256(), e);
+            }
+        }
+    }
+
     /**
      * Deletes a set of attachments. This involves deleting the physical file
      * from storage and letting JPA handle the database record removal via orphanRemoval.
@@ -99,21 +227,36 @@ public class AttachmentService {
 
         for (Attachment attachment : attachments) {
             try {
-                fileUrls.add(attachment.getFileUrl());
+                // Blob-backed files are shared: drop this attachment's reference and leave deletion to blob GC.
+                // Files uploaded before content addressing have no blob and are deleted directly.
+                boolean blobBacked = attachment.getContentHash() != null
+                        && blobStore.release(attachment.getContentHash(), attachment.getFileUrl(), 1);
+                if (!blobBacked) {
+                    fileUrls.add(attachment.getFileUrl());
+                }
                 attachmentIds.add(attachment.getAttachmentId());
             } catch (Exception e) {
                 log.error("Error preparing attachment for deletion: {}", attachment.getAttachmentId(), e);
             }
         }
 
-        // ✅ OPTIMIZED: Batch delete files from storage
-        batchDeleteFiles(fileUrls);
-
         // ✅ OPTIMIZED: Batch delete database records
         if (!attachmentIds.isEmpty()) {
             batchDeleteAttachments(attachmentIds);
         }
 
+        // Files are removed only once the rows are gone for good, so a rollback never leaves dangling URLs.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    batchDeleteFiles(fileUrls);
+                }
+            });
+        } else {
+            batchDeleteFiles(fileUrls);
+        }
+
         log.info("Deleted {} attachments from storage and database", attachments.size());
     }
 
@@ -187,24 +330,33 @@ public class AttachmentService {
     }
 
     /**
-     * ✅ NEW: Clean up orphaned attachments (attachments without posts)
+     * ✅ NEW: Clean up orphaned attachments (attachments without posts),
+     * then garbage-collect blobs that no attachment references any more.
      */
+    @Scheduled(fixedDelayString = "${app.storage.blob-gc-interval:3600000}",
+               initialDelayString = "${app.storage.blob-gc-interval:3600000}")
     @Transactional
     public int cleanupOrphanedAttachments() {
+        int removed = 0;
         try {
             List<Attachment> orphanedAttachments = attachmentRepository.findOrphanedAttachments();
             
             if (!orphanedAttachments.isEmpty()) {
                 log.info("Found {} orphaned attachments to clean up", orphanedAttachments.size());
                 deleteAttachments(new HashSet<>(orphanedAttachments));
-                return orphanedAttachments.size();
+                removed = orphanedAttachments.size();
             }
-            
-            return 0;
         } catch (Exception e) {
             log.error("Error during orphaned attachments cleanup", e);
-            return 0;
         }
+
+        try {
+            // Runs in its own transaction; references released above are still within the grace period.
+            blobStore.collectGarbage();
+        } catch (Exception e) {
+            log.error("Error during blob garbage collection", e);
+        }
+        return removed;
     }
 
     /**
@@ -325,9 +477,10 @@ public class AttachmentService {
      */
     @Transactional(readOnly = true)
     public List<Attachment> findDuplicateFiles(String fileHash) {
-        // This method requires adding a fileHash field to the Attachment entity
-        // return attachmentRepository.findByFileHash(fileHash);
-        return Collections.emptyList(); // Placeholder for future implementation
+        if (fileHash == null || fileHash.isBlank()) {
+            return Collections.emptyList();
+        }
+        return attachmentRepository.findByContentHash(fileHash);
     }
 
     /**
@@ -13,6 +13,8 @@ import com.tuniv.backend.qa.repository.VoteRepository;
 import com.tuniv.backend.qa.specification.TopicSpecifications;
 import com.tuniv.backend.shared.exception.ResourceNotFoundException;
 import com.tuniv.backend.user.repository.UserRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -39,6 +41,7 @@ public class FeedService {
     private final TopicTagRepository topicTagRepository;
     private final UserRepository userRepository;
     private final TopicMapper topicMapper;
+    private final ObservationRegistry observationRegistry;
     //</editor-fold>
 
     //<editor-fold desc="Public Feed Methods">
@@ -147,8 +150,15 @@ public class FeedService {
     /**
      * The unified pattern for fetching and mapping any feed of topics.
      * All public methods now delegate to this central, performant logic.
+     * Observed as {@code tuniv.feed.query}, covering the page query and the batched vote, tag and author loads.
      */
     private Page<TopicSummaryDto> getFeed(Specification<Topic> spec, Pageable pageable, UserDetailsImpl currentUser) {
+        return Observation.createNotStarted("tuniv.feed.query", observationRegistry)
+            .lowCardinalityKeyValue("authenticated", String.valueOf(currentUser != null))
+            .observe(() -> loadFeed(spec, pageable, currentUser));
+    }
+
+    private Page<TopicSummaryDto> loadFeed(Specification<Topic> spec, Pageable pageable, UserDetailsImpl currentUser) {
         Page<Topic> topics = topicRepository.findAll(spec, pageable);
         if (topics.isEmpty()) {
             return Page.empty(pageable);
@@ -157,6 +167,7 @@ public class FeedService {
         Integer currentUserId = (currentUser != null) ? currentUser.getId() : null;
         Map<Integer, String> currentUserVotes = loadUserVotesForTopics(topics.getContent(), currentUserId);
         Map<Integer, List<Tag>> tagsByTopicId = loadTagsForTopics(topics.getContent());
+        topicMapper.preloadAuthors(topics.getContent());
 
         return topics.map(topic -> 
             topicMapper.toTopicSummaryDto(topic, tagsByTopicId.getOrDefault(topic.getId(), Collections.emptyList()), currentUserVotes.get(topic.getId()))
@@ -1,5 +1,6 @@
 package com.tuniv.backend.qa.service;
 
+import com.tuniv.backend.community.service.CommunityStatsEngine;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
 import com.tuniv.backend.notification.event.NewAnswerEvent;
 import com.tuniv.backend.notification.event.NewCommentEvent;
@@ -50,6 +51,7 @@ public class ReplyService {
     private final ApplicationEventPublisher eventPublisher;
     private final TopicMapper topicMapper;
     private final CacheManager cacheManager;
+    private final CommunityStatsEngine communityStatsEngine;
     // private final AttachmentService attachmentService; // For file storage operations
     //</editor-fold>
 
@@ -69,6 +71,9 @@ public class ReplyService {
 
         topicRepository.incrementReplyCount(topic.getId());
         userRepository.incrementReplyCount(author.getUserId());
+        if (topic.getCommunity() != null) {
+            communityStatsEngine.recordReply(topic.getCommunity().getCommunityId(), author.getUserId());
+        }
 
         // attachmentService.saveAttachments(files, savedReply);
         publishReplyEvent(savedReply);
@@ -3,12 +3,14 @@ package com.tuniv.backend.qa.service;
 import com.tuniv.backend.auth.service.PostAuthorizationService;
 import com.tuniv.backend.community.model.Community;
 import com.tuniv.backend.community.repository.CommunityRepository;
+import com.tuniv.backend.community.service.CommunityStatsEngine;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
 import com.tuniv.backend.qa.dto.*;
 import com.tuniv.backend.qa.mapper.TopicMapper;
 import com.tuniv.backend.qa.model.*;
 import com.tuniv.backend.qa.repository.*;
 import com.tuniv.backend.shared.exception.ResourceNotFoundException;
+import com.tuniv.backend.shared.service.BulkWriter;
 import com.tuniv.backend.university.model.Module;
 import com.tuniv.backend.university.model.University;
 import com.tuniv.backend.university.repository.ModuleRepository;
@@ -17,7 +19,6 @@ import com.tuniv.backend.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
@@ -28,7 +29,6 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -38,7 +38,6 @@ public class TopicService {
     private final TopicRepository topicRepository;
     private final ReplyRepository replyRepository;
     private final TopicTagRepository topicTagRepository;
-    private final AttachmentRepository attachmentRepository;
     private final VoteRepository voteRepository;
     private final ModuleRepository moduleRepository;
     private final CommunityRepository communityRepository;
@@ -47,26 +46,21 @@ public class TopicService {
     private final TopicMapper topicMapper;
     private final PostAuthorizationService postAuthorizationService;
     private final ApplicationEventPublisher eventPublisher;
+    private final CommunityStatsEngine communityStatsEngine;
+    private final BulkWriter bulkWriter;
+    private final TopicViewCache topicViewCache;
 
+    private static final List<String> TOPIC_TAG_COLUMNS =
+        List.of("topic_id", "tag_id", "added_by_user_id", "created_at", "updated_at");
+
+    /**
+     * The topic view is cached once for all readers by {@link TopicViewCache}; only the reader's own
+     * votes are looked up per request.
+     */
     @Transactional(readOnly = true)
-    @Cacheable(value = "topics", key = "#topicId")
     public TopicResponseDto getTopicById(Integer topicId, UserDetailsImpl currentUser) {
         log.info("Fetching topic with ID: {}", topicId);
-        Topic topic = topicRepository.findById(topicId)
-            .orElseThrow(() -> new ResourceNotFoundException("Topic not found with id: " + topicId));
-
-        // ✅ FIXED: Fetch related data from repositories instead of entity collections
-        List<Reply> replies = replyRepository.findByTopicIdOrderByCreatedAtAsc(topicId);
-        List<Tag> tags = topicTagRepository.findTagsByTopicId(topicId);
-        List<Attachment> attachments = attachmentRepository.findByPost_Id(topicId);
-
-        List<Integer> postIds = replies.stream().map(Reply::getId).collect(Collectors.toList());
-        postIds.add(topicId);
-        Map<Integer, String> currentUserVotes = (currentUser != null)
-            ? voteRepository.findUserVoteStatusForPosts(currentUser.getId(), postIds)
-            : Map.of();
-
-        return topicMapper.toTopicResponseDto(topic, replies, tags, attachments, currentUserVotes);
+        return withCurrentUserVotes(topicViewCache.getTopic(topicId), currentUser);
     }
 
     @Transactional
@@ -85,12 +79,13 @@ public class TopicService {
         // ✅ FIXED: Handle tags via the join table
         handleTopicTags(savedTopic, request.tags(), author);
         updateContainerTopicCount(topic.getModule(), topic.getCommunity(), 1);
+        communityStatsEngine.recordTopicCreated(communityIdOf(savedTopic), savedTopic.getTopicType(), author.getUserId());
 
         // attachmentService.saveAttachments(files, savedTopic); // This logic would go here
         // eventPublisher.publishEvent(new NewTopicEvent(savedTopic));
 
         log.info("Created new topic '{}' with ID: {}", savedTopic.getTitle(), savedTopic.getId());
-        return getTopicById(savedTopic.getId(), currentUser);
+        return withCurrentUserVotes(topicViewCache.load(savedTopic.getId()), currentUser);
     }
 
     @Transactional
@@ -114,7 +109,7 @@ public class TopicService {
         // handleAttachmentsUpdate(topic, request.attachmentIdsToDelete(), newFiles);
         
         topicRepository.save(topic);
-        return getTopicById(topicId, currentUser);
+        return withCurrentUserVotes(topicViewCache.load(topicId), currentUser);
     }
 
     @Transactional
@@ -126,7 +121,8 @@ public class TopicService {
 
         validateSolutionMarking(topic, currentUser);
         
-        if (topic.isSolved()) {
+        boolean wasSolved = topic.isSolved();
+        if (wasSolved) {
             unmarkSolutionInternal(topic);
         }
 
@@ -144,9 +140,12 @@ public class TopicService {
 
         replyRepository.save(solutionReply);
         topicRepository.save(topic);
+        if (!wasSolved) {
+            communityStatsEngine.recordSolutionMarked(communityIdOf(topic));
+        }
         
         // eventPublisher.publishEvent(new SolutionMarkedEvent(topic, solutionReply));
-        return getTopicById(topicId, currentUser);
+        return withCurrentUserVotes(topicViewCache.load(topicId), currentUser);
     }
 
     @Transactional
@@ -159,9 +158,10 @@ public class TopicService {
         validateSolutionUnmarking(topic, currentUser);
         
         unmarkSolutionInternal(topic);
+        communityStatsEngine.recordSolutionUnmarked(communityIdOf(topic));
         
         // eventPublisher.publishEvent(new SolutionUnmarkedEvent(topic));
-        return getTopicById(topicId, currentUser);
+        return withCurrentUserVotes(topicViewCache.load(topicId), currentUser);
     }
 
     @Transactional
@@ -177,11 +177,21 @@ public class TopicService {
         topicRepository.save(topic);
         
         updateContainerTopicCount(topic.getModule(), topic.getCommunity(), -1);
+        communityStatsEngine.recordTopicDeleted(communityIdOf(topic), topic.getTopicType(), topic.isSolved());
         log.info("Soft-deleted topic with ID: {}", topicId);
     }
 
     // --- Private Helper Methods ---
 
+    private TopicResponseDto withCurrentUserVotes(TopicResponseDto topic, UserDetailsImpl currentUser) {
+        if (currentUser == null) {
+            return topic;
+        }
+        Map<Integer, String> currentUserVotes =
+            voteRepository.findUserVoteStatusForPosts(currentUser.getId(), topicMapper.postIdsOf(topic));
+        return topicMapper.withCurrentUserVotes(topic, currentUserVotes);
+    }
+
     private void validateTopicCreation(TopicCreateRequest request) {
         if ((request.moduleId() == null && request.communityId() == null) ||
             (request.moduleId() != null && request.communityId() != null)) {
@@ -210,10 +220,11 @@ public class TopicService {
         topicTagRepository.deleteAllByTopic_Id(topic.getId());
         if (tagNames != null && !tagNames.isEmpty()) {
             Set<Tag> tags = tagService.findOrCreateTags(tagNames);
-            List<TopicTag> topicTags = tags.stream()
-                .map(tag -> new TopicTag(topic, tag, user))
-                .collect(Collectors.toList());
-            topicTagRepository.saveAll(topicTags);
+            // saveAll would merge (SELECT, then INSERT) each row because topic tags have assigned ids
+            Instant now = Instant.now();
+            Integer addedBy = user != null ? user.getUserId() : null;
+            bulkWriter.insertIgnoringDuplicates("topic_tags", TOPIC_TAG_COLUMNS, tags,
+                tag -> new Object[] {topic.getId(), tag.getId(), addedBy, now, now});
         }
     }
 
@@ -247,6 +258,10 @@ public class TopicService {
         }
     }
 
+    private Integer communityIdOf(Topic topic) {
+        return topic.getCommunity() != null ? topic.getCommunity().getCommunityId() : null;
+    }
+
     private void updateContainerTopicCount(Module module, Community community, int delta) {
         if (module != null) {
             moduleRepository.updateTopicCount(module.getModuleId(), delta);
@@ -0,0 +1,64 @@
+package com.tuniv.backend.qa.service;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tuniv.backend.qa.dto.TopicResponseDto;
+import com.tuniv.backend.qa.mapper.TopicMapper;
+import com.tuniv.backend.qa.model.Attachment;
+import com.tuniv.backend.qa.model.Reply;
+import com.tuniv.backend.qa.model.Tag;
+import com.tuniv.backend.qa.model.Topic;
+import com.tuniv.backend.qa.repository.AttachmentRepository;
+import com.tuniv.backend.qa.repository.ReplyRepository;
+import com.tuniv.backend.qa.repository.TopicRepository;
+import com.tuniv.backend.qa.repository.TopicTagRepository;
+import com.tuniv.backend.shared.datasource.DataSourceRoute;
+import com.tuniv.backend.shared.datasource.RouteTo;
+import com.tuniv.backend.shared.exception.ResourceNotFoundException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves cached topic detail views. The cached view is the same for every reader: it carries no
+ * {@code currentUserVote}, which {@link TopicService#getTopicById} overlays per request.
+ * Entries are evicted under {@link #CACHE_NAME} whenever the topic or one of its replies changes.
+ */
+@Service
+@RequiredArgsConstructor
+public class TopicViewCache {
+
+    public static final String CACHE_NAME = "topics";
+
+    private final TopicRepository topicRepository;
+    private final ReplyRepository replyRepository;
+    private final TopicTagRepository topicTagRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final TopicMapper topicMapper;
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = CACHE_NAME, key = "#topicId", sync = true)
+    @RouteTo(DataSourceRoute.PRIMARY) // Cached for every reader, so it must not come from a lagging replica
+    public TopicResponseDto getTopic(Integer topicId) {
+        return load(topicId);
+    }
+
+    /**
+     * Builds the view without going through the cache, for callers inside a write transaction
+     * whose changes are not committed yet.
+     */
+    public TopicResponseDto load(Integer topicId) {
+        Topic topic = topicRepository.findById(topicId)
+            .orElseThrow(() -> new ResourceNotFoundException("Topic not found with id: " + topicId));
+
+        List<Reply> replies = replyRepository.findByTopicIdOrderByCreatedAtAsc(topicId);
+        List<Tag> tags = topicTagRepository.findTagsByTopicId(topicId);
+        List<Attachment> attachments = attachmentRepository.findByPost_Id(topicId);
+
+        return topicMapper.toTopicResponseDto(topic, replies, tags, attachments, Map.of());
+    }
+}
@@ -1,5 +1,6 @@
 package com.tuniv.backend.qa.service;
 
+import com.tuniv.backend.community.service.CommunityStatsEngine;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
 import com.tuniv.backend.notification.event.NewVoteEvent;
 import com.tuniv.backend.qa.model.Reply;
@@ -12,6 +13,8 @@ import com.tuniv.backend.qa.repository.VoteRepository;
 import com.tuniv.backend.shared.exception.ResourceNotFoundException;
 import com.tuniv.backend.user.model.User;
 import com.tuniv.backend.user.repository.UserRepository;
+import com.tuniv.backend.user.service.ProfileCardService;
+import com.tuniv.backend.user.service.UserSummaryCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
@@ -30,6 +33,9 @@ public class VoteService {
     private final ReplyRepository replyRepository;
     private final VoteRepository voteRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final ProfileCardService profileCardService;
+    private final UserSummaryCache userSummaryCache;
+    private final CommunityStatsEngine communityStatsEngine;
 
     // Reputation constants
     private static final int TOPIC_UPVOTE_REP = 5;
@@ -88,6 +94,7 @@ public class VoteService {
             Vote newVote = new Vote(voter, post, shortValue);
             voteRepository.save(newVote);
             updateCountsForNew(post, author, shortValue, upvoteReputationValue);
+            communityStatsEngine.recordVote(communityIdOf(post));
             
             if (shortValue == 1) { // Only publish event for new upvotes
                 // eventPublisher.publishEvent(new NewVoteEvent(this, newVote));
@@ -96,11 +103,18 @@ public class VoteService {
         
         // Save the updated entities
         userRepository.save(author);
+        profileCardService.evict(author.getUserId()); // Reputation is shown on the author's profile card
+        userSummaryCache.invalidate(author.getUserId());
         // The specific repository save is needed if the generic type is not automatically flushed
         if (post instanceof Topic) topicRepository.save((Topic) post);
         if (post instanceof Reply) replyRepository.save((Reply) post);
     }
 
+    private Integer communityIdOf(VotablePost post) {
+        Topic topic = post instanceof Reply reply ? reply.getTopic() : (Topic) post;
+        return topic.getCommunity() != null ? topic.getCommunity().getCommunityId() : null;
+    }
+
     //<editor-fold desc="Count Update Helpers">
     private void updateCountsForNew(VotablePost post, User author, short value, int upvoteRep) {
         post.setScore(post.getScore() + value);
@@ -0,0 +1,57 @@
+package com.tuniv.backend.shared.cache;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the loads a node-local cache has running, so that an invalidation landing while a load reads the
+ * old state keeps that load's result out of the cache. Caches call {@link #supersede} before dropping an entry,
+ * and only store the keys of a finished load that were not superseded.
+ */
+public final class InFlightLoads<K> {
+
+    /** One running load; close it once its results are stored. */
+    public final class Load implements AutoCloseable {
+
+        private final Set<K> keys;
+        private final Set<K> superseded = ConcurrentHashMap.newKeySet();
+
+        private Load(Collection<K> keys) {
+            this.keys = Set.copyOf(keys);
+        }
+
+        public boolean isSuperseded(K key) {
+            return superseded.contains(key);
+        }
+
+        /**
+         * Keys invalidated since the load started. Dropping them again after storing covers an invalidation
+         * that landed between the check and the store.
+         */
+        public Set<K> superseded() {
+            return superseded;
+        }
+
+        @Override
+        public void close() {
+            running.remove(this);
+        }
+    }
+
+    private final Set<Load> running = ConcurrentHashMap.newKeySet();
+
+    public Load start(Collection<K> keys) {
+        Load load = new Load(keys);
+        running.add(load);
+        return load;
+    }
+
+    public void supersede(K key) {
+        for (Load load : running) {
+            if (load.keys.contains(key)) {
+                load.superseded.add(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.tuniv.backend.shared.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Two-level cache: a bounded Guava cache per node (L1) in front of Redis (L2).
+ * Loads are single-flight per key and node. L2 entries remember how long they took to compute, and a reader
+ * may recompute one shortly before it expires (probabilistic early refresh), so a hot key does not expire
+ * for every node at once. Writes and evictions are announced through {@link TieredCacheManager} so other
+ * nodes drop their L1 copy. When Redis is unavailable the cache degrades to L1 only.
+ *
+ * Only application types (classes under {@code com.tuniv.backend}, typically DTO records) are shared through
+ * Redis, because the stored class name is what a reader instantiates. Collections, maps and other JDK or
+ * library types stay in L1 only and are recomputed on every node; wrap them in a DTO record to share them.
+ */
+@Slf4j
+public class TieredCache extends AbstractValueAdaptingCache {
+
+    private static final String KEY_PREFIX = "cache:";
+    private static final String VALUE_PACKAGE = "com.tuniv.backend.";
+
+    public record Settings(long localMaxSize, Duration localTtl, Duration remoteTtl, double earlyRefreshBeta) {}
+
+    public record CacheStats(
+        String name,
+        long localSize,
+        long localHits,
+        long remoteHits,
+        long misses,
+        long earlyRefreshes,
+        long loads,
+        double averageLoadMillis,
+        long remoteErrors
+    ) {}
+
+    /** What is stored in Redis: the value as JSON plus what early refresh needs. */
+    record RemoteEntry(String type, long computeMillis, long expiresAt, JsonNode value) {}
+
+    /**
+     * One single-flight load. {@code superseded} is set when the key is evicted while the load runs: the value
+     * it read may predate the change behind the eviction, so it is returned to its callers but not cached.
+     */
+    private static final class Load {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        volatile boolean superseded;
+    }
+
+    private final String name;
+    private final Settings settings;
+    private final Cache<String, Object> local;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final BiConsumer<String, String> invalidationPublisher;
+    private final ConcurrentHashMap<String, Load> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder earlyRefreshes = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder remoteErrors = new LongAdder();
+
+    TieredCache(String name, Settings settings, StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                BiConsumer<String, String> invalidationPublisher) {
+        super(false);
+        this.name = name;
+        this.settings = settings;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.invalidationPublisher = invalidationPublisher;
+        // L1 expires well before L2, which bounds staleness if an invalidation message is lost
+        this.local = CacheBuilder.newBuilder()
+                .maximumSize(settings.localMaxSize())
+                .expireAfterWrite(settings.localTtl())
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    // ========== READS ==========
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = String.valueOf(key);
+        Object value = local.getIfPresent(cacheKey);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+        RemoteEntry remote = readRemote(cacheKey);
+        if (remote != null) {
+            value = toValue(cacheKey, remote);
+            if (value != null) {
+                remoteHits.increment();
+                local.put(cacheKey, value);
+                return value;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Used by {@code @Cacheable(sync = true)}. Concurrent callers for the same key on this node share one load.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = String.valueOf(key);
+        Object cached = local.getIfPresent(cacheKey);
+        if (cached != null) {
+            localHits.increment();
+            return (T) cached;
+        }
+
+        Load load = new Load();
+        Load existing = inFlight.putIfAbsent(cacheKey, load);
+        if (existing != null) {
+            try {
+                return (T) existing.result.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+        try {
+            Object value = loadThrough(cacheKey, valueLoader, load);
+            load.result.complete(value);
+            return (T) value;
+        } catch (Throwable t) {
+            load.result.completeExceptionally(t);
+            throw new ValueRetrievalException(key, valueLoader, t);
+        } finally {
+            inFlight.remove(cacheKey, load);
+        }
+    }
+
+    private Object loadThrough(String cacheKey, Callable<?> valueLoader, Load load) throws Exception {
+        RemoteEntry remote = readRemote(cacheKey);
+        if (remote != null) {
+            if (refreshEarly(remote)) {
+                earlyRefreshes.increment();
+            } else {
+                Object value = toValue(cacheKey, remote);
+                if (value != null) {
+                    remoteHits.increment();
+                    store(cacheKey, value, load, false, 0);
+                    return value;
+                }
+            }
+        } else {
+            misses.increment();
+        }
+
+        long started = System.nanoTime();
+        Object value = valueLoader.call();
+        long elapsed = System.nanoTime() - started;
+        loads.increment();
+        loadNanos.add(elapsed);
+
+        if (value != null) {
+            store(cacheKey, value, load, true, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+        return value;
+    }
+
+    /**
+     * Caches a loaded value unless the key was evicted during the load. An eviction that lands while the value
+     * is being stored is caught by the second check, since {@link #evict} marks the load before it deletes.
+     */
+    private void store(String cacheKey, Object value, Load load, boolean remote, long computeMillis) {
+        if (load.superseded) {
+            return;
+        }
+        local.put(cacheKey, value);
+        if (remote) {
+            writeRemote(cacheKey, value, computeMillis);
+        }
+        if (load.superseded) {
+            local.invalidate(cacheKey);
+            if (remote) {
+                deleteRemote(cacheKey);
+            }
+        }
+    }
+
+    /**
+     * XFetch: recompute with a probability that rises as expiry nears, scaled by how expensive the value was.
+     */
+    private boolean refreshEarly(RemoteEntry entry) {
+        double jitter = -entry.computeMillis() * settings.earlyRefreshBeta()
+                * Math.log(ThreadLocalRandom.current().nextDouble(Double.MIN_VALUE, 1.0));
+        return System.currentTimeMillis() + jitter >= entry.expiresAt();
+    }
+
+    // ========== WRITES ==========
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        String cacheKey = String.valueOf(key);
+        local.put(cacheKey, value);
+        writeRemote(cacheKey, value, 0);
+        invalidationPublisher.accept(name, cacheKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = String.valueOf(key);
+        supersede(cacheKey);
+        local.invalidate(cacheKey);
+        deleteRemote(cacheKey);
+        invalidationPublisher.accept(name, cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        supersede(null);
+        local.invalidateAll();
+        try {
+            List<String> keys = new ArrayList<>();
+            ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + name + "::*").count(500).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (!keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Failed to clear remote cache {}: {}", name, e.getMessage());
+        }
+        invalidationPublisher.accept(name, null);
+    }
+
+    /** Applies an invalidation announced by another node; {@code cacheKey} null means everything. */
+    void invalidateLocal(String cacheKey) {
+        supersede(cacheKey);
+        if (cacheKey == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(cacheKey);
+        }
+    }
+
+    /** Marks the running load of {@code cacheKey} (every running load if null) as superseded. */
+    private void supersede(String cacheKey) {
+        if (cacheKey == null) {
+            inFlight.values().forEach(load -> load.superseded = true);
+            return;
+        }
+        Load load = inFlight.get(cacheKey);
+        if (load != null) {
+            load.superseded = true;
+        }
+    }
+
+    public CacheStats stats() {
+        long loadCount = loads.sum();
+        return new CacheStats(
+            name,
+            local.size(),
+            localHits.sum(),
+            remoteHits.sum(),
+            misses.sum(),
+            earlyRefreshes.sum(),
+            loadCount,
+            loadCount > 0 ? (double) loadNanos.sum() / loadCount / TimeUnit.MILLISECONDS.toNanos(1) : 0,
+            remoteErrors.sum()
+        );
+    }
+
+    // ========== REDIS ==========
+
+    private String remoteKey(String cacheKey) {
+        return KEY_PREFIX + name + "::" + cacheKey;
+    }
+
+    private void deleteRemote(String cacheKey) {
+        try {
+            redisTemplate.delete(remoteKey(cacheKey));
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Failed to evict {} from remote cache {}: {}", cacheKey, name, e.getMessage());
+        }
+    }
+
+    private RemoteEntry readRemote(String cacheKey) {
+        try {
+            String json = redisTemplate.opsForValue().get(remoteKey(cacheKey));
+            return json != null ? objectMapper.readValue(json, RemoteEntry.class) : null;
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable entry {} in remote cache {}: {}", cacheKey, name, e.getMessage());
+            return null;
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.debug("Remote cache {} unavailable: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private Object toValue(String cacheKey, RemoteEntry entry) {
+        // Only our own types are ever instantiated from Redis
+        if (entry.type() == null || !entry.type().startsWith(VALUE_PACKAGE)) {
+            log.warn("Ignoring entry {} of unexpected type {} in remote cache {}", cacheKey, entry.type(), name);
+            return null;
+        }
+        try {
+            Class<?> type = Class.forName(entry.type(), false, getClass().getClassLoader());
+            return objectMapper.treeToValue(entry.value(), type);
+        } catch (ClassNotFoundException | JsonProcessingException e) {
+            // Typically written by a node running a different version of the class
+            log.debug("Ignoring incompatible entry {} in remote cache {}: {}", cacheKey, name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRemote(String cacheKey, Object value, long computeMillis) {
+        if (!value.getClass().getName().startsWith(VALUE_PACKAGE)) {
+            // toValue would refuse it on the way back, so writing it would only cost a round trip
+            log.debug("Keeping {} in cache {} local: {} is not shared remotely", cacheKey, name, value.getClass().getName());
+            return;
+        }
+        Duration ttl = settings.remoteTtl();
+        try {
+            RemoteEntry entry = new RemoteEntry(value.getClass().getName(), computeMillis,
+                    System.currentTimeMillis() + ttl.toMillis(), objectMapper.valueToTree(value));
+            redisTemplate.opsForValue().set(remoteKey(cacheKey), objectMapper.writeValueAsString(entry), ttl);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn("Value for {} in cache {} cannot be stored remotely: {}", cacheKey, name, e.getMessage());
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.debug("Failed to write {} to remote cache {}: {}", cacheKey, name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.tuniv.backend.shared.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates {@link TieredCache}s on first use and keeps their L1s coherent across nodes over Redis pub/sub.
+ * Each cache is configured by {@code app.cache.tiered.<cacheName>.*}, falling back to
+ * {@code app.cache.tiered.default.*}. Transaction-aware, so evictions happen after commit.
+ */
+@Slf4j
+public class TieredCacheManager extends AbstractTransactionSupportingCacheManager implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+
+    private static final String CLEAR = "C";
+    private static final String EVICT = "E";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final Map<String, TieredCache> caches = new ConcurrentHashMap<>();
+
+    public TieredCacheManager(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, Environment environment) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return List.of();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        TieredCache cache = new TieredCache(name, settings(name), redisTemplate, objectMapper, this::publish);
+        caches.put(name, cache);
+        return cache;
+    }
+
+    public List<TieredCache.CacheStats> stats() {
+        List<TieredCache.CacheStats> stats = new ArrayList<>();
+        caches.values().forEach(cache -> stats.add(cache.stats()));
+        return stats;
+    }
+
+    // ========== INVALIDATION ==========
+
+    private void publish(String cacheName, String cacheKey) {
+        String message = nodeId + "|" + (cacheKey == null ? CLEAR : EVICT) + "|" + cacheName + "|"
+                + (cacheKey == null ? "" : cacheKey);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (RuntimeException e) {
+            // Other nodes fall back on their shorter L1 TTL
+            log.warn("Failed to publish invalidation for cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TieredCache cache = caches.get(parts[2]);
+        if (cache != null) {
+            cache.invalidateLocal(CLEAR.equals(parts[1]) ? null : parts[3]);
+        }
+    }
+
+    private TieredCache.Settings settings(String cacheName) {
+        return new TieredCache.Settings(
+            property(cacheName, "l1-max-size", Long.class, 10_000L),
+            property(cacheName, "l1-ttl", Duration.class, Duration.ofMinutes(5)),
+            property(cacheName, "l2-ttl", Duration.class, Duration.ofMinutes(30)),
+            property(cacheName, "early-refresh-beta", Double.class, 1.0)
+        );
+    }
+
+    private <T> T property(String cacheName, String property, Class<T> type, T defaultValue) {
+        T fallback = environment.getProperty("app.cache.tiered.default." + property, type, defaultValue);
+        return environment.getProperty("app.cache.tiered." + cacheName + "." + property, type, fallback);
+    }
+}
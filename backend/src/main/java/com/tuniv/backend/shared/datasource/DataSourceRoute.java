@@ -0,0 +1,8 @@
+package com.tuniv.backend.shared.datasource;
+
+public enum DataSourceRoute {
+    /** The writable primary. */
+    PRIMARY,
+    /** A read replica; only honoured inside read-only transactions. */
+    REPLICA
+}
@@ -0,0 +1,31 @@
+package com.tuniv.backend.shared.datasource;
+
+/**
+ * Holds the {@link RouteTo} override of the current thread, set while an annotated method runs.
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<DataSourceRoute> OVERRIDE = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    public static DataSourceRoute current() {
+        return OVERRIDE.get();
+    }
+
+    /** @return the previous override, to hand back to {@link #restore} */
+    static DataSourceRoute set(DataSourceRoute route) {
+        DataSourceRoute previous = OVERRIDE.get();
+        OVERRIDE.set(route);
+        return previous;
+    }
+
+    static void restore(DataSourceRoute previous) {
+        if (previous == null) {
+            OVERRIDE.remove();
+        } else {
+            OVERRIDE.set(previous);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.tuniv.backend.shared.datasource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tuniv.backend.config.security.services.UserDetailsImpl;
+
+/**
+ * Sends read-only transactions to the replicas (round robin) and everything else to the primary.
+ * Reads stay on the primary for users inside their read-your-writes window (see {@link RecentWriters})
+ * and wherever {@link RouteTo} says so.
+ * <p>
+ * The route is decided when the transaction first asks for a connection, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: only then has the
+ * transaction's read-only flag been set by the time a connection is needed.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+    private final RecentWriters recentWriters;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, RecentWriters recentWriters) {
+        this.recentWriters = recentWriters;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicaKeys = new ArrayList<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            targets.put(key, replicas.get(i));
+            replicaKeys.add(key);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return PRIMARY;
+        }
+        DataSourceRoute override = DataSourceRouting.current();
+        if (replicaKeys.isEmpty() || override == DataSourceRoute.PRIMARY) {
+            return PRIMARY;
+        }
+        if (override != DataSourceRoute.REPLICA && recentWriters.isRecentWriter(currentUserId())) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    /**
+     * Starts the caller's read-your-writes window once this write transaction commits.
+     */
+    private void trackWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        Integer userId = currentUserId();
+        if (userId == null || TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(WriteCommitListener.class::isInstance)) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new WriteCommitListener(userId));
+    }
+
+    private static Integer currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private final class WriteCommitListener implements TransactionSynchronization {
+
+        private final Integer userId;
+
+        private WriteCommitListener(Integer userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public void afterCommit() {
+            recentWriters.recordWrite(userId);
+        }
+    }
+}
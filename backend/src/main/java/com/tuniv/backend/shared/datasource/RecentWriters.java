@@ -0,0 +1,62 @@
+package com.tuniv.backend.shared.datasource;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Users who committed a write within the read-your-writes window. Their read-only transactions stay on the
+ * primary until the window passes, so they never read a replica that has not caught up with their own write.
+ * Kept in Redis so the next request sees it whichever node serves it, with a local copy to skip Redis
+ * on the node that handled the write.
+ */
+@Slf4j
+@Component
+public class RecentWriters {
+
+    private static final String KEY_PREFIX = "db:recent-writer:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration window;
+    private final Cache<Integer, Boolean> local;
+
+    public RecentWriters(StringRedisTemplate redisTemplate,
+                         @Value("${app.datasource.read-your-writes-window:PT5S}") Duration window) {
+        this.redisTemplate = redisTemplate;
+        this.window = window;
+        this.local = CacheBuilder.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void recordWrite(Integer userId) {
+        local.put(userId, Boolean.TRUE);
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, "1", window);
+        } catch (Exception e) {
+            log.warn("Failed to record recent write for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    public boolean isRecentWriter(Integer userId) {
+        if (userId == null) {
+            return false;
+        }
+        if (local.getIfPresent(userId) != null) {
+            return true;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + userId));
+        } catch (Exception e) {
+            // Without Redis we cannot tell; the primary is never stale
+            return true;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.tuniv.backend.shared.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides where the read-only transactions of a method (or every method of a class) are routed.
+ * {@code PRIMARY} is for reads that must not lag, such as cache loaders whose result outlives the request;
+ * {@code REPLICA} skips the read-your-writes window for reads that do not depend on the caller's own writes.
+ * Write transactions always use the primary. The route is fixed once a transaction has its connection,
+ * so annotate the method that starts the transaction.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RouteTo {
+    DataSourceRoute value();
+}
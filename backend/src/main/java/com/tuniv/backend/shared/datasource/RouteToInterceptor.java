@@ -0,0 +1,34 @@
+package com.tuniv.backend.shared.datasource;
+
+import java.lang.reflect.Method;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Applies {@link RouteTo} for the duration of the annotated call; a method annotation wins over its class's.
+ */
+public class RouteToInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        RouteTo routeTo = AnnotatedElementUtils.findMergedAnnotation(method, RouteTo.class);
+        if (routeTo == null && targetClass != null) {
+            routeTo = AnnotatedElementUtils.findMergedAnnotation(targetClass, RouteTo.class);
+        }
+        if (routeTo == null) {
+            return invocation.proceed();
+        }
+
+        DataSourceRoute previous = DataSourceRouting.set(routeTo.value());
+        try {
+            return invocation.proceed();
+        } finally {
+            DataSourceRouting.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.tuniv.backend.shared.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A keyset-paged slice of results.
+ * Clients pass {@code nextCursor} back as the {@code before} parameter to fetch the next slice;
+ * it is opaque (see {@link KeysetCursor}) and null when there is nothing left to load.
+ */
+public record CursorPage<T>(
+    List<T> items,
+    String nextCursor,
+    boolean hasMore
+) {
+    public static <T> CursorPage<T> empty() {
+        return new CursorPage<>(List.of(), null, false);
+    }
+
+    public static int clampSize(int size, int maxSize) {
+        return Math.max(1, Math.min(size, maxSize));
+    }
+
+    /**
+     * Builds a page from rows fetched with one extra element, which tells whether another page exists.
+     *
+     * @param positionOf the {@code (createdAt, id)} key the rows were ordered by
+     */
+    public static <T> CursorPage<T> fromRows(List<T> rows, int limit, Function<T, KeysetCursor> positionOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null, false);
+        }
+        List<T> page = rows.subList(0, limit);
+        return new CursorPage<>(page, positionOf.apply(page.get(limit - 1)).encode(), true);
+    }
+
+    // Same position, different item type (e.g. projections hydrated into DTOs)
+    public <R> CursorPage<R> withItems(List<R> newItems) {
+        return new CursorPage<>(newItems, nextCursor, hasMore);
+    }
+}
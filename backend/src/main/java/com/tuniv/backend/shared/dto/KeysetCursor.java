@@ -0,0 +1,41 @@
+package com.tuniv.backend.shared.dto;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A position in a list ordered newest first by {@code (createdAt, id)}.
+ * The id breaks ties between rows created in the same instant, so no row is skipped or repeated
+ * at a page boundary. Clients see it as the opaque string {@code <epoch micros>:<id>}.
+ */
+public record KeysetCursor(Instant createdAt, int id) {
+
+    // Keyset queries compare with a strict "older than", so the first page starts past every id.
+    public static KeysetCursor first() {
+        return new KeysetCursor(Instant.now(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param cursor a {@code nextCursor} from a previous page, or null/blank for the first page
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return first();
+        }
+        String[] parts = cursor.split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            Instant createdAt = Instant.EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS);
+            return new KeysetCursor(createdAt, Integer.parseInt(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    // Timestamps are stored with microsecond precision; encoding less would repeat rows on the next page.
+    public String encode() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, createdAt) + ":" + id;
+    }
+}
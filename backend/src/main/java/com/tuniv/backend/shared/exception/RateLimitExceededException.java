@@ -0,0 +1,20 @@
+package com.tuniv.backend.shared.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a user is over a rate limit. Maps to 429, with {@code Retry-After} set from {@link #getRetryAfter()}.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,11 @@
+package com.tuniv.backend.shared.exception;
+
+/**
+ * Thrown when a downstream resource (SMTP, object storage, ...) stays at its concurrency limit
+ * for longer than callers are allowed to wait. Maps to 503 so clients retry later.
+ */
+public class ResourceBusyException extends RuntimeException {
+    public ResourceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,62 @@
+package com.tuniv.backend.shared.ratelimit;
+
+import java.security.Principal;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.tuniv.backend.config.security.services.UserDetailsImpl;
+import com.tuniv.backend.shared.service.RateLimitingService;
+
+/**
+ * Applies {@link RateLimited}. The user comes from the security context, or for STOMP handlers from their
+ * {@link Principal} argument.
+ */
+public class RateLimitInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<RateLimitingService> rateLimitingService;
+
+    public RateLimitInterceptor(ObjectProvider<RateLimitingService> rateLimitingService) {
+        this.rateLimitingService = rateLimitingService;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        RateLimited rateLimited = AnnotatedElementUtils.findMergedAnnotation(
+                AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass), RateLimited.class);
+        if (rateLimited != null) {
+            Integer userId = currentUserId(invocation.getArguments());
+            if (userId != null) {
+                rateLimitingService.getObject().consume(rateLimited.value(), userId.toString());
+            }
+        }
+        return invocation.proceed();
+    }
+
+    private Integer currentUserId(Object[] arguments) {
+        Integer userId = userId(SecurityContextHolder.getContext().getAuthentication());
+        if (userId != null) {
+            return userId;
+        }
+        for (Object argument : arguments) {
+            if (argument instanceof UserDetailsImpl user) {
+                return user.getId();
+            }
+            if (argument instanceof Principal principal && (userId = userId(principal)) != null) {
+                return userId;
+            }
+        }
+        return null;
+    }
+
+    private static Integer userId(Principal principal) {
+        return principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof UserDetailsImpl user ? user.getId() : null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.tuniv.backend.shared.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * One token bucket per policy and user: {@code capacity} actions, refilled evenly over {@code period}.
+ * Defaults can be overridden with {@code app.rate-limits.<name>.capacity}, {@code .period} and {@code .lease}.
+ */
+public enum RateLimitPolicy {
+    SEND_MESSAGE(30, Duration.ofSeconds(30)),
+    TYPING(20, Duration.ofSeconds(10)),
+    VOTE(20, Duration.ofMinutes(1)),
+    REPORT(10, Duration.ofHours(1)),
+    UPLOAD(20, Duration.ofMinutes(10)),
+    CONTENT(10, Duration.ofMinutes(5));
+
+    private final long defaultCapacity;
+    private final Duration defaultPeriod;
+
+    RateLimitPolicy(long defaultCapacity, Duration defaultPeriod) {
+        this.defaultCapacity = defaultCapacity;
+        this.defaultPeriod = defaultPeriod;
+    }
+
+    public long defaultCapacity() {
+        return defaultCapacity;
+    }
+
+    public Duration defaultPeriod() {
+        return defaultPeriod;
+    }
+
+    public String propertyName() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,19 @@
+package com.tuniv.backend.shared.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Charges one action against the current user's bucket for {@link #value()} before the method runs.
+ * Works on REST handlers and STOMP {@code @MessageMapping}s alike; over the limit the call fails with
+ * {@link com.tuniv.backend.shared.exception.RateLimitExceededException}. Anonymous calls are not limited here.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimited {
+    RateLimitPolicy value();
+}
@@ -0,0 +1,98 @@
+package com.tuniv.backend.shared.service;
+
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Plain JDBC inserts for rows that need no entity lifecycle (join rows, logs). Rows go out as JDBC batches,
+ * which the PostgreSQL driver rewrites into multi-row INSERTs ({@code reWriteBatchedInserts}), so a thousand
+ * rows cost a handful of round trips rather than a thousand {@code save} calls.
+ * Joins the caller's transaction and flushes its persistence context first, so pending JPA changes
+ * (for example deletes of the rows being replaced) reach the database before the inserts do.
+ */
+@Component
+public class BulkWriter {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BulkWriter(JdbcTemplate jdbcTemplate,
+                      @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param values maps a row to its column values, in {@code columns} order
+     * @return the number of rows inserted
+     */
+    public <T> int insert(String table, List<String> columns, Collection<T> rows, Function<T, Object[]> values) {
+        return write(insertSql(table, columns), rows, values);
+    }
+
+    /**
+     * Like {@link #insert}, but rows that collide with an existing key are skipped ({@code ON CONFLICT DO NOTHING}).
+     */
+    public <T> int insertIgnoringDuplicates(String table, List<String> columns, Collection<T> rows,
+                                            Function<T, Object[]> values) {
+        return write(insertSql(table, columns) + " ON CONFLICT DO NOTHING", rows, values);
+    }
+
+    private <T> int write(String sql, Collection<T> rows, Function<T, Object[]> values) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive() && entityManager.isJoinedToTransaction()) {
+            entityManager.flush();
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(sql, rows, batchSize, (ps, row) -> {
+            Object[] rowValues = values.apply(row);
+            for (int i = 0; i < rowValues.length; i++) {
+                ps.setObject(i + 1, jdbcValue(rowValues[i]));
+            }
+        });
+
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Rewritten batches report SUCCESS_NO_INFO per row
+                inserted += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
+        }
+        return inserted;
+    }
+
+    private static String insertSql(String table, List<String> columns) {
+        // Identifiers cannot be bound as parameters, so only plain lower-case names are accepted
+        if (!IDENTIFIER.matcher(table).matches() || columns.isEmpty()
+                || !columns.stream().allMatch(column -> IDENTIFIER.matcher(column).matches())) {
+            throw new IllegalArgumentException("Invalid bulk insert target: " + table + " " + columns);
+        }
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+    }
+
+    private static Object jdbcValue(Object value) {
+        // The PostgreSQL driver maps OffsetDateTime to timestamptz but does not accept Instant
+        return value instanceof Instant instant ? OffsetDateTime.ofInstant(instant, ZoneOffset.UTC) : value;
+    }
+}
@@ -0,0 +1,68 @@
+package com.tuniv.backend.shared.service;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.tuniv.backend.shared.exception.ResourceBusyException;
+
+/**
+ * Caps how many callers use one downstream resource at a time. With virtual threads, thread counts no longer
+ * throttle anything, so the limit sits on the resource itself: waiters park cheaply on a fair semaphore and
+ * give up with {@link ResourceBusyException} after {@code maxWait}.
+ */
+public class ConcurrencyLimiter {
+
+    @FunctionalInterface
+    public interface LimitedCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    @FunctionalInterface
+    public interface LimitedRunnable<E extends Exception> {
+        void run() throws E;
+    }
+
+    private final String resource;
+    private final Semaphore permits;
+    private final Duration maxWait;
+
+    public ConcurrencyLimiter(String resource, int maxConcurrent, Duration maxWait) {
+        this.resource = resource;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWait = maxWait;
+    }
+
+    public <T, E extends Exception> T call(LimitedCall<T, E> call) throws E {
+        acquire();
+        try {
+            return call.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public <E extends Exception> void run(LimitedRunnable<E> runnable) throws E {
+        acquire();
+        try {
+            runnable.run();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ResourceBusyException(resource + " is busy, please try again shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceBusyException("Interrupted while waiting for " + resource);
+        }
+    }
+}
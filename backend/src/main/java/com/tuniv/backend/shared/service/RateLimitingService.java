@@ -1,30 +1,175 @@
 package com.tuniv.backend.shared.service;
 
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tuniv.backend.shared.exception.RateLimitExceededException;
+import com.tuniv.backend.shared.ratelimit.RateLimitPolicy;
+
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.Refill;
-import org.springframework.stereotype.Service;
-
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Cluster-wide rate limits. The token bucket for each policy and user lives in Redis and is updated by a
+ * Lua script, so every node draws from the same budget.
+ *
+ * To keep Redis off the hot path, a node takes a small lease of tokens at a time and spends it locally, and
+ * once Redis has refused a user it rejects them locally until the retry time has passed. Leased tokens are
+ * already gone from the shared bucket, so leasing can only make a limit stricter, never looser. Local state
+ * is bounded per policy and evicted after a period without access. If Redis is unavailable, each node falls
+ * back to a Bucket4j bucket of its own with the same limit.
+ */
 @Service
+@Slf4j
 public class RateLimitingService {
 
-    // A map to store a bucket for each user, identified by their username.
-    private final Map<String, Bucket> userBuckets = new ConcurrentHashMap<>();
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    /**
+     * Refills by elapsed time on Redis's clock, then grants up to ARGV[3] tokens.
+     * Returns {granted, millis until the next token when nothing was granted}.
+     */
+    private static final RedisScript<List> TAKE_TOKENS = new DefaultRedisScript<>("""
+        local capacity = tonumber(ARGV[1])
+        local period = tonumber(ARGV[2])
+        local wanted = tonumber(ARGV[3])
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+        local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+        local tokens = tonumber(state[1]) or capacity
+        local ts = tonumber(state[2]) or now
+        tokens = math.min(capacity, tokens + math.max(0, now - ts) * capacity / period)
+        local granted = math.min(wanted, math.floor(tokens))
+        tokens = tokens - granted
+        redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+        redis.call('PEXPIRE', KEYS[1], period)
+        local retry = 0
+        if granted == 0 then
+            retry = math.ceil((1 - tokens) * period / capacity)
+        end
+        return {granted, retry}
+        """, List.class);
+
+    private record Limit(long capacity, Duration period, long lease) {}
+
+    /** What one node knows about one user under one policy. Guarded by {@code lock}. */
+    private static final class LocalAllowance {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Bucket fallback;
+        private long leased;
+        private long blockedUntil;
+
+        LocalAllowance(Limit limit) {
+            this.fallback = Bucket.builder()
+                    .addLimit(Bandwidth.classic(limit.capacity(), Refill.greedy(limit.capacity(), limit.period())))
+                    .build();
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final Map<RateLimitPolicy, Limit> limits = new EnumMap<>(RateLimitPolicy.class);
+    private final Map<RateLimitPolicy, Cache<String, LocalAllowance>> allowances = new EnumMap<>(RateLimitPolicy.class);
+
+    public RateLimitingService(StringRedisTemplate redisTemplate, Environment environment) {
+        this.redisTemplate = redisTemplate;
+        long maxLocalKeys = environment.getProperty("app.rate-limits.local-max-keys", Long.class, 100_000L);
+        for (RateLimitPolicy policy : RateLimitPolicy.values()) {
+            String prefix = "app.rate-limits." + policy.propertyName() + ".";
+            long capacity = environment.getProperty(prefix + "capacity", Long.class, policy.defaultCapacity());
+            Duration period = environment.getProperty(prefix + "period", Duration.class, policy.defaultPeriod());
+            long lease = environment.getProperty(prefix + "lease", Long.class, Math.max(1, capacity / 10));
+            Limit limit = new Limit(capacity, period, Math.max(1, Math.min(lease, capacity)));
+            limits.put(policy, limit);
+            // An idle user's bucket is full again after one period, so their local state is no longer needed
+            allowances.put(policy, CacheBuilder.newBuilder()
+                    .maximumSize(maxLocalKeys)
+                    .expireAfterAccess(period)
+                    .build());
+        }
+    }
+
+    /**
+     * Takes one action from {@code subject}'s bucket for {@code policy}.
+     *
+     * @throws RateLimitExceededException if the bucket is empty
+     */
+    public void consume(RateLimitPolicy policy, String subject) {
+        long retryAfterMillis = tryConsume(policy, subject);
+        if (retryAfterMillis > 0) {
+            throw new RateLimitExceededException("Rate limit exceeded for " + policy.propertyName() + ". Try again later.",
+                    Duration.ofMillis(retryAfterMillis));
+        }
+    }
+
+    /**
+     * Takes one action from {@code subject}'s bucket for {@code policy}.
+     *
+     * @return 0 if allowed, otherwise how many milliseconds to wait before retrying
+     */
+    public long tryConsume(RateLimitPolicy policy, String subject) {
+        Limit limit = limits.get(policy);
+        LocalAllowance allowance = allowance(policy, subject, limit);
+        allowance.lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (now < allowance.blockedUntil) {
+                return allowance.blockedUntil - now;
+            }
+            if (allowance.leased > 0) {
+                allowance.leased--;
+                return 0;
+            }
+
+            long[] result;
+            try {
+                result = takeTokens(policy, subject, limit);
+            } catch (RuntimeException e) {
+                log.debug("Rate limit store unavailable, limiting {} on this node only: {}", policy, e.getMessage());
+                ConsumptionProbe probe = allowance.fallback.tryConsumeAndReturnRemaining(1);
+                return probe.isConsumed() ? 0 : Math.max(1, probe.getNanosToWaitForRefill() / 1_000_000);
+            }
+            if (result[0] == 0) {
+                long retryAfter = Math.max(1, result[1]);
+                allowance.blockedUntil = now + retryAfter;
+                return retryAfter;
+            }
+            allowance.leased = result[0] - 1;
+            return 0;
+        } finally {
+            allowance.lock.unlock();
+        }
+    }
 
-    public Bucket resolveBucket(String key) {
-        // Get the bucket for the user, or create a new one if it doesn't exist.
-        return userBuckets.computeIfAbsent(key, this::newBucket);
+    private LocalAllowance allowance(RateLimitPolicy policy, String subject, Limit limit) {
+        try {
+            return allowances.get(policy).get(subject, () -> new LocalAllowance(limit));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
     }
 
-    private Bucket newBucket(String key) {
-        // This configures the bucket: Allow 20 actions per minute.
-        Bandwidth limit = Bandwidth.classic(20, Refill.greedy(20, Duration.ofMinutes(1)));
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+    private long[] takeTokens(RateLimitPolicy policy, String subject, Limit limit) {
+        List<?> result = redisTemplate.execute(TAKE_TOKENS,
+                List.of(KEY_PREFIX + policy.propertyName() + ":" + subject),
+                String.valueOf(limit.capacity()), String.valueOf(limit.period().toMillis()), String.valueOf(limit.lease()));
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("Unexpected rate limit script result: " + result);
+        }
+        return new long[] {((Number) result.get(0)).longValue(), ((Number) result.get(1)).longValue()};
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package com.tuniv.backend.shared.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The per-resource concurrency limits. The database needs none here: the Hikari pool
+ * ({@code spring.datasource.hikari.maximum-pool-size}) already bounds concurrent JDBC work.
+ */
+@Component
+public class ResourceLimiters {
+
+    private final ConcurrencyLimiter smtp;
+    private final ConcurrencyLimiter objectStorage;
+
+    public ResourceLimiters(@Value("${app.limits.smtp.max-concurrent:4}") int smtpMaxConcurrent,
+                            @Value("${app.limits.smtp.max-wait:PT30S}") Duration smtpMaxWait,
+                            @Value("${app.limits.object-storage.max-concurrent:32}") int storageMaxConcurrent,
+                            @Value("${app.limits.object-storage.max-wait:PT10S}") Duration storageMaxWait) {
+        this.smtp = new ConcurrencyLimiter("Mail server", smtpMaxConcurrent, smtpMaxWait);
+        this.objectStorage = new ConcurrencyLimiter("File storage", storageMaxConcurrent, storageMaxWait);
+    }
+
+    public ConcurrencyLimiter smtp() {
+        return smtp;
+    }
+
+    public ConcurrencyLimiter objectStorage() {
+        return objectStorage;
+    }
+}
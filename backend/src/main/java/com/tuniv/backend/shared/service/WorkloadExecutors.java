@@ -0,0 +1,142 @@
+package com.tuniv.backend.shared.service;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds one bounded executor per class of background work, so a slow dependency can only exhaust its own
+ * threads and queue. Each is sized by {@code app.executors.<name>.pool-size}, {@code .queue-capacity} and
+ * {@code .rejection-policy}.
+ *
+ * Each executor is observed through meters tagged {@code name=<workload>}: {@code tuniv.executor.queue.wait}
+ * and {@code tuniv.executor.rejected} recorded here. Pool size, active threads and queue depth are the
+ * {@code executor.*} gauges Spring Boot binds for every executor bean, tagged with the bean name.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkloadExecutors {
+
+    public enum Workload {
+        REALTIME(8, 200, RejectionPolicy.CALLER_RUNS),
+        NOTIFICATION(8, 1000, RejectionPolicy.CALLER_RUNS),
+        EMAIL(4, 2000, RejectionPolicy.DISCARD_OLDEST),
+        MEDIA(8, 32, RejectionPolicy.CALLER_RUNS),
+        MAINTENANCE(2, 100, RejectionPolicy.DISCARD_OLDEST),
+        // CPU-bound: more threads than cores only adds contention
+        PASSWORD_HASHING(Math.max(2, Runtime.getRuntime().availableProcessors() / 2), 64, RejectionPolicy.ABORT);
+
+        private final int defaultPoolSize;
+        private final int defaultQueueCapacity;
+        private final RejectionPolicy defaultRejectionPolicy;
+
+        Workload(int defaultPoolSize, int defaultQueueCapacity, RejectionPolicy defaultRejectionPolicy) {
+            this.defaultPoolSize = defaultPoolSize;
+            this.defaultQueueCapacity = defaultQueueCapacity;
+            this.defaultRejectionPolicy = defaultRejectionPolicy;
+        }
+
+        public String propertyName() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    public enum RejectionPolicy {
+        /** The submitting thread runs the task itself, which slows the producer down. */
+        CALLER_RUNS,
+        /** The oldest queued task is dropped to make room; for work that is best-effort or superseded. */
+        DISCARD_OLDEST,
+        /** The task is refused ({@code TaskRejectedException}); for callers that should fail fast instead of waiting. */
+        ABORT
+    }
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    public ThreadPoolTaskExecutor create(Workload workload) {
+        String prefix = "app.executors." + workload.propertyName() + ".";
+        int poolSize = environment.getProperty(prefix + "pool-size", Integer.class, workload.defaultPoolSize);
+        int queueCapacity = environment.getProperty(prefix + "queue-capacity", Integer.class, workload.defaultQueueCapacity);
+        RejectionPolicy policy = environment.getProperty(prefix + "rejection-policy", RejectionPolicy.class,
+                workload.defaultRejectionPolicy);
+
+        Tags tags = Tags.of("name", workload.propertyName());
+        Bulkhead bulkhead = new Bulkhead(workload,
+                Timer.builder("tuniv.executor.queue.wait").tags(tags).register(meterRegistry),
+                Counter.builder("tuniv.executor.rejected").tags(tags).register(meterRegistry));
+        String threadNamePrefix = capitalize(workload.propertyName()) + "-";
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        if (virtualThreads) {
+            // Still a fixed number of workers: on virtual threads the bound is what isolates the workload
+            executor.setThreadFactory(Thread.ofVirtual().name(threadNamePrefix, 1).factory());
+        }
+        executor.setTaskDecorator(bulkhead::timed);
+        executor.setRejectedExecutionHandler(bulkhead.counting(switch (policy) {
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+            case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+        }));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        // Not initialized here: returned as a bean, Spring initializes it (and shuts it down) itself
+
+        log.info("Executor '{}' configured: {} threads, queue {}, {} when full", workload.propertyName(), poolSize,
+                queueCapacity, policy);
+        return executor;
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static final class Bulkhead {
+
+        private final Workload workload;
+        private final Timer waitTimer;
+        private final Counter rejectedCounter;
+
+        private Bulkhead(Workload workload, Timer waitTimer, Counter rejectedCounter) {
+            this.workload = workload;
+            this.waitTimer = waitTimer;
+            this.rejectedCounter = rejectedCounter;
+        }
+
+        private Runnable timed(Runnable task) {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                task.run();
+            };
+        }
+
+        private RejectedExecutionHandler counting(RejectedExecutionHandler policy) {
+            return (task, pool) -> {
+                rejectedCounter.increment();
+                log.debug("Executor '{}' saturated ({} queued), applying its rejection policy",
+                        workload.propertyName(), pool.getQueue().size());
+                policy.rejectedExecution(task, pool);
+            };
+        }
+    }
+}
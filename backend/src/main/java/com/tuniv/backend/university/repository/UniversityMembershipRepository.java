@@ -1,5 +1,6 @@
 package com.tuniv.backend.university.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.tuniv.backend.authorization.projection.UniversityMembershipRowProjection;
 import com.tuniv.backend.university.model.UniversityMembership;
 import com.tuniv.backend.university.model.VerificationStatus;
 
@@ -24,6 +26,18 @@ public interface UniversityMembershipRepository
      */
     Optional<UniversityMembership> findById_UserIdAndId_UniversityId(Integer userId, Integer universityId);
 
+    /**
+     * All university memberships of the given users, as rows for MembershipIndex.
+     */
+    @Query("""
+        SELECT m.id.userId AS userId, m.id.universityId AS universityId, r.id AS roleId,
+               m.isActive AS active, m.isPrimary AS primaryMembership, m.status AS status
+        FROM UniversityMembership m
+        LEFT JOIN m.role r
+        WHERE m.id.userId IN :userIds
+        """)
+    List<UniversityMembershipRowProjection> findRowsByUserIds(@Param("userIds") Collection<Integer> userIds);
+
     /**
      * Finds all university memberships for a specific user.
      */
@@ -1,5 +1,6 @@
 package com.tuniv.backend.university.service;
 
+import com.tuniv.backend.authorization.service.MembershipIndex;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
 import com.tuniv.backend.shared.exception.ResourceNotFoundException;
 import com.tuniv.backend.university.dto.ModuleDetailDto;
@@ -7,7 +8,6 @@ import com.tuniv.backend.university.dto.ModuleDto;
 import com.tuniv.backend.university.mapper.UniversityMapper;
 import com.tuniv.backend.university.model.Module;
 import com.tuniv.backend.university.repository.ModuleRepository;
-import com.tuniv.backend.university.repository.UniversityMembershipRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,7 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class ModuleService {
 
     private final ModuleRepository moduleRepository;
-    private final UniversityMembershipRepository membershipRepository;
+    private final MembershipIndex membershipIndex;
     private final UniversityMapper universityMapper; // ✅ INJECTED MAPPER
 
     @Transactional(readOnly = true)
@@ -28,7 +28,7 @@ public class ModuleService {
             .orElseThrow(() -> new ResourceNotFoundException("Module not found with id: " + moduleId));
 
         // The logic to check membership remains efficient and correct.
-        boolean isMember = (currentUser != null) && membershipRepository.existsByUser_UserIdAndUniversity_UniversityId(
+        boolean isMember = (currentUser != null) && membershipIndex.isUniversityMember(
             currentUser.getId(),
             module.getUniversity().getUniversityId()
         );
@@ -38,7 +38,7 @@ public class ModuleService {
 
     @Transactional(readOnly = true)
     public Page<ModuleDto> getModulesByUniversity(Integer universityId, Pageable pageable, UserDetailsImpl currentUser) {
-        boolean isMember = (currentUser != null) && membershipRepository.existsByUser_UserIdAndUniversity_UniversityId(
+        boolean isMember = (currentUser != null) && membershipIndex.isUniversityMember(
             currentUser.getId(),
             universityId
         );
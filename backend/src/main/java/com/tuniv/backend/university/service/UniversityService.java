@@ -1,5 +1,6 @@
 package com.tuniv.backend.university.service;
 
+import com.tuniv.backend.authorization.service.MembershipIndex;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
 import com.tuniv.backend.shared.exception.ResourceNotFoundException;
 import com.tuniv.backend.university.dto.UniversityBasicDto;
@@ -36,6 +37,7 @@ public class UniversityService {
     private final ModuleRepository moduleRepository;
     private final UniversityMembershipRepository membershipRepository;
     private final UniversityMapper universityMapper;
+    private final MembershipIndex membershipIndex;
 
     @Transactional(readOnly = true)
     public Page<UniversityBasicDto> getAllUniversities(Pageable pageable, UserDetailsImpl currentUser) {
@@ -69,8 +71,7 @@ public class UniversityService {
         University university = universityRepository.findById(universityId)
             .orElseThrow(() -> new ResourceNotFoundException("University not found"));
 
-        boolean alreadyExists = membershipRepository.existsByUser_UserIdAndUniversity_UniversityId(user.getUserId(), university.getUniversityId());
-        if (alreadyExists) {
+        if (membershipIndex.isUniversityMember(user.getUserId(), university.getUniversityId())) {
             throw new IllegalArgumentException("User is already a member of this university.");
         }
 
@@ -81,19 +82,21 @@ public class UniversityService {
         // ✅ UPDATE COUNT: This logic is now safe.
         // For production, this could be handled by a trigger or async event for even better performance.
         universityRepository.incrementMemberCount(universityId);
+        membershipIndex.invalidate(user.getUserId());
         log.info("User '{}' joined university '{}'. Member count updated.", user.getUsername(), university.getName());
     }
 
     @Transactional
     public void unjoinUniversity(Integer universityId, UserDetailsImpl currentUser) {
         UniversityMembership membership = membershipRepository
-            .findByUser_UserIdAndUniversity_UniversityId(currentUser.getId(), universityId)
+            .findById_UserIdAndId_UniversityId(currentUser.getId(), universityId)
             .orElseThrow(() -> new ResourceNotFoundException("Membership not found for this user and university."));
 
         membershipRepository.delete(membership);
         
         // ✅ UPDATE COUNT:
         universityRepository.decrementMemberCount(universityId);
+        membershipIndex.invalidate(currentUser.getId());
         log.info("User with id {} left university with id {}. Member count updated.", currentUser.getId(), universityId);
     }
 
@@ -126,6 +129,6 @@ public class UniversityService {
         if (currentUser == null) {
             return Collections.emptySet();
         }
-        return membershipRepository.findUniversityIdsByUserId(currentUser.getId());
+        return membershipIndex.membershipsOf(currentUser.getId()).universityIds();
     }
 }
\ No newline at end of file
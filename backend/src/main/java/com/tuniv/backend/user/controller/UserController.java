@@ -9,15 +9,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.tuniv.backend.community.dto.CommunitySummaryDto;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
+import com.tuniv.backend.qa.dto.ReplySummaryDto;
+import com.tuniv.backend.qa.dto.TopicSummaryDto;
+import com.tuniv.backend.shared.dto.CursorPage;
 import com.tuniv.backend.user.dto.LeaderboardUserDto;
 import com.tuniv.backend.user.dto.UserActivityItemDto;
+import com.tuniv.backend.user.dto.UserProfileCardDto;
 import com.tuniv.backend.user.dto.UserProfileDto;
 import com.tuniv.backend.user.dto.UserProfileUpdateRequest;
 import com.tuniv.backend.user.service.ActivityService;
+import com.tuniv.backend.user.service.ProfileCardService;
 import com.tuniv.backend.user.service.UserService;
 
 import jakarta.validation.Valid;
@@ -30,6 +36,7 @@ public class UserController {
 
     private final UserService userService;
     private final ActivityService activityService;
+    private final ProfileCardService profileCardService;
     // ❌ REMOVED: The old FollowService is no longer needed here.
 
     @GetMapping("/me")
@@ -61,10 +68,38 @@ public class UserController {
         return ResponseEntity.ok(userService.getUserProfileById(userId));
     }
 
+    @GetMapping("/{userId}/card")
+    public ResponseEntity<UserProfileCardDto> getUserProfileCard(@PathVariable Integer userId) {
+        return ResponseEntity.ok(profileCardService.getProfileCard(userId));
+    }
+
+    @GetMapping("/{userId}/topics")
+    public ResponseEntity<CursorPage<TopicSummaryDto>> getUserTopics(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        return ResponseEntity.ok(userService.getUserTopics(userId, before, size, currentUser));
+    }
+
+    @GetMapping("/{userId}/replies")
+    public ResponseEntity<CursorPage<ReplySummaryDto>> getUserReplies(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        return ResponseEntity.ok(userService.getUserReplies(userId, before, size, currentUser));
+    }
+
+    /**
+     * Cursor-paged activity timeline. Pass the returned {@code nextCursor} as {@code before} to load older items.
+     */
     @GetMapping("/{id}/activity")
-    public ResponseEntity<List<UserActivityItemDto>> getUserActivity(@PathVariable Integer id) {
-        List<UserActivityItemDto> activity = activityService.getActivityForUser(id);
-        return ResponseEntity.ok(activity);
+    public ResponseEntity<CursorPage<UserActivityItemDto>> getUserActivity(
+            @PathVariable Integer id,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "" + ActivityService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(activityService.getActivityForUser(id, before, size));
     }
 
     // ❌ REMOVED: The user-specific follow/unfollow endpoints are gone.
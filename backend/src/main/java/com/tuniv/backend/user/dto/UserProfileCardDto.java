@@ -0,0 +1,14 @@
+package com.tuniv.backend.user.dto;
+
+/**
+ * The small author card embedded in feed items, chat participant lists and notifications.
+ * Built directly from a constructor expression so that no User entity is loaded.
+ */
+public record UserProfileCardDto(
+    Integer userId,
+    String username,
+    String profilePhotoUrl,
+    Integer reputationScore,
+    Integer primaryUniversityId,
+    String primaryUniversityName
+) {}
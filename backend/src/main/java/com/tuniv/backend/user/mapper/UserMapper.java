@@ -6,6 +6,7 @@ import com.tuniv.backend.user.dto.LeaderboardUserDto;
 import com.tuniv.backend.user.dto.UserProfileDto;
 import com.tuniv.backend.user.dto.UserSummaryDto;
 import com.tuniv.backend.user.model.User;
+import com.tuniv.backend.user.projection.UserProfileProjection;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
@@ -23,7 +24,7 @@ public class UserMapper {
         return new UserSummaryDto(
                 user.getUserId(),
                 user.getUsername(),
-                user.getProfilePhotoUrl(),
+                avatarUrl(user),
                 user.getReputationScore()
         );
     }
@@ -65,6 +66,35 @@ public class UserMapper {
         );
     }
 
+    /**
+     * Maps the single-query profile projection to a detailed profile DTO.
+     */
+    public UserProfileDto toUserProfileDto(UserProfileProjection profile) {
+        if (profile == null) {
+            return null;
+        }
+
+        VerificationInfo verificationInfo = profile.getUniversityName() == null ? null
+            : new VerificationInfo(
+                profile.getUniversityName(),
+                profile.getVerificationStatus(),
+                profile.getUniversityRole()
+            );
+
+        return new UserProfileDto(
+                profile.getUserId(),
+                profile.getUsername(),
+                profile.getProfilePhotoUrl(),
+                profile.getBio(),
+                profile.getMajor(),
+                profile.getReputationScore(),
+                profile.getTopicCount(),
+                profile.getReplyCount(),
+                profile.getFollowerCount(),
+                verificationInfo
+        );
+    }
+
     /**
      * Maps a User entity to a specialized DTO for the leaderboard.
      */
@@ -76,7 +106,14 @@ public class UserMapper {
                 user.getUserId(),
                 user.getUsername(),
                 user.getReputationScore(),
-                user.getProfilePhotoUrl()
+                avatarUrl(user)
         );
     }
+
+    /**
+     * Small avatar rendition where one has been generated, the original photo otherwise.
+     */
+    private String avatarUrl(User user) {
+        return user.getProfilePhotoThumbnailUrl() != null ? user.getProfilePhotoThumbnailUrl() : user.getProfilePhotoUrl();
+    }
 }
\ No newline at end of file
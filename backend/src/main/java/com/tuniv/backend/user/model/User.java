@@ -4,6 +4,7 @@ import java.time.Instant;
 
 import org.hibernate.annotations.Where;
 
+import com.tuniv.backend.follow.model.Followable;
 import com.tuniv.backend.shared.model.Auditable;
 
 import jakarta.persistence.CascadeType;
@@ -16,6 +17,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
@@ -67,6 +69,9 @@ public class User extends Auditable {
     @Column(name = "profile_photo_url")
     private String profilePhotoUrl;
 
+    @Column(name = "profile_photo_thumbnail_url", length = 1000)
+    private String profilePhotoThumbnailUrl; // Small avatar rendition, filled in by the image pipeline
+
     @Size(max = 500)
     @Column(name = "bio", columnDefinition = "TEXT")
     private String bio;
@@ -108,6 +113,11 @@ public class User extends Auditable {
     @Column(name = "following_count", nullable = false)
     private int followingCount = 0;
 
+    // Created on first follow, unlike communities/tags/modules which get one at creation time
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "followable_id", unique = true)
+    private Followable followable;
+
     // ========== AUTHENTICATION & VERIFICATION ==========
     @Column(name = "is_platform_admin", nullable = false)
     private boolean isPlatformAdmin = false;
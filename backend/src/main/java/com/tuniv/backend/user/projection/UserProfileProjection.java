@@ -0,0 +1,23 @@
+package com.tuniv.backend.user.projection;
+
+import com.tuniv.backend.university.model.UniversityRole;
+import com.tuniv.backend.university.model.VerificationStatus;
+
+/**
+ * Flat view of a user's public profile joined with their primary university membership.
+ * The membership columns are null when the user has no primary membership.
+ */
+public interface UserProfileProjection {
+    Integer getUserId();
+    String getUsername();
+    String getProfilePhotoUrl();
+    String getBio();
+    String getMajor();
+    Integer getReputationScore();
+    int getTopicCount();
+    int getReplyCount();
+    int getFollowerCount();
+    String getUniversityName();
+    VerificationStatus getVerificationStatus();
+    UniversityRole getUniversityRole();
+}
@@ -1,15 +1,20 @@
 package com.tuniv.backend.user.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.tuniv.backend.user.dto.UserProfileCardDto;
+import com.tuniv.backend.user.dto.UserSummaryDto;
 import com.tuniv.backend.user.model.User;
+import com.tuniv.backend.user.projection.UserProfileProjection;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
@@ -66,4 +71,76 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     List<User> findTopUsersByReputation(@Param("minReputation") Integer minReputation, 
                                       org.springframework.data.domain.Pageable pageable);
 
-}
\ No newline at end of file
+    // ========== PROFILE READ MODELS ==========
+
+    /**
+     * Loads a public profile and its primary university membership in a single query.
+     */
+    @Query("""
+        SELECT u.userId AS userId, u.username AS username, u.profilePhotoUrl AS profilePhotoUrl,
+               u.bio AS bio, u.major AS major, u.reputationScore AS reputationScore,
+               u.topicCount AS topicCount, u.replyCount AS replyCount, u.followerCount AS followerCount,
+               un.name AS universityName, um.status AS verificationStatus, r AS universityRole
+        FROM User u
+        LEFT JOIN UniversityMembership um ON um.user.userId = u.userId AND um.isPrimary = true
+        LEFT JOIN um.university un
+        LEFT JOIN um.role r
+        WHERE u.userId = :userId
+    """)
+    Optional<UserProfileProjection> findProfileById(@Param("userId") Integer userId);
+
+    @Query("""
+        SELECT NEW com.tuniv.backend.user.dto.UserProfileCardDto(
+            u.userId, u.username, COALESCE(u.profilePhotoThumbnailUrl, u.profilePhotoUrl), u.reputationScore,
+            un.universityId, un.name
+        )
+        FROM User u
+        LEFT JOIN UniversityMembership um ON um.user.userId = u.userId AND um.isPrimary = true
+        LEFT JOIN um.university un
+        WHERE u.userId = :userId
+    """)
+    Optional<UserProfileCardDto> findProfileCardById(@Param("userId") Integer userId);
+
+    /**
+     * Bulk-loads the summaries backing {@code UserSummaryCache} without materializing User entities.
+     */
+    @Query("""
+        SELECT NEW com.tuniv.backend.user.dto.UserSummaryDto(
+            u.userId, u.username, COALESCE(u.profilePhotoThumbnailUrl, u.profilePhotoUrl), u.reputationScore)
+        FROM User u
+        WHERE u.userId IN :userIds
+    """)
+    List<UserSummaryDto> findSummariesByIds(@Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * Records the avatar rendition of a profile photo, unless the user has changed photos since it was queued.
+     */
+    @Modifying
+    @Query("""
+        UPDATE User u SET u.profilePhotoThumbnailUrl = :thumbnailUrl
+        WHERE u.userId = :userId AND u.profilePhotoUrl = :sourceUrl
+    """)
+    int updateProfilePhotoThumbnail(@Param("userId") Integer userId,
+                                    @Param("sourceUrl") String sourceUrl,
+                                    @Param("thumbnailUrl") String thumbnailUrl);
+
+    /**
+     * Replaces a password hash, unless the password has changed since {@code oldPassword} was read.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.userId = :userId AND u.password = :oldPassword")
+    int updatePasswordHash(@Param("userId") Integer userId,
+                           @Param("oldPassword") String oldPassword,
+                           @Param("newPassword") String newPassword);
+
+    /**
+     * Gives a user their followable unless a concurrent first follow already did; returns 0 if it lost.
+     * The version bump makes stale copies of the user fail instead of writing followable_id back to null.
+     */
+    @Modifying
+    @Query("""
+        UPDATE User u SET u.followable.id = :followableId, u.version = u.version + 1
+        WHERE u.userId = :userId AND u.followable IS NULL
+    """)
+    int claimFollowable(@Param("userId") Integer userId, @Param("followableId") Long followableId);
+}
@@ -1,179 +1,283 @@
 package com.tuniv.backend.user.service;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.tuniv.backend.qa.model.Post;
-import com.tuniv.backend.qa.model.Reply;
-import com.tuniv.backend.qa.model.Topic;
 import com.tuniv.backend.qa.model.TopicType;
-
+import com.tuniv.backend.qa.projection.activity.ActivityEntryProjection;
+import com.tuniv.backend.qa.projection.topic.TopicHeaderProjection;
 import com.tuniv.backend.qa.repository.ReplyRepository;
 import com.tuniv.backend.qa.repository.TopicRepository;
 import com.tuniv.backend.qa.repository.VoteRepository;
+import com.tuniv.backend.shared.dto.CursorPage;
+import com.tuniv.backend.shared.dto.KeysetCursor;
 import com.tuniv.backend.user.dto.UserActivityItemDto;
 import com.tuniv.backend.user.dto.UserActivityItemDto.ActivityType;
 
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Builds a user's activity timeline one page at a time.
+ *
+ * Each activity source (topics, replies, accepted solutions, votes) is read as a keyset page
+ * from its {@code (user_id, created_at)} index, the pages are k-way merged by timestamp and the
+ * topics referenced by the winning entries are then loaded in a single projection query.
+ * The work per request is bounded by the page size, not by how active the user has been.
+ *
+ * Entries are ordered by {@code (createdAt, source, id)}, newest first, and the cursor records all three,
+ * so entries sharing a timestamp are neither skipped nor repeated across pages.
+ */
 @Service
 @RequiredArgsConstructor
 public class ActivityService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final TopicRepository topicRepository;
     private final ReplyRepository replyRepository;
     private final VoteRepository voteRepository;
 
+    private enum Source { TOPIC, REPLY, SOLUTION, VOTE }
+
+    private record TimelineEntry(Source source, ActivityEntryProjection row) {}
+
+    /**
+     * Where a page ends: the last entry's keyset and its source, or no source before the first page.
+     */
+    private record TimelinePosition(KeysetCursor key, Source source) {
+
+        static TimelinePosition decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return new TimelinePosition(KeysetCursor.first(), null);
+            }
+            int split = cursor.lastIndexOf(':');
+            try {
+                return new TimelinePosition(KeysetCursor.decode(cursor.substring(0, Math.max(split, 0))),
+                                            Source.valueOf(cursor.substring(split + 1)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid activity cursor: " + cursor);
+            }
+        }
+
+        String encode() {
+            return key.encode() + ":" + source.name();
+        }
+
+        /**
+         * Id bound for one source's keyset query. At the cursor's timestamp, sources ordered before the
+         * cursor's source are exhausted, later ones are untouched and the cursor's own continues below its id.
+         */
+        int beforeIdFor(Source candidate) {
+            if (source == null || candidate == source) {
+                return key.id();
+            }
+            return candidate.ordinal() < source.ordinal() ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Returns up to {@code size} activity items after {@code before} (a previous page's {@code nextCursor},
+     * or null for the newest items).
+     */
     @Transactional(readOnly = true)
-    public List<UserActivityItemDto> getActivityForUser(Integer userId) {
-        // Fetch user activities
-        var topics = topicRepository.findByAuthor_UserIdOrderByCreatedAtDesc(userId);
-        var allReplies = replyRepository.findByAuthor_UserIdOrderByCreatedAtDesc(userId);
-        var acceptedSolutions = getAcceptedSolutionsByUser(userId);
-        var votes = voteRepository.findByUser_UserIdOrderByCreatedAtDesc(userId);
-
-        // Separate answers from comments
-        var answers = allReplies.stream()
-                .filter(this::isAnswer)
-                .collect(Collectors.toList());
-        var comments = allReplies.stream()
-                .filter(this::isComment)
-                .collect(Collectors.toList());
-
-        // Convert to activity streams - FIXED CONSTRUCTOR CALLS
-        Stream<UserActivityItemDto> topicActivities = topics.stream()
-                .map(t -> new UserActivityItemDto(
-                    UserActivityItemDto.ActivityType.TOPIC_CREATED,
-                    t.getCreatedAt(), 
-                    t.getScore(), 
-                    null, // voteValue
-                    t.getId(), // questionId (topic ID)
-                    t.getTitle(), // questionTitle (topic title)
-                    null, // answerId
-                    t.isSolved(), // isSolution
-                    null  // commentId
-                ));
+    public CursorPage<UserActivityItemDto> getActivityForUser(Integer userId, String before, int size) {
+        int limit = CursorPage.clampSize(size, MAX_PAGE_SIZE);
+        TimelinePosition position = TimelinePosition.decode(before);
+        Instant cursor = position.key().createdAt();
+        // One extra row per source tells us whether anything remains after this page.
+        Pageable sourcePage = PageRequest.of(0, limit + 1);
 
-        Stream<UserActivityItemDto> answerActivities = answers.stream()
-                .map(a -> new UserActivityItemDto(
-                    UserActivityItemDto.ActivityType.ANSWER_POSTED,
-                    a.getCreatedAt(), 
-                    a.getScore(), 
-                    null, // voteValue
-                    a.getTopic().getId(), // questionId
-                    a.getTopic().getTitle(), // questionTitle
-                    a.getId(), // answerId
-                    isReplyAccepted(a), // isSolution
-                    null  // commentId
-                ));
+        List<SourceCursor> sources = List.of(
+            new SourceCursor(Source.TOPIC, topicRepository.findActivityEntriesByAuthor(
+                userId, cursor, position.beforeIdFor(Source.TOPIC), sourcePage)),
+            new SourceCursor(Source.REPLY, replyRepository.findActivityEntriesByAuthor(
+                userId, cursor, position.beforeIdFor(Source.REPLY), sourcePage)),
+            new SourceCursor(Source.SOLUTION, topicRepository.findAcceptedSolutionEntriesByAuthor(
+                userId, cursor, position.beforeIdFor(Source.SOLUTION), sourcePage)),
+            new SourceCursor(Source.VOTE, voteRepository.findActivityEntriesByUser(
+                userId, cursor, position.beforeIdFor(Source.VOTE), sourcePage))
+        );
 
-        Stream<UserActivityItemDto> commentActivities = comments.stream()
-                .map(c -> new UserActivityItemDto(
-                    UserActivityItemDto.ActivityType.COMMENT_POSTED,
-                    c.getCreatedAt(), 
-                    c.getScore(), 
-                    null, // voteValue
-                    c.getTopic().getId(), // questionId
-                    c.getTopic().getTitle(), // questionTitle
-                    null, // answerId
-                    false, // isSolution (comments can't be solutions)
-                    c.getId()  // commentId
-                ));
-
-        Stream<UserActivityItemDto> acceptedSolutionActivities = acceptedSolutions.stream()
-                .map(r -> new UserActivityItemDto(
-                    UserActivityItemDto.ActivityType.SOLUTION_ACCEPTED,
-                    r.getTopic().getCreatedAt(), // or r.getCreatedAt()?
-                    r.getScore(), 
-                    null, // voteValue
-                    r.getTopic().getId(), // questionId
-                    r.getTopic().getTitle(), // questionTitle
-                    r.getId(), // answerId
-                    true, // isSolution
-                    null  // commentId
-                ));
-
-        // Map votes - FIXED CONSTRUCTOR CALLS
-        Stream<UserActivityItemDto> voteActivities = votes.stream().map(vote -> {
-            Post post = vote.getPost();
-            
-            if (post instanceof Topic topic) {
-                return new UserActivityItemDto(
-                    UserActivityItemDto.ActivityType.VOTE_CAST, 
-                    vote.getCreatedAt(), 
-                    topic.getScore(), 
-                    (int) vote.getValue(), // voteValue
-                    topic.getId(), // questionId
-                    topic.getTitle(), // questionTitle
-                    null, // answerId
-                    topic.isSolved(), // isSolution
-                    null  // commentId
-                );
-            } else if (post instanceof Reply reply) {
-                // Determine if it's an answer or comment vote
-                if (isAnswer(reply)) {
-                    return new UserActivityItemDto(
-                        UserActivityItemDto.ActivityType.VOTE_CAST, 
-                        vote.getCreatedAt(), 
-                        reply.getScore(), 
-                        (int) vote.getValue(), // voteValue
-                        reply.getTopic().getId(), // questionId
-                        reply.getTopic().getTitle(), // questionTitle
-                        reply.getId(), // answerId
-                        isReplyAccepted(reply), // isSolution
-                        null  // commentId
-                    );
-                } else {
-                    return new UserActivityItemDto(
-                        UserActivityItemDto.ActivityType.VOTE_CAST, 
-                        vote.getCreatedAt(), 
-                        reply.getScore(), 
-                        (int) vote.getValue(), // voteValue
-                        reply.getTopic().getId(), // questionId
-                        reply.getTopic().getTitle(), // questionTitle
-                        null, // answerId
-                        false, // isSolution (comments can't be solutions)
-                        reply.getId()  // commentId
-                    );
-                }
+        List<TimelineEntry> merged = mergeNewestFirst(sources, limit);
+        if (merged.isEmpty()) {
+            return CursorPage.empty();
+        }
+
+        boolean hasMore = sources.stream().anyMatch(SourceCursor::hasNext);
+        TimelineEntry last = merged.get(merged.size() - 1);
+        String nextCursor = hasMore
+                ? new TimelinePosition(new KeysetCursor(last.row().getCreatedAt(), last.row().getEntryId()), last.source()).encode()
+                : null;
+        return new CursorPage<>(hydrate(merged), nextCursor, hasMore);
+    }
+
+    // ========== K-WAY MERGE ==========
+
+    // Newest first; ties on the timestamp go by source, then by id, matching TimelinePosition.beforeIdFor.
+    private static final Comparator<SourceCursor> NEWEST_FIRST = Comparator
+            .comparing(SourceCursor::peekCreatedAt)
+            .thenComparing(cursor -> cursor.source)
+            .thenComparing(SourceCursor::peekEntryId)
+            .reversed();
+
+    private List<TimelineEntry> mergeNewestFirst(List<SourceCursor> sources, int limit) {
+        PriorityQueue<SourceCursor> heap = new PriorityQueue<>(NEWEST_FIRST);
+        sources.stream().filter(SourceCursor::hasNext).forEach(heap::add);
+
+        List<TimelineEntry> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heap.isEmpty()) {
+            SourceCursor head = heap.poll();
+            merged.add(new TimelineEntry(head.source, head.next()));
+            if (head.hasNext()) {
+                heap.add(head);
+            }
+        }
+        return merged;
+    }
+
+    private static final class SourceCursor {
+        private final Source source;
+        private final List<ActivityEntryProjection> rows;
+        private int position;
+
+        private SourceCursor(Source source, List<ActivityEntryProjection> rows) {
+            this.source = source;
+            this.rows = rows;
+        }
+
+        boolean hasNext() {
+            return position < rows.size();
+        }
+
+        Instant peekCreatedAt() {
+            return rows.get(position).getCreatedAt();
+        }
+
+        Integer peekEntryId() {
+            return rows.get(position).getEntryId();
+        }
+
+        ActivityEntryProjection next() {
+            return rows.get(position++);
+        }
+    }
+
+    // ========== HYDRATION ==========
+
+    private List<UserActivityItemDto> hydrate(List<TimelineEntry> entries) {
+        Set<Integer> voteTargetIds = entries.stream()
+                .filter(e -> e.source() == Source.VOTE)
+                .map(e -> e.row().getPostId())
+                .collect(Collectors.toSet());
+
+        // Votes point at either a topic or a reply; any id not found among replies is a topic.
+        Map<Integer, ActivityEntryProjection> votedReplies = voteTargetIds.isEmpty()
+                ? Map.of()
+                : replyRepository.findActivityTargetsByIds(voteTargetIds).stream()
+                        .collect(Collectors.toMap(ActivityEntryProjection::getPostId, Function.identity()));
+
+        Set<Integer> topicIds = new HashSet<>();
+        for (TimelineEntry entry : entries) {
+            topicIds.add(resolveTopicId(entry, votedReplies));
+        }
+
+        Map<Integer, TopicHeaderProjection> topics = topicRepository.findTopicHeadersByIds(topicIds).stream()
+                .collect(Collectors.toMap(TopicHeaderProjection::getId, Function.identity()));
+
+        List<UserActivityItemDto> items = new ArrayList<>(entries.size());
+        for (TimelineEntry entry : entries) {
+            TopicHeaderProjection topic = topics.get(resolveTopicId(entry, votedReplies));
+            if (topic == null) {
+                continue; // Topic was deleted after the activity happened
             }
-            return null;
-        }).filter(Objects::nonNull);
-
-        // Combine and return
-        return Stream.of(topicActivities, answerActivities, commentActivities, acceptedSolutionActivities, voteActivities)
-                .flatMap(s -> s)
-                .sorted(Comparator.comparing(UserActivityItemDto::createdAt).reversed())
-                .toList();
+            items.add(toDto(entry, topic, votedReplies));
+        }
+        return items;
     }
 
-    // ... helper methods remain the same ...
-    private boolean isAnswer(Reply reply) {
-        return reply.getTopic().getTopicType() == TopicType.QUESTION && 
-               reply.getParentReply() == null;
+    private Integer resolveTopicId(TimelineEntry entry, Map<Integer, ActivityEntryProjection> votedReplies) {
+        if (entry.source() != Source.VOTE) {
+            return entry.row().getTopicId();
+        }
+        ActivityEntryProjection reply = votedReplies.get(entry.row().getPostId());
+        return reply != null ? reply.getTopicId() : entry.row().getPostId();
     }
 
-    private boolean isComment(Reply reply) {
-        return reply.getTopic().getTopicType() == TopicType.POST || 
-               reply.getParentReply() != null;
+    private UserActivityItemDto toDto(TimelineEntry entry, TopicHeaderProjection topic,
+                                      Map<Integer, ActivityEntryProjection> votedReplies) {
+        ActivityEntryProjection row = entry.row();
+        return switch (entry.source()) {
+            case TOPIC -> topicItem(ActivityType.TOPIC_CREATED, row.getCreatedAt(), row.getScore(), null, topic);
+            case REPLY -> replyItem(null, row.getCreatedAt(), null, row, topic);
+            case SOLUTION -> new UserActivityItemDto(
+                    ActivityType.SOLUTION_ACCEPTED,
+                    row.getCreatedAt(),
+                    row.getScore(),
+                    null, // voteValue
+                    topic.getId(),
+                    topic.getTitle(),
+                    row.getPostId(), // answerId
+                    true,
+                    null  // commentId
+            );
+            case VOTE -> {
+                ActivityEntryProjection reply = votedReplies.get(row.getPostId());
+                yield reply != null
+                        ? replyItem(ActivityType.VOTE_CAST, row.getCreatedAt(), row.getVoteValue(), reply, topic)
+                        : topicItem(ActivityType.VOTE_CAST, row.getCreatedAt(), topic.getScore(), row.getVoteValue(), topic);
+            }
+        };
     }
 
-    private List<Reply> getAcceptedSolutionsByUser(Integer userId) {
-        List<Topic> topicsWithUserSolutions = topicRepository.findByAcceptedSolution_Author_UserId(userId);
-        return topicsWithUserSolutions.stream()
-                .map(Topic::getAcceptedSolution)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    private UserActivityItemDto topicItem(ActivityType type, Instant createdAt, Integer score,
+                                          Integer voteValue, TopicHeaderProjection topic) {
+        return new UserActivityItemDto(
+            type,
+            createdAt,
+            score,
+            voteValue,
+            topic.getId(), // questionId
+            topic.getTitle(), // questionTitle
+            null, // answerId
+            Boolean.TRUE.equals(topic.getSolved()),
+            null  // commentId
+        );
     }
 
-    private boolean isReplyAccepted(Reply reply) {
-        return reply.getTopic().getAcceptedSolution() != null && 
-               reply.getTopic().getAcceptedSolution().getId().equals(reply.getId());
+    /**
+     * @param type null to derive ANSWER_POSTED / COMMENT_POSTED from the reply itself
+     */
+    private UserActivityItemDto replyItem(ActivityType type, Instant createdAt, Integer voteValue,
+                                          ActivityEntryProjection reply, TopicHeaderProjection topic) {
+        // An answer is a top-level reply on a QUESTION; everything else is a comment.
+        boolean isAnswer = topic.getTopicType() == TopicType.QUESTION && reply.getParentReplyId() == null;
+        ActivityType resolvedType = type != null ? type
+                : isAnswer ? ActivityType.ANSWER_POSTED : ActivityType.COMMENT_POSTED;
+
+        return new UserActivityItemDto(
+            resolvedType,
+            createdAt,
+            reply.getScore(),
+            voteValue,
+            topic.getId(), // questionId
+            topic.getTitle(), // questionTitle
+            isAnswer ? reply.getPostId() : null, // answerId
+            isAnswer && reply.getPostId().equals(topic.getAcceptedSolutionId()), // isSolution
+            isAnswer ? null : reply.getPostId() // commentId
+        );
     }
-}
\ No newline at end of file
+}
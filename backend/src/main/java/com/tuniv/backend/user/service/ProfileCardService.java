@@ -0,0 +1,40 @@
+package com.tuniv.backend.user.service;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tuniv.backend.shared.datasource.DataSourceRoute;
+import com.tuniv.backend.shared.datasource.RouteTo;
+import com.tuniv.backend.shared.exception.ResourceNotFoundException;
+import com.tuniv.backend.user.dto.UserProfileCardDto;
+import com.tuniv.backend.user.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves cached profile cards (username, avatar, reputation, primary university).
+ * Cards are read from a single projection query and evicted whenever one of their fields changes.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProfileCardService {
+
+    public static final String CACHE_NAME = "profileCards";
+
+    private final UserRepository userRepository;
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = CACHE_NAME, key = "#userId", sync = true)
+    @RouteTo(DataSourceRoute.PRIMARY) // Cached for every reader, so it must not come from a lagging replica
+    public UserProfileCardDto getProfileCard(Integer userId) {
+        return userRepository.findProfileCardById(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+    }
+
+    @CacheEvict(value = CACHE_NAME, key = "#userId")
+    public void evict(Integer userId) {
+        // Eviction is handled by the annotation
+    }
+}
@@ -5,15 +5,19 @@ import com.tuniv.backend.community.mapper.CommunityMapper;
 import com.tuniv.backend.community.model.CommunityMembership;
 import com.tuniv.backend.community.repository.CommunityMembershipRepository;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
-import com.tuniv.backend.qa.dto.ReplyResponseDto;
+import com.tuniv.backend.filestorage.dto.ImageDerivativeJob;
+import com.tuniv.backend.filestorage.service.ImageDerivativeService;
+import com.tuniv.backend.qa.dto.ReplySummaryDto;
 import com.tuniv.backend.qa.dto.TopicSummaryDto;
 import com.tuniv.backend.qa.dto.VoteInfo;
 import com.tuniv.backend.qa.mapper.TopicMapper;
-import com.tuniv.backend.qa.model.Reply;
-import com.tuniv.backend.qa.model.Topic;
+import com.tuniv.backend.qa.projection.topic.TopicTagNameProjection;
 import com.tuniv.backend.qa.repository.ReplyRepository;
+import com.tuniv.backend.qa.repository.TagRepository;
 import com.tuniv.backend.qa.repository.TopicRepository;
 import com.tuniv.backend.qa.repository.VoteRepository;
+import com.tuniv.backend.shared.dto.CursorPage;
+import com.tuniv.backend.shared.dto.KeysetCursor;
 import com.tuniv.backend.shared.exception.ResourceNotFoundException;
 import com.tuniv.backend.university.model.UniversityMembership;
 import com.tuniv.backend.university.repository.UniversityMembershipRepository;
@@ -24,6 +28,8 @@ import com.tuniv.backend.user.mapper.UserMapper;
 import com.tuniv.backend.user.model.User;
 import com.tuniv.backend.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,9 +43,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 50;
+
     // Repositories
     private final UserRepository userRepository;
     private final TopicRepository topicRepository;
+    private final TagRepository tagRepository;
     private final ReplyRepository replyRepository;
     private final VoteRepository voteRepository;
     private final CommunityMembershipRepository communityMembershipRepository;
@@ -50,6 +60,9 @@ public class UserService {
     private final TopicMapper topicMapper;
     private final CommunityMapper communityMapper;
 
+    private final UserSummaryCache userSummaryCache;
+    private final ImageDerivativeService imageDerivativeService;
+
     @Transactional(readOnly = true)
     public UserProfileDto getUserProfileById(Integer userId) {
         return fetchUserProfile(userId);
@@ -61,6 +74,7 @@ public class UserService {
     }
 
     @Transactional
+    @CacheEvict(value = ProfileCardService.CACHE_NAME, key = "#currentUser.id")
     public UserProfileDto updateCurrentUserProfile(UserDetailsImpl currentUser, UserProfileUpdateRequest updateRequest) {
         User userToUpdate = userRepository.findById(currentUser.getId())
             .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + currentUser.getId()));
@@ -68,9 +82,19 @@ public class UserService {
         // Use Optional.ofNullable to write cleaner update logic
         Optional.ofNullable(updateRequest.bio()).ifPresent(userToUpdate::setBio);
         Optional.ofNullable(updateRequest.major()).ifPresent(userToUpdate::setMajor);
-        Optional.ofNullable(updateRequest.profilePhotoUrl()).ifPresent(userToUpdate::setProfilePhotoUrl);
+        String newPhotoUrl = updateRequest.profilePhotoUrl();
+        boolean photoChanged = newPhotoUrl != null && !newPhotoUrl.equals(userToUpdate.getProfilePhotoUrl());
+        if (photoChanged) {
+            userToUpdate.setProfilePhotoUrl(newPhotoUrl);
+            userToUpdate.setProfilePhotoThumbnailUrl(null); // Until the new avatar rendition is ready
+        }
 
         User updatedUser = userRepository.save(userToUpdate);
+        userSummaryCache.invalidate(updatedUser.getUserId()); // Avatar is part of the cached summary
+        if (photoChanged && !newPhotoUrl.isBlank()) {
+            imageDerivativeService.enqueue(new ImageDerivativeJob(
+                ImageDerivativeJob.Target.PROFILE_PHOTO, updatedUser.getUserId(), newPhotoUrl, null));
+        }
 
         // ✅ SIMPLIFIED: Fetch primary membership and pass the updated user to the mapper
         Optional<UniversityMembership> primaryMembership =
@@ -79,6 +103,17 @@ public class UserService {
         return userMapper.toUserProfileDto(updatedUser, primaryMembership);
     }
 
+    /**
+     * Called by the image pipeline once the avatar rendition of {@code sourceUrl} exists.
+     */
+    @Transactional
+    @CacheEvict(value = ProfileCardService.CACHE_NAME, key = "#userId")
+    public void recordProfilePhotoThumbnail(Integer userId, String sourceUrl, String thumbnailUrl) {
+        if (userRepository.updateProfilePhotoThumbnail(userId, sourceUrl, thumbnailUrl) > 0) {
+            userSummaryCache.invalidate(userId);
+        }
+    }
+
     @Transactional(readOnly = true)
 public List<CommunitySummaryDto> getUserCommunities(Integer userId) {
     // ✅ USE THE NEW EFFICIENT METHOD
@@ -96,42 +131,69 @@ public List<CommunitySummaryDto> getUserCommunities(Integer userId) {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset page of a user's topics, read through a constructor-expression projection.
+     */
     @Transactional(readOnly = true)
-    public List<TopicSummaryDto> getUserTopics(Integer userId, UserDetailsImpl currentUser) {
-        // ... (This method's logic is complex but correct and unaffected by the User entity changes)
-        // It correctly fetches topics and enriches them with vote data. No changes needed.
-        if (!userRepository.existsById(userId)) {
-            throw new ResourceNotFoundException("User not found with id: " + userId);
-        }
-        List<Topic> topics = topicRepository.findByAuthor_UserIdOrderByCreatedAtDesc(userId);
-        return topicMapper.toTopicSummaryDtos(topics, currentUser);
+    public CursorPage<TopicSummaryDto> getUserTopics(Integer userId, String before, int size, UserDetailsImpl currentUser) {
+        int limit = CursorPage.clampSize(size, MAX_PAGE_SIZE);
+        KeysetCursor cursor = KeysetCursor.decode(before);
+        List<TopicSummaryDto> rows = topicRepository.findTopicSummariesByAuthorBefore(
+            userId, currentUserId(currentUser), cursor.createdAt(), cursor.id(), PageRequest.of(0, limit + 1));
+        ensureUserExistsIfEmpty(userId, rows);
+        CursorPage<TopicSummaryDto> page = CursorPage.fromRows(rows, limit, row -> new KeysetCursor(row.createdAt(), row.id()));
+        return page.withItems(attachTags(page.items()));
     }
 
+    /**
+     * Keyset page of a user's replies, read through a constructor-expression projection.
+     */
     @Transactional(readOnly = true)
-    public List<ReplyResponseDto> getUserReplies(Integer userId, UserDetailsImpl currentUser) {
-        // ... (This method is also correct, as it focuses on Reply entities)
-        // The helper method `convertRepliesToDtos` correctly handles DTO conversion.
-        if (!userRepository.existsById(userId)) {
-            throw new ResourceNotFoundException("User not found with id: " + userId);
+    public CursorPage<ReplySummaryDto> getUserReplies(Integer userId, String before, int size, UserDetailsImpl currentUser) {
+        int limit = CursorPage.clampSize(size, MAX_PAGE_SIZE);
+        KeysetCursor cursor = KeysetCursor.decode(before);
+        List<ReplySummaryDto> rows = replyRepository.findReplySummariesByAuthorBefore(
+            userId, currentUserId(currentUser), cursor.createdAt(), cursor.id(), PageRequest.of(0, limit + 1));
+        ensureUserExistsIfEmpty(userId, rows);
+        return CursorPage.fromRows(rows, limit, row -> new KeysetCursor(row.createdAt(), row.id()));
+    }
+
+    // Tags are loaded for the whole page in one query, as the feed does
+    private List<TopicSummaryDto> attachTags(List<TopicSummaryDto> topics) {
+        if (topics.isEmpty()) {
+            return topics;
         }
-        List<Reply> allReplies = replyRepository.findByAuthor_UserIdOrderByCreatedAtDesc(userId);
-        return topicMapper.toReplyResponseDtos(allReplies, currentUser);
+        Map<Integer, List<String>> tagsByTopicId = tagRepository.findTagNamesByTopicIds(
+                topics.stream().map(TopicSummaryDto::id).toList()).stream()
+            .collect(Collectors.groupingBy(
+                TopicTagNameProjection::getTopicId,
+                Collectors.mapping(TopicTagNameProjection::getName, Collectors.toList())
+            ));
+        return topics.stream()
+            .map(topic -> topic.withTags(tagsByTopicId.getOrDefault(topic.id(), List.of())))
+            .toList();
+    }
+
+    // --- Cursor paging helpers ---
+
+    private Integer currentUserId(UserDetailsImpl currentUser) {
+        return currentUser != null ? currentUser.getId() : null;
     }
 
+    // An empty page is the only case where we need to tell "no content" apart from "no such user".
+    private void ensureUserExistsIfEmpty(Integer userId, List<?> rows) {
+        if (rows.isEmpty() && !userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+    }
 
     /**
      * ✅ REFACTORED: Private helper method to fetch user profile data efficiently.
-     * This reduces code duplication between getting a profile by ID and getting the current user's profile.
+     * The user and their primary membership are read in one projection query instead of two entity loads.
      */
     private UserProfileDto fetchUserProfile(Integer userId) {
-        User user = userRepository.findById(userId)
+        return userRepository.findProfileById(userId)
+            .map(userMapper::toUserProfileDto)
             .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-
-        // ✅ EFFICIENT: Fetch the primary membership in the same transaction
-        Optional<UniversityMembership> primaryMembership =
-            universityMembershipRepository.findByUserIdAndIsPrimaryTrue(userId);
-
-        // ✅ CLEAN: Delegate all mapping logic to the mapper
-        return userMapper.toUserProfileDto(user, primaryMembership);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,138 @@
+package com.tuniv.backend.user.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tuniv.backend.shared.cache.InFlightLoads;
+import com.tuniv.backend.user.dto.UserSummaryDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Node-local, bounded cache of immutable user summaries (id, username, avatar, reputation).
+ *
+ * Mappers only read the author's id from the (possibly lazy) association and resolve the rest here,
+ * so rendering a list costs at most one projection query for the authors that are not cached yet.
+ * Invalidations are broadcast over a RabbitMQ fanout exchange so every node drops its copy.
+ */
+@Component
+@Slf4j
+public class UserSummaryCache {
+
+    public static final String INVALIDATION_EXCHANGE = "user.summary.invalidation";
+
+    public record InvalidationMessage(Integer userId) {}
+
+    private final UserSummaryLoader userSummaryLoader;
+    private final RabbitTemplate rabbitTemplate;
+    private final Cache<Integer, UserSummaryDto> cache;
+    private final InFlightLoads<Integer> loads = new InFlightLoads<>();
+
+    public UserSummaryCache(
+            UserSummaryLoader userSummaryLoader,
+            RabbitTemplate rabbitTemplate,
+            @Value("${app.cache.user-summary.max-size:50000}") long maxSize,
+            @Value("${app.cache.user-summary.ttl:PT30M}") Duration ttl) {
+        this.userSummaryLoader = userSummaryLoader;
+        this.rabbitTemplate = rabbitTemplate;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public UserSummaryDto get(Integer userId) {
+        if (userId == null) {
+            return null;
+        }
+        UserSummaryDto cached = cache.getIfPresent(userId);
+        return cached != null ? cached : getAll(List.of(userId)).get(userId);
+    }
+
+    /**
+     * Resolves all given users, loading the ones missing from the cache with a single IN query.
+     * Unknown ids are simply absent from the result.
+     */
+    public Map<Integer, UserSummaryDto> getAll(Collection<Integer> userIds) {
+        Set<Integer> ids = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Integer, UserSummaryDto> result = new HashMap<>(cache.getAllPresent(ids));
+        if (result.size() < ids.size()) {
+            List<Integer> missing = ids.stream()
+                    .filter(id -> !result.containsKey(id))
+                    .toList();
+            try (InFlightLoads<Integer>.Load load = loads.start(missing)) {
+                for (UserSummaryDto summary : userSummaryLoader.load(missing)) {
+                    // A summary invalidated during the load may predate the change; serve it but do not cache it
+                    if (!load.isSuperseded(summary.id())) {
+                        cache.put(summary.id(), summary);
+                    }
+                    result.put(summary.id(), summary);
+                }
+                load.superseded().forEach(cache::invalidate);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops the user's summary on this node now and again once the current transaction commits, then on every
+     * other node.
+     */
+    public void invalidate(Integer userId) {
+        if (userId == null) {
+            return;
+        }
+        loads.supersede(userId);
+        cache.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // Again after commit, so a read that loaded the pre-commit state meanwhile is not kept
+                    loads.supersede(userId);
+                    cache.invalidate(userId);
+                    broadcastInvalidation(userId);
+                }
+            });
+        } else {
+            broadcastInvalidation(userId);
+        }
+    }
+
+    @RabbitListener(queues = "#{userSummaryInvalidationQueue.name}")
+    public void handleInvalidation(InvalidationMessage message) {
+        loads.supersede(message.userId());
+        cache.invalidate(message.userId());
+    }
+
+    private void broadcastInvalidation(Integer userId) {
+        try {
+            rabbitTemplate.convertAndSend(INVALIDATION_EXCHANGE, "", new InvalidationMessage(userId));
+        } catch (Exception e) {
+            // Other nodes fall back to TTL expiry; the local entry is already gone.
+            log.warn("Failed to broadcast user summary invalidation for user {}: {}", userId, e.getMessage());
+        }
+    }
+}
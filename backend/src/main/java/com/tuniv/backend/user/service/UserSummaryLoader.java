@@ -0,0 +1,32 @@
+package com.tuniv.backend.user.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tuniv.backend.shared.datasource.DataSourceRoute;
+import com.tuniv.backend.shared.datasource.RouteTo;
+import com.tuniv.backend.user.dto.UserSummaryDto;
+import com.tuniv.backend.user.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads the summaries cached by {@link UserSummaryCache}. Loads run in their own transaction on the primary:
+ * a summary outlives the request, and the caller's transaction may be on a replica that has not caught up
+ * with the change that invalidated the entry.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSummaryLoader {
+
+    private final UserRepository userRepository;
+
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    @RouteTo(DataSourceRoute.PRIMARY)
+    public List<UserSummaryDto> load(List<Integer> userIds) {
+        return userRepository.findSummariesByIds(userIds);
+    }
+}
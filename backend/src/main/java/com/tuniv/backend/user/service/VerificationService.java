@@ -1,5 +1,6 @@
 package com.tuniv.backend.user.service;
 
+import com.tuniv.backend.authorization.service.MembershipIndex;
 import com.tuniv.backend.config.security.services.UserDetailsImpl;
 import com.tuniv.backend.notification.service.AuthEmailService;
 import com.tuniv.backend.shared.exception.ResourceNotFoundException;
@@ -33,6 +34,7 @@ public class VerificationService {
     private final UniversityRepository universityRepository;
     private final UniversityMembershipRepository membershipRepository;
     private final AuthEmailService authEmailService;
+    private final MembershipIndex membershipIndex;
     
     // ✅ INJECT UserService to delegate primary university logic
     private final UserService userService;
@@ -56,8 +58,8 @@ public class VerificationService {
             .orElseThrow(() -> new ResourceNotFoundException("User not found."));
 
         // Prevent re-initiating verification if the user is already fully verified at this university.
-        boolean isAlreadyVerified = membershipRepository.existsByUser_UserIdAndUniversity_UniversityIdAndStatus(
-            user.getUserId(), university.getUniversityId(), VerificationStatus.VERIFIED);
+        boolean isAlreadyVerified = membershipIndex.membershipsOf(user.getUserId())
+            .isVerifiedUniversityMember(university.getUniversityId());
 
         if (isAlreadyVerified) {
             log.warn("User {} is already verified at university '{}'. Aborting verification initiation.", user.getUsername(), university.getName());
@@ -66,7 +68,7 @@ public class VerificationService {
 
         // Find an existing membership (e.g., a previous pending or rejected one) or create a new one.
         UniversityMembership membership = membershipRepository
-            .findByUser_UserIdAndUniversity_UniversityId(user.getUserId(), university.getUniversityId())
+            .findById_UserIdAndId_UniversityId(user.getUserId(), university.getUniversityId())
             .orElseGet(() -> new UniversityMembership(user, university, UniversityRole.STUDENT));
 
         String token = UUID.randomUUID().toString();
@@ -76,6 +78,7 @@ public class VerificationService {
         membership.setVerificationTokenExpiry(Instant.now().plus(24, ChronoUnit.HOURS));
 
         membershipRepository.save(membership);
+        membershipIndex.invalidate(user.getUserId());
         log.info("Saved pending membership for user {} at university '{}'. Sending verification email.", user.getUsername(), university.getName());
 
         authEmailService.sendUniversityVerificationEmail(universityEmail, token);
@@ -97,6 +100,7 @@ public class VerificationService {
         if (membership.getVerificationTokenExpiry().isBefore(Instant.now())) {
             log.warn("Verification token has expired for user {}. Deleting pending membership.", membership.getUser().getUsername());
             membershipRepository.delete(membership);
+            membershipIndex.invalidate(membership.getId().getUserId());
             throw new IllegalArgumentException("Verification token has expired.");
         }
 
@@ -109,6 +113,7 @@ public class VerificationService {
         // Save the verified status first to ensure the count is correct in the next step.
         UniversityMembership verifiedMembership = membershipRepository.saveAndFlush(membership);
         User user = verifiedMembership.getUser();
+        membershipIndex.invalidate(user.getUserId());
 
         // Check the total number of verified memberships for this user.
         long totalVerifiedCount = membershipRepository.countByUser_UserIdAndStatus(user.getUserId(), VerificationStatus.VERIFIED);
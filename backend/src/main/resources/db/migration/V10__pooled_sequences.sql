@@ -0,0 +1,8 @@
+-- Pooled id generation (allocationSize = 50 on the entities): each nextval reserves the 50 ids ending at
+-- the returned value. The next value after this change is the current one plus 50, so the first block
+-- starts right after the highest id already handed out.
+ALTER SEQUENCE posts_id_seq INCREMENT BY 50;
+ALTER SEQUENCE notifications_notification_id_seq INCREMENT BY 50;
+ALTER SEQUENCE reactions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE votes_id_seq INCREMENT BY 50;
+ALTER SEQUENCE attachments_attachment_id_seq INCREMENT BY 50;
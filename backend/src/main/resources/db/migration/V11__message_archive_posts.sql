@@ -0,0 +1,4 @@
+-- Archived months now take the posts rows of their messages with them, so a message id can no longer be
+-- dated through posts. Archives record the id range they hold instead; older archives leave it null.
+ALTER TABLE message_archives ADD COLUMN IF NOT EXISTS min_message_id INTEGER;
+ALTER TABLE message_archives ADD COLUMN IF NOT EXISTS max_message_id INTEGER;
@@ -0,0 +1,109 @@
+-- Partitions messages by month of sent_at (UTC). Existing rows stay where they are, in one partition
+-- (messages_legacy) covering everything before next month; monthly partitions start after it.
+
+-- A partitioned table can only be referenced through a key that includes its partition column,
+-- so foreign keys pointing at messages(id), including its own reply_to_message_id, are dropped.
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conrelid::regclass AS table_name, conname
+        FROM pg_constraint
+        WHERE contype = 'f' AND confrelid = 'messages'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE messages RENAME TO messages_legacy;
+
+-- Frees the index names for the partitioned parent
+DO $$
+DECLARE
+    idx record;
+BEGIN
+    FOR idx IN
+        SELECT indexname FROM pg_indexes
+        WHERE schemaname = current_schema() AND tablename = 'messages_legacy'
+    LOOP
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', idx.indexname, left(idx.indexname, 55) || '_legacy');
+    END LOOP;
+END $$;
+
+CREATE TABLE messages (LIKE messages_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (sent_at);
+
+ALTER TABLE messages ADD PRIMARY KEY (id, sent_at);
+
+-- Outgoing foreign keys (to posts, conversations, users) move up to the parent
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conname, pg_get_constraintdef(oid) AS definition
+        FROM pg_constraint
+        WHERE contype = 'f' AND conrelid = 'messages_legacy'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE messages ADD CONSTRAINT %I %s', fk.conname || '_p', fk.definition);
+    END LOOP;
+END $$;
+
+-- Secondary indexes are recreated on the parent under their original names, so every partition gets them.
+-- Unique indexes other than the primary key cannot exist without sent_at and are not carried over.
+DO $$
+DECLARE
+    idx record;
+BEGIN
+    FOR idx IN
+        SELECT i.indexname, i.indexdef
+        FROM pg_indexes i
+        JOIN pg_index x ON x.indexrelid = format('%I.%I', i.schemaname, i.indexname)::regclass
+        WHERE i.schemaname = current_schema() AND i.tablename = 'messages_legacy' AND NOT x.indisunique
+    LOOP
+        EXECUTE regexp_replace(idx.indexdef, '^CREATE INDEX \S+ ON \S+',
+                               'CREATE INDEX ' || quote_ident(regexp_replace(idx.indexname, '_legacy$', '')) || ' ON messages');
+    END LOOP;
+END $$;
+
+DO $$
+DECLARE
+    boundary timestamptz := (date_trunc('month', now() AT TIME ZONE 'UTC') + interval '1 month') AT TIME ZONE 'UTC';
+BEGIN
+    -- A validated CHECK lets ATTACH skip its own full scan of the table
+    EXECUTE format('ALTER TABLE messages_legacy ADD CONSTRAINT messages_legacy_range CHECK (sent_at < %L)', boundary);
+    EXECUTE format('ALTER TABLE messages ATTACH PARTITION messages_legacy FOR VALUES FROM (MINVALUE) TO (%L)', boundary);
+END $$;
+
+-- Creates the partition for the month containing month_start if it does not exist yet; returns its name
+CREATE OR REPLACE FUNCTION ensure_messages_partition(month_start date) RETURNS text
+LANGUAGE plpgsql AS $$
+DECLARE
+    from_ts timestamptz := date_trunc('month', month_start) AT TIME ZONE 'UTC';
+    to_ts timestamptz := (date_trunc('month', month_start) + interval '1 month') AT TIME ZONE 'UTC';
+    partition_name text := 'messages_' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF messages FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, from_ts, to_ts);
+    END IF;
+    RETURN partition_name;
+END $$;
+
+SELECT ensure_messages_partition((date_trunc('month', now() AT TIME ZONE 'UTC') + make_interval(months => i))::date)
+FROM generate_series(1, 3) AS i;
+
+-- Monthly partitions moved out to FileStorage as gzipped JSON lines
+CREATE TABLE message_archives (
+    partition_name VARCHAR(64) PRIMARY KEY,
+    range_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    range_end TIMESTAMP WITH TIME ZONE NOT NULL,
+    object_url VARCHAR(1024) NOT NULL,
+    row_count BIGINT NOT NULL,
+    conversation_ids INTEGER[] NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    rehydrated_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_message_archive_conversations ON message_archives USING GIN (conversation_ids);
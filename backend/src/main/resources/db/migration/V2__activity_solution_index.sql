@@ -0,0 +1,9 @@
+-- Accepted solutions recorded before solution_awarded_at was tracked take the answer's creation time,
+-- the same fallback the activity timeline applies when reading them
+UPDATE topics t
+SET solution_awarded_at = p.created_at
+FROM posts p
+WHERE p.id = t.accepted_solution_id AND t.solution_awarded_at IS NULL;
+
+-- The timeline finds an author's replies first, then the topics that accepted them
+CREATE INDEX IF NOT EXISTS idx_topic_accepted_solution ON topics (accepted_solution_id, solution_awarded_at DESC);
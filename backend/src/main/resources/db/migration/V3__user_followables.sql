@@ -0,0 +1,8 @@
+-- Users get a followable on their first follow (communities, tags, modules and universities already have one)
+ALTER TABLE users ADD COLUMN followable_id BIGINT;
+ALTER TABLE users ADD CONSTRAINT uk_users_followable UNIQUE (followable_id);
+ALTER TABLE users ADD CONSTRAINT fk_users_followable FOREIGN KEY (followable_id) REFERENCES followables (id);
+
+-- Follower listings are keyset-paged by creation time per target; this replaces the plain followable_id index
+CREATE INDEX IF NOT EXISTS idx_follows_followable_created ON follows (followable_id, created_at);
+DROP INDEX IF EXISTS idx_follows_followable;
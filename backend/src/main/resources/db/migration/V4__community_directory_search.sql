@@ -0,0 +1,6 @@
+-- Keyset order of the community directory: (member_count, community_id) DESC within a university
+CREATE INDEX IF NOT EXISTS idx_community_directory ON communities (university_id, member_count DESC, community_id DESC);
+
+-- Serves the directory's name ILIKE '%term%' filter; @Index cannot express an operator class
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_community_name_trgm ON communities USING gin (name gin_trgm_ops);
@@ -0,0 +1,62 @@
+-- Moderation queue read-model: one row per reported target, written by ModerationQueueService's upsert
+CREATE TABLE moderation_queue_items (
+    item_id SERIAL PRIMARY KEY,
+    target_type VARCHAR(50) NOT NULL,
+    target_id INTEGER NOT NULL,
+    scope VARCHAR(255) NOT NULL,
+    university_id INTEGER,
+    community_id INTEGER,
+    conversation_id INTEGER,
+    status VARCHAR(20) NOT NULL,
+    report_count INTEGER NOT NULL,
+    severity INTEGER NOT NULL,
+    priority INTEGER NOT NULL,
+    latest_report_id INTEGER,
+    latest_reason VARCHAR(100),
+    first_reported_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_reported_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    resolved_at TIMESTAMP WITH TIME ZONE,
+    content_author_id INTEGER,
+    content_author_username VARCHAR(50),
+    content_url VARCHAR(255),
+    content_snippet VARCHAR(200),
+    -- The upsert's ON CONFLICT (target_type, target_id) needs this constraint
+    CONSTRAINT uk_moderation_queue_target UNIQUE (target_type, target_id)
+);
+
+-- Queue ordering: highest priority first, then oldest first
+CREATE INDEX idx_mqueue_scope_order ON moderation_queue_items (scope, status, priority DESC, first_reported_at, item_id);
+CREATE INDEX idx_mqueue_university_order ON moderation_queue_items (university_id, scope, status, priority DESC, first_reported_at, item_id);
+CREATE INDEX idx_mqueue_community_order ON moderation_queue_items (community_id, scope, status, priority DESC, first_reported_at, item_id);
+
+-- Queue the reports that are already open. Severities mirror ModerationQueueService.REASON_SEVERITY;
+-- content previews are left empty and the report details fall back to the reported entity.
+WITH open_reports AS (
+    SELECT r.*,
+           CASE
+               WHEN UPPER(r.reason) IN ('HARASSMENT', 'HATE_SPEECH', 'VIOLENCE', 'SELF_HARM', 'ILLEGAL_CONTENT') THEN 3
+               WHEN UPPER(r.reason) IN ('INAPPROPRIATE', 'MISINFORMATION', 'IMPERSONATION') THEN 2
+               ELSE 1
+           END AS severity,
+           ROW_NUMBER() OVER (PARTITION BY r.target_type, r.target_id ORDER BY r.created_at DESC, r.report_id DESC) AS recency
+    FROM reports r
+    WHERE r.status = 'PENDING'
+),
+per_target AS (
+    SELECT target_type, target_id,
+           COUNT(*) AS report_count,
+           MAX(severity) AS severity,
+           MIN(created_at) AS first_reported_at,
+           MAX(created_at) AS last_reported_at
+    FROM open_reports
+    GROUP BY target_type, target_id
+)
+INSERT INTO moderation_queue_items (
+    target_type, target_id, scope, university_id, community_id, conversation_id, status,
+    report_count, severity, priority, latest_report_id, latest_reason, first_reported_at, last_reported_at)
+SELECT t.target_type, t.target_id, latest.scope, latest.university_id, latest.community_id, latest.conversation_id, 'PENDING',
+       t.report_count, t.severity, t.severity * 1000 + LEAST(t.report_count, 999), latest.report_id, latest.reason,
+       t.first_reported_at, t.last_reported_at
+FROM per_target t
+JOIN open_reports latest
+  ON latest.target_type = t.target_type AND latest.target_id = t.target_id AND latest.recency = 1;
@@ -0,0 +1,17 @@
+-- Moderation logs carry the queue of the report they acted on, for per-queue moderation metrics
+ALTER TABLE moderation_logs ADD COLUMN scope VARCHAR(255);
+ALTER TABLE moderation_logs ADD COLUMN university_id INTEGER;
+ALTER TABLE moderation_logs ADD COLUMN community_id INTEGER;
+
+-- Existing logs take the queue of the latest report on the same content; logs without one stay unscoped
+UPDATE moderation_logs l
+SET scope = r.scope, university_id = r.university_id, community_id = r.community_id
+FROM (
+    SELECT DISTINCT ON (target_type, target_id) target_type, target_id, scope, university_id, community_id
+    FROM reports
+    ORDER BY target_type, target_id, created_at DESC
+) r
+WHERE r.target_type = l.target_type AND r.target_id = l.target_id;
+
+-- Metrics rebuilds read the logs of the last days
+CREATE INDEX IF NOT EXISTS idx_moderation_log_created ON moderation_logs (created_at);
@@ -0,0 +1,4 @@
+-- SHA-256 hex of the stored bytes, computed while uploads stream to storage; null for older attachments
+ALTER TABLE attachments ADD COLUMN content_hash VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_attachment_content_hash ON attachments (content_hash);
@@ -0,0 +1,16 @@
+-- Content-addressed blobs shared by attachments with identical bytes, reference-counted for garbage collection
+CREATE TABLE file_blobs (
+    sha256 VARCHAR(64) PRIMARY KEY,
+    object_key VARCHAR(100),
+    url VARCHAR(1000),
+    size BIGINT NOT NULL,
+    content_type VARCHAR(100),
+    is_stored BOOLEAN NOT NULL DEFAULT FALSE,
+    ref_count INTEGER NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    orphaned_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_file_blob_orphaned ON file_blobs (ref_count, orphaned_at);
+-- Uploads are served by object key, which is an HMAC of the hash and cannot be mapped back to it
+CREATE INDEX idx_file_blob_object_key ON file_blobs (object_key);
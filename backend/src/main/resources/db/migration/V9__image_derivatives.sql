@@ -0,0 +1,9 @@
+-- Small avatar rendition of the profile photo, filled in by the image derivative worker
+ALTER TABLE users ADD COLUMN IF NOT EXISTS profile_photo_thumbnail_url VARCHAR(1000);
+
+-- Rendition URLs and source dimensions written back to attachments by the same worker
+ALTER TABLE attachments ADD COLUMN IF NOT EXISTS thumbnail_url VARCHAR(1000);
+ALTER TABLE attachments ADD COLUMN IF NOT EXISTS preview_url VARCHAR(1000);
+ALTER TABLE attachments ADD COLUMN IF NOT EXISTS compressed_url VARCHAR(1000);
+ALTER TABLE attachments ADD COLUMN IF NOT EXISTS width INTEGER;
+ALTER TABLE attachments ADD COLUMN IF NOT EXISTS height INTEGER;
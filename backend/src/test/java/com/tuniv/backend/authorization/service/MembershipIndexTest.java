@@ -0,0 +1,69 @@
+package com.tuniv.backend.authorization.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import com.tuniv.backend.authorization.projection.UniversityMembershipRowProjection;
+import com.tuniv.backend.authorization.service.MembershipIndex.MembershipSnapshot;
+import com.tuniv.backend.university.model.VerificationStatus;
+
+class MembershipIndexTest {
+
+    private static final int USER = 5;
+    private static final int UNIVERSITY = 9;
+
+    private MembershipLoader loader;
+    private MembershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        loader = mock(MembershipLoader.class);
+        index = new MembershipIndex(loader, mock(RabbitTemplate.class), 100, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void loadedSnapshotIsCached() {
+        when(loader.load(anyList())).thenReturn(Map.of(USER, member()));
+        assertThat(index.isUniversityMember(USER, UNIVERSITY)).isTrue();
+
+        when(loader.load(anyList())).thenReturn(Map.of(USER, MembershipSnapshot.EMPTY));
+
+        assertThat(index.isUniversityMember(USER, UNIVERSITY)).isTrue();
+    }
+
+    @Test
+    void snapshotInvalidatedDuringItsLoadIsNotCached() {
+        when(loader.load(anyList())).thenAnswer(inv -> {
+            // The member is removed and invalidated while this load is reading the old rows
+            index.invalidate(USER);
+            return Map.of(USER, member());
+        });
+        assertThat(index.isUniversityMember(USER, UNIVERSITY)).isTrue();
+
+        when(loader.load(anyList())).thenReturn(Map.of(USER, MembershipSnapshot.EMPTY));
+
+        assertThat(index.isUniversityMember(USER, UNIVERSITY)).isFalse();
+    }
+
+    private static MembershipSnapshot member() {
+        UniversityMembershipRowProjection row = new UniversityMembershipRowProjection() {
+            @Override public Integer getUserId() { return USER; }
+            @Override public Integer getUniversityId() { return UNIVERSITY; }
+            @Override public Integer getRoleId() { return null; }
+            @Override public Boolean getActive() { return true; }
+            @Override public Boolean getPrimaryMembership() { return true; }
+            @Override public VerificationStatus getStatus() { return VerificationStatus.VERIFIED; }
+        };
+        return MembershipSnapshot.of(List.of(row), List.of());
+    }
+}
@@ -0,0 +1,82 @@
+package com.tuniv.backend.benchmark;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Measures one bcrypt verification per strength, to choose {@code app.auth.password.bcrypt-strength}.
+ * Run on hardware like production's:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.tuniv.backend.benchmark.PasswordHashingBenchmark -Dtarget.millis=250
+ * </pre>
+ *
+ * Prints the highest strength whose verification stays within {@code target.millis}. Each step up doubles
+ * the cost, and with the hashing pool at half the cores, logins per second per node are roughly
+ * {@code poolSize * 1000 / millis}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"10", "11", "12", "13", "14"})
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        double targetMillis = Double.parseDouble(System.getProperty("target.millis", "250"));
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(PasswordHashingBenchmark.class.getSimpleName())
+                .build()).run();
+
+        int chosen = -1;
+        for (RunResult result : results) {
+            int strength = Integer.parseInt(result.getParams().getParam("strength"));
+            double millis = result.getPrimaryResult().getScore();
+            System.out.printf("bcrypt strength %d: %.1f ms%n", strength, millis);
+            if (millis <= targetMillis && strength > chosen) {
+                chosen = strength;
+            }
+        }
+        System.out.println(chosen < 0
+                ? "No strength verifies within " + targetMillis + " ms; keep app.auth.password.bcrypt-strength=10"
+                : "app.auth.password.bcrypt-strength=" + chosen);
+    }
+}
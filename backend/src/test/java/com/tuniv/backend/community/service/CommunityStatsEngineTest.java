@@ -0,0 +1,143 @@
+package com.tuniv.backend.community.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.tuniv.backend.community.projection.CommunityTopicTotalsProjection;
+import com.tuniv.backend.community.repository.CommunityRepository;
+import com.tuniv.backend.community.service.CommunityStatsEngine.TopicTotals;
+import com.tuniv.backend.qa.model.TopicType;
+
+class CommunityStatsEngineTest {
+
+    private static final int COMMUNITY = 7;
+
+    private CommunityRepository communityRepository;
+    private CommunityStatsEngine engine;
+    private final List<CommunityTopicTotalsProjection> totalsInDatabase = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        communityRepository = mock(CommunityRepository.class);
+        when(communityRepository.findTopicTotals(isNull())).thenAnswer(inv -> List.copyOf(totalsInDatabase));
+        // Outside Spring the template runs the rebuild queries directly; the mock hands out no real transaction
+        engine = new CommunityStatsEngine(communityRepository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void countsOnlyQuestionsAndDiscussionsByType() {
+        engine.initialize();
+
+        engine.recordTopicCreated(COMMUNITY, TopicType.QUESTION, 1);
+        engine.recordTopicCreated(COMMUNITY, TopicType.DISCUSSION, 1);
+        engine.recordTopicCreated(COMMUNITY, TopicType.ANNOUNCEMENT, 1);
+        engine.recordTopicCreated(COMMUNITY, TopicType.POLL, 1);
+
+        assertThat(engine.topicTotals(COMMUNITY)).isEqualTo(new TopicTotals(4, 0, 1, 1));
+    }
+
+    @Test
+    void deletingOtherTypesLeavesTypeCountersAlone() {
+        totalsInDatabase.add(totals(3, 1, 1, 1));
+        engine.initialize();
+
+        engine.recordTopicDeleted(COMMUNITY, TopicType.EVENT, true);
+
+        assertThat(engine.topicTotals(COMMUNITY)).isEqualTo(new TopicTotals(2, 0, 1, 1));
+    }
+
+    @Test
+    void rebuildReplacesCountersWithDatabaseTotals() {
+        engine.initialize();
+        engine.recordTopicCreated(COMMUNITY, TopicType.QUESTION, 1);
+
+        totalsInDatabase.add(totals(5, 2, 3, 2));
+        engine.rebuild();
+
+        assertThat(engine.topicTotals(COMMUNITY)).isEqualTo(new TopicTotals(5, 2, 3, 2));
+    }
+
+    @Test
+    void activityCommittedDuringRebuildIsReplayedOnce() {
+        engine.initialize();
+        totalsInDatabase.add(totals(5, 2, 3, 2));
+        when(communityRepository.findTopicTotals(isNull())).thenAnswer(inv -> {
+            List<CommunityTopicTotalsProjection> read = List.copyOf(totalsInDatabase);
+            // Commits after the snapshot the query reads from
+            engine.recordTopicCreated(COMMUNITY, TopicType.QUESTION, 1);
+            engine.recordSolutionMarked(COMMUNITY);
+            return read;
+        });
+
+        engine.rebuild();
+
+        assertThat(engine.topicTotals(COMMUNITY)).isEqualTo(new TopicTotals(6, 3, 4, 2));
+    }
+
+    @Test
+    void activityBeforeRebuildIsNotReplayed() {
+        engine.initialize();
+        engine.recordTopicCreated(COMMUNITY, TopicType.QUESTION, 1);
+
+        // The database already has the topic recorded above
+        totalsInDatabase.add(totals(1, 0, 1, 0));
+        engine.rebuild();
+        engine.rebuild();
+
+        assertThat(engine.topicTotals(COMMUNITY)).isEqualTo(new TopicTotals(1, 0, 1, 0));
+    }
+
+    @Test
+    void failedRebuildKeepsCountersAndStopsBuffering() {
+        totalsInDatabase.add(totals(2, 0, 1, 1));
+        engine.initialize();
+        when(communityRepository.findTopicTotals(isNull())).thenThrow(new IllegalStateException("database down"));
+
+        engine.rebuild();
+        engine.recordTopicCreated(COMMUNITY, TopicType.DISCUSSION, 1);
+
+        assertThat(engine.topicTotals(COMMUNITY)).isEqualTo(new TopicTotals(3, 0, 1, 2));
+    }
+
+    @Test
+    void recentRepliesAndVotesShowInActivityWindows() {
+        engine.initialize();
+
+        engine.recordReply(COMMUNITY, 1);
+        engine.recordReply(COMMUNITY, 2);
+        engine.recordVote(COMMUNITY);
+
+        CommunityStatsEngine.ActivitySnapshot activity = engine.activity(COMMUNITY);
+        assertThat(activity.replies().lastHour()).isEqualTo(2);
+        assertThat(activity.votes().lastWeek()).isEqualTo(1);
+        assertThat(engine.dailyActiveMembers(COMMUNITY)).isEqualTo(2);
+    }
+
+    @Test
+    void fallsBackToDatabaseBeforeFirstRebuild() {
+        CommunityTopicTotalsProjection row = totals(4, 1, 2, 2);
+        when(communityRepository.findTopicTotals(any())).thenReturn(List.of(row));
+
+        assertThat(engine.topicTotals(COMMUNITY)).isEqualTo(new TopicTotals(4, 1, 2, 2));
+    }
+
+    private static CommunityTopicTotalsProjection totals(long total, long solved, long questions, long discussions) {
+        return new CommunityTopicTotalsProjection() {
+            @Override public Integer getCommunityId() { return COMMUNITY; }
+            @Override public Long getTotalTopics() { return total; }
+            @Override public Long getSolvedTopics() { return solved; }
+            @Override public Long getQuestionTopics() { return questions; }
+            @Override public Long getDiscussionTopics() { return discussions; }
+        };
+    }
+}
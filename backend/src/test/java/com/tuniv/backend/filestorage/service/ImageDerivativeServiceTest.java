@@ -0,0 +1,88 @@
+package com.tuniv.backend.filestorage.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.jupiter.api.Test;
+
+class ImageDerivativeServiceTest {
+
+    private static final int RED = 0xFFFF0000;
+    private static final int BLUE = 0xFF0000FF;
+
+    @Test
+    void readsOrientationFromBothByteOrders() {
+        assertThat(ImageDerivativeService.orientationFromExif(exif(ByteOrder.LITTLE_ENDIAN, 6))).isEqualTo(6);
+        assertThat(ImageDerivativeService.orientationFromExif(exif(ByteOrder.BIG_ENDIAN, 8))).isEqualTo(8);
+    }
+
+    @Test
+    void ignoresPayloadsWithoutValidOrientation() {
+        assertThat(ImageDerivativeService.orientationFromExif("http://ns.adobe.com/xap/1.0/".getBytes())).isZero();
+        assertThat(ImageDerivativeService.orientationFromExif(exif(ByteOrder.BIG_ENDIAN, 9))).isZero();
+        byte[] truncated = new byte[12];
+        System.arraycopy(exif(ByteOrder.BIG_ENDIAN, 6), 0, truncated, 0, truncated.length);
+        assertThat(ImageDerivativeService.orientationFromExif(truncated)).isZero();
+    }
+
+    @Test
+    void rotatesClockwiseForOrientationSix() {
+        // 2x1: red on the left, blue on the right
+        BufferedImage source = new BufferedImage(2, 1, BufferedImage.TYPE_INT_RGB);
+        source.setRGB(0, 0, RED);
+        source.setRGB(1, 0, BLUE);
+
+        BufferedImage upright = ImageDerivativeService.orient(source, 6);
+
+        assertThat(upright.getWidth()).isEqualTo(1);
+        assertThat(upright.getHeight()).isEqualTo(2);
+        assertThat(upright.getRGB(0, 0)).isEqualTo(RED);
+        assertThat(upright.getRGB(0, 1)).isEqualTo(BLUE);
+    }
+
+    @Test
+    void rotatesCounterClockwiseForOrientationEight() {
+        BufferedImage source = new BufferedImage(2, 1, BufferedImage.TYPE_INT_RGB);
+        source.setRGB(0, 0, RED);
+        source.setRGB(1, 0, BLUE);
+
+        BufferedImage upright = ImageDerivativeService.orient(source, 8);
+
+        assertThat(upright.getRGB(0, 0)).isEqualTo(BLUE);
+        assertThat(upright.getRGB(0, 1)).isEqualTo(RED);
+    }
+
+    @Test
+    void mirrorsForOrientationTwoAndKeepsUprightImages() {
+        BufferedImage source = new BufferedImage(2, 1, BufferedImage.TYPE_INT_RGB);
+        source.setRGB(0, 0, RED);
+        source.setRGB(1, 0, BLUE);
+
+        BufferedImage mirrored = ImageDerivativeService.orient(source, 2);
+
+        assertThat(mirrored.getRGB(0, 0)).isEqualTo(BLUE);
+        assertThat(mirrored.getRGB(1, 0)).isEqualTo(RED);
+        assertThat(ImageDerivativeService.orient(source, 1)).isSameAs(source);
+    }
+
+    /** An APP1 payload whose IFD0 holds one entry: the orientation tag. */
+    private static byte[] exif(ByteOrder order, int orientation) {
+        ByteBuffer buffer = ByteBuffer.allocate(6 + 8 + 2 + 12 + 4);
+        buffer.put(new byte[] { 'E', 'x', 'i', 'f', 0, 0 });
+        buffer.order(order);
+        buffer.put(order == ByteOrder.LITTLE_ENDIAN ? new byte[] { 'I', 'I' } : new byte[] { 'M', 'M' });
+        buffer.putShort((short) 42);
+        buffer.putInt(8); // IFD0 right after the header
+        buffer.putShort((short) 1);
+        buffer.putShort((short) 0x0112);
+        buffer.putShort((short) 3); // SHORT
+        buffer.putInt(1);
+        buffer.putShort((short) orientation);
+        buffer.putShort((short) 0);
+        buffer.putInt(0); // no next IFD
+        return buffer.array();
+    }
+}
@@ -0,0 +1,44 @@
+package com.tuniv.backend.filestorage.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class UploadServingServiceTest {
+
+    private static final long SIZE = 1000;
+
+    @Test
+    void parsesClosedRange() {
+        assertThat(UploadServingService.parseRange("bytes=0-99", SIZE)).containsExactly(0, 99);
+        assertThat(UploadServingService.parseRange("bytes=900-5000", SIZE)).containsExactly(900, 999);
+    }
+
+    @Test
+    void suffixRangeCoversTheLastBytes() {
+        assertThat(UploadServingService.parseRange("bytes=-500", SIZE)).containsExactly(500, 999);
+        assertThat(UploadServingService.parseRange("bytes=-5000", SIZE)).containsExactly(0, 999);
+    }
+
+    @Test
+    void openEndedRangeRunsToTheEnd() {
+        assertThat(UploadServingService.parseRange("bytes=100-", SIZE)).containsExactly(100, 999);
+    }
+
+    @Test
+    void rangesPastTheEndAreUnsatisfiable() {
+        assertThat(UploadServingService.parseRange("bytes=1000-", SIZE)).isNull();
+        assertThat(UploadServingService.parseRange("bytes=2000-2100", SIZE)).isNull();
+        assertThat(UploadServingService.parseRange("bytes=-0", SIZE)).isNull();
+        assertThat(UploadServingService.parseRange("bytes=-500", 0)).isNull();
+    }
+
+    @Test
+    void multiRangeAndMalformedHeadersAreIgnored() {
+        assertThat(UploadServingService.parseRange("bytes=0-99,200-299", SIZE)).isEmpty();
+        assertThat(UploadServingService.parseRange("bytes=-", SIZE)).isEmpty();
+        assertThat(UploadServingService.parseRange("bytes=200-100", SIZE)).isEmpty();
+        assertThat(UploadServingService.parseRange("items=0-99", SIZE)).isEmpty();
+        assertThat(UploadServingService.parseRange("bytes=99999999999999999999-", SIZE)).isEmpty();
+    }
+}
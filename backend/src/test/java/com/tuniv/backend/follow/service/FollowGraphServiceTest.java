@@ -0,0 +1,220 @@
+package com.tuniv.backend.follow.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Pageable;
+
+import com.tuniv.backend.follow.projection.FollowEdgeProjection;
+import com.tuniv.backend.follow.projection.FollowTargetProjection;
+import com.tuniv.backend.follow.repository.FollowRepository;
+import com.tuniv.backend.follow.repository.FollowableRepository;
+import com.tuniv.backend.follow.service.FollowGraphService.FollowGraphUpdate;
+
+class FollowGraphServiceTest {
+
+    private static final long TARGET = 100L;
+    private static final String OTHER_NODE = "other-node";
+
+    @TempDir
+    Path tempDir;
+
+    private FollowRepository followRepository;
+    private FollowableRepository followableRepository;
+    private FollowGraphService service;
+    private final List<FollowEdgeProjection> edgesInDatabase = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        followRepository = mock(FollowRepository.class);
+        followableRepository = mock(FollowableRepository.class);
+        when(followRepository.findEdgesAfter(anyInt(), any(Pageable.class))).thenAnswer(inv -> List.copyOf(edgesInDatabase));
+        when(followableRepository.findAllUserTargets()).thenReturn(List.of());
+        service = new FollowGraphService(followRepository, followableRepository, mock(RabbitTemplate.class),
+                tempDir.resolve("follow-graph.snapshot").toString());
+    }
+
+    @Test
+    void fallsBackToDatabaseUntilLoaded() {
+        when(followRepository.findNotifiedFollowerIdsByTargetIds(anyCollection())).thenReturn(List.of(7, 3));
+
+        assertThat(service.notificationRecipientsOf(Set.of(TARGET))).containsExactly(3, 7);
+    }
+
+    @Test
+    void unfollowRemovesEdge() {
+        service.load();
+
+        service.recordFollow(1, TARGET, null, 10, true);
+        assertThat(service.notificationRecipientsOf(Set.of(TARGET))).containsExactly(1);
+
+        service.recordUnfollow(1, TARGET, 10);
+        assertThat(service.notificationRecipientsOf(Set.of(TARGET))).isEmpty();
+    }
+
+    @Test
+    void followDeliveredAfterItsUnfollowIsIgnored() {
+        service.load();
+
+        service.handleUpdate(unfollow(1, 10));
+        service.handleUpdate(follow(1, 10, true));
+
+        assertThat(service.notificationRecipientsOf(Set.of(TARGET))).isEmpty();
+    }
+
+    @Test
+    void unfollowOfOlderFollowDoesNotRemoveRefollow() {
+        service.load();
+
+        service.handleUpdate(follow(1, 10, true));
+        service.handleUpdate(follow(1, 12, true));
+        service.handleUpdate(unfollow(1, 10));
+
+        assertThat(service.notificationRecipientsOf(Set.of(TARGET))).containsExactly(1);
+    }
+
+    @Test
+    void refollowAfterUnfollowIsApplied() {
+        service.load();
+
+        service.handleUpdate(follow(1, 10, true));
+        service.handleUpdate(unfollow(1, 10));
+        service.handleUpdate(follow(1, 11, true));
+
+        assertThat(service.notificationRecipientsOf(Set.of(TARGET))).containsExactly(1);
+    }
+
+    @Test
+    void mutedFollowersAreNotNotified() {
+        service.load();
+
+        service.handleUpdate(follow(1, 10, true));
+        service.handleUpdate(follow(2, 11, false));
+
+        assertThat(service.notificationRecipientsOf(Set.of(TARGET))).containsExactly(1);
+    }
+
+    @Test
+    void recipientsOfSeveralTargetsAreDistinct() {
+        service.load();
+
+        service.handleUpdate(follow(1, 10, true));
+        service.handleUpdate(new FollowGraphUpdate(OTHER_NODE, true, 1, 200L, null, 11, true));
+        service.handleUpdate(new FollowGraphUpdate(OTHER_NODE, true, 2, 200L, null, 12, true));
+
+        assertThat(service.notificationRecipientsOf(List.of(TARGET, 200L))).containsExactly(1, 2);
+    }
+
+    @Test
+    void rebuildDropsEdgeWhoseUnfollowWasMissed() {
+        edgesInDatabase.add(edge(10, 1, true));
+        service.load();
+        assertThat(service.notificationRecipientsOf(Set.of(TARGET))).containsExactly(1);
+
+        // The unfollow broadcast never reached this node
+        edgesInDatabase.clear();
+        service.rebuild();
+
+        assertThat(service.notificationRecipientsOf(Set.of(TARGET))).isEmpty();
+    }
+
+    @Test
+    void updatesArrivingDuringRebuildAreReplayed() {
+        service.load();
+        edgesInDatabase.add(edge(10, 1, true));
+        when(followRepository.findEdgesAfter(anyInt(), any(Pageable.class))).thenAnswer(inv -> {
+            List<FollowEdgeProjection> read = List.copyOf(edgesInDatabase);
+            // Committed after the read above: one unfollow of an edge it saw, one new follow it missed
+            service.handleUpdate(unfollow(1, 10));
+            service.handleUpdate(follow(2, 11, true));
+            return read;
+        });
+
+        service.rebuild();
+
+        assertThat(service.notificationRecipientsOf(Set.of(TARGET))).containsExactly(2);
+    }
+
+    @Test
+    void lateFollowDuringRebuildDoesNotResurrectEdge() {
+        service.load();
+        service.handleUpdate(unfollow(1, 10));
+        when(followRepository.findEdgesAfter(anyInt(), any(Pageable.class))).thenAnswer(inv -> {
+            service.handleUpdate(follow(1, 10, true));
+            return List.of();
+        });
+
+        service.rebuild();
+
+        assertThat(service.notificationRecipientsOf(Set.of(TARGET))).isEmpty();
+    }
+
+    @Test
+    void snapshotRestoresGraphBeforeRebuild() {
+        edgesInDatabase.add(edge(10, 1, true));
+        edgesInDatabase.add(edge(11, 2, false));
+        service.load();
+        service.writeSnapshot();
+
+        FollowGraphService restarted = new FollowGraphService(followRepository, followableRepository,
+                mock(RabbitTemplate.class), tempDir.resolve("follow-graph.snapshot").toString());
+        edgesInDatabase.clear();
+        when(followRepository.findEdgesAfter(anyInt(), any(Pageable.class))).thenAnswer(inv -> {
+            assertThat(restarted.isReady()).isTrue();
+            assertThat(restarted.notificationRecipientsOf(Set.of(TARGET))).containsExactly(1);
+            return List.of();
+        });
+
+        restarted.load();
+
+        assertThat(restarted.notificationRecipientsOf(Set.of(TARGET))).isEmpty();
+    }
+
+    @Test
+    void suggestsUsersFollowedByFollowedUsers() {
+        when(followableRepository.findAllUserTargets()).thenReturn(List.of(userTarget(501L, 2), userTarget(502L, 3)));
+        // 1 follows 2 with notifications off, 2 follows 3
+        edgesInDatabase.add(new Edge(10, 1, 501L, false));
+        edgesInDatabase.add(new Edge(11, 2, 502L, true));
+        service.load();
+
+        assertThat(service.suggestUsers(1, 10))
+                .containsExactly(new FollowGraphService.UserSuggestion(3, 1));
+    }
+
+    private static FollowGraphUpdate follow(int followerId, int followId, boolean notificationsEnabled) {
+        return new FollowGraphUpdate(OTHER_NODE, true, followerId, TARGET, null, followId, notificationsEnabled);
+    }
+
+    private static FollowGraphUpdate unfollow(int followerId, int followId) {
+        return new FollowGraphUpdate(OTHER_NODE, false, followerId, TARGET, null, followId, false);
+    }
+
+    private static FollowEdgeProjection edge(int followId, int followerId, boolean notificationsEnabled) {
+        return new Edge(followId, followerId, TARGET, notificationsEnabled);
+    }
+
+    private static FollowTargetProjection userTarget(long followableId, int userId) {
+        return new FollowTargetProjection() {
+            @Override public Long getFollowableId() { return followableId; }
+            @Override public Integer getEntityId() { return userId; }
+            @Override public String getName() { return "user" + userId; }
+        };
+    }
+
+    private record Edge(Integer getFollowId, Integer getFollowerId, Long getFollowableId,
+                        Boolean getNotificationsEnabled) implements FollowEdgeProjection {}
+}
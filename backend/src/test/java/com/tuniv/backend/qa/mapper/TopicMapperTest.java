@@ -0,0 +1,53 @@
+package com.tuniv.backend.qa.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.tuniv.backend.qa.dto.ReplyResponseDto;
+import com.tuniv.backend.qa.dto.TopicResponseDto;
+import com.tuniv.backend.qa.model.TopicType;
+import com.tuniv.backend.user.service.UserSummaryCache;
+
+class TopicMapperTest {
+
+    private static final int TOPIC = 1;
+
+    private final TopicMapper mapper = new TopicMapper(mock(UserSummaryCache.class));
+
+    @Test
+    void postIdsCoverTopicAndNestedReplies() {
+        TopicResponseDto topic = topic(reply(2, reply(3)), reply(4));
+
+        assertThat(mapper.postIdsOf(topic)).containsExactlyInAnyOrder(1, 2, 3, 4);
+    }
+
+    @Test
+    void votesAreOverlaidOnCopyWithoutTouchingSharedView() {
+        TopicResponseDto shared = topic(reply(2, reply(3)));
+
+        TopicResponseDto personal = mapper.withCurrentUserVotes(shared, Map.of(TOPIC, "UPVOTE", 3, "DOWNVOTE"));
+
+        assertThat(personal.currentUserVote()).isEqualTo("UPVOTE");
+        assertThat(personal.replies().get(0).currentUserVote()).isNull();
+        assertThat(personal.replies().get(0).childReplies().get(0).currentUserVote()).isEqualTo("DOWNVOTE");
+        assertThat(shared.currentUserVote()).isNull();
+        assertThat(shared.replies().get(0).childReplies().get(0).currentUserVote()).isNull();
+    }
+
+    private static TopicResponseDto topic(ReplyResponseDto... replies) {
+        return new TopicResponseDto(TOPIC, "title", "body", TopicType.QUESTION, false, null, Instant.EPOCH, null,
+                0, null, replies.length, 0, null, null, List.of(), List.of(), new ArrayList<>(List.of(replies)));
+    }
+
+    private static ReplyResponseDto reply(int id, ReplyResponseDto... children) {
+        return new ReplyResponseDto(id, "reply", null, Instant.EPOCH, null, 0, null, TOPIC, null, false,
+                new ArrayList<>(), new ArrayList<>(List.of(children)));
+    }
+}
@@ -0,0 +1,70 @@
+package com.tuniv.backend.shared.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class TieredCacheTest {
+
+    private ValueOperations<String, String> remote;
+    private TieredCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        remote = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(remote);
+        cache = new TieredCache("test", new TieredCache.Settings(100, Duration.ofMinutes(1), Duration.ofMinutes(5), 1.0),
+                redisTemplate, new ObjectMapper(), (name, key) -> {});
+    }
+
+    @Test
+    void loadedValueIsCached() {
+        assertThat(cache.get("k", () -> "first")).isEqualTo("first");
+
+        assertThat(cache.get("k", () -> "second")).isEqualTo("first");
+    }
+
+    @Test
+    void valueEvictedDuringItsLoadIsNotCached() {
+        String stale = cache.get("k", () -> {
+            // The writer's after-commit eviction lands while this load is still reading
+            cache.evict("k");
+            return "stale";
+        });
+
+        assertThat(stale).isEqualTo("stale");
+        assertThat(cache.get("k", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void invalidationFromAnotherNodeDuringLoadIsHonoured() {
+        cache.get("k", () -> {
+            cache.invalidateLocal("k");
+            return "stale";
+        });
+
+        assertThat(cache.get("k", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void nonApplicationTypesStayLocal() {
+        cache.get("k", () -> "value");
+
+        verify(remote, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+}
@@ -0,0 +1,57 @@
+package com.tuniv.backend.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import com.tuniv.backend.user.dto.UserSummaryDto;
+
+class UserSummaryCacheTest {
+
+    private static final int USER = 5;
+
+    private UserSummaryLoader loader;
+    private UserSummaryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        loader = mock(UserSummaryLoader.class);
+        cache = new UserSummaryCache(loader, mock(RabbitTemplate.class), 100, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void loadedSummaryIsCached() {
+        when(loader.load(anyList())).thenReturn(List.of(summary("before")));
+        cache.get(USER);
+
+        when(loader.load(anyList())).thenReturn(List.of(summary("after")));
+
+        assertThat(cache.get(USER).username()).isEqualTo("before");
+    }
+
+    @Test
+    void summaryInvalidatedDuringItsLoadIsNotCached() {
+        when(loader.load(anyList())).thenAnswer(inv -> {
+            // The rename commits and invalidates while this load is reading the old row
+            cache.invalidate(USER);
+            return List.of(summary("before"));
+        });
+        assertThat(cache.get(USER).username()).isEqualTo("before");
+
+        when(loader.load(anyList())).thenReturn(List.of(summary("after")));
+
+        assertThat(cache.get(USER).username()).isEqualTo("after");
+    }
+
+    private static UserSummaryDto summary(String username) {
+        return new UserSummaryDto(USER, username, null, null);
+    }
+}